@@ -15,16 +15,21 @@
  */
 package org.springdata.cassandra.convert;
 
+import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.List;
 
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.mapping.LazyValue;
 import org.springdata.cql.spec.AlterTableSpecification;
 import org.springdata.cql.spec.CreateIndexSpecification;
 import org.springdata.cql.spec.CreateTableSpecification;
 import org.springdata.cql.spec.WithNameSpecification;
 import org.springframework.data.convert.EntityConverter;
 
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.TableMetadata;
 import com.datastax.driver.core.querybuilder.Clause;
 
@@ -91,4 +96,111 @@ public interface CassandraConverter extends
      * @return where clause
      */
     List<Clause> getPartitionKey(CassandraPersistentEntity<?> entity, Object id);
+
+	/**
+	 * Gets the flat column layout of the entity, the layout is cached by the converter
+	 * 
+	 * @param entity
+	 * @return EntityColumnLayout
+	 */
+	EntityColumnLayout getColumnLayout(CassandraPersistentEntity<?> entity);
+
+	/**
+	 * Get the projection of the entity to the interface or the DTO class
+	 * 
+	 * @param entity persistent entity
+	 * @param projectionType interface or class of the projection
+	 * @return cached projection
+	 */
+	EntityProjection getProjection(CassandraPersistentEntity<?> entity, Class<?> projectionType);
+
+	/**
+	 * Gets the holder of the lazy column from the entity object
+	 * 
+	 * @param obj entity object
+	 * @param column lazy column of the entity column layout
+	 * @return holder or null if the property is not set or is not the {@link LazyValue}
+	 */
+	LazyValue<?> getLazyValue(Object obj, ColumnInfo column);
+
+	/**
+	 * Reads the column value of the property from the row by the codec of the column type and the value type
+	 * 
+	 * @param row row of the result set
+	 * @param index index of the column in the row
+	 * @param prop property of the column
+	 * @return value or null
+	 */
+	Object readColumnValue(Row row, int index, CassandraPersistentProperty prop);
+
+	/**
+	 * Converts the property value to the value of the column by the codec of the column type, used to bind query
+	 * parameters
+	 * 
+	 * @param prop property of the column
+	 * @param value property value
+	 * @return value of the column or null
+	 */
+	Object writeColumnValue(CassandraPersistentProperty prop, Object value);
+
+	/**
+	 * Extracts converted column values from the object in the order of the entity column layout
+	 * 
+	 * @param obj entity object
+	 * @return array of the values, null for null properties
+	 */
+	Object[] getColumnValues(Object obj);
+
+	/**
+	 * Returns true if the converter keeps snapshots of the read entities
+	 * 
+	 * @return true if entity changes are tracked
+	 */
+	boolean isTrackEntityChanges();
+
+	/**
+	 * Compares column values of the entity with the snapshot taken when the entity was read or last saved
+	 * 
+	 * @param obj entity object
+	 * @param values column values of the entity, see {@link #getColumnValues(Object)}
+	 * @return mask of the changed regular columns by the layout index or null if the entity has no snapshot or the
+	 *         primary key is changed
+	 */
+	BitSet getChangedColumns(Object obj, Object[] values);
+
+	/**
+	 * Updates the snapshot of the entity by the written column values, does nothing if the entity has no snapshot
+	 * 
+	 * @param obj entity object
+	 * @param values column values of the entity
+	 * @param written mask of the written columns by the layout index
+	 */
+	void refreshSnapshot(Object obj, Object[] values, BitSet written);
+
+	/**
+	 * Extracts converted id column values in the order of the id columns of the entity column layout
+	 * 
+	 * @param entity persistent entity
+	 * @param id persistent entity id
+	 * @param partitionPartsOnly take only partition key columns
+	 * @return array of the values
+	 */
+	Object[] getIdValues(CassandraPersistentEntity<?> entity, Object id, boolean partitionPartsOnly);
+
+	/**
+	 * Computes serialized partition key of the entity object, used as the routing key of the statements
+	 * 
+	 * @param obj entity object
+	 * @return routing key or null if any partition key column is null
+	 */
+	ByteBuffer getRoutingKey(Object obj);
+
+	/**
+	 * Computes serialized partition key from the id of the entity, used as the routing key of the statements
+	 * 
+	 * @param entity persistent entity
+	 * @param id persistent entity id
+	 * @return routing key or null if the partition key is not fully defined by the id
+	 */
+	ByteBuffer getRoutingKey(CassandraPersistentEntity<?> entity, Object id);
 }
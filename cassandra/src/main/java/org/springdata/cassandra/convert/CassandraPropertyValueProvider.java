@@ -15,14 +15,10 @@
  */
 package org.springdata.cassandra.convert;
 
-import java.nio.ByteBuffer;
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
-import org.springframework.core.convert.converter.Converter;
-import org.springframework.data.mapping.model.DefaultSpELExpressionEvaluator;
+import org.springdata.cql.codec.CodecRegistry;
 import org.springframework.data.mapping.model.PropertyValueProvider;
 import org.springframework.data.mapping.model.SpELExpressionEvaluator;
 import org.springframework.util.Assert;
@@ -42,20 +38,36 @@ public class CassandraPropertyValueProvider implements PropertyValueProvider<Cas
 
 	private final Row source;
 	private final SpELExpressionEvaluator evaluator;
+	private final CodecRegistry codecRegistry;
 
 	/**
 	 * Creates a new {@link CassandraPropertyValueProvider} with the given {@link Row} and
-	 * {@link DefaultSpELExpressionEvaluator}.
+	 * {@link SpELExpressionEvaluator}.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @param evaluator must not be {@literal null}.
+	 */
+	public CassandraPropertyValueProvider(Row source, SpELExpressionEvaluator evaluator) {
+		this(source, evaluator, CodecRegistry.DEFAULT);
+	}
+
+	/**
+	 * Creates a new {@link CassandraPropertyValueProvider} with the given {@link Row},
+	 * {@link SpELExpressionEvaluator} and {@link CodecRegistry}.
 	 * 
 	 * @param source must not be {@literal null}.
 	 * @param evaluator must not be {@literal null}.
+	 * @param codecRegistry must not be {@literal null}.
 	 */
-	public CassandraPropertyValueProvider(Row source, DefaultSpELExpressionEvaluator evaluator) {
+	public CassandraPropertyValueProvider(Row source, SpELExpressionEvaluator evaluator,
+			CodecRegistry codecRegistry) {
 		Assert.notNull(source);
 		Assert.notNull(evaluator);
+		Assert.notNull(codecRegistry);
 
 		this.source = source;
 		this.evaluator = evaluator;
+		this.codecRegistry = codecRegistry;
 	}
 
 	/* 
@@ -72,50 +84,9 @@ public class CassandraPropertyValueProvider implements PropertyValueProvider<Cas
 
 		ColumnDefinitions columnDefinitions = source.getColumnDefinitions();
 		int columnIndex = columnDefinitions.getIndexOf(property.getColumnName());
-		if (source.isNull(columnIndex)) {
-			return null;
-		}
 		DataType columnType = columnDefinitions.getType(columnIndex);
 
-		if (columnType.isCollection()) {
-
-			List<DataType> typeArguments = columnType.getTypeArguments();
-
-			switch (columnType.getName()) {
-			case SET:
-				return (T) source.getSet(columnIndex, typeArguments.get(0).asJavaClass());
-			case MAP:
-				return (T) source.getMap(columnIndex, typeArguments.get(0).asJavaClass(), typeArguments.get(1).asJavaClass());
-			case LIST:
-				return (T) source.getList(columnIndex, typeArguments.get(0).asJavaClass());
-			}
-
-		}
-
-		ByteBuffer bytes = source.getBytesUnsafe(columnIndex);
-		Object value = columnType.deserialize(bytes);
-
-		if (value != null) {
-
-		}
-
-		return (T) readValue(property, value);
-
-	}
-
-	private Object readValue(CassandraPersistentProperty property, Object value) {
-
-		if (value == null) {
-			return null;
-		}
-
-		Converter converter = property.getReadConverter();
-
-		if (converter != null) {
-			return converter.convert(value);
-		}
-
-		return value;
+		return (T) codecRegistry.getCodec(columnType, property.getType()).decode(source, columnIndex);
 	}
 
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PreferredConstructor.Parameter;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Property accessors of the entity that are created once and used instead of the BeanWrapper for each entity instance.
+ *
+ * Fields are accessed through the cached accessible Field. Getters, setters and the persistence constructor are called
+ * through the cglib FastClass generated for the entity class, that dispatches by the index without reflection. Members
+ * that FastClass can not see (not public) are called through the cached reflective Method.
+ *
+ * Generated classes can not access private fields, so with the field access only (the default) the accessor saves the
+ * BeanWrapper creation and the property lookup per entity, while the field itself is still read and written
+ * reflectively.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class EntityAccessor {
+
+	private static final Object[] NO_ARGS = new Object[0];
+
+	private final CassandraPersistentEntity<?> entity;
+	private final ConversionService conversionService;
+	private final Map<CassandraPersistentProperty, PropertyAccessor> accessors = new IdentityHashMap<CassandraPersistentProperty, PropertyAccessor>();
+
+	private final FastClass fastClass;
+	private final int constructorIndex;
+	private final List<Parameter<Object, CassandraPersistentProperty>> constructorParameters;
+
+	public EntityAccessor(CassandraPersistentEntity<?> entity, final boolean useFieldAccessOnly,
+			ConversionService conversionService) {
+
+		this.entity = entity;
+		this.conversionService = conversionService;
+		this.fastClass = createFastClass(entity.getType());
+
+		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
+
+			@Override
+			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+				accessors.put(prop, createAccessor(prop, useFieldAccessOnly));
+			}
+
+		});
+
+		PreferredConstructor<?, CassandraPersistentProperty> constructor = entity.getPersistenceConstructor();
+
+		if (fastClass != null && constructor != null && !isInnerClass(entity.getType())) {
+			this.constructorIndex = getIndex(constructor.getConstructor());
+			this.constructorParameters = getParameters(constructor);
+		} else {
+			this.constructorIndex = -1;
+			this.constructorParameters = null;
+		}
+	}
+
+	public CassandraPersistentEntity<?> getEntity() {
+		return entity;
+	}
+
+	/**
+	 * Returns true if the entity can be created by the generated constructor call
+	 *
+	 * @return true if newInstance is available
+	 */
+	public boolean canInstantiate() {
+		return constructorIndex >= 0;
+	}
+
+	/**
+	 * Creates the entity by the persistence constructor
+	 *
+	 * @param provider values of the constructor parameters
+	 * @return new entity
+	 */
+	public Object newInstance(ParameterValueProvider<CassandraPersistentProperty> provider) {
+
+		if (constructorIndex < 0) {
+			throw new IllegalStateException("entity can not be instantiated by accessor " + entity.getName());
+		}
+
+		Object[] args = new Object[constructorParameters.size()];
+
+		for (int i = 0; i != args.length; ++i) {
+			args[i] = provider.getParameterValue(constructorParameters.get(i));
+		}
+
+		try {
+			return fastClass.newInstance(constructorIndex, args);
+		} catch (InvocationTargetException e) {
+			throw new MappingException("failed to instantiate " + entity.getName(), e.getTargetException());
+		}
+	}
+
+	public Object getProperty(Object bean, CassandraPersistentProperty prop) {
+		return getAccessor(prop).getValue(bean);
+	}
+
+	public void setProperty(Object bean, CassandraPersistentProperty prop, Object value) {
+
+		PropertyAccessor accessor = getAccessor(prop);
+
+		if (value != null && conversionService != null && !ClassUtils.isAssignableValue(accessor.getType(), value)) {
+			value = conversionService.convert(value, accessor.getType());
+		}
+
+		accessor.setValue(bean, value);
+	}
+
+	/**
+	 * Returns the accessible field if the property is set through the field, codecs decode primitive values into it
+	 * without boxing
+	 *
+	 * @param prop property of the entity
+	 * @return Field or null if the property is set by the setter
+	 */
+	Field getDirectField(CassandraPersistentProperty prop) {
+		PropertyAccessor accessor = getAccessor(prop);
+		return accessor.setter == null ? accessor.field : null;
+	}
+
+	private PropertyAccessor getAccessor(CassandraPersistentProperty prop) {
+
+		PropertyAccessor accessor = accessors.get(prop);
+
+		if (accessor == null) {
+			throw new MappingException("property " + prop.getName() + " does not belong to the entity " + entity.getName());
+		}
+
+		return accessor;
+	}
+
+	private PropertyAccessor createAccessor(CassandraPersistentProperty prop, boolean useFieldAccessOnly) {
+
+		Field field = prop.getField();
+		ReflectionUtils.makeAccessible(field);
+
+		Method getter = useFieldAccessOnly ? null : prop.getGetter();
+		Method setter = useFieldAccessOnly ? null : prop.getSetter();
+
+		return new PropertyAccessor(field, getter, getIndex(getter), setter, getIndex(setter));
+	}
+
+	private int getIndex(Method method) {
+
+		if (method == null) {
+			return -1;
+		}
+
+		ReflectionUtils.makeAccessible(method);
+
+		if (fastClass == null || !Modifier.isPublic(method.getModifiers())) {
+			return -1;
+		}
+
+		return fastClass.getIndex(method.getName(), method.getParameterTypes());
+	}
+
+	private int getIndex(Constructor<?> constructor) {
+
+		if (!Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(entity.getType().getModifiers())) {
+			return -1;
+		}
+
+		return fastClass.getIndex(constructor.getParameterTypes());
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static List<Parameter<Object, CassandraPersistentProperty>> getParameters(
+			PreferredConstructor<?, CassandraPersistentProperty> constructor) {
+		return (List) constructor.getParameters();
+	}
+
+	private static boolean isInnerClass(Class<?> type) {
+		return type.isMemberClass() && !Modifier.isStatic(type.getModifiers());
+	}
+
+	private static FastClass createFastClass(Class<?> type) {
+
+		if (!Modifier.isPublic(type.getModifiers())) {
+			return null;
+		}
+
+		try {
+			return FastClass.create(type.getClassLoader(), type);
+		} catch (RuntimeException e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Accessor of one property, uses getter and setter when they are defined and allowed, otherwise the field
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	final class PropertyAccessor {
+
+		private final Field field;
+		private final Method getter;
+		private final int getterIndex;
+		private final Method setter;
+		private final int setterIndex;
+		private final Class<?> type;
+
+		PropertyAccessor(Field field, Method getter, int getterIndex, Method setter, int setterIndex) {
+			this.field = field;
+			this.getter = getter;
+			this.getterIndex = getterIndex;
+			this.setter = setter;
+			this.setterIndex = setterIndex;
+			this.type = setter != null ? setter.getParameterTypes()[0] : field.getType();
+		}
+
+		Class<?> getType() {
+			return type;
+		}
+
+		Object getValue(Object bean) {
+
+			if (getter == null) {
+				return ReflectionUtils.getField(field, bean);
+			}
+
+			try {
+
+				if (getterIndex >= 0) {
+					return fastClass.invoke(getterIndex, bean, NO_ARGS);
+				}
+
+				return getter.invoke(bean);
+
+			} catch (InvocationTargetException e) {
+				throw new MappingException("failed to get property " + field.getName() + " of " + entity.getName(),
+						e.getTargetException());
+			} catch (IllegalAccessException e) {
+				throw new MappingException("failed to get property " + field.getName() + " of " + entity.getName(), e);
+			}
+		}
+
+		void setValue(Object bean, Object value) {
+
+			if (setter == null) {
+				ReflectionUtils.setField(field, bean, value);
+				return;
+			}
+
+			try {
+
+				if (setterIndex >= 0) {
+					fastClass.invoke(setterIndex, bean, new Object[] { value });
+				} else {
+					setter.invoke(bean, value);
+				}
+
+			} catch (InvocationTargetException e) {
+				throw new MappingException("failed to set property " + field.getName() + " of " + entity.getName(),
+						e.getTargetException());
+			} catch (IllegalAccessException e) {
+				throw new MappingException("failed to set property " + field.getName() + " of " + entity.getName(), e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springframework.util.ObjectUtils;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * Keeps snapshots of the converted column values of the read entities. Entities are weak keys compared by identity,
+ * so the snapshot lives as long as the entity object.
+ *
+ * Dates and collections are copied, so in-place changes are detected. Tracked collections are kept by reference and
+ * report their own changes. Content of the ByteBuffer is shared with the entity, only a replaced buffer is detected.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+final class EntityChangeTracker {
+
+	private final ConcurrentMap<Object, Object[]> snapshots = new MapMaker().weakKeys().makeMap();
+
+	/**
+	 * Takes the snapshot of the entity just read
+	 */
+	void track(Object obj, Object[] values) {
+
+		Object[] snapshot = new Object[values.length];
+
+		for (int i = 0; i != values.length; ++i) {
+			snapshot[i] = snapshotOf(values[i]);
+		}
+
+		snapshots.put(obj, snapshot);
+	}
+
+	/**
+	 * Compares values with the snapshot, changed primary key means another row and the entity is not tracked
+	 *
+	 * @return mask of the changed regular columns or null if the entity is not tracked
+	 */
+	BitSet getChangedColumns(EntityColumnLayout layout, Object obj, Object[] values) {
+
+		Object[] snapshot = snapshots.get(obj);
+
+		if (snapshot == null) {
+			return null;
+		}
+
+		BitSet changed = new BitSet(values.length);
+
+		for (ColumnInfo column : layout.getColumns()) {
+
+			int index = column.getIndex();
+
+			if (!isChanged(values[index], snapshot[index])) {
+				continue;
+			}
+
+			if (column.isPrimaryKeyColumn()) {
+				return null;
+			}
+
+			changed.set(index);
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Replaces values of the written columns in the snapshot, null values are not written and stay as they were
+	 */
+	void refresh(Object obj, Object[] values, BitSet written) {
+
+		Object[] snapshot = snapshots.get(obj);
+
+		if (snapshot == null) {
+			return;
+		}
+
+		Object[] refreshed = snapshot.clone();
+
+		for (int i = written.nextSetBit(0); i >= 0; i = written.nextSetBit(i + 1)) {
+			if (values[i] != null) {
+				refreshed[i] = snapshotOf(values[i]);
+			}
+		}
+
+		snapshots.replace(obj, snapshot, refreshed);
+	}
+
+	private static boolean isChanged(Object value, Object snapshot) {
+
+		if (value instanceof TrackedCollection && value == snapshot) {
+			return ((TrackedCollection) value).isChanged();
+		}
+
+		return !ObjectUtils.nullSafeEquals(value, snapshot);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object snapshotOf(Object value) {
+
+		if (value == null || value instanceof TrackedCollection) {
+			return value;
+		}
+
+		if (value instanceof Date) {
+			return ((Date) value).clone();
+		}
+
+		if (value instanceof ByteBuffer) {
+			return ((ByteBuffer) value).duplicate();
+		}
+
+		if (value instanceof Set) {
+			return new LinkedHashSet<Object>((Set<Object>) value);
+		}
+
+		if (value instanceof List) {
+			return new ArrayList<Object>((List<Object>) value);
+		}
+
+		if (value instanceof Map) {
+			return new LinkedHashMap<Object, Object>((Map<Object, Object>) value);
+		}
+
+		return value;
+	}
+
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cql.core.KeyPart;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Flat column layout of the persistent entity. Embedded properties are expanded to the columns of the embedded
+ * entity, so every column has a path of properties from the entity to the column value.
+ *
+ * Layout is immutable and built once per entity by the converter.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class EntityColumnLayout {
+
+	private final CassandraPersistentEntity<?> entity;
+	private final List<ColumnInfo> columns;
+	private final List<ColumnInfo> idColumns;
+	private final List<ColumnInfo> idPartitionColumns;
+	private final List<ColumnInfo> partitionKeyColumns;
+	private final List<ColumnInfo> lazyColumns;
+	private final String[] defaultColumnNames;
+
+	public EntityColumnLayout(CassandraPersistentEntity<?> entity, List<ColumnInfo> columns) {
+		this.entity = entity;
+		this.columns = Collections.unmodifiableList(new ArrayList<ColumnInfo>(columns));
+
+		List<ColumnInfo> idList = new ArrayList<ColumnInfo>();
+		List<ColumnInfo> idPartitionList = new ArrayList<ColumnInfo>();
+
+		for (ColumnInfo column : columns) {
+			if (column.isIdColumn()) {
+				idList.add(column);
+				if (column.getKeyPart() == KeyPart.PARTITION) {
+					idPartitionList.add(column);
+				}
+			}
+		}
+
+		this.idColumns = Collections.unmodifiableList(idList);
+		this.idPartitionColumns = Collections.unmodifiableList(idPartitionList);
+
+		List<ColumnInfo> partitionKeyList = new ArrayList<ColumnInfo>();
+
+		for (ColumnInfo column : columns) {
+			if (column.getKeyPart() == KeyPart.PARTITION) {
+				partitionKeyList.add(column);
+			}
+		}
+
+		/*
+		 * Same order as in the create table specification, the sort is stable
+		 */
+
+		Collections.sort(partitionKeyList, new Comparator<ColumnInfo>() {
+
+			@Override
+			public int compare(ColumnInfo o1, ColumnInfo o2) {
+				return MappingCassandraConverter.OrdinalBasedPropertyComparator.INSTANCE.compare(o1.getProperty(),
+						o2.getProperty());
+			}
+
+		});
+
+		this.partitionKeyColumns = Collections.unmodifiableList(partitionKeyList);
+
+		List<ColumnInfo> lazyList = new ArrayList<ColumnInfo>();
+		List<String> defaultNames = new ArrayList<String>();
+
+		for (ColumnInfo column : columns) {
+			if (column.isLazy()) {
+				lazyList.add(column);
+			} else {
+				defaultNames.add(column.getName());
+			}
+		}
+
+		this.lazyColumns = Collections.unmodifiableList(lazyList);
+		this.defaultColumnNames = lazyList.isEmpty() ? null : defaultNames.toArray(new String[defaultNames.size()]);
+	}
+
+	public CassandraPersistentEntity<?> getEntity() {
+		return entity;
+	}
+
+	/**
+	 * Gets all columns of the entity in the property order
+	 *
+	 * @return list of columns
+	 */
+	public List<ColumnInfo> getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Gets columns derived from the id property of the entity
+	 *
+	 * @return list of id columns
+	 */
+	public List<ColumnInfo> getIdColumns() {
+		return idColumns;
+	}
+
+	/**
+	 * Gets partition key columns derived from the id property of the entity
+	 *
+	 * @return list of partition id columns
+	 */
+	public List<ColumnInfo> getIdPartitionColumns() {
+		return idPartitionColumns;
+	}
+
+	/**
+	 * Gets all partition key columns of the table in the order of the partition key
+	 *
+	 * @return list of partition key columns
+	 */
+	public List<ColumnInfo> getPartitionKeyColumns() {
+		return partitionKeyColumns;
+	}
+
+	/**
+	 * Gets columns that are not selected by the default queries
+	 *
+	 * @return list of lazy columns
+	 */
+	public List<ColumnInfo> getLazyColumns() {
+		return lazyColumns;
+	}
+
+	/**
+	 * Gets names of the columns selected by the default queries
+	 *
+	 * @return column names or null if all columns are selected
+	 */
+	public String[] getDefaultColumnNames() {
+		return defaultColumnNames != null ? defaultColumnNames.clone() : null;
+	}
+
+	public int size() {
+		return columns.size();
+	}
+
+	/**
+	 * Selects columns by the property names or the column names and by the tags of the properties. Property of the
+	 * embedded object selects all columns of it. Primary key columns are always selected.
+	 *
+	 * @param fields property or column names, can be null
+	 * @param tags tags defined by the Tag annotation, can be null
+	 * @return indexes of the selected columns
+	 * @throws InvalidDataAccessApiUsageException if no property has the field name or the tag
+	 */
+	public BitSet selectColumns(String[] fields, int[] tags) {
+
+		BitSet selected = new BitSet(columns.size());
+		boolean[] found = new boolean[fields != null ? fields.length : 0];
+		boolean[] foundTags = new boolean[tags != null ? tags.length : 0];
+
+		for (ColumnInfo column : columns) {
+
+			if (column.isPrimaryKeyColumn()) {
+				selected.set(column.getIndex());
+			}
+
+			for (CassandraPersistentProperty prop : column.getPath()) {
+
+				for (int i = 0; i != found.length; ++i) {
+					if (fields[i].equals(prop.getName()) || fields[i].equals(prop.getColumnName())) {
+						selected.set(column.getIndex());
+						found[i] = true;
+					}
+				}
+
+				Integer tag = prop.getTag();
+
+				if (tag != null) {
+					for (int i = 0; i != foundTags.length; ++i) {
+						if (tags[i] == tag.intValue()) {
+							selected.set(column.getIndex());
+							foundTags[i] = true;
+						}
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i != found.length; ++i) {
+			if (!found[i]) {
+				throw new InvalidDataAccessApiUsageException("field '" + fields[i] + "' not found in the entity "
+						+ entity.getName());
+			}
+		}
+
+		for (int i = 0; i != foundTags.length; ++i) {
+			if (!foundTags[i]) {
+				throw new InvalidDataAccessApiUsageException("tag " + tags[i] + " not found in the entity " + entity.getName());
+			}
+		}
+
+		return selected;
+	}
+
+	@Override
+	public String toString() {
+		return "EntityColumnLayout [entity=" + entity.getName() + ", columns=" + columns + "]";
+	}
+
+	/**
+	 * Single column in the layout
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	public static final class ColumnInfo {
+
+		private final int index;
+		private final CassandraPersistentProperty[] path;
+		private final KeyPart keyPart;
+		private final boolean idColumn;
+
+		public ColumnInfo(int index, CassandraPersistentProperty[] path, KeyPart keyPart, boolean idColumn) {
+			this.index = index;
+			this.path = path;
+			this.keyPart = keyPart;
+			this.idColumn = idColumn;
+		}
+
+		/**
+		 * Returns position of the column in the layout
+		 *
+		 * @return index
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Returns property chain from the entity to the column value, last element is the column property
+		 *
+		 * @return property path
+		 */
+		public CassandraPersistentProperty[] getPath() {
+			return path;
+		}
+
+		public CassandraPersistentProperty getProperty() {
+			return path[path.length - 1];
+		}
+
+		public String getName() {
+			return getProperty().getColumnName();
+		}
+
+		public DataType getDataType() {
+			return getProperty().getDataType();
+		}
+
+		/**
+		 * Returns key part of the column or null for regular columns
+		 *
+		 * @return KeyPart or null
+		 */
+		public KeyPart getKeyPart() {
+			return keyPart;
+		}
+
+		public boolean isPrimaryKeyColumn() {
+			return keyPart != null;
+		}
+
+		/**
+		 * Returns true if the column is not selected by the default queries, primary key columns are never lazy
+		 *
+		 * @return true for lazy columns
+		 */
+		public boolean isLazy() {
+			return keyPart == null && getProperty().isLazy();
+		}
+
+		/**
+		 * Returns true if the column value is taken from the id property of the entity
+		 *
+		 * @return true for id columns
+		 */
+		public boolean isIdColumn() {
+			return idColumn;
+		}
+
+		@Override
+		public String toString() {
+			return getName() + (keyPart != null ? " " + keyPart : "");
+		}
+
+	}
+
+}
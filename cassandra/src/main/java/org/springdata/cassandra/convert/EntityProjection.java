@@ -0,0 +1,294 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cql.codec.ColumnCodec;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+
+/**
+ * Projection of the entity to the interface or to the DTO class. Only the columns that the projection needs are
+ * selected.
+ *
+ * Interface projection is a proxy, each getter is mapped to the property of the entity with the same name. Getter of
+ * the embedded property returns the embedded object. DTO class is mapped as an entity, its columns are selected if the
+ * entity has them.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class EntityProjection {
+
+	private final MappingCassandraConverter converter;
+	private final Class<?> projectionType;
+	private final List<String> columnNames;
+
+	private final Map<Method, Integer> getterIndexes;
+	private final ProjectedValue[] values;
+
+	private volatile ResolvedColumns resolved;
+
+	EntityProjection(MappingCassandraConverter converter, CassandraPersistentEntity<?> entity, Class<?> projectionType) {
+
+		this.converter = converter;
+		this.projectionType = projectionType;
+
+		EntityColumnLayout layout = converter.getColumnLayout(entity);
+		Set<String> columns = new LinkedHashSet<String>();
+
+		if (projectionType.isInterface()) {
+
+			List<ProjectedValue> valueList = new ArrayList<ProjectedValue>();
+			Map<Method, Integer> indexes = new HashMap<Method, Integer>();
+
+			for (Method method : projectionType.getMethods()) {
+
+				if (method.getParameterTypes().length != 0 || method.getReturnType() == void.class) {
+					throw new MappingException("projection method " + method + " is not a getter");
+				}
+
+				CassandraPersistentProperty prop = entity.getPersistentProperty(getPropertyName(method));
+
+				if (prop == null) {
+					throw new MappingException("property for the projection method " + method + " not found in the entity "
+							+ entity.getName());
+				}
+
+				for (ColumnInfo column : layout.getColumns()) {
+					if (column.getPath()[0] == prop) {
+						columns.add(column.getName());
+					}
+				}
+
+				indexes.put(method, valueList.size());
+				valueList.add(new ProjectedValue(prop, method.getReturnType()));
+			}
+
+			this.getterIndexes = Collections.unmodifiableMap(indexes);
+			this.values = valueList.toArray(new ProjectedValue[valueList.size()]);
+
+		} else {
+
+			Set<String> entityColumns = new HashSet<String>();
+			for (ColumnInfo column : layout.getColumns()) {
+				entityColumns.add(column.getName());
+			}
+
+			CassandraPersistentEntity<?> dtoEntity = converter.getMappingContext().getPersistentEntity(projectionType);
+
+			if (dtoEntity == null) {
+				throw new MappingException("No mapping metadata found for " + projectionType.getName());
+			}
+
+			for (ColumnInfo column : converter.getColumnLayout(dtoEntity).getColumns()) {
+				if (entityColumns.contains(column.getName())) {
+					columns.add(column.getName());
+				}
+			}
+
+			this.getterIndexes = null;
+			this.values = null;
+		}
+
+		if (columns.isEmpty()) {
+			throw new MappingException("projection " + projectionType.getName() + " does not have columns of the entity "
+					+ entity.getName());
+		}
+
+		this.columnNames = Collections.unmodifiableList(new ArrayList<String>(columns));
+	}
+
+	public Class<?> getProjectionType() {
+		return projectionType;
+	}
+
+	/**
+	 * Returns names of the columns to select
+	 *
+	 * @return column names
+	 */
+	public List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * Reads the projection from the row that has the projection columns
+	 *
+	 * @param row row of the result set
+	 * @return new projection object
+	 */
+	public Object read(Row row) {
+
+		if (values == null) {
+			return converter.readRow(projectionType, row);
+		}
+
+		ResolvedColumns columns = resolve(row.getColumnDefinitions());
+		Object[] result = new Object[values.length];
+
+		for (int i = 0; i != values.length; ++i) {
+			result[i] = values[i].read(row, columns.indexes[i], columns.codecs[i]);
+		}
+
+		return Proxy.newProxyInstance(projectionType.getClassLoader(), new Class<?>[] { projectionType },
+				new ProjectionHandler(result));
+	}
+
+	/*
+	 * Indexes and codecs are resolved once for the columns of the result set
+	 */
+	private ResolvedColumns resolve(ColumnDefinitions columnDefinitions) {
+
+		ResolvedColumns columns = resolved;
+
+		if (columns == null || columns.columnDefinitions != columnDefinitions) {
+			columns = new ResolvedColumns(columnDefinitions);
+			resolved = columns;
+		}
+
+		return columns;
+	}
+
+	private static String getPropertyName(Method method) {
+
+		String name = method.getName();
+
+		if (name.startsWith("get") && name.length() > 3) {
+			return StringUtils.uncapitalize(name.substring(3));
+		}
+
+		if (name.startsWith("is") && name.length() > 2
+				&& ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()) == Boolean.class) {
+			return StringUtils.uncapitalize(name.substring(2));
+		}
+
+		return name;
+	}
+
+	private final class ResolvedColumns {
+
+		private final ColumnDefinitions columnDefinitions;
+		private final int[] indexes;
+		private final ColumnCodec[] codecs;
+
+		ResolvedColumns(ColumnDefinitions columnDefinitions) {
+
+			this.columnDefinitions = columnDefinitions;
+			this.indexes = new int[values.length];
+			this.codecs = new ColumnCodec[values.length];
+
+			for (int i = 0; i != values.length; ++i) {
+
+				CassandraPersistentProperty prop = values[i].prop;
+
+				if (prop.hasEmbeddableType()) {
+					indexes[i] = -1;
+					continue;
+				}
+
+				indexes[i] = columnDefinitions.getIndexOf(prop.getColumnName());
+				codecs[i] = converter.getCodecRegistry().getCodec(columnDefinitions.getType(indexes[i]),
+						values[i].returnType);
+			}
+		}
+
+	}
+
+	private final class ProjectedValue {
+
+		private final CassandraPersistentProperty prop;
+		private final Class<?> returnType;
+
+		ProjectedValue(CassandraPersistentProperty prop, Class<?> returnType) {
+			this.prop = prop;
+			this.returnType = returnType;
+		}
+
+		Object read(Row row, int index, ColumnCodec codec) {
+
+			Object value = codec != null ? codec.decode(row, index) : converter.readRow(prop.getRawType(), row);
+
+			if (value != null && !ClassUtils.isAssignableValue(returnType, value)) {
+				value = converter.getConversionService().convert(value, returnType);
+			}
+
+			return value;
+		}
+
+	}
+
+	private final class ProjectionHandler implements InvocationHandler {
+
+		private final Object[] result;
+
+		ProjectionHandler(Object[] result) {
+			this.result = result;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+			Integer index = getterIndexes.get(method);
+
+			if (index != null) {
+				return result[index];
+			}
+
+			String name = method.getName();
+
+			if (name.equals("equals") && args != null && args.length == 1) {
+				if (args[0] == null || !Proxy.isProxyClass(args[0].getClass())) {
+					return false;
+				}
+				InvocationHandler other = Proxy.getInvocationHandler(args[0]);
+				return other instanceof ProjectionHandler && Arrays.equals(result, ((ProjectionHandler) other).result);
+			}
+
+			if (name.equals("hashCode")) {
+				return Arrays.hashCode(result);
+			}
+
+			if (name.equals("toString")) {
+				return projectionType.getSimpleName() + Arrays.toString(result);
+			}
+
+			throw new UnsupportedOperationException(method.toString());
+		}
+
+	}
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.mapping.LazyValue;
+import org.springdata.cql.codec.CodecRegistry;
+import org.springdata.cql.codec.ColumnCodec;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PreferredConstructor.Parameter;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.MappingException;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.data.mapping.model.PersistentEntityParameterValueProvider;
+import org.springframework.data.mapping.model.PropertyValueProvider;
+import org.springframework.data.mapping.model.SpELExpressionParameterValueProvider;
+import org.springframework.expression.Expression;
+import org.springframework.util.ClassUtils;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * Read plan of the entity for the columns of one result set. Column indexes, codecs and property accessors are
+ * resolved once when the plan is compiled, reading of the row does no lookups by the column name.
+ *
+ * Plan depends only on the names and the types of the columns, so it is shared by all pages of the result set and by
+ * the result sets of the same query.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+final class EntityReadPlan {
+
+	private static final ParameterValueProvider<CassandraPersistentProperty> NO_PARAMETERS = new ParameterValueProvider<CassandraPersistentProperty>() {
+
+		@Override
+		public <T> T getParameterValue(Parameter<T, CassandraPersistentProperty> parameter) {
+			return null;
+		}
+
+	};
+
+	private final MappingCassandraConverter converter;
+	private final CassandraPersistentEntity<?> entity;
+	private final EntityAccessor accessor;
+	private final boolean hasConstructorParameters;
+	private final boolean hasConstructorExpressions;
+	private boolean needsEvaluator;
+
+	private final Map<CassandraPersistentProperty, ColumnReader> readers = new IdentityHashMap<CassandraPersistentProperty, ColumnReader>();
+	private final List<PropertyStep> steps = new ArrayList<PropertyStep>();
+
+	EntityReadPlan(MappingCassandraConverter converter, CassandraPersistentEntity<?> entity,
+			final ColumnDefinitions columnDefinitions) {
+
+		this.converter = converter;
+		this.entity = entity;
+		this.accessor = converter.getEntityAccessor(entity);
+
+		PreferredConstructor<?, CassandraPersistentProperty> constructor = entity.getPersistenceConstructor();
+		this.hasConstructorParameters = constructor != null && constructor.hasParameters();
+		this.hasConstructorExpressions = hasConstructorParameters && hasExpressions(constructor);
+		this.needsEvaluator = entity.hasSpelExpressions();
+
+		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
+
+			@Override
+			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+				compile(prop, columnDefinitions);
+			}
+
+		});
+	}
+
+	private void compile(CassandraPersistentProperty prop, ColumnDefinitions columnDefinitions) {
+
+		EntityReadPlan embeddedPlan = null;
+
+		if (prop.hasEmbeddableType()) {
+			CassandraPersistentEntity<?> propEntity = converter.getMappingContext().getPersistentEntity(prop.getRawType());
+			embeddedPlan = new EntityReadPlan(converter, propEntity, columnDefinitions);
+			needsEvaluator |= embeddedPlan.needsEvaluator;
+		}
+
+		ColumnReader reader = null;
+
+		String spel = prop.getSpelExpression();
+		Expression expression = spel != null ? converter.getExpression(spel) : null;
+
+		if (columnDefinitions.contains(prop.getColumnName())) {
+			reader = new ColumnReader(prop, expression, columnDefinitions, converter.getCodecRegistry(),
+					converter.isTrackCollections());
+			readers.put(prop, reader);
+		} else if (expression != null) {
+			readers.put(prop, new ColumnReader(prop, expression, null, null, false));
+		}
+
+		if (entity.isConstructorArgument(prop)) {
+			reader = null;
+		}
+
+		boolean unloaded = reader == null && isLazyHolder(prop) && !entity.isConstructorArgument(prop);
+
+		if (embeddedPlan != null || reader != null || unloaded) {
+			steps.add(new PropertyStep(prop, embeddedPlan, reader));
+		}
+	}
+
+	private static boolean isLazyHolder(CassandraPersistentProperty prop) {
+		return prop.getType() == LazyValue.class;
+	}
+
+	private static boolean hasExpressions(PreferredConstructor<?, CassandraPersistentProperty> constructor) {
+		for (Parameter<?, CassandraPersistentProperty> parameter : constructor.getParameters()) {
+			if (parameter.hasSpelExpression()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the entity or any embedded entity uses SpEL expressions, otherwise the rows are read without the
+	 * evaluator
+	 *
+	 * @return true if the evaluator must be passed to read
+	 */
+	boolean needsEvaluator() {
+		return needsEvaluator;
+	}
+
+	/**
+	 * Reads the entity from the row
+	 *
+	 * @param row row of the result set with the same columns as the plan was compiled for
+	 * @param evaluator SpEL evaluator of the row or null if the plan does not need it
+	 * @return new entity
+	 */
+	Object read(Row row, RowExpressionEvaluator evaluator) {
+
+		ParameterValueProvider<CassandraPersistentProperty> parameterProvider = NO_PARAMETERS;
+
+		if (hasConstructorParameters) {
+			parameterProvider = new PersistentEntityParameterValueProvider<CassandraPersistentProperty>(entity,
+					new RowValueProvider(row, evaluator), null);
+		}
+
+		if (hasConstructorExpressions) {
+			parameterProvider = new SpELExpressionParameterValueProvider<CassandraPersistentProperty>(evaluator,
+					converter.getConversionService(), parameterProvider);
+		}
+
+		Object bean = converter.instantiate(entity, accessor, parameterProvider);
+
+		for (int i = 0; i != steps.size(); ++i) {
+			steps.get(i).apply(bean, row, evaluator);
+		}
+
+		return bean;
+	}
+
+	/**
+	 * Constructor parameters are read by the compiled readers, unknown columns fall back to the name lookup
+	 */
+	private final class RowValueProvider implements PropertyValueProvider<CassandraPersistentProperty> {
+
+		private final Row row;
+		private final RowExpressionEvaluator evaluator;
+
+		RowValueProvider(Row row, RowExpressionEvaluator evaluator) {
+			this.row = row;
+			this.evaluator = evaluator;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T> T getPropertyValue(CassandraPersistentProperty property) {
+
+			ColumnReader reader = readers.get(property);
+
+			if (reader != null) {
+				return (T) reader.read(row, evaluator);
+			}
+
+			RowExpressionEvaluator rowEvaluator = evaluator != null ? evaluator : converter.newEvaluator(row);
+			return new CassandraPropertyValueProvider(row, rowEvaluator, converter.getCodecRegistry())
+					.getPropertyValue(property);
+		}
+
+	}
+
+	/**
+	 * Sets one property of the entity, either the embedded object or the value of the column. Primitive fields are set
+	 * by the codec directly. Lazy holders of the columns that are not in the row are set not loaded.
+	 */
+	private final class PropertyStep {
+
+		private final CassandraPersistentProperty prop;
+		private final EntityReadPlan embeddedPlan;
+		private final ColumnReader reader;
+		private final Field primitiveField;
+
+		PropertyStep(CassandraPersistentProperty prop, EntityReadPlan embeddedPlan, ColumnReader reader) {
+			this.prop = prop;
+			this.embeddedPlan = embeddedPlan;
+			this.reader = reader;
+			this.primitiveField = reader != null ? reader.getPrimitiveField(accessor.getDirectField(prop)) : null;
+		}
+
+		void apply(Object bean, Row row, RowExpressionEvaluator evaluator) {
+
+			if (embeddedPlan != null) {
+				accessor.setProperty(bean, prop, embeddedPlan.read(row, evaluator));
+			}
+
+			if (primitiveField != null) {
+				reader.readInto(row, bean, primitiveField);
+			} else if (reader != null) {
+				accessor.setProperty(bean, prop, reader.read(row, evaluator));
+			} else if (embeddedPlan == null) {
+				accessor.setProperty(bean, prop, new LazyValue<Object>());
+			}
+		}
+
+	}
+
+	/**
+	 * Reader of one column with the codec resolved in advance for the column type and the property type. Collections
+	 * are wrapped to the tracked collections if the property type allows it.
+	 */
+	static final class ColumnReader {
+
+		private final int index;
+		private final Expression expression;
+		private final ColumnCodec codec;
+		private final boolean lazyHolder;
+		private final DataType trackedType;
+
+		ColumnReader(CassandraPersistentProperty prop, Expression expression, ColumnDefinitions columnDefinitions,
+				CodecRegistry codecRegistry, boolean trackCollections) {
+
+			this.expression = expression;
+			this.lazyHolder = isLazyHolder(prop);
+
+			if (columnDefinitions == null) {
+				this.index = -1;
+				this.codec = null;
+				this.trackedType = null;
+				return;
+			}
+
+			this.index = columnDefinitions.getIndexOf(prop.getColumnName());
+
+			DataType dataType = columnDefinitions.getType(index);
+			this.codec = codecRegistry.getCodec(dataType, prop.getValueType());
+			this.trackedType = trackCollections && TrackedCollections.isTrackable(dataType, prop.getValueType()) ? dataType
+					: null;
+		}
+
+		/**
+		 * Returns the field if the codec can decode into it without boxing
+		 */
+		Field getPrimitiveField(Field field) {
+
+			if (field == null || expression != null || !field.getType().isPrimitive()) {
+				return null;
+			}
+
+			return ClassUtils.resolvePrimitiveIfNecessary(field.getType()) == codec.getJavaType() ? field : null;
+		}
+
+		Object read(Row row, RowExpressionEvaluator evaluator) {
+
+			if (expression != null) {
+				return evaluator.evaluate(expression);
+			}
+
+			Object value = codec.decode(row, index);
+
+			if (trackedType != null) {
+				value = TrackedCollections.track(trackedType, value);
+			}
+
+			return lazyHolder ? LazyValue.of(value) : value;
+		}
+
+		void readInto(Row row, Object bean, Field field) {
+			try {
+				codec.decodeInto(row, index, bean, field);
+			} catch (IllegalAccessException e) {
+				throw new MappingException("failed to set field " + field.getName(), e);
+			}
+		}
+
+	}
+
+}
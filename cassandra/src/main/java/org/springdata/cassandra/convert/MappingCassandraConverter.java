@@ -15,19 +15,31 @@
  */
 package org.springdata.cassandra.convert;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.mapping.LazyValue;
+import org.springdata.cql.codec.CodecRegistry;
+import org.springdata.cql.codec.ColumnCodec;
 import org.springdata.cql.core.KeyPart;
+import org.springdata.cql.core.RoutedStatement;
 import org.springdata.cql.spec.AlterTableSpecification;
 import org.springdata.cql.spec.CreateIndexSpecification;
 import org.springdata.cql.spec.CreateTableSpecification;
@@ -37,29 +49,34 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.convert.EntityInstantiator;
+import org.springframework.data.convert.ReflectionEntityInstantiator;
 import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.context.MappingContext;
-import org.springframework.data.mapping.model.BeanWrapper;
-import org.springframework.data.mapping.model.DefaultSpELExpressionEvaluator;
 import org.springframework.data.mapping.model.MappingException;
-import org.springframework.data.mapping.model.PersistentEntityParameterValueProvider;
-import org.springframework.data.mapping.model.PropertyValueProvider;
+import org.springframework.data.mapping.model.ParameterValueProvider;
 import org.springframework.data.mapping.model.SpELContext;
 import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.data.util.TypeInformation;
+import org.springframework.expression.Expression;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ColumnMetadata;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Update;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * {@link CassandraConverter} that uses a {@link MappingContext} to do sophisticated mapping of domain objects to
@@ -72,10 +89,24 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	protected static final Logger log = LoggerFactory.getLogger(MappingCassandraConverter.class);
 
+	public static final int DEFAULT_MAX_READ_PLANS = 128;
+
 	protected final MappingContext<? extends CassandraPersistentEntity<?>, CassandraPersistentProperty> mappingContext;
 	protected ApplicationContext applicationContext;
 	private SpELContext spELContext;
 	private boolean useFieldAccessOnly = true;
+	private boolean trackCollections = true;
+	private EntityChangeTracker changeTracker;
+	private CodecRegistry codecRegistry = new CodecRegistry();
+
+	private final ConcurrentMap<CassandraPersistentEntity<?>, EntityColumnLayout> columnLayouts = new ConcurrentHashMap<CassandraPersistentEntity<?>, EntityColumnLayout>();
+	private final ConcurrentMap<CassandraPersistentEntity<?>, EntityAccessor> entityAccessors = new ConcurrentHashMap<CassandraPersistentEntity<?>, EntityAccessor>();
+	private final ConcurrentMap<CassandraPersistentEntity<?>, CompiledReadPlan> lastReadPlans = new ConcurrentHashMap<CassandraPersistentEntity<?>, CompiledReadPlan>();
+	private final Cache<ReadPlanKey, EntityReadPlan> readPlans = CacheBuilder.newBuilder().maximumSize(DEFAULT_MAX_READ_PLANS)
+			.build();
+	private final ConcurrentMap<CassandraPersistentEntity<?>, ConcurrentMap<Class<?>, EntityProjection>> projections = new ConcurrentHashMap<CassandraPersistentEntity<?>, ConcurrentMap<Class<?>, EntityProjection>>();
+	private final ConcurrentMap<String, Expression> expressions = new ConcurrentHashMap<String, Expression>();
+	private final ConcurrentMap<CassandraPersistentProperty, ColumnCodec> writeCodecs = new ConcurrentHashMap<CassandraPersistentProperty, ColumnCodec>();
 
 	private ClassLoader beanClassLoader;
 
@@ -125,66 +156,22 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		this.spELContext = new SpELContext(this.spELContext, applicationContext);
 	}
 
-	private class ReadPropertyHandler<S> implements PropertyHandler<CassandraPersistentProperty> {
-
-		private CassandraPersistentEntity<S> entity;
-		private Row row;
-		private PropertyValueProvider<CassandraPersistentProperty> propertyProvider;
-		private BeanWrapper<CassandraPersistentEntity<S>, S> wrapper;
-
-		private ReadPropertyHandler(CassandraPersistentEntity<S> entity, Row row,
-				PropertyValueProvider<CassandraPersistentProperty> propertyProvider,
-				BeanWrapper<CassandraPersistentEntity<S>, S> wrapper) {
-			this.entity = entity;
-			this.row = row;
-			this.propertyProvider = propertyProvider;
-			this.wrapper = wrapper;
-		}
-
-		public void doWithPersistentProperty(CassandraPersistentProperty prop) {
-
-			boolean isConstructorProperty = entity.isConstructorArgument(prop);
-			boolean hasValueForProperty = row.getColumnDefinitions().contains(prop.getColumnName());
-
-			if (prop.hasEmbeddableType()) {
-
-				Class<?> propType = prop.getRawType();
-				final CassandraPersistentEntity<?> propEntity = mappingContext.getPersistentEntity(propType);
-				EntityInstantiator instantiator = instantiators.getInstantiatorFor(propEntity);
-				PersistentEntityParameterValueProvider<CassandraPersistentProperty> parameterProvider = new PersistentEntityParameterValueProvider<CassandraPersistentProperty>(
-						propEntity, propertyProvider, null);
-				Object instance = instantiator.createInstance(propEntity, parameterProvider);
-				final BeanWrapper<CassandraPersistentEntity<Object>, Object> propWrapper = BeanWrapper.create(instance,
-						conversionService);
-				final Object result = propWrapper.getBean();
-
-				propEntity.doWithProperties(new ReadPropertyHandler(propEntity, row, propertyProvider, propWrapper));
-				wrapper.setProperty(prop, result, useFieldAccessOnly);
-			}
-
-			if (!hasValueForProperty || isConstructorProperty) {
-				return;
-			}
-
-			Object obj = propertyProvider.getPropertyValue(prop);
-			wrapper.setProperty(prop, obj, useFieldAccessOnly);
-		}
-	}
-
 	private class InsertPropertyHandler implements PropertyHandler<CassandraPersistentProperty> {
 
-		private final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper;
+		private final Object bean;
+		private final EntityAccessor accessor;
 		private Insert insert;
 
-		public InsertPropertyHandler(Insert insert, BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper) {
+		public InsertPropertyHandler(Insert insert, Object bean, EntityAccessor accessor) {
 			this.insert = insert;
-			this.wrapper = wrapper;
+			this.bean = bean;
+			this.accessor = accessor;
 		}
 
 		@Override
 		public void doWithPersistentProperty(CassandraPersistentProperty prop) {
 
-			Object propertyObj = wrapper.getProperty(prop, prop.getType(), useFieldAccessOnly);
+			Object propertyObj = accessor.getProperty(bean, prop);
 
 			if (propertyObj == null) {
 				return;
@@ -192,39 +179,46 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 			if (prop.hasEmbeddableType()) {
 				final CassandraPersistentEntity<?> propEntity = mappingContext.getPersistentEntity(prop.getRawType());
-				final BeanWrapper<CassandraPersistentEntity<Object>, Object> propWrapper = BeanWrapper.create(propertyObj,
-						conversionService);
-				propEntity.doWithProperties(new InsertPropertyHandler(insert, propWrapper));
+				propEntity.doWithProperties(new InsertPropertyHandler(insert, propertyObj, getEntityAccessor(propEntity)));
 			} else {
-				insert.value(prop.getColumnName(), writeValue(prop, propertyObj));
+				Object value = writeValue(prop, propertyObj);
+				if (value != null) {
+					insert.value(prop.getColumnName(), value);
+				}
 			}
 		}
 	}
 
 	private class UpdatePropertyHandler implements PropertyHandler<CassandraPersistentProperty> {
 
-		private final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper;
+		private final Object bean;
+		private final EntityAccessor accessor;
 		private Update update;
 
-		private UpdatePropertyHandler(Update update, BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper) {
+		private UpdatePropertyHandler(Update update, Object bean, EntityAccessor accessor) {
 			this.update = update;
-			this.wrapper = wrapper;
+			this.bean = bean;
+			this.accessor = accessor;
 		}
 
 		public void doWithPersistentProperty(CassandraPersistentProperty prop) {
 
-			Object propertyObj = wrapper.getProperty(prop, prop.getType(), useFieldAccessOnly);
+			Object propertyObj = accessor.getProperty(bean, prop);
 
 			if (propertyObj != null) {
 				if (prop.hasEmbeddableType()) {
 					final CassandraPersistentEntity<?> propEntity = mappingContext.getPersistentEntity(prop.getRawType());
-					final BeanWrapper<CassandraPersistentEntity<Object>, Object> propWrapper = BeanWrapper.create(propertyObj,
-							conversionService);
-					propEntity.doWithProperties(new UpdatePropertyHandler(update, propWrapper));
+					propEntity.doWithProperties(new UpdatePropertyHandler(update, propertyObj, getEntityAccessor(propEntity)));
 				} else if (prop.isIdProperty() || prop.getKeyPart() != null) {
 					update.where(QueryBuilder.eq(prop.getColumnName(), writeValue(prop, propertyObj)));
 				} else {
-					update.with(QueryBuilder.set(prop.getColumnName(), writeValue(prop, propertyObj)));
+					Object value = writeValue(prop, propertyObj);
+					if (value != null) {
+						/*
+						 * Same rule as for the prepared statements, not changed tracked collections are not written
+						 */
+						TrackedCollections.writeAssignment(update, prop.getColumnName(), value);
+					}
 				}
 			}
 
@@ -233,24 +227,24 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	private class WherePropertyHandler implements PropertyHandler<CassandraPersistentProperty> {
 
-		private final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper;
+		private final Object bean;
+		private final EntityAccessor accessor;
 		private final List<Clause> clauseList;
 
-		private WherePropertyHandler(List<Clause> clauseList, BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper) {
+		private WherePropertyHandler(List<Clause> clauseList, Object bean, EntityAccessor accessor) {
 			this.clauseList = clauseList;
-			this.wrapper = wrapper;
+			this.bean = bean;
+			this.accessor = accessor;
 		}
 
 		public void doWithPersistentProperty(CassandraPersistentProperty prop) {
 
-			Object propertyObj = wrapper.getProperty(prop, prop.getType(), useFieldAccessOnly);
+			Object propertyObj = accessor.getProperty(bean, prop);
 
 			if (propertyObj != null) {
 				if (prop.hasEmbeddableType()) {
 					final CassandraPersistentEntity<?> propEntity = mappingContext.getPersistentEntity(prop.getRawType());
-					final BeanWrapper<CassandraPersistentEntity<Object>, Object> propWrapper = BeanWrapper.create(propertyObj,
-							conversionService);
-					propEntity.doWithProperties(new WherePropertyHandler(clauseList, propWrapper));
+					propEntity.doWithProperties(new WherePropertyHandler(clauseList, propertyObj, getEntityAccessor(propEntity)));
 				} else if (prop.isIdProperty() || prop.getKeyPart() != null) {
 					clauseList.add(QueryBuilder.eq(prop.getColumnName(), writeValue(prop, propertyObj)));
 				}
@@ -259,29 +253,178 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	private <S extends Object> S readRowInternal(final CassandraPersistentEntity<S> entity, final Row row) {
 
-		final DefaultSpELExpressionEvaluator evaluator = new DefaultSpELExpressionEvaluator(row, spELContext);
+		EntityReadPlan plan = getReadPlan(entity, row.getColumnDefinitions());
+		RowExpressionEvaluator evaluator = plan.needsEvaluator() ? newEvaluator(row) : null;
+
+		S obj = (S) plan.read(row, evaluator);
+
+		EntityChangeTracker tracker = changeTracker;
+		if (tracker != null && obj != null) {
+			tracker.track(obj, getColumnValues(obj));
+		}
+
+		return obj;
+	}
+
+	RowExpressionEvaluator newEvaluator(Row row) {
+		return new RowExpressionEvaluator(row, spELContext, this);
+	}
+
+	/**
+	 * Returns parsed SpEL expression, each expression is parsed once
+	 */
+	Expression getExpression(String expressionString) {
+
+		Expression expression = expressions.get(expressionString);
+
+		if (expression == null) {
+			expression = spELContext.getParser().parseExpression(expressionString);
+			expressions.putIfAbsent(expressionString, expression);
+		}
+
+		return expression;
+	}
+
+	/**
+	 * Returns read plan of the entity for the columns. Plans are cached by the entity and the names and types of the
+	 * columns, the last plan of the entity is reused without the lookup when the rows have the same column definitions.
+	 */
+	private EntityReadPlan getReadPlan(final CassandraPersistentEntity<?> entity,
+			final ColumnDefinitions columnDefinitions) {
+
+		CompiledReadPlan compiled = lastReadPlans.get(entity);
+
+		if (compiled != null && compiled.columnDefinitions == columnDefinitions) {
+			return compiled.plan;
+		}
+
+		EntityReadPlan plan;
+		try {
+			plan = readPlans.get(new ReadPlanKey(entity, columnDefinitions), new Callable<EntityReadPlan>() {
+
+				@Override
+				public EntityReadPlan call() {
+					return new EntityReadPlan(MappingCassandraConverter.this, entity, columnDefinitions);
+				}
+
+			});
+		} catch (ExecutionException e) {
+			throw new MappingException("unable to create read plan for " + entity.getName(), e.getCause());
+		} catch (UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		} catch (ExecutionError e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+
+		lastReadPlans.put(entity, new CompiledReadPlan(columnDefinitions, plan));
+		return plan;
+	}
 
-		final PropertyValueProvider<CassandraPersistentProperty> propertyProvider = new CassandraPropertyValueProvider(row,
-				evaluator);
-		PersistentEntityParameterValueProvider<CassandraPersistentProperty> parameterProvider = new PersistentEntityParameterValueProvider<CassandraPersistentProperty>(
-				entity, propertyProvider, null);
+	private void clearReadPlans() {
+		lastReadPlans.clear();
+		readPlans.invalidateAll();
+	}
+
+	/**
+	 * Creates the entity by the generated constructor call, custom instantiators registered for the entity are used as
+	 * is
+	 */
+	Object instantiate(CassandraPersistentEntity<?> entity, EntityAccessor accessor,
+			ParameterValueProvider<CassandraPersistentProperty> parameterProvider) {
 
 		EntityInstantiator instantiator = instantiators.getInstantiatorFor(entity);
-		S instance = instantiator.createInstance(entity, parameterProvider);
 
-		final BeanWrapper<CassandraPersistentEntity<S>, S> wrapper = BeanWrapper.create(instance, conversionService);
-		final S result = wrapper.getBean();
+		if (instantiator == ReflectionEntityInstantiator.INSTANCE && accessor.canInstantiate()) {
+			return accessor.newInstance(parameterProvider);
+		}
 
-		// Set properties not already set in the constructor
-		entity.doWithProperties(new ReadPropertyHandler<S>(entity, row, propertyProvider, wrapper));
+		return instantiator.createInstance(entity, parameterProvider);
+	}
 
-		return result;
+	/**
+	 * Returns cached property accessors of the entity
+	 * 
+	 * @param entity persistent entity
+	 * @return EntityAccessor
+	 */
+	public EntityAccessor getEntityAccessor(CassandraPersistentEntity<?> entity) {
+
+		EntityAccessor accessor = entityAccessors.get(entity);
+
+		if (accessor == null) {
+
+			accessor = new EntityAccessor(entity, useFieldAccessOnly, conversionService);
+
+			EntityAccessor existing = entityAccessors.putIfAbsent(entity, accessor);
+			if (existing != null) {
+				accessor = existing;
+			}
+		}
+
+		return accessor;
 	}
 
 	public void setUseFieldAccessOnly(boolean useFieldAccessOnly) {
 		this.useFieldAccessOnly = useFieldAccessOnly;
+		this.entityAccessors.clear();
+		clearReadPlans();
+	}
+
+	/**
+	 * Enables or disables tracked collections. Set, List and Map properties read as tracked collections are updated by
+	 * the element operations of the changes instead of the whole collection. Enabled by default.
+	 * 
+	 * @param trackCollections
+	 */
+	public void setTrackCollections(boolean trackCollections) {
+		this.trackCollections = trackCollections;
+		clearReadPlans();
+	}
+
+	public boolean isTrackCollections() {
+		return trackCollections;
+	}
+
+	/**
+	 * Enables or disables snapshots of the read entities. Save of the entity read with the snapshot updates only the
+	 * columns changed since the read or the last save. Disabled by default, the snapshot costs memory while the entity
+	 * is referenced.
+	 * 
+	 * @param trackEntityChanges
+	 */
+	public void setTrackEntityChanges(boolean trackEntityChanges) {
+		this.changeTracker = trackEntityChanges ? new EntityChangeTracker() : null;
+	}
+
+	@Override
+	public boolean isTrackEntityChanges() {
+		return changeTracker != null;
+	}
+
+	/**
+	 * Sets the codecs that decode columns and encode property values
+	 * 
+	 * @param codecRegistry CodecRegistry
+	 */
+	public void setCodecRegistry(CodecRegistry codecRegistry) {
+		Assert.notNull(codecRegistry);
+		this.codecRegistry = codecRegistry;
+		clearReadPlans();
+		this.writeCodecs.clear();
+		this.projections.clear();
+	}
+
+	public CodecRegistry getCodecRegistry() {
+		return codecRegistry;
 	}
 
 	@Override
@@ -319,28 +462,19 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	private void writeInsertInternal(final Object objectToSave, final Insert insert, CassandraPersistentEntity<?> entity) {
 
-		final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(objectToSave,
-				conversionService);
-
-		entity.doWithProperties(new InsertPropertyHandler(insert, wrapper));
+		entity.doWithProperties(new InsertPropertyHandler(insert, objectToSave, getEntityAccessor(entity)));
 	}
 
 	private void writeUpdateInternal(final Object objectToSave, final Update update, CassandraPersistentEntity<?> entity) {
 
-		final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(objectToSave,
-				conversionService);
-
 		// Write the properties
-		entity.doWithProperties(new UpdatePropertyHandler(update, wrapper));
+		entity.doWithProperties(new UpdatePropertyHandler(update, objectToSave, getEntityAccessor(entity)));
 	}
 
 	private void writeWhereInternal(final Object objectToSave, final List<Clause> clauseList,
 			CassandraPersistentEntity<?> entity) {
 
-		final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(objectToSave,
-				conversionService);
-
-		entity.doWithProperties(new WherePropertyHandler(clauseList, wrapper));
+		entity.doWithProperties(new WherePropertyHandler(clauseList, objectToSave, getEntityAccessor(entity)));
 	}
 
 	@Override
@@ -598,10 +732,356 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		return result;
 	}
 
-	private void embeddedPrimaryKey(Class<?> idClass, Object id, final List<Clause> result,
-			final boolean partitionPartsOnly) {
+	@Override
+	public EntityColumnLayout getColumnLayout(CassandraPersistentEntity<?> entity) {
+
+		EntityColumnLayout layout = columnLayouts.get(entity);
+
+		if (layout == null) {
+
+			List<ColumnInfo> columns = new ArrayList<ColumnInfo>();
+			collectColumns(entity, new CassandraPersistentProperty[0], false, columns);
+
+			layout = new EntityColumnLayout(entity, columns);
+
+			EntityColumnLayout existing = columnLayouts.putIfAbsent(entity, layout);
+			if (existing != null) {
+				layout = existing;
+			}
+		}
+
+		return layout;
+	}
+
+	@Override
+	public EntityProjection getProjection(CassandraPersistentEntity<?> entity, Class<?> projectionType) {
+
+		ConcurrentMap<Class<?>, EntityProjection> entityProjections = projections.get(entity);
+
+		if (entityProjections == null) {
+			entityProjections = new ConcurrentHashMap<Class<?>, EntityProjection>();
+			ConcurrentMap<Class<?>, EntityProjection> existing = projections.putIfAbsent(entity, entityProjections);
+			if (existing != null) {
+				entityProjections = existing;
+			}
+		}
+
+		EntityProjection projection = entityProjections.get(projectionType);
+
+		if (projection == null) {
+			projection = new EntityProjection(this, entity, projectionType);
+			EntityProjection existing = entityProjections.putIfAbsent(projectionType, projection);
+			if (existing != null) {
+				projection = existing;
+			}
+		}
+
+		return projection;
+	}
+
+	private void collectColumns(final CassandraPersistentEntity<?> entity, final CassandraPersistentProperty[] parentPath,
+			final boolean idParent, final List<ColumnInfo> columns) {
+
+		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
+			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+
+				CassandraPersistentProperty[] path = new CassandraPersistentProperty[parentPath.length + 1];
+				System.arraycopy(parentPath, 0, path, 0, parentPath.length);
+				path[parentPath.length] = prop;
+
+				if (prop.hasEmbeddableType()) {
+
+					final CassandraPersistentEntity<?> propEntity = mappingContext.getPersistentEntity(prop.getRawType());
+
+					if (propEntity == null) {
+						throw new MappingException("entity not found for " + prop.getRawType());
+					}
+
+					if (prop.isIdProperty()) {
+						validatePkEntity(propEntity);
+					}
+
+					collectColumns(propEntity, path, idParent || prop.isIdProperty(), columns);
+
+				} else {
+
+					KeyPart keyPart = prop.getKeyPart();
+					if (keyPart == null && prop.isIdProperty()) {
+						keyPart = KeyPart.PARTITION;
+					}
+
+					columns.add(new ColumnInfo(columns.size(), path, keyPart, idParent || prop.isIdProperty()));
+				}
+
+			}
+		});
 
-		final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(id, conversionService);
+	}
+
+	@Override
+	public Object[] getColumnValues(Object obj) {
+
+		Class<?> beanClassLoaderClass = transformClassToBeanClassLoaderClass(obj.getClass());
+		CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(beanClassLoaderClass);
+
+		if (entity == null) {
+			throw new MappingException("No mapping metadata found for " + obj.getClass());
+		}
+
+		EntityColumnLayout layout = getColumnLayout(entity);
+		Object[] values = new Object[layout.size()];
+
+		/*
+		 * Columns of the same embedded property are adjacent, so keep the last embedded object
+		 */
+		CassandraPersistentProperty[] lastPath = null;
+		Object lastBean = null;
+
+		for (ColumnInfo column : layout.getColumns()) {
+
+			CassandraPersistentProperty[] path = column.getPath();
+			Object bean = obj;
+
+			if (path.length > 1) {
+
+				if (lastPath != null && sameParent(lastPath, path)) {
+					bean = lastBean;
+				} else {
+					bean = getEmbeddedBean(obj, path, path.length - 1);
+					lastPath = path;
+					lastBean = bean;
+				}
+
+			}
+
+			if (bean != null) {
+				CassandraPersistentProperty prop = column.getProperty();
+				values[column.getIndex()] = writeValue(prop, getPropertyValue(bean, prop));
+			}
+		}
+
+		return values;
+	}
+
+	@Override
+	public BitSet getChangedColumns(Object obj, Object[] values) {
+
+		EntityChangeTracker tracker = changeTracker;
+
+		if (tracker == null) {
+			return null;
+		}
+
+		Class<?> beanClassLoaderClass = transformClassToBeanClassLoaderClass(obj.getClass());
+		CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(beanClassLoaderClass);
+
+		if (entity == null) {
+			throw new MappingException("No mapping metadata found for " + obj.getClass());
+		}
+
+		return tracker.getChangedColumns(getColumnLayout(entity), obj, values);
+	}
+
+	@Override
+	public void refreshSnapshot(Object obj, Object[] values, BitSet written) {
+
+		EntityChangeTracker tracker = changeTracker;
+
+		if (tracker != null) {
+			tracker.refresh(obj, values, written);
+		}
+	}
+
+	@Override
+	public Object[] getIdValues(CassandraPersistentEntity<?> entity, Object id, boolean partitionPartsOnly) {
+
+		EntityColumnLayout layout = getColumnLayout(entity);
+		List<ColumnInfo> idColumns = partitionPartsOnly ? layout.getIdPartitionColumns() : layout.getIdColumns();
+
+		if (idColumns.isEmpty()) {
+			throw new MappingException("Could not form a where clause for the primary key for an entity " + entity.getName());
+		}
+
+		Object[] values = new Object[idColumns.size()];
+		boolean idChecked = false;
+
+		for (int i = 0; i != values.length; ++i) {
+
+			ColumnInfo column = idColumns.get(i);
+			CassandraPersistentProperty[] path = column.getPath();
+
+			if (path.length == 1) {
+				values[i] = writeValue(path[0], id);
+				continue;
+			}
+
+			if (!idChecked) {
+
+				if (!path[0].getRawType().isAssignableFrom(id.getClass())) {
+					throw new MappingException("id class " + id.getClass() + " can not be converted to embeddedid property "
+							+ path[0].getColumnName() + " in the entity " + entity.getName());
+				}
+
+				idChecked = true;
+			}
+
+			Object propertyObj = id;
+
+			for (int j = 1; j != path.length && propertyObj != null; ++j) {
+				propertyObj = getPropertyValue(propertyObj, path[j]);
+			}
+
+			if (propertyObj == null) {
+				throw new MappingException("null primary key column " + column.getName() + " in entity " + entity.getName());
+			}
+
+			values[i] = writeValue(column.getProperty(), propertyObj);
+		}
+
+		return values;
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey(Object obj) {
+
+		Class<?> beanClassLoaderClass = transformClassToBeanClassLoaderClass(obj.getClass());
+		CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(beanClassLoaderClass);
+
+		if (entity == null) {
+			throw new MappingException("No mapping metadata found for " + obj.getClass());
+		}
+
+		List<ColumnInfo> partitionKeyColumns = getColumnLayout(entity).getPartitionKeyColumns();
+		ByteBuffer[] components = new ByteBuffer[partitionKeyColumns.size()];
+
+		for (int i = 0; i != components.length; ++i) {
+
+			ColumnInfo column = partitionKeyColumns.get(i);
+			CassandraPersistentProperty[] path = column.getPath();
+
+			Object bean = path.length > 1 ? getEmbeddedBean(obj, path, path.length - 1) : obj;
+
+			if (bean == null) {
+				return null;
+			}
+
+			CassandraPersistentProperty prop = column.getProperty();
+			Object value = writeValue(prop, getPropertyValue(bean, prop));
+
+			components[i] = serializeKeyComponent(column, value);
+
+			if (components[i] == null) {
+				return null;
+			}
+		}
+
+		return components.length == 0 ? null : RoutedStatement.composeRoutingKey(components);
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey(CassandraPersistentEntity<?> entity, Object id) {
+
+		EntityColumnLayout layout = getColumnLayout(entity);
+
+		List<ColumnInfo> partitionKeyColumns = layout.getPartitionKeyColumns();
+		List<ColumnInfo> idPartitionColumns = layout.getIdPartitionColumns();
+
+		if (partitionKeyColumns.isEmpty() || partitionKeyColumns.size() != idPartitionColumns.size()) {
+			return null;
+		}
+
+		Object[] idValues = getIdValues(entity, id, true);
+		ByteBuffer[] components = new ByteBuffer[partitionKeyColumns.size()];
+
+		for (int i = 0; i != components.length; ++i) {
+
+			ColumnInfo column = partitionKeyColumns.get(i);
+
+			components[i] = serializeKeyComponent(column, idValues[idPartitionColumns.indexOf(column)]);
+
+			if (components[i] == null) {
+				return null;
+			}
+		}
+
+		return RoutedStatement.composeRoutingKey(components);
+	}
+
+	@Override
+	public LazyValue<?> getLazyValue(Object obj, ColumnInfo column) {
+
+		CassandraPersistentProperty[] path = column.getPath();
+		Object bean = path.length > 1 ? getEmbeddedBean(obj, path, path.length - 1) : obj;
+
+		if (bean == null) {
+			return null;
+		}
+
+		Object value = getPropertyValue(bean, column.getProperty());
+		return value instanceof LazyValue ? (LazyValue<?>) value : null;
+	}
+
+	@Override
+	public Object readColumnValue(Row row, int index, CassandraPersistentProperty prop) {
+		return codecRegistry.getCodec(row.getColumnDefinitions().getType(index), prop.getValueType()).decode(row, index);
+	}
+
+	@Override
+	public Object writeColumnValue(CassandraPersistentProperty prop, Object value) {
+		return writeValue(prop, value);
+	}
+
+	private static ByteBuffer serializeKeyComponent(ColumnInfo column, Object value) {
+
+		if (value == null) {
+			return null;
+		}
+
+		DataType dataType = column.getDataType();
+
+		if (dataType == null) {
+			return null;
+		}
+
+		try {
+			return dataType.serialize(value);
+		} catch (InvalidTypeException e) {
+			return null;
+		}
+	}
+
+	private Object getEmbeddedBean(Object root, CassandraPersistentProperty[] path, int depth) {
+
+		Object bean = root;
+
+		for (int i = 0; i != depth && bean != null; ++i) {
+			bean = getPropertyValue(bean, path[i]);
+		}
+
+		return bean;
+	}
+
+	private Object getPropertyValue(Object bean, CassandraPersistentProperty prop) {
+		return getEntityAccessor((CassandraPersistentEntity<?>) prop.getOwner()).getProperty(bean, prop);
+	}
+
+	private static boolean sameParent(CassandraPersistentProperty[] path1, CassandraPersistentProperty[] path2) {
+
+		if (path1.length != path2.length) {
+			return false;
+		}
+
+		for (int i = 0; i != path1.length - 1; ++i) {
+			if (path1[i] != path2[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void embeddedPrimaryKey(Class<?> idClass, final Object id, final List<Clause> result,
+			final boolean partitionPartsOnly) {
 
 		final CassandraPersistentEntity<?> idEntity = mappingContext.getPersistentEntity(idClass);
 
@@ -616,7 +1096,7 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 				KeyPart keyPart = prop.getKeyPart();
 				if (keyPart != null) {
 					if (!partitionPartsOnly || keyPart == KeyPart.PARTITION) {
-						Object propertyObj = wrapper.getProperty(prop, prop.getType(), useFieldAccessOnly);
+						Object propertyObj = getPropertyValue(id, prop);
 
 						if (propertyObj == null) {
 							throw new MappingException("null primary key column " + prop.getColumnName() + " in entity "
@@ -696,6 +1176,69 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	}
 
+	/**
+	 * Read plan with the columns it was last used for
+	 */
+	private static final class CompiledReadPlan {
+
+		private final ColumnDefinitions columnDefinitions;
+		private final EntityReadPlan plan;
+
+		private CompiledReadPlan(ColumnDefinitions columnDefinitions, EntityReadPlan plan) {
+			this.columnDefinitions = columnDefinitions;
+			this.plan = plan;
+		}
+
+	}
+
+	/**
+	 * Key of the read plan, the entity and the names and types of the columns
+	 */
+	private static final class ReadPlanKey {
+
+		private final CassandraPersistentEntity<?> entity;
+		private final String[] names;
+		private final DataType[] types;
+		private final int hashCode;
+
+		private ReadPlanKey(CassandraPersistentEntity<?> entity, ColumnDefinitions columnDefinitions) {
+
+			int size = columnDefinitions.size();
+
+			this.entity = entity;
+			this.names = new String[size];
+			this.types = new DataType[size];
+
+			for (int i = 0; i != size; ++i) {
+				names[i] = columnDefinitions.getName(i);
+				types[i] = columnDefinitions.getType(i);
+			}
+
+			this.hashCode = 31 * (31 * entity.hashCode() + Arrays.hashCode(names)) + Arrays.hashCode(types);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof ReadPlanKey)) {
+				return false;
+			}
+
+			ReadPlanKey other = (ReadPlanKey) obj;
+			return entity.equals(other.entity) && Arrays.equals(names, other.names) && Arrays.equals(types, other.types);
+		}
+
+	}
+
 	/**
 	 * Ordinal based column comparator is used for column ordering in partition and clustering key parts of the primary
 	 * key
@@ -733,19 +1276,38 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	}
 
+	/*
+	 * Not loaded lazy values are written as null, so they are skipped same as null properties
+	 */
 	private Object writeValue(CassandraPersistentProperty prop, Object propValue) {
 
+		if (propValue instanceof LazyValue) {
+			propValue = ((LazyValue<?>) propValue).getIfLoaded();
+		}
+
 		if (propValue == null) {
 			return null;
 		}
 
-		Converter converter = prop.getWriteConverter();
+		ColumnCodec codec = getWriteCodec(prop);
 
-		if (converter != null) {
-			return converter.convert(propValue);
+		if (codec.getJavaType().isInstance(propValue)) {
+			return codec.toDriverValue(propValue);
 		}
 
 		return propValue;
 	}
 
+	private ColumnCodec getWriteCodec(CassandraPersistentProperty prop) {
+
+		ColumnCodec codec = writeCodecs.get(prop);
+
+		if (codec == null) {
+			codec = codecRegistry.getCodec(prop.getDataType(), prop.getValueType());
+			writeCodecs.putIfAbsent(prop, codec);
+		}
+
+		return codec;
+	}
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import org.springframework.data.mapping.model.SpELContext;
+import org.springframework.data.mapping.model.SpELExpressionEvaluator;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+
+import com.datastax.driver.core.Row;
+
+/**
+ * {@link SpELExpressionEvaluator} of one row that evaluates expressions parsed in advance. The evaluation context is
+ * created on the first evaluation.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+final class RowExpressionEvaluator implements SpELExpressionEvaluator {
+
+	private final Row row;
+	private final SpELContext spELContext;
+	private final MappingCassandraConverter converter;
+
+	private EvaluationContext evaluationContext;
+
+	RowExpressionEvaluator(Row row, SpELContext spELContext, MappingCassandraConverter converter) {
+		this.row = row;
+		this.spELContext = spELContext;
+		this.converter = converter;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mapping.model.SpELExpressionEvaluator#evaluate(java.lang.String)
+	 */
+	@Override
+	public <T> T evaluate(String expression) {
+		return evaluate(converter.getExpression(expression));
+	}
+
+	@SuppressWarnings("unchecked")
+	<T> T evaluate(Expression expression) {
+
+		if (evaluationContext == null) {
+			evaluationContext = spELContext.getEvaluationContext(row);
+		}
+
+		return (T) expression.getValue(evaluationContext);
+	}
+
+}
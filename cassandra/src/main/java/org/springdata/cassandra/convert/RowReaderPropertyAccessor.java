@@ -15,13 +15,12 @@
  */
 package org.springdata.cassandra.convert;
 
-import java.nio.ByteBuffer;
-
+import org.springdata.cql.codec.CodecRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 
-import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.Row;
 
 /**
@@ -55,12 +54,12 @@ enum RowReaderPropertyAccessor implements PropertyAccessor {
 	 */
 	public TypedValue read(EvaluationContext context, Object target, String name) {
 		Row row = (Row) target;
-		if (row.isNull(name)) {
+		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
+		int index = columnDefinitions.getIndexOf(name);
+		if (row.isNull(index)) {
 			return TypedValue.NULL;
 		}
-		DataType columnType = row.getColumnDefinitions().getType(name);
-		ByteBuffer bytes = row.getBytes(name);
-		Object object = columnType.deserialize(bytes);
+		Object object = CodecRegistry.DEFAULT.getCodec(columnDefinitions.getType(index)).decode(row, index);
 		return new TypedValue(object);
 	}
 
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.util.List;
+
+import com.datastax.driver.core.querybuilder.Assignment;
+
+/**
+ * Set, List or Map read by the converter that records changes since the read or since the last save. The UPDATE writes
+ * only the changed elements instead of the whole collection, that avoids the range tombstone of the collection
+ * overwrite.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public interface TrackedCollection {
+
+	/**
+	 * Returns true if the collection has changes to write
+	 *
+	 * @return true if changed
+	 */
+	boolean isChanged();
+
+	/**
+	 * Returns true if the changes can not be written as element operations and the whole collection must be written
+	 *
+	 * @return true if replaced
+	 */
+	boolean isReplaced();
+
+	/**
+	 * Gets element operations of the changes, valid only if the collection is not replaced
+	 *
+	 * @param columnName column of the collection
+	 * @return list of assignments, empty if not changed
+	 */
+	List<Assignment> getChanges(String columnName);
+
+	/**
+	 * Captures the changes written by the statement that is being created
+	 *
+	 * @return captured changes to pass to {@link #resetChanges(Object)}
+	 */
+	Object captureChanges();
+
+	/**
+	 * Resets the captured changes after the statement is applied. Changes made after the capture are kept and written by
+	 * the next save.
+	 *
+	 * @param captured changes returned by {@link #captureChanges()}
+	 */
+	void resetChanges(Object captured);
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.querybuilder.Assignment;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Update;
+
+/**
+ * Creates tracked collections on read and writes their changes to the UPDATE statements
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class TrackedCollections {
+
+	private TrackedCollections() {
+	}
+
+	/**
+	 * Returns true if the property of the type can hold the tracked collection of the column type
+	 */
+	static boolean isTrackable(DataType dataType, Class<?> propertyType) {
+
+		switch (dataType.getName()) {
+		case SET:
+			return propertyType.isAssignableFrom(TrackedSet.class);
+		case LIST:
+			return propertyType.isAssignableFrom(TrackedList.class);
+		case MAP:
+			return propertyType.isAssignableFrom(TrackedMap.class);
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Wraps the collection decoded from the column, elements are copied so the decoded collection may be immutable
+	 */
+	@SuppressWarnings("unchecked")
+	static Object track(DataType dataType, Object value) {
+
+		if (value == null) {
+			return null;
+		}
+
+		switch (dataType.getName()) {
+		case SET:
+			return new TrackedSet<Object>(new LinkedHashSet<Object>((Collection<Object>) value));
+		case LIST:
+			return new TrackedList<Object>(new ArrayList<Object>((Collection<Object>) value));
+		case MAP:
+			return new TrackedMap<Object, Object>(new LinkedHashMap<Object, Object>((Map<Object, Object>) value));
+		default:
+			return value;
+		}
+	}
+
+	/**
+	 * Adds assignment of the column value to the UPDATE. Tracked collections add only operations of the changed
+	 * elements and nothing if they are not changed. Changes are not reset, the caller captures them by
+	 * {@link #captureChanges(Object[], BitSet)} and resets them by {@link #resetChanges(Object[], Object[])} after the
+	 * statement is applied, so a failed write can be retried.
+	 *
+	 * @param update UPDATE statement
+	 * @param columnName column name
+	 * @param value converted value of the column, not null
+	 * @return true if any assignment is added
+	 */
+	public static boolean writeAssignment(Update update, String columnName, Object value) {
+
+		if (!(value instanceof TrackedCollection)) {
+			update.with(QueryBuilder.set(columnName, value));
+			return true;
+		}
+
+		TrackedCollection tracked = (TrackedCollection) value;
+
+		if (!tracked.isChanged()) {
+			return false;
+		}
+
+		if (tracked.isReplaced()) {
+			update.with(QueryBuilder.set(columnName, value));
+		} else {
+			List<Assignment> changes = tracked.getChanges(columnName);
+			for (Assignment change : changes) {
+				update.with(change);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Captures changes of the tracked collections among the written values, called when the statement is created
+	 *
+	 * @param values converted column values
+	 * @param written indexes of the written columns or null if all values are written
+	 * @return captured changes by the column index, null if no tracked collection is written
+	 */
+	public static Object[] captureChanges(Object[] values, BitSet written) {
+
+		Object[] captured = null;
+
+		for (int i = 0; i != values.length; ++i) {
+			if (values[i] instanceof TrackedCollection && (written == null || written.get(i))) {
+				if (captured == null) {
+					captured = new Object[values.length];
+				}
+				captured[i] = ((TrackedCollection) values[i]).captureChanges();
+			}
+		}
+
+		return captured;
+	}
+
+	/**
+	 * Resets the captured changes of the tracked collections, called after the statement is applied. Changes made after
+	 * the capture are kept.
+	 *
+	 * @param values converted column values
+	 * @param captured changes returned by {@link #captureChanges(Object[], BitSet)}, may be null
+	 */
+	public static void resetChanges(Object[] values, Object[] captured) {
+
+		if (captured == null) {
+			return;
+		}
+
+		for (int i = 0; i != values.length; ++i) {
+			if (captured[i] != null) {
+				((TrackedCollection) values[i]).resetChanges(captured[i]);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.datastax.driver.core.querybuilder.Assignment;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+
+/**
+ * List that records elements appended to the end, written as appendAll. Any change of the elements that existed
+ * before replaces the whole list, because positions of the CQL list can not be addressed safely.
+ *
+ * @author Alex Shvid
+ *
+ * @param <E> element type
+ */
+
+final class TrackedList<E> extends AbstractList<E> implements RandomAccess, TrackedCollection {
+
+	private final List<E> delegate;
+	private int baseSize;
+	private boolean replaced;
+	private int modifications;
+
+	TrackedList(List<E> delegate) {
+		this.delegate = delegate;
+		this.baseSize = delegate.size();
+	}
+
+	@Override
+	public E get(int index) {
+		return delegate.get(index);
+	}
+
+	@Override
+	public int size() {
+		return delegate.size();
+	}
+
+	@Override
+	public E set(int index, E element) {
+		E old = delegate.set(index, element);
+		modifications++;
+		if (index < baseSize) {
+			replaced = true;
+		}
+		return old;
+	}
+
+	@Override
+	public void add(int index, E element) {
+		delegate.add(index, element);
+		modCount++;
+		modifications++;
+		if (index < baseSize) {
+			replaced = true;
+		}
+	}
+
+	@Override
+	public E remove(int index) {
+		E old = delegate.remove(index);
+		modCount++;
+		modifications++;
+		if (index < baseSize) {
+			replaced = true;
+		}
+		return old;
+	}
+
+	@Override
+	public boolean isChanged() {
+		return replaced || delegate.size() != baseSize;
+	}
+
+	@Override
+	public boolean isReplaced() {
+		return replaced;
+	}
+
+	@Override
+	public List<Assignment> getChanges(String columnName) {
+
+		if (delegate.size() == baseSize) {
+			return Collections.emptyList();
+		}
+
+		List<Object> appended = new ArrayList<Object>(delegate.subList(baseSize, delegate.size()));
+		return Collections.singletonList(QueryBuilder.appendAll(columnName, appended));
+	}
+
+	@Override
+	public Object captureChanges() {
+		List<Object> appended = replaced ? null : new ArrayList<Object>(delegate.subList(baseSize, delegate.size()));
+		return new Changes(replaced, modifications, appended);
+	}
+
+	@Override
+	public void resetChanges(Object captured) {
+
+		Changes changes = (Changes) captured;
+
+		if (changes.replaced) {
+			if (changes.modifications == modifications) {
+				replaced = false;
+				baseSize = delegate.size();
+			}
+			return;
+		}
+
+		if (replaced) {
+			return;
+		}
+
+		/*
+		 * Written elements changed after the capture replace the whole list
+		 */
+		int writtenSize = baseSize + changes.appended.size();
+
+		if (writtenSize <= delegate.size() && delegate.subList(baseSize, writtenSize).equals(changes.appended)) {
+			baseSize = writtenSize;
+		} else {
+			replaced = true;
+		}
+	}
+
+	/**
+	 * Changes captured for the statement
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	static final class Changes {
+
+		private final boolean replaced;
+		private final int modifications;
+		private final List<Object> appended;
+
+		Changes(boolean replaced, int modifications, List<Object> appended) {
+			this.replaced = replaced;
+			this.modifications = modifications;
+			this.appended = appended;
+		}
+
+	}
+
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.ObjectUtils;
+
+import com.datastax.driver.core.querybuilder.Assignment;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+
+/**
+ * Map that records put and removed keys, puts are written as putAll and removed keys as null elements. Clear replaces
+ * the whole map.
+ *
+ * @author Alex Shvid
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+
+final class TrackedMap<K, V> extends AbstractMap<K, V> implements TrackedCollection {
+
+	private final Map<K, V> delegate;
+	private final Map<K, V> puts = new LinkedHashMap<K, V>();
+	private final Set<Object> removals = new LinkedHashSet<Object>();
+	private boolean replaced;
+	private int modifications;
+
+	private Set<Map.Entry<K, V>> entrySet;
+
+	TrackedMap(Map<K, V> delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public int size() {
+		return delegate.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return delegate.containsKey(key);
+	}
+
+	@Override
+	public V get(Object key) {
+		return delegate.get(key);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		V old = delegate.put(key, value);
+		onPut(key, value);
+		return old;
+	}
+
+	@Override
+	public V remove(Object key) {
+
+		if (!delegate.containsKey(key)) {
+			return null;
+		}
+
+		V old = delegate.remove(key);
+		onRemove(key);
+		return old;
+	}
+
+	@Override
+	public void clear() {
+
+		if (!delegate.isEmpty()) {
+			delegate.clear();
+			modifications++;
+			replaced = true;
+			puts.clear();
+			removals.clear();
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Map.Entry<K, V>>() {
+
+				@Override
+				public int size() {
+					return delegate.size();
+				}
+
+				@Override
+				public Iterator<Map.Entry<K, V>> iterator() {
+					return new EntryIterator(delegate.entrySet().iterator());
+				}
+
+			};
+		}
+
+		return entrySet;
+	}
+
+	private void onPut(K key, V value) {
+		modifications++;
+		if (!replaced) {
+			removals.remove(key);
+			puts.put(key, value);
+		}
+	}
+
+	private void onRemove(Object key) {
+		modifications++;
+		if (!replaced) {
+			puts.remove(key);
+			removals.add(key);
+		}
+	}
+
+	@Override
+	public boolean isChanged() {
+		return replaced || !puts.isEmpty() || !removals.isEmpty();
+	}
+
+	@Override
+	public boolean isReplaced() {
+		return replaced;
+	}
+
+	@Override
+	public List<Assignment> getChanges(String columnName) {
+
+		List<Assignment> changes = new ArrayList<Assignment>(1 + removals.size());
+
+		if (!puts.isEmpty()) {
+			changes.add(QueryBuilder.putAll(columnName, new LinkedHashMap<Object, Object>(puts)));
+		}
+
+		for (Object key : removals) {
+			changes.add(QueryBuilder.put(columnName, key, null));
+		}
+
+		return changes;
+	}
+
+	@Override
+	public Object captureChanges() {
+		return new Changes(replaced, modifications, new LinkedHashMap<Object, Object>(puts), new ArrayList<Object>(
+				removals));
+	}
+
+	@Override
+	public void resetChanges(Object captured) {
+
+		Changes changes = (Changes) captured;
+
+		if (changes.replaced) {
+			if (changes.modifications == modifications) {
+				replaced = false;
+			}
+			return;
+		}
+
+		if (replaced) {
+			return;
+		}
+
+		/*
+		 * Keys put or removed again after the capture stay changed
+		 */
+		for (Map.Entry<Object, Object> put : changes.puts.entrySet()) {
+			if (puts.containsKey(put.getKey()) && ObjectUtils.nullSafeEquals(puts.get(put.getKey()), put.getValue())) {
+				puts.remove(put.getKey());
+			}
+		}
+
+		for (Object key : changes.removals) {
+			removals.remove(key);
+		}
+	}
+
+	/**
+	 * Changes captured for the statement
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	static final class Changes {
+
+		private final boolean replaced;
+		private final int modifications;
+		private final Map<Object, Object> puts;
+		private final List<Object> removals;
+
+		Changes(boolean replaced, int modifications, Map<Object, Object> puts, List<Object> removals) {
+			this.replaced = replaced;
+			this.modifications = modifications;
+			this.puts = puts;
+			this.removals = removals;
+		}
+
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private final Iterator<Map.Entry<K, V>> it;
+		private Map.Entry<K, V> current;
+
+		EntryIterator(Iterator<Map.Entry<K, V>> it) {
+			this.it = it;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return it.hasNext();
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			current = it.next();
+			return new TrackedEntry(current);
+		}
+
+		@Override
+		public void remove() {
+			it.remove();
+			onRemove(current.getKey());
+		}
+
+	}
+
+	private final class TrackedEntry implements Map.Entry<K, V> {
+
+		private final Map.Entry<K, V> entry;
+
+		TrackedEntry(Map.Entry<K, V> entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public K getKey() {
+			return entry.getKey();
+		}
+
+		@Override
+		public V getValue() {
+			return entry.getValue();
+		}
+
+		@Override
+		public V setValue(V value) {
+			V old = entry.setValue(value);
+			onPut(entry.getKey(), value);
+			return old;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+			return ObjectUtils.nullSafeEquals(getKey(), other.getKey())
+					&& ObjectUtils.nullSafeEquals(getValue(), other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return ObjectUtils.nullSafeHashCode(getKey()) ^ ObjectUtils.nullSafeHashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.datastax.driver.core.querybuilder.Assignment;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+
+/**
+ * Set that records added and removed elements, written as addAll and removeAll. Clear replaces the whole set.
+ *
+ * @author Alex Shvid
+ *
+ * @param <E> element type
+ */
+
+final class TrackedSet<E> extends AbstractSet<E> implements TrackedCollection {
+
+	private final Set<E> delegate;
+	private final Set<E> added = new LinkedHashSet<E>();
+	private final Set<Object> removed = new LinkedHashSet<Object>();
+	private boolean replaced;
+	private int modifications;
+
+	TrackedSet(Set<E> delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public int size() {
+		return delegate.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return delegate.contains(o);
+	}
+
+	@Override
+	public boolean add(E e) {
+
+		if (!delegate.add(e)) {
+			return false;
+		}
+
+		modifications++;
+
+		if (!replaced && !removed.remove(e)) {
+			added.add(e);
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+
+		if (!delegate.remove(o)) {
+			return false;
+		}
+
+		onRemove(o);
+		return true;
+	}
+
+	@Override
+	public void clear() {
+
+		if (!delegate.isEmpty()) {
+			delegate.clear();
+			modifications++;
+			replaced = true;
+			added.clear();
+			removed.clear();
+		}
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+
+		final Iterator<E> it = delegate.iterator();
+
+		return new Iterator<E>() {
+
+			private E current;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public E next() {
+				current = it.next();
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				it.remove();
+				onRemove(current);
+			}
+
+		};
+	}
+
+	private void onRemove(Object o) {
+		modifications++;
+		if (!replaced && !added.remove(o)) {
+			removed.add(o);
+		}
+	}
+
+	@Override
+	public boolean isChanged() {
+		return replaced || !added.isEmpty() || !removed.isEmpty();
+	}
+
+	@Override
+	public boolean isReplaced() {
+		return replaced;
+	}
+
+	@Override
+	public List<Assignment> getChanges(String columnName) {
+
+		List<Assignment> changes = new ArrayList<Assignment>(2);
+
+		if (!added.isEmpty()) {
+			changes.add(QueryBuilder.addAll(columnName, new LinkedHashSet<Object>(added)));
+		}
+
+		if (!removed.isEmpty()) {
+			changes.add(QueryBuilder.removeAll(columnName, new LinkedHashSet<Object>(removed)));
+		}
+
+		return changes;
+	}
+
+	@Override
+	public Object captureChanges() {
+		return new Changes(replaced, modifications, new ArrayList<Object>(added), new ArrayList<Object>(removed));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void resetChanges(Object captured) {
+
+		Changes changes = (Changes) captured;
+
+		if (changes.replaced) {
+			if (changes.modifications == modifications) {
+				replaced = false;
+			}
+			return;
+		}
+
+		if (replaced) {
+			return;
+		}
+
+		/*
+		 * Written element removed after the capture must be removed again, written removal of the element added after the
+		 * capture must be added again
+		 */
+		for (Object e : changes.added) {
+			if (!added.remove(e)) {
+				removed.add(e);
+			}
+		}
+
+		for (Object e : changes.removed) {
+			if (!removed.remove(e)) {
+				added.add((E) e);
+			}
+		}
+	}
+
+	/**
+	 * Changes captured for the statement
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	static final class Changes {
+
+		private final boolean replaced;
+		private final int modifications;
+		private final List<Object> added;
+		private final List<Object> removed;
+
+		Changes(boolean replaced, int modifications, List<Object> added, List<Object> removed) {
+			this.replaced = replaced;
+			this.modifications = modifications;
+			this.added = added;
+			this.removed = removed;
+		}
+
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.springdata.cassandra.core;
 
+import java.util.Collections;
+
 import org.springframework.data.convert.EntityReader;
 
 import com.datastax.driver.core.ResultSet;
@@ -54,7 +56,9 @@ public abstract class AbstractFindOneOperation<T> extends AbstractGetOperation<T
 
 		Row row = resultSet.one();
 		if (row != null) {
-			return entityReader.read(entityClass, row);
+			T obj = entityReader.read(entityClass, row);
+			cassandraTemplate.attachLazyLoaders(entityClass, getTableName(), Collections.singletonList(obj));
+			return obj;
 		}
 		return null;
 
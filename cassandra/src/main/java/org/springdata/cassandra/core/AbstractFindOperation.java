@@ -15,13 +15,21 @@
  */
 package org.springdata.cassandra.core;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
+import org.springdata.cassandra.convert.EntityColumnLayout;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.convert.EntityProjection;
 import org.springframework.data.convert.EntityReader;
+import org.springframework.util.Assert;
 
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
 import com.google.common.collect.Lists;
 
 /**
@@ -31,11 +39,12 @@ import com.google.common.collect.Lists;
  * 
  * @param <T> - return Type
  */
-public abstract class AbstractFindOperation<T> extends AbstractGetOperation<List<T>> {
+public abstract class AbstractFindOperation<T> extends AbstractGetOperation<List<T>> implements FindOperation<T> {
 
 	protected final CassandraTemplate cassandraTemplate;
 	protected final EntityReader<? super T, Object> entityReader;
 	protected final Class<T> entityClass;
+	private String[] projectedColumns;
 
 	public AbstractFindOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass) {
 		super(cassandraTemplate.cqlTemplate());
@@ -53,6 +62,76 @@ public abstract class AbstractFindOperation<T> extends AbstractGetOperation<List
 		return cassandraTemplate.getTableName(entityClass);
 	}
 
+	@Override
+	public FindOperation<T> project(String... fields) {
+		Assert.notEmpty(fields);
+
+		EntityColumnLayout layout = cassandraTemplate.getConverter().getColumnLayout(
+				cassandraTemplate.getPersistentEntity(entityClass));
+		BitSet selection = layout.selectColumns(fields, null);
+
+		List<String> columns = Lists.newArrayList();
+		for (ColumnInfo column : layout.getColumns()) {
+			if (selection.get(column.getIndex())) {
+				columns.add(column.getName());
+			}
+		}
+
+		this.projectedColumns = columns.toArray(new String[columns.size()]);
+		return this;
+	}
+
+	@Override
+	public <P> GetOperation<List<P>> project(Class<P> projectionType) {
+		Assert.notNull(projectionType);
+
+		EntityProjection projection = cassandraTemplate.getConverter().getProjection(
+				cassandraTemplate.getPersistentEntity(entityClass), projectionType);
+
+		List<String> columns = projection.getColumnNames();
+		this.projectedColumns = columns.toArray(new String[columns.size()]);
+
+		final ProjectionRowMapper<P> rowMapper = new ProjectionRowMapper<P>(projection, projectionType);
+
+		return new AbstractGetOperation<List<P>>(cassandraTemplate.cqlTemplate()) {
+
+			@Override
+			public Statement createStatement() {
+				if (getTableName() != null) {
+					AbstractFindOperation.this.formTable(getTableName());
+				}
+				return AbstractFindOperation.this.createStatement();
+			}
+
+			@Override
+			public List<P> transform(ResultSet resultSet) {
+				return cassandraTemplate.cqlTemplate().process(resultSet, rowMapper);
+			}
+
+		};
+	}
+
+	/**
+	 * Returns true if only the projected columns are selected
+	 * 
+	 * @return true if projection is set
+	 */
+	protected boolean isProjected() {
+		return projectedColumns != null;
+	}
+
+	/**
+	 * Creates SELECT of the default columns or of the projected columns
+	 * 
+	 * @return Select
+	 */
+	protected Select createSelect() {
+		if (projectedColumns != null) {
+			return QueryBuilder.select(projectedColumns).from(cassandraTemplate.getKeyspace(), getTableName());
+		}
+		return cassandraTemplate.createDefaultSelect(entityClass, getTableName());
+	}
+
 	@Override
 	public List<T> transform(ResultSet resultSet) {
 
@@ -63,6 +142,8 @@ public abstract class AbstractFindOperation<T> extends AbstractGetOperation<List
 			result.add(obj);
 		}
 
+		cassandraTemplate.attachLazyLoaders(entityClass, getTableName(), result);
+
 		return Collections.unmodifiableList(result);
 
 	}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import org.springdata.cql.core.ResultPage;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * Abstract Find Page Operation. Reads single page of entities, the page size is used as the fetch size of the query.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - entity Type
+ */
+public abstract class AbstractFindPageOperation<T> extends AbstractGetOperation<ResultPage<T>> {
+
+	protected final CassandraTemplate cassandraTemplate;
+	protected final Class<T> entityClass;
+
+	public AbstractFindPageOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, int size,
+			String pagingState) {
+		super(cassandraTemplate.cqlTemplate());
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityClass = entityClass;
+		withFetchSize(size);
+		setPagingState(pagingState);
+	}
+
+	@Override
+	public String getTableName() {
+		String tableName = super.getTableName();
+		if (tableName != null) {
+			return tableName;
+		}
+		return cassandraTemplate.getTableName(entityClass);
+	}
+
+	@Override
+	public ResultPage<T> transform(ResultSet resultSet) {
+		ResultPage<T> page = cassandraTemplate.cqlTemplate().processPage(resultSet,
+				cassandraTemplate.getRowMapperFor(entityClass));
+		cassandraTemplate.attachLazyLoaders(entityClass, getTableName(), page.getContent());
+		return page;
+	}
+
+}
@@ -48,6 +48,11 @@ public abstract class AbstractGetOperation<T> extends AbstractStatementOperation
 		super(cqlTemplate);
 	}
 
+	@Override
+	protected boolean isIdempotentByDefault() {
+		return true;
+	}
+
 	@Override
 	public GetOperation<T> formTable(String tableName) {
 		this.tableName = tableName;
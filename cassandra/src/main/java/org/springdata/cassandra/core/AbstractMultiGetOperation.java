@@ -17,18 +17,18 @@ package org.springdata.cassandra.core;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.springdata.cql.core.AbstractStatementOperation;
 import org.springdata.cql.core.CallbackHandler;
 import org.springdata.cql.core.CassandraFuture;
 import org.springdata.cql.core.CqlTemplate;
+import org.springframework.util.Assert;
 
-import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Statement;
-import com.datastax.driver.core.querybuilder.Batch;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.google.common.base.Function;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -45,6 +45,7 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractStatementOper
 		GetOperation<T> {
 
 	private String tableName;
+	private int maxInFlight = Integer.MAX_VALUE;
 
 	public abstract Iterator<Statement> getQueryIterator();
 
@@ -54,6 +55,11 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractStatementOper
 		super(cqlTemplate);
 	}
 
+	@Override
+	protected boolean isIdempotentByDefault() {
+		return true;
+	}
+
 	@Override
 	public GetOperation<T> formTable(String tableName) {
 		this.tableName = tableName;
@@ -64,17 +70,31 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractStatementOper
 		return tableName;
 	}
 
+	/**
+	 * Limits number of statements executed at the same time, by default all statements are sent at once
+	 * 
+	 * @param maxInFlight maximum number of statements in flight
+	 */
+	public void setMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.maxInFlight = maxInFlight;
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
 	@Override
 	public T execute() {
 		Iterator<Statement> queryIterator = getQueryIterator();
-		List<ResultSet> resultSets = doExecute(queryIterator);
+		List<ResultSet> resultSets = doExecuteAsync(queryIterator, maxInFlight).getUninterruptibly();
 		return transform(resultSets);
 	}
 
 	@Override
 	public CassandraFuture<T> executeAsync() {
 		Iterator<Statement> queryIterator = getQueryIterator();
-		CassandraFuture<List<ResultSet>> resultSetsFuture = doExecuteAsync(queryIterator);
+		CassandraFuture<List<ResultSet>> resultSetsFuture = doExecuteAsync(queryIterator, maxInFlight);
 
 		ListenableFuture<T> future = Futures.transform(resultSetsFuture, new Function<List<ResultSet>, T>() {
 
@@ -93,7 +113,7 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractStatementOper
 	public void executeAsync(final CallbackHandler<T> cb) {
 
 		Iterator<Statement> queryIterator = getQueryIterator();
-		doExecuteAsync(queryIterator, new CallbackHandler<List<ResultSet>>() {
+		doFutureCallback(doExecuteAsync(queryIterator, maxInFlight), new CallbackHandler<List<ResultSet>>() {
 
 			@Override
 			public void onComplete(List<ResultSet> resultSets) {
@@ -107,28 +127,24 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractStatementOper
 	@Override
 	public T executeNonstop(int timeoutMls) throws TimeoutException {
 		Iterator<Statement> queryIterator = getQueryIterator();
-		List<ResultSet> resultSets = doExecuteNonstop(queryIterator, timeoutMls);
+		List<ResultSet> resultSets = doExecuteAsync(queryIterator, maxInFlight).getUninterruptibly(timeoutMls,
+				TimeUnit.MILLISECONDS);
 		return transform(resultSets);
 	}
 
+	/**
+	 * Returns queries of the operation in one batch, queries may be regular or bound statements
+	 */
 	@Override
 	public Statement toStatement() {
 
 		Iterator<Statement> queryIterator = getQueryIterator();
-		Batch batch = QueryBuilder.batch();
+		BatchStatement batch = new BatchStatement();
 
 		while (queryIterator.hasNext()) {
-
-			Statement query = queryIterator.next();
-
-			if (query instanceof RegularStatement) {
-				RegularStatement statement = (RegularStatement) query;
-				batch.add(statement);
-			} else {
-				throw new IllegalArgumentException("query is not a statement " + query);
-			}
-
+			batch.add(queryIterator.next());
 		}
+
 		return batch;
 	}
 
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springdata.cassandra.convert.EntityColumnLayout;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cql.core.KeyPart;
+import org.springdata.cql.core.RoutedStatement;
+import org.springdata.cql.core.StatementCreator;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.Clause;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+
+/**
+ * Abstract operation over the list of ids. Ids of the entities with the single column primary key are grouped by the
+ * replicas of the partition and each group is read by IN queries, other ids are read by one query per id.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - return Type
+ */
+
+public abstract class AbstractMultiIdOperation<T> extends AbstractMultiGetOperation<T> {
+
+	protected final CassandraTemplate cassandraTemplate;
+	protected final Class<?> entityClass;
+	protected final CassandraPersistentEntity<?> entity;
+	private final Iterator<?> ids;
+
+	private int maxIdsPerQuery = MultiFindOperation.DEFAULT_MAX_IDS_PER_QUERY;
+
+	/*
+	 * Ids are planned into queries once, transform maps the ResultSets back by the same queries
+	 */
+	private List<Object> idList;
+	private List<IdQuery> queries;
+
+	protected AbstractMultiIdOperation(CassandraTemplate cassandraTemplate, Class<?> entityClass, Iterator<?> ids) {
+		super(cassandraTemplate.cqlTemplate());
+		Assert.notNull(entityClass);
+		Assert.notNull(ids);
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityClass = entityClass;
+		this.entity = cassandraTemplate.getPersistentEntity(entityClass);
+		this.ids = ids;
+		setMaxInFlight(MultiFindOperation.DEFAULT_MAX_IN_FLIGHT);
+	}
+
+	/**
+	 * Creates select of the columns to read, the caller adds the where clause
+	 * 
+	 * @param tableName table name
+	 * @param single true for the query of the single id, false for the IN query
+	 * @return Select
+	 */
+	protected abstract Select createSelect(String tableName, boolean single);
+
+	/**
+	 * Binds prepared query of the single id
+	 * 
+	 * @param plan statement plan of the entity
+	 * @param id entity id
+	 * @return BoundStatement
+	 */
+	protected abstract Statement bindById(EntityStatementPlan plan, Object id);
+
+	/**
+	 * Reads the row of the id
+	 * 
+	 * @param row row of the result set
+	 * @return value of the id, not null
+	 */
+	protected abstract Object readRow(Row row);
+
+	/**
+	 * Creates the result from the values of the ids
+	 * 
+	 * @param ids ids in the input order
+	 * @param values values of the ids, null for not found ids
+	 * @return result
+	 */
+	protected abstract T complete(List<Object> ids, Object[] values);
+
+	/**
+	 * Limits number of ids in the IN query, 1 reads each id by the separate query
+	 * 
+	 * @param maxIdsPerQuery maximum number of ids per query
+	 */
+	public void setMaxIdsPerQuery(int maxIdsPerQuery) {
+		Assert.isTrue(maxIdsPerQuery > 0, "maxIdsPerQuery must be positive");
+		this.maxIdsPerQuery = maxIdsPerQuery;
+	}
+
+	protected String getEffectiveTableName() {
+		return getTableName() != null ? getTableName() : entity.getTableName();
+	}
+
+	@Override
+	public Iterator<Statement> getQueryIterator() {
+
+		planQueries();
+
+		final String tableName = getEffectiveTableName();
+
+		return Iterators.transform(queries.iterator(), new Function<IdQuery, Statement>() {
+
+			@Override
+			public Statement apply(final IdQuery query) {
+				return cassandraTemplate.getCqlOperations().createStatement(new StatementCreator() {
+
+					@Override
+					public Statement createStatement() {
+
+						if (query.positionsByKey != null) {
+							return createInSelect(tableName, query);
+						}
+
+						Object id = idList.get(query.position);
+
+						if (cassandraTemplate.isUsePreparedStatements()) {
+							return bindById(cassandraTemplate.getStatementPlan(entityClass, tableName), id);
+						}
+
+						Select select = createSelect(tableName, true);
+						Select.Where w = select.where();
+
+						List<Clause> list = cassandraTemplate.getConverter().getPrimaryKey(entity, id);
+
+						for (Clause c : list) {
+							w.and(c);
+						}
+
+						return cassandraTemplate.routeById(select, entityClass, id);
+					}
+
+				});
+			}
+
+		});
+
+	}
+
+	private Statement createInSelect(String tableName, IdQuery query) {
+
+		Select select = createSelect(tableName, false);
+		select.where(QueryBuilder.in(query.keyColumn.getName(), query.keyValues.toArray()));
+
+		ByteBuffer routingKey = query.positionsByKey.keySet().iterator().next();
+		return RoutedStatement.route(select, cassandraTemplate.getKeyspace(), routingKey);
+	}
+
+	/**
+	 * Groups ids by the replicas of the partition and splits the groups into IN queries. Ids of the entities with the
+	 * composite primary key and ids without the routing key are read one by one.
+	 */
+	private void planQueries() {
+
+		idList = new ArrayList<Object>();
+		while (ids.hasNext()) {
+			idList.add(ids.next());
+		}
+
+		queries = new ArrayList<IdQuery>();
+
+		ColumnInfo keyColumn = maxIdsPerQuery > 1 ? getSingleKeyColumn() : null;
+
+		if (keyColumn == null) {
+			for (int i = 0; i != idList.size(); ++i) {
+				queries.add(new IdQuery(i));
+			}
+			return;
+		}
+
+		Metadata metadata = cassandraTemplate.getCqlOperations().getSession().getCluster().getMetadata();
+		String keyspace = cassandraTemplate.getKeyspace();
+
+		Map<Set<Host>, IdQuery> openQueries = new LinkedHashMap<Set<Host>, IdQuery>();
+
+		for (int i = 0; i != idList.size(); ++i) {
+
+			Object id = idList.get(i);
+			ByteBuffer routingKey = cassandraTemplate.getConverter().getRoutingKey(entity, id);
+
+			if (routingKey == null) {
+				queries.add(new IdQuery(i));
+				continue;
+			}
+
+			Set<Host> replicas = metadata.getReplicas(keyspace, routingKey);
+			IdQuery query = openQueries.get(replicas);
+
+			if (query == null || query.positionsByKey.size() == maxIdsPerQuery) {
+				query = new IdQuery(keyColumn);
+				openQueries.put(replicas, query);
+				queries.add(query);
+			}
+
+			List<Integer> positions = query.positionsByKey.get(routingKey);
+
+			if (positions == null) {
+				positions = new ArrayList<Integer>(1);
+				query.positionsByKey.put(routingKey, positions);
+				query.keyValues.add(cassandraTemplate.getConverter().getIdValues(entity, id, false)[0]);
+			}
+
+			positions.add(i);
+		}
+	}
+
+	/**
+	 * Returns the primary key column if it is the only primary key column and it is the id
+	 */
+	private ColumnInfo getSingleKeyColumn() {
+
+		EntityColumnLayout layout = cassandraTemplate.getConverter().getColumnLayout(entity);
+		List<ColumnInfo> idColumns = layout.getIdColumns();
+
+		if (idColumns.size() != 1 || idColumns.get(0).getKeyPart() != KeyPart.PARTITION) {
+			return null;
+		}
+
+		for (ColumnInfo column : layout.getColumns()) {
+			if (column.isPrimaryKeyColumn() && column != idColumns.get(0)) {
+				return null;
+			}
+		}
+
+		return idColumns.get(0);
+	}
+
+	@Override
+	public T transform(List<ResultSet> resultSets) {
+
+		Object[] values = new Object[idList.size()];
+
+		for (int i = 0; i != queries.size() && i != resultSets.size(); ++i) {
+
+			ResultSet resultSet = resultSets.get(i);
+
+			if (resultSet == null) {
+				continue;
+			}
+
+			IdQuery query = queries.get(i);
+
+			if (query.positionsByKey == null) {
+				Row row = resultSet.one();
+				if (row != null) {
+					values[query.position] = readRow(row);
+				}
+				continue;
+			}
+
+			String keyColumnName = query.keyColumn.getName();
+
+			for (Row row : resultSet) {
+				List<Integer> positions = query.positionsByKey.get(row.getBytesUnsafe(keyColumnName));
+				if (positions != null) {
+					Object value = readRow(row);
+					for (Integer position : positions) {
+						values[position] = value;
+					}
+				}
+			}
+		}
+
+		return complete(idList, values);
+	}
+
+	/**
+	 * Query of the single id or IN query of the ids with the same replicas, keyed by the serialized partition key
+	 */
+	private static final class IdQuery {
+
+		private final int position;
+		private final ColumnInfo keyColumn;
+		private final Map<ByteBuffer, List<Integer>> positionsByKey;
+		private final List<Object> keyValues;
+
+		IdQuery(int position) {
+			this.position = position;
+			this.keyColumn = null;
+			this.positionsByKey = null;
+			this.keyValues = null;
+		}
+
+		IdQuery(ColumnInfo keyColumn) {
+			this.position = -1;
+			this.keyColumn = keyColumn;
+			this.positionsByKey = new LinkedHashMap<ByteBuffer, List<Integer>>();
+			this.keyValues = new ArrayList<Object>();
+		}
+
+	}
+
+}
@@ -15,15 +15,27 @@
  */
 package org.springdata.cassandra.core;
 
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+import org.springdata.cassandra.convert.TrackedCollections;
 import org.springdata.cql.core.AbstractExecuteOperation;
 import org.springdata.cql.core.StatementOperation;
 import org.springframework.util.Assert;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 /**
  * Abstract save operation implementation
  * 
+ * Changes of the tracked collections and the snapshot of the entity are updated only after the statement is applied,
+ * so a failed save can be retried with the same changes. Save that has nothing to write creates null statement and
+ * is not executed.
+ * 
  * @author Alex Shvid
  * 
  * @param <T> - entity Type
@@ -39,6 +51,8 @@ public abstract class AbstractSaveOperation<T, O extends StatementOperation<Resu
 	private Integer ttl;
 	private Long timestamp;
 
+	private volatile WrittenValues written;
+
 	protected AbstractSaveOperation(CassandraTemplate cassandraTemplate, T entity) {
 		super(cassandraTemplate.cqlTemplate());
 		Assert.notNull(cassandraTemplate);
@@ -72,4 +86,82 @@ public abstract class AbstractSaveOperation<T, O extends StatementOperation<Resu
 		return timestamp;
 	}
 
+	@Override
+	public ByteBuffer getRoutingKey() {
+		return cassandraTemplate.getConverter().getRoutingKey(entity);
+	}
+
+	/**
+	 * Remembers column values of the created statement and captures changes of the written tracked collections, they are
+	 * applied to the entity by {@link #onWriteSuccess()}
+	 * 
+	 * @param values column values of the entity
+	 * @param columns written columns or null if all values are written
+	 * @param refreshSnapshot true to refresh the snapshot of the entity by the written columns, columns must not be null
+	 */
+	protected void setWrittenValues(Object[] values, BitSet columns, boolean refreshSnapshot) {
+		this.written = new WrittenValues(values, columns, refreshSnapshot);
+	}
+
+	@Override
+	public void onWriteSuccess() {
+
+		WrittenValues values = written;
+
+		if (values == null) {
+			return;
+		}
+
+		written = null;
+
+		TrackedCollections.resetChanges(values.values, values.changes);
+
+		if (values.refreshSnapshot) {
+			cassandraTemplate.getConverter().refreshSnapshot(entity, values.values, values.columns);
+		}
+	}
+
+	@Override
+	protected ResultSet doExecute(Statement query) {
+		ResultSet resultSet = super.doExecute(query);
+		onWriteSuccess();
+		return resultSet;
+	}
+
+	@Override
+	protected ListenableFuture<ResultSet> doSendAsync(Statement query) {
+		return Futures.transform(super.doSendAsync(query), new Function<ResultSet, ResultSet>() {
+
+			@Override
+			public ResultSet apply(ResultSet resultSet) {
+				onWriteSuccess();
+				return resultSet;
+			}
+
+		});
+	}
+
+	/**
+	 * Column values of the created statement
+	 * 
+	 * @author Alex Shvid
+	 * 
+	 */
+
+	static final class WrittenValues {
+
+		private final Object[] values;
+		private final BitSet columns;
+		private final boolean refreshSnapshot;
+		private final Object[] changes;
+
+		WrittenValues(Object[] values, BitSet columns, boolean refreshSnapshot) {
+			this.values = values;
+			this.columns = columns;
+			this.refreshSnapshot = refreshSnapshot;
+			this.changes = TrackedCollections.captureChanges(values, columns);
+		}
+
+	}
+
 }
@@ -15,6 +15,8 @@
  */
 package org.springdata.cassandra.core;
 
+import org.springdata.cql.core.BatchType;
+import org.springdata.cql.core.IngestOperation;
 import org.springdata.cql.core.StatementOperation;
 
 import com.datastax.driver.core.ResultSet;
@@ -35,4 +37,37 @@ public interface BatchOperation extends StatementOperation<ResultSet, BatchOpera
 	 */
 	BatchOperation inTable(String tableName);
 
+	/**
+	 * Specifies type of the batch. By default the batch is LOGGED, grouped batches are UNLOGGED.
+	 * 
+	 * @param batchType LOGGED, UNLOGGED or COUNTER
+	 * @return this
+	 */
+	BatchOperation withBatchType(BatchType batchType);
+
+	/**
+	 * Switches to the execution that groups statements by the partition key into UNLOGGED batches with the default
+	 * limits, see groupByPartition(int, int)
+	 * 
+	 * @return IngestOperation of the batches
+	 */
+	IngestOperation groupByPartition();
+
+	/**
+	 * Switches to the execution that groups statements by the partition key into UNLOGGED batches instead of one LOGGED
+	 * batch of all statements, the batch type specified by withBatchType is used if any. Each batch has statements of
+	 * one partition and is routed to its replica, batches of the same partition are split by the number of statements
+	 * and by the estimated size. Statements without partition key are sent alone.
+	 * 
+	 * Batches are executed in parallel as an ingest operation, so the statements are not atomic across partitions. Batches
+	 * of the same partition are executed one after another in the order of the statements. Statements are pulled and
+	 * grouped in bounded windows, so grouping does not load the whole source. Options of this operation are applied to
+	 * every batch.
+	 * 
+	 * @param maxStatements maximum number of statements in one batch
+	 * @param maxBytes maximum estimated size of one batch, single statements over the limit are sent alone
+	 * @return IngestOperation of the batches
+	 */
+	IngestOperation groupByPartition(int maxStatements, int maxBytes);
+
 }
@@ -15,6 +15,8 @@
  */
 package org.springdata.cassandra.core;
 
+import java.nio.ByteBuffer;
+
 import com.datastax.driver.core.RegularStatement;
 
 /**
@@ -28,10 +30,15 @@ public interface BatchedStatementCreator {
 	/**
 	 * This function returns Statement object
 	 * 
-	 * @return
+	 * @return statement or null if there is nothing to write
 	 */
 	RegularStatement createRegularStatement();
 
+	/**
+	 * Called after the created statement is applied, updates the state of the written entity
+	 */
+	void onWriteSuccess();
+
 	/**
 	 * Defines specific table name for Statement creator
 	 * 
@@ -39,4 +46,11 @@ public interface BatchedStatementCreator {
 	 */
 	void setTableName(String tableName);
 
+	/**
+	 * Returns serialized partition key of the statement, used to group statements of the same partition
+	 * 
+	 * @return routing key or null if the statement does not address a single partition
+	 */
+	ByteBuffer getRoutingKey();
+
 }
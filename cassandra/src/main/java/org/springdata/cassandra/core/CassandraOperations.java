@@ -16,13 +16,19 @@
 package org.springdata.cassandra.core;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cql.core.CountSummary;
 import org.springdata.cql.core.CqlOperations;
+import org.springdata.cql.core.ResultPage;
 import org.springdata.cql.core.ResultSetExtractor;
 import org.springdata.cql.core.RowMapper;
+import org.springdata.cql.core.ScanOperation;
+import org.springdata.cql.core.ScanSummary;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
 
 /**
  * Operations for interacting with Cassandra. These operations are also used by the SimpleCassandraRepository
@@ -57,7 +63,7 @@ public interface CassandraOperations {
 	 * @param entityClass
 	 * @return GetOperation
 	 */
-	<T> GetOperation<List<T>> buildFindAllOperation(Class<T> entityClass);
+	<T> FindOperation<T> buildFindAllOperation(Class<T> entityClass);
 
 	/**
 	 * Finds all entities with specific ids in table
@@ -73,9 +79,29 @@ public interface CassandraOperations {
 	 * 
 	 * @param entityClass
 	 * @param ids
+	 * @return MultiFindOperation
+	 */
+	<T> MultiFindOperation<T> buildFindAllOperation(Class<T> entityClass, Iterable<?> ids);
+
+	/**
+	 * Finds single page of entities in table
+	 * 
+	 * @param entityClass
+	 * @param size maximum number of entities in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @return ResultPage
+	 */
+	<T> ResultPage<T> findAll(Class<T> entityClass, int size, String pagingState);
+
+	/**
+	 * Finds single page of entities in table
+	 * 
+	 * @param entityClass
+	 * @param size maximum number of entities in the page
+	 * @param pagingState paging state of the previous page or null for the first page
 	 * @return GetOperation
 	 */
-	<T> GetOperation<List<T>> buildFindAllOperation(Class<T> entityClass, Iterable<?> ids);
+	<T> GetOperation<ResultPage<T>> buildFindAllOperation(Class<T> entityClass, int size, String pagingState);
 
 	/**
 	 * Finds entity by id
@@ -113,7 +139,30 @@ public interface CassandraOperations {
 	 * @param <T>
 	 * @return GetOperation
 	 */
-	<T> GetOperation<List<T>> buildFindByPartitionKeyOperation(Class<T> entityClass, Object id);
+	<T> FindOperation<T> buildFindByPartitionKeyOperation(Class<T> entityClass, Object id);
+
+	/**
+	 * Finds single page of instances with the specified partition part of the primary key
+	 * 
+	 * @param entityClass
+	 * @param id
+	 * @param size maximum number of entities in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @return ResultPage
+	 */
+	<T> ResultPage<T> findByPartitionKey(Class<T> entityClass, Object id, int size, String pagingState);
+
+	/**
+	 * Finds single page of instances with the specified partition part of the primary key
+	 * 
+	 * @param entityClass
+	 * @param id
+	 * @param size maximum number of entities in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @return GetOperation
+	 */
+	<T> GetOperation<ResultPage<T>> buildFindByPartitionKeyOperation(Class<T> entityClass, Object id, int size,
+			String pagingState);
 
 	/**
 	 * Execute query and convert ResultSet to the list of entities
@@ -151,6 +200,24 @@ public interface CassandraOperations {
 	 */
 	<T> GetOperation<T> buildFindOneOperation(Class<T> entityClass, String cql);
 
+	/**
+	 * Execute statement and convert ResultSet to the list of entities
+	 * 
+	 * @param entityClass must not be {@literal null}, mapped entity type.
+	 * @param statement must not be {@literal null}, usually the BoundStatement of the prepared query.
+	 * @return GetOperation
+	 */
+	<T> GetOperation<List<T>> buildFindOperation(Class<T> entityClass, Statement statement);
+
+	/**
+	 * Execute statement and convert the first row of the ResultSet to the entity
+	 * 
+	 * @param entityClass must not be {@literal null}, mapped entity type.
+	 * @param statement must not be {@literal null}, usually the BoundStatement of the prepared query.
+	 * @return GetOperation
+	 */
+	<T> GetOperation<T> buildFindOneOperation(Class<T> entityClass, Statement statement);
+
 	/**
 	 * Counts rows for given entity
 	 * 
@@ -163,9 +230,46 @@ public interface CassandraOperations {
 	 * Counts rows for given entity
 	 * 
 	 * @param entityClass
-	 * @return GetOperation
+	 * @return CountOperation
 	 */
-	<T> GetOperation<Long> buildCountAllOperation(Class<T> entityClass);
+	<T> CountOperation buildCountAllOperation(Class<T> entityClass);
+
+	/**
+	 * Counts rows for given entity by token ranges counted in parallel, see {@link CountOperation#byTokenRanges()}
+	 * 
+	 * @param entityClass
+	 * @return exact count
+	 */
+	<T> CountSummary countAllByTokenRanges(Class<T> entityClass);
+
+	/**
+	 * Estimates rows for given entity by counting the sample of the token ranges
+	 * 
+	 * @param entityClass
+	 * @param sampledRanges number of ranges to count
+	 * @return estimated count with the error bound
+	 */
+	<T> CountSummary estimateCountAll(Class<T> entityClass, int sampledRanges);
+
+	/**
+	 * Scans the whole table of the entity by token ranges in parallel. Entities of different ranges are passed to the
+	 * callback concurrently, so the callback must be thread safe.
+	 * 
+	 * @param entityClass
+	 * @param ech EntryCallbackHandler
+	 * @return ScanSummary
+	 */
+	<T> ScanSummary scan(Class<T> entityClass, EntryCallbackHandler<T> ech);
+
+	/**
+	 * Scans the whole table of the entity by token ranges in parallel. Entities of different ranges are passed to the
+	 * callback concurrently, so the callback must be thread safe.
+	 * 
+	 * @param entityClass
+	 * @param ech EntryCallbackHandler
+	 * @return ScanOperation
+	 */
+	<T> ScanOperation buildScanOperation(Class<T> entityClass, EntryCallbackHandler<T> ech);
 
 	/**
 	 * Checks if entity exists in Cassandra
@@ -201,6 +305,24 @@ public interface CassandraOperations {
 	 */
 	<T> GetOperation<Boolean> buildExistsOperation(Class<T> entityClass, Object id);
 
+	/**
+	 * Checks which of the ids exist in Cassandra, only the primary key column is selected
+	 * 
+	 * @param entityClass
+	 * @param ids
+	 * @return set of the present ids
+	 */
+	<T> Set<Object> existsAll(Class<T> entityClass, Iterable<?> ids);
+
+	/**
+	 * Checks which of the ids exist in Cassandra, only the primary key column is selected
+	 * 
+	 * @param entityClass
+	 * @param ids
+	 * @return GetOperation
+	 */
+	<T> GetOperation<Set<Object>> buildExistsAllOperation(Class<T> entityClass, Iterable<?> ids);
+
 	/**
 	 * Insert the given object to the table.
 	 * 
@@ -348,6 +470,16 @@ public interface CassandraOperations {
 
 	<T> RowMapper<T> getRowMapperFor(Class<T> entityClass);
 
+	/**
+	 * Returns RowMapper that maps rows to the projection of the entity.
+	 * 
+	 * @param entityClass Entity class
+	 * @param projectionType Interface or DTO class of the projection
+	 * @return RowMapper that can be used in SelectOperation
+	 */
+
+	<T, P> RowMapper<P> getProjectionMapperFor(Class<T> entityClass, Class<P> projectionType);
+
 	/**
 	 * Returns ResultSetExtractor based on Cassandra Converter.
 	 * 
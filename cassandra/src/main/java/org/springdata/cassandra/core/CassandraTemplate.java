@@ -21,20 +21,30 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.mapping.LazyValue;
+import org.springdata.cql.core.CountSummary;
 import org.springdata.cql.core.CqlOperations;
 import org.springdata.cql.core.CqlTemplate;
+import org.springdata.cql.core.ResultPage;
 import org.springdata.cql.core.ResultSetExtractor;
+import org.springdata.cql.core.RoutedStatement;
 import org.springdata.cql.core.RowMapper;
 import org.springdata.cql.core.RowMapperResultSetExtractor;
+import org.springdata.cql.core.ScanOperation;
+import org.springdata.cql.core.ScanSummary;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.MappingException;
 import org.springframework.util.Assert;
 
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
@@ -78,6 +88,12 @@ public class CassandraTemplate implements CassandraOperations {
 
 	private final SchemaOperations schemaDataOperations;
 
+	private final ConcurrentMap<Class<?>, ConcurrentMap<String, EntityStatementPlan>> statementPlans = new ConcurrentHashMap<Class<?>, ConcurrentMap<String, EntityStatementPlan>>();
+	private volatile boolean usePreparedStatements = true;
+	private volatile int maxPreparedStatementsPerTable = EntityStatementPlan.DEFAULT_MAX_PREPARED_STATEMENTS;
+	private volatile int lazyLoadChunkSize = LazyColumnLoader.DEFAULT_CHUNK_SIZE;
+	private volatile int lazyLoadMaxInFlight = LazyColumnLoader.DEFAULT_MAX_IN_FLIGHT;
+
 	/**
 	 * Constructor used for a basic template configuration
 	 * 
@@ -100,15 +116,14 @@ public class CassandraTemplate implements CassandraOperations {
 	}
 
 	@Override
-	public <T> GetOperation<List<T>> buildFindAllOperation(Class<T> entityClass) {
+	public <T> FindOperation<T> buildFindAllOperation(Class<T> entityClass) {
 		Assert.notNull(entityClass);
 
 		return new AbstractFindOperation<T>(this, entityClass) {
 
 			@Override
 			public Statement createStatement() {
-				Select select = QueryBuilder.select().all().from(cassandraTemplate.getKeyspace(), getTableName());
-				return select;
+				return createSelect();
 			}
 
 		};
@@ -120,13 +135,33 @@ public class CassandraTemplate implements CassandraOperations {
 	}
 
 	@Override
-	public <T> GetOperation<List<T>> buildFindAllOperation(final Class<T> entityClass, final Iterable<?> ids) {
+	public <T> MultiFindOperation<T> buildFindAllOperation(final Class<T> entityClass, final Iterable<?> ids) {
 		Assert.notNull(entityClass);
 		Assert.notNull(ids);
 
 		return new DefaultMultiFindOperation<T>(this, entityClass, ids.iterator());
 	}
 
+	@Override
+	public <T> ResultPage<T> findAll(Class<T> entityClass, int size, String pagingState) {
+		return buildFindAllOperation(entityClass, size, pagingState).execute();
+	}
+
+	@Override
+	public <T> GetOperation<ResultPage<T>> buildFindAllOperation(Class<T> entityClass, int size, String pagingState) {
+		Assert.notNull(entityClass);
+
+		return new AbstractFindPageOperation<T>(this, entityClass, size, pagingState) {
+
+			@Override
+			public Statement createStatement() {
+				Select select = createDefaultSelect(entityClass, getTableName());
+				return select;
+			}
+
+		};
+	}
+
 	@Override
 	public <T> T findById(Class<T> entityClass, Object id) {
 		return buildFindByIdOperation(entityClass, id).execute();
@@ -141,7 +176,12 @@ public class CassandraTemplate implements CassandraOperations {
 
 			@Override
 			public Statement createStatement() {
-				Select select = QueryBuilder.select().all().from(cassandraTemplate.getKeyspace(), getTableName());
+
+				if (usePreparedStatements) {
+					return getStatementPlan(entityClass, getTableName()).bindSelectById(id);
+				}
+
+				Select select = createDefaultSelect(entityClass, getTableName());
 				Select.Where w = select.where();
 
 				CassandraPersistentEntity<?> entity = getPersistentEntity(entityClass);
@@ -152,7 +192,7 @@ public class CassandraTemplate implements CassandraOperations {
 					w.and(c);
 				}
 
-				return select;
+				return routeById(select, entityClass, id);
 			}
 
 		};
@@ -165,7 +205,7 @@ public class CassandraTemplate implements CassandraOperations {
 	}
 
 	@Override
-	public <T> GetOperation<List<T>> buildFindByPartitionKeyOperation(Class<T> entityClass, final Object id) {
+	public <T> FindOperation<T> buildFindByPartitionKeyOperation(Class<T> entityClass, final Object id) {
 		Assert.notNull(entityClass);
 		Assert.notNull(id);
 
@@ -173,7 +213,12 @@ public class CassandraTemplate implements CassandraOperations {
 
 			@Override
 			public Statement createStatement() {
-				Select select = QueryBuilder.select().all().from(cassandraTemplate.getKeyspace(), getTableName());
+
+				if (usePreparedStatements && !isProjected()) {
+					return getStatementPlan(entityClass, getTableName()).bindSelectByPartitionKey(id);
+				}
+
+				Select select = createSelect();
 				Select.Where w = select.where();
 
 				CassandraPersistentEntity<?> entity = getPersistentEntity(entityClass);
@@ -184,7 +229,45 @@ public class CassandraTemplate implements CassandraOperations {
 					w.and(c);
 				}
 
-				return select;
+				return routeById(select, entityClass, id);
+			}
+
+		};
+
+	}
+
+	@Override
+	public <T> ResultPage<T> findByPartitionKey(Class<T> entityClass, Object id, int size, String pagingState) {
+		return buildFindByPartitionKeyOperation(entityClass, id, size, pagingState).execute();
+	}
+
+	@Override
+	public <T> GetOperation<ResultPage<T>> buildFindByPartitionKeyOperation(Class<T> entityClass, final Object id,
+			int size, String pagingState) {
+		Assert.notNull(entityClass);
+		Assert.notNull(id);
+
+		return new AbstractFindPageOperation<T>(this, entityClass, size, pagingState) {
+
+			@Override
+			public Statement createStatement() {
+
+				if (usePreparedStatements) {
+					return getStatementPlan(entityClass, getTableName()).bindSelectByPartitionKey(id);
+				}
+
+				Select select = createDefaultSelect(entityClass, getTableName());
+				Select.Where w = select.where();
+
+				CassandraPersistentEntity<?> entity = getPersistentEntity(entityClass);
+
+				List<Clause> list = cassandraConverter.getPartitionKey(entity, id);
+
+				for (Clause c : list) {
+					w.and(c);
+				}
+
+				return routeById(select, entityClass, id);
 			}
 
 		};
@@ -233,6 +316,38 @@ public class CassandraTemplate implements CassandraOperations {
 
 	}
 
+	@Override
+	public <T> GetOperation<List<T>> buildFindOperation(Class<T> entityClass, final Statement statement) {
+		Assert.notNull(entityClass);
+		Assert.notNull(statement);
+
+		return new AbstractFindOperation<T>(this, entityClass) {
+
+			@Override
+			public Statement createStatement() {
+				return statement;
+			}
+
+		};
+
+	}
+
+	@Override
+	public <T> GetOperation<T> buildFindOneOperation(Class<T> entityClass, final Statement statement) {
+		Assert.notNull(entityClass);
+		Assert.notNull(statement);
+
+		return new AbstractFindOneOperation<T>(this, entityClass) {
+
+			@Override
+			public Statement createStatement() {
+				return statement;
+			}
+
+		};
+
+	}
+
 	@Override
 	public <T> ResultSet deleteByIdInBatch(Class<T> entityClass, Iterable<?> ids) {
 		return buildDeleteByIdInBatchOperation(entityClass, ids).execute();
@@ -330,11 +445,34 @@ public class CassandraTemplate implements CassandraOperations {
 	}
 
 	@Override
-	public <T> GetOperation<Long> buildCountAllOperation(Class<T> entityClass) {
+	public <T> CountOperation buildCountAllOperation(Class<T> entityClass) {
 		Assert.notNull(entityClass);
 		return new DefaultCountOperation<T>(this, entityClass);
 	}
 
+	@Override
+	public <T> CountSummary countAllByTokenRanges(Class<T> entityClass) {
+		return buildCountAllOperation(entityClass).byTokenRanges().execute();
+	}
+
+	@Override
+	public <T> CountSummary estimateCountAll(Class<T> entityClass, int sampledRanges) {
+		return buildCountAllOperation(entityClass).byTokenRanges().sampled(sampledRanges).execute();
+	}
+
+	@Override
+	public <T> ScanSummary scan(Class<T> entityClass, EntryCallbackHandler<T> ech) {
+		return buildScanOperation(entityClass, ech).execute();
+	}
+
+	@Override
+	public <T> ScanOperation buildScanOperation(Class<T> entityClass, EntryCallbackHandler<T> ech) {
+		Assert.notNull(entityClass);
+		Assert.notNull(ech);
+		return cqlTemplate().buildScanOperation(getTableName(entityClass), new ReaderEntryCallbackAdapter<T>(
+				cassandraConverter, entityClass, ech));
+	}
+
 	@Override
 	public <T> Boolean exists(T entity) {
 		return buildExistsOperation(entity).execute();
@@ -358,6 +496,18 @@ public class CassandraTemplate implements CassandraOperations {
 		return new DefaultExistsOperation<T>(this, entityClass, id);
 	}
 
+	@Override
+	public <T> Set<Object> existsAll(Class<T> entityClass, Iterable<?> ids) {
+		return buildExistsAllOperation(entityClass, ids).execute();
+	}
+
+	@Override
+	public <T> GetOperation<Set<Object>> buildExistsAllOperation(Class<T> entityClass, Iterable<?> ids) {
+		Assert.notNull(entityClass);
+		Assert.notNull(ids);
+		return new DefaultMultiExistsOperation(this, entityClass, ids.iterator());
+	}
+
 	/**
 	 * @param entityClass
 	 * @return
@@ -477,6 +627,14 @@ public class CassandraTemplate implements CassandraOperations {
 		return new ReaderRowMapper<T>(cassandraConverter, entityClass);
 	}
 
+	@Override
+	public <T, P> RowMapper<P> getProjectionMapperFor(Class<T> entityClass, Class<P> projectionType) {
+		Assert.notNull(entityClass);
+		Assert.notNull(projectionType);
+		return new ProjectionRowMapper<P>(cassandraConverter.getProjection(getPersistentEntity(entityClass),
+				projectionType), projectionType);
+	}
+
 	@Override
 	public <T> ResultSetExtractor<List<T>> getResultSetExtractorFor(Class<T> entityClass) {
 		return new RowMapperResultSetExtractor<T>(getRowMapperFor(entityClass));
@@ -487,7 +645,9 @@ public class CassandraTemplate implements CassandraOperations {
 		Assert.notNull(resultSet);
 		Assert.notNull(entityClass);
 
-		return cqlTemplate().process(resultSet, new ReaderRowMapper<T>(cassandraConverter, entityClass));
+		List<T> result = cqlTemplate().process(resultSet, new ReaderRowMapper<T>(cassandraConverter, entityClass));
+		attachLazyLoaders(entityClass, getTableName(entityClass), result);
+		return result;
 	}
 
 	@Override
@@ -504,7 +664,12 @@ public class CassandraTemplate implements CassandraOperations {
 		Assert.notNull(resultSet);
 		Assert.notNull(entityClass);
 
-		return cqlTemplate().processOne(resultSet, new ReaderRowMapper<T>(cassandraConverter, entityClass), singleResult);
+		T result = cqlTemplate().processOne(resultSet, new ReaderRowMapper<T>(cassandraConverter, entityClass),
+				singleResult);
+		if (result != null) {
+			attachLazyLoaders(entityClass, getTableName(entityClass), Collections.singletonList(result));
+		}
+		return result;
 	}
 
 	@Override
@@ -521,6 +686,181 @@ public class CassandraTemplate implements CassandraOperations {
 		return cqlTemplate;
 	}
 
+	/**
+	 * Enables or disables prepared statements for the entity operations that are executed by themselves. Batched
+	 * statements are always built by the QueryBuilder. Enabled by default.
+	 * 
+	 * @param usePreparedStatements
+	 */
+	public void setUsePreparedStatements(boolean usePreparedStatements) {
+		this.usePreparedStatements = usePreparedStatements;
+	}
+
+	public boolean isUsePreparedStatements() {
+		return usePreparedStatements;
+	}
+
+	/**
+	 * Limits number of prepared statements kept by the statement plan of each entity table. Statements are prepared per
+	 * set of the written columns, least recently used sets are evicted. Applies to the plans created afterwards.
+	 * 
+	 * @param maxPreparedStatementsPerTable maximum number of statements per table
+	 */
+	public void setMaxPreparedStatementsPerTable(int maxPreparedStatementsPerTable) {
+		Assert.isTrue(maxPreparedStatementsPerTable > 0, "maxPreparedStatementsPerTable must be positive");
+		this.maxPreparedStatementsPerTable = maxPreparedStatementsPerTable;
+	}
+
+	public int getMaxPreparedStatementsPerTable() {
+		return maxPreparedStatementsPerTable;
+	}
+
+	/**
+	 * Sets number of entities of the result that get the lazy column loaded by the first access to any of them
+	 * 
+	 * @param lazyLoadChunkSize number of entities in the chunk
+	 */
+	public void setLazyLoadChunkSize(int lazyLoadChunkSize) {
+		Assert.isTrue(lazyLoadChunkSize > 0, "lazyLoadChunkSize must be positive");
+		this.lazyLoadChunkSize = lazyLoadChunkSize;
+	}
+
+	public int getLazyLoadChunkSize() {
+		return lazyLoadChunkSize;
+	}
+
+	/**
+	 * Limits number of queries executed at the same time to load the lazy column of the chunk
+	 * 
+	 * @param lazyLoadMaxInFlight maximum number of queries in flight
+	 */
+	public void setLazyLoadMaxInFlight(int lazyLoadMaxInFlight) {
+		Assert.isTrue(lazyLoadMaxInFlight > 0, "lazyLoadMaxInFlight must be positive");
+		this.lazyLoadMaxInFlight = lazyLoadMaxInFlight;
+	}
+
+	public int getLazyLoadMaxInFlight() {
+		return lazyLoadMaxInFlight;
+	}
+
+	/**
+	 * Gets the statement plan of the entity for the table, the plan is created once and cached by the template
+	 * 
+	 * @param entityClass
+	 * @param tableName
+	 * @return EntityStatementPlan
+	 */
+	public EntityStatementPlan getStatementPlan(Class<?> entityClass, String tableName) {
+		Assert.notNull(entityClass);
+		Assert.notNull(tableName);
+
+		ConcurrentMap<String, EntityStatementPlan> tablePlans = statementPlans.get(entityClass);
+
+		if (tablePlans == null) {
+			tablePlans = new ConcurrentHashMap<String, EntityStatementPlan>();
+			ConcurrentMap<String, EntityStatementPlan> existing = statementPlans.putIfAbsent(entityClass, tablePlans);
+			if (existing != null) {
+				tablePlans = existing;
+			}
+		}
+
+		EntityStatementPlan plan = tablePlans.get(tableName);
+
+		if (plan == null) {
+			plan = new EntityStatementPlan(cqlTemplate, cassandraConverter, getPersistentEntity(entityClass), keyspace,
+					tableName, maxPreparedStatementsPerTable);
+			EntityStatementPlan existing = tablePlans.putIfAbsent(tableName, plan);
+			if (existing != null) {
+				plan = existing;
+			}
+		}
+
+		return plan;
+	}
+
+	/**
+	 * Creates SELECT of the columns that are read by default, lazy columns are not selected
+	 * 
+	 * @param entityClass entity class
+	 * @param tableName table name
+	 * @return Select
+	 */
+	public Select createDefaultSelect(Class<?> entityClass, String tableName) {
+
+		String[] columns = cassandraConverter.getColumnLayout(getPersistentEntity(entityClass)).getDefaultColumnNames();
+
+		if (columns != null) {
+			return QueryBuilder.select(columns).from(keyspace, tableName);
+		}
+
+		return QueryBuilder.select().all().from(keyspace, tableName);
+	}
+
+	/**
+	 * Attaches loaders to the not loaded lazy values of the entities. Each lazy column is loaded by chunks of the
+	 * entities, the first access to the entity loads its chunk, see {@link #setLazyLoadChunkSize(int)}.
+	 * 
+	 * @param entityClass entity class
+	 * @param tableName table of the entities
+	 * @param entities entities read from the table
+	 */
+	public void attachLazyLoaders(Class<?> entityClass, String tableName, Collection<?> entities) {
+
+		if (entities.isEmpty()) {
+			return;
+		}
+
+		List<ColumnInfo> lazyColumns = cassandraConverter.getColumnLayout(getPersistentEntity(entityClass))
+				.getLazyColumns();
+
+		if (lazyColumns.isEmpty()) {
+			return;
+		}
+
+		EntityStatementPlan plan = getStatementPlan(entityClass, tableName);
+
+		for (ColumnInfo column : lazyColumns) {
+
+			LazyColumnLoader loader = null;
+
+			for (Object entity : entities) {
+
+				LazyValue<?> value = entity != null ? cassandraConverter.getLazyValue(entity, column) : null;
+
+				if (value != null && !value.isLoaded()) {
+					if (loader == null) {
+						loader = new LazyColumnLoader(this, plan, column, lazyLoadChunkSize, lazyLoadMaxInFlight);
+					}
+					loader.add(entity, value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds routing key computed from the partition key of the entity, so the statement goes directly to a replica
+	 * 
+	 * @param statement statement built by the QueryBuilder
+	 * @param entity entity object
+	 * @return routed statement
+	 */
+	public RegularStatement routeByEntity(RegularStatement statement, Object entity) {
+		return RoutedStatement.route(statement, keyspace, cassandraConverter.getRoutingKey(entity));
+	}
+
+	/**
+	 * Adds routing key computed from the id of the entity, so the statement goes directly to a replica
+	 * 
+	 * @param statement statement built by the QueryBuilder
+	 * @param entityClass entity class
+	 * @param id id of the entity, must define all partition key columns
+	 * @return routed statement
+	 */
+	public RegularStatement routeById(RegularStatement statement, Class<?> entityClass, Object id) {
+		return RoutedStatement.route(statement, keyspace,
+				cassandraConverter.getRoutingKey(getPersistentEntity(entityClass), id));
+	}
+
 	/**
 	 * @param obj
 	 * @return
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import org.springdata.cql.core.RangeCountOperation;
+
+/**
+ * Count of the entity table. By default the single COUNT(*) query of the whole table is executed, that times out on
+ * large tables.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface CountOperation extends GetOperation<Long> {
+
+	/**
+	 * Switches to the count by token ranges that are counted in parallel, with the bounded number of ranges in flight
+	 * and retries of the failed ranges. All ranges are counted by default, so the count is exact. With
+	 * {@link RangeCountOperation#sampled(int)} only a sample of the ranges is counted and the count is estimated with
+	 * the error bound.
+	 * 
+	 * @return RangeCountOperation of the table
+	 */
+	RangeCountOperation byTokenRanges();
+
+}
@@ -15,28 +15,69 @@
  */
 package org.springdata.cassandra.core;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springdata.cql.core.AbstractExecuteOperation;
+import org.springdata.cql.core.BatchType;
+import org.springdata.cql.core.CqlTemplate;
+import org.springdata.cql.core.DefaultIngestOperation;
+import org.springdata.cql.core.IngestOperation;
+import org.springdata.cql.core.RoutedStatement;
 import org.springdata.cql.core.SessionCallback;
+import org.springframework.util.Assert;
 
+import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
-import com.datastax.driver.core.querybuilder.Batch;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.base.Function;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 
 /**
  * Implementation of the BatchOperation. Creates Batch query for save, saveNew, delete, deleteById operations.
  * 
+ * Grouped execution keeps statements of each partition in the order of the iterator. Size of the statement is estimated
+ * as the length of the query string plus the size of the values, it is close to the size that the coordinator checks
+ * against batch_size_warn_threshold.
+ * 
+ * Statements are grouped within a window of DEFAULT_GROUPING_WINDOW statements, so the source is not materialized.
+ * Batches of the same partition are executed one after another in the order of the iterator, batches of different
+ * partitions are executed in parallel.
+ * 
+ * Statement creators that have nothing to write are skipped. Creators are notified by onWriteSuccess after the batch
+ * with their statements is applied.
+ * 
  * @author Alex Shvid
  * 
  */
 public class DefaultBatchOperation extends AbstractExecuteOperation<BatchOperation> implements BatchOperation {
 
+	public static final int DEFAULT_MAX_STATEMENTS = 100;
+	public static final int DEFAULT_MAX_BYTES = 5 * 1024;
+	public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+	public static final int DEFAULT_GROUPING_WINDOW = 1000;
+
 	private final CassandraTemplate cassandraTemplate;
 	private String tableName;
 	private Iterator<BatchedStatementCreator> iterator;
+	private BatchType batchType;
+
+	private volatile List<BatchedStatementCreator> batched;
 
 	protected DefaultBatchOperation(CassandraTemplate cassandraTemplate, Iterator<BatchedStatementCreator> iterator) {
 		super(cassandraTemplate.cqlTemplate());
@@ -50,32 +91,194 @@ public class DefaultBatchOperation extends AbstractExecuteOperation<BatchOperati
 		return this;
 	}
 
+	@Override
+	public BatchOperation withBatchType(BatchType batchType) {
+		Assert.notNull(batchType);
+		this.batchType = batchType;
+		return this;
+	}
+
+	@Override
+	public IngestOperation groupByPartition() {
+		return groupByPartition(DEFAULT_MAX_STATEMENTS, DEFAULT_MAX_BYTES);
+	}
+
+	@Override
+	public IngestOperation groupByPartition(final int maxStatements, final int maxBytes) {
+		Assert.isTrue(maxStatements > 0, "maxStatements must be positive");
+		Assert.isTrue(maxBytes > 0, "maxBytes must be positive");
+
+		/*
+		 * Statements are created and grouped when the ingest operation pulls the first batch
+		 */
+
+		final BatchType groupBatchType = batchType != null ? batchType : BatchType.UNLOGGED;
+		final Map<Statement, PartitionGroup> sent = Collections
+				.synchronizedMap(new IdentityHashMap<Statement, PartitionGroup>());
+
+		Iterator<Statement> batches = new AbstractIterator<Statement>() {
+
+			private Iterator<PartitionGroup> groups;
+
+			@Override
+			protected Statement computeNext() {
+
+				while (groups == null || !groups.hasNext()) {
+
+					if (!iterator.hasNext()) {
+						if (groups == null) {
+							throw new IllegalArgumentException("entities are empty");
+						}
+						return endOfData();
+					}
+
+					groups = doGroupByPartition(maxStatements, maxBytes).iterator();
+				}
+
+				PartitionGroup group = groups.next();
+				Statement statement = group.toStatement(groupBatchType, cassandraTemplate.getKeyspace());
+				addQueryOptions(statement);
+				sent.put(statement, group);
+				return statement;
+			}
+
+		};
+
+		return new PartitionOrderedIngestOperation(cassandraTemplate.cqlTemplate(), batches, sent)
+				.withMaxInFlight(DEFAULT_MAX_IN_FLIGHT);
+	}
+
 	@Override
 	public Statement createStatement() {
 
 		/*
 		 * Return variable is a Batch statement
 		 */
-		final Batch batch = QueryBuilder.batch();
+		final BatchStatement batch = (batchType != null ? batchType : BatchType.LOGGED).newBatch();
 
-		boolean emptyBatch = true;
+		if (!iterator.hasNext()) {
+			throw new IllegalArgumentException("entities are empty");
+		}
+
+		List<BatchedStatementCreator> creators = new ArrayList<BatchedStatementCreator>();
 
 		while (iterator.hasNext()) {
 
 			BatchedStatementCreator bsc = iterator.next();
 			RegularStatement statement = doCreateStatement(bsc);
-			batch.add(statement);
 
-			emptyBatch = false;
+			if (statement != null) {
+				batch.add(statement);
+				creators.add(bsc);
+			}
 		}
 
-		if (emptyBatch) {
-			throw new IllegalArgumentException("entities are empty");
+		if (creators.isEmpty()) {
+			return null;
 		}
 
+		batched = creators;
 		return batch;
 	}
 
+	@Override
+	protected ResultSet doExecute(Statement query) {
+		ResultSet resultSet = super.doExecute(query);
+		onWriteSuccess();
+		return resultSet;
+	}
+
+	@Override
+	protected ListenableFuture<ResultSet> doSendAsync(Statement query) {
+		return Futures.transform(super.doSendAsync(query), new Function<ResultSet, ResultSet>() {
+
+			@Override
+			public ResultSet apply(ResultSet resultSet) {
+				onWriteSuccess();
+				return resultSet;
+			}
+
+		});
+	}
+
+	private void onWriteSuccess() {
+
+		List<BatchedStatementCreator> creators = batched;
+
+		if (creators == null) {
+			return;
+		}
+
+		batched = null;
+
+		for (BatchedStatementCreator bsc : creators) {
+			bsc.onWriteSuccess();
+		}
+	}
+
+	/*
+	 * Groups the next window of statements, empty list if the iterator is exhausted or the window has nothing to write
+	 */
+	private List<PartitionGroup> doGroupByPartition(int maxStatements, int maxBytes) {
+
+		List<PartitionGroup> closedGroups = new ArrayList<PartitionGroup>();
+		Map<ByteBuffer, PartitionGroup> openGroups = new LinkedHashMap<ByteBuffer, PartitionGroup>();
+
+		for (int i = 0; i != DEFAULT_GROUPING_WINDOW && iterator.hasNext(); ++i) {
+
+			BatchedStatementCreator bsc = iterator.next();
+			RegularStatement statement = doCreateStatement(bsc);
+
+			if (statement == null) {
+				continue;
+			}
+
+			ByteBuffer routingKey = bsc.getRoutingKey();
+			int size = estimateSize(statement);
+
+			if (routingKey == null) {
+				PartitionGroup single = new PartitionGroup(null);
+				single.add(bsc, statement, size);
+				closedGroups.add(single);
+				continue;
+			}
+
+			PartitionGroup group = openGroups.get(routingKey);
+
+			if (group != null && (group.size() >= maxStatements || group.getBytes() + size > maxBytes)) {
+				closedGroups.add(group);
+				group = null;
+			}
+
+			if (group == null) {
+				group = new PartitionGroup(routingKey);
+				openGroups.put(routingKey, group);
+			}
+
+			group.add(bsc, statement, size);
+		}
+
+		closedGroups.addAll(openGroups.values());
+
+		return closedGroups;
+	}
+
+	private static int estimateSize(RegularStatement statement) {
+
+		int size = statement.getQueryString().length();
+
+		ByteBuffer[] values = statement.getValues();
+		if (values != null) {
+			for (ByteBuffer value : values) {
+				if (value != null) {
+					size += value.remaining();
+				}
+			}
+		}
+
+		return size;
+	}
+
 	private RegularStatement doCreateStatement(final BatchedStatementCreator bsc) {
 
 		if (tableName != null) {
@@ -92,4 +295,172 @@ public class DefaultBatchOperation extends AbstractExecuteOperation<BatchOperati
 		});
 	}
 
+	/**
+	 * Ingest operation that sends the batch of the partition only after the previous batch of the same partition
+	 * completes, so writes to the same row are applied in the order of the iterator. Statements are launched by one
+	 * thread at a time in the order of the iterator. Statement creators of the batch are notified after the batch is
+	 * applied.
+	 * 
+	 * @author Alex Shvid
+	 * 
+	 */
+
+	static final class PartitionOrderedIngestOperation extends DefaultIngestOperation {
+
+		private final ConcurrentMap<ByteBuffer, ListenableFuture<ResultSet>> lastByPartition = new ConcurrentHashMap<ByteBuffer, ListenableFuture<ResultSet>>();
+		private final Map<Statement, PartitionGroup> sent;
+
+		PartitionOrderedIngestOperation(CqlTemplate cqlTemplate, Iterator<Statement> iterator,
+				Map<Statement, PartitionGroup> sent) {
+			super(cqlTemplate, iterator);
+			this.sent = sent;
+		}
+
+		@Override
+		protected ListenableFuture<ResultSet> doSendAsync(final Statement query) {
+
+			final PartitionGroup group = sent.remove(query);
+
+			return Futures.transform(sendOrdered(query), new Function<ResultSet, ResultSet>() {
+
+				@Override
+				public ResultSet apply(ResultSet resultSet) {
+					if (group != null) {
+						group.onWriteSuccess();
+					}
+					return resultSet;
+				}
+
+			});
+		}
+
+		private ListenableFuture<ResultSet> sendOrdered(final Statement query) {
+
+			final ByteBuffer routingKey = query.getRoutingKey();
+
+			if (routingKey == null) {
+				return super.doSendAsync(query);
+			}
+
+			final SettableFuture<ResultSet> result = SettableFuture.create();
+			ListenableFuture<ResultSet> previous = lastByPartition.put(routingKey, result);
+
+			result.addListener(new Runnable() {
+
+				@Override
+				public void run() {
+					lastByPartition.remove(routingKey, result);
+				}
+
+			}, MoreExecutors.sameThreadExecutor());
+
+			if (previous == null) {
+				send(query, result);
+			} else {
+
+				/*
+				 * Failure of the previous batch does not cancel the next one, the same as for the other statements
+				 */
+
+				previous.addListener(new Runnable() {
+
+					@Override
+					public void run() {
+						send(query, result);
+					}
+
+				}, MoreExecutors.sameThreadExecutor());
+			}
+
+			return result;
+		}
+
+		private void send(Statement query, final SettableFuture<ResultSet> result) {
+
+			ListenableFuture<ResultSet> future;
+			try {
+				future = super.doSendAsync(query);
+			} catch (RuntimeException e) {
+				result.setException(e);
+				return;
+			}
+
+			Futures.addCallback(future, new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet resultSet) {
+					result.set(resultSet);
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					result.setException(t);
+				}
+
+			}, MoreExecutors.sameThreadExecutor());
+		}
+
+	}
+
+	/**
+	 * Statements of one partition that are sent in one batch
+	 * 
+	 * @author Alex Shvid
+	 * 
+	 */
+
+	static final class PartitionGroup {
+
+		private final ByteBuffer routingKey;
+		private final List<RegularStatement> statements = new ArrayList<RegularStatement>();
+		private final List<BatchedStatementCreator> creators = new ArrayList<BatchedStatementCreator>();
+		private int bytes;
+
+		PartitionGroup(ByteBuffer routingKey) {
+			this.routingKey = routingKey;
+		}
+
+		void add(BatchedStatementCreator creator, RegularStatement statement, int size) {
+			creators.add(creator);
+			statements.add(statement);
+			bytes += size;
+		}
+
+		void onWriteSuccess() {
+			for (BatchedStatementCreator creator : creators) {
+				creator.onWriteSuccess();
+			}
+		}
+
+		int size() {
+			return statements.size();
+		}
+
+		int getBytes() {
+			return bytes;
+		}
+
+		Statement toStatement(BatchType batchType, String keyspace) {
+
+			RegularStatement first = RoutedStatement.route(statements.get(0), keyspace, routingKey);
+
+			if (statements.size() == 1) {
+				return first;
+			}
+
+			/*
+			 * Batch takes the routing key and the keyspace of the first statement
+			 */
+
+			BatchStatement batch = batchType.newBatch();
+			batch.add(first);
+			for (int i = 1; i != statements.size(); ++i) {
+				batch.add(statements.get(i));
+			}
+
+			return batch;
+		}
+
+	}
+
 }
@@ -17,6 +17,7 @@ package org.springdata.cassandra.core;
 
 import java.util.Iterator;
 
+import org.springdata.cql.core.RangeCountOperation;
 import org.springframework.util.Assert;
 
 import com.datastax.driver.core.ResultSet;
@@ -33,7 +34,7 @@ import com.datastax.driver.core.querybuilder.Select;
  * @param <T> - entity by the type T
  */
 
-public class DefaultCountOperation<T> extends AbstractGetOperation<Long> {
+public class DefaultCountOperation<T> extends AbstractGetOperation<Long> implements CountOperation {
 
 	private final CassandraTemplate cassandraTemplate;
 	private final Class<T> entityClass;
@@ -45,6 +46,16 @@ public class DefaultCountOperation<T> extends AbstractGetOperation<Long> {
 		this.entityClass = entityClass;
 	}
 
+	@Override
+	public RangeCountOperation byTokenRanges() {
+		return cassandraTemplate.cqlTemplate().buildRangeCountOperation(getEffectiveTableName());
+	}
+
+	private String getEffectiveTableName() {
+		String tableName = getTableName();
+		return tableName != null ? tableName : cassandraTemplate.getTableName(entityClass);
+	}
+
 	@Override
 	public Long transform(ResultSet resultSet) {
 		Iterator<Row> i = resultSet.iterator();
@@ -60,12 +71,7 @@ public class DefaultCountOperation<T> extends AbstractGetOperation<Long> {
 	@Override
 	public Statement createStatement() {
 
-		String tableName = getTableName();
-		if (tableName == null) {
-			tableName = cassandraTemplate.getTableName(entityClass);
-		}
-
-		Select select = QueryBuilder.select().countAll().from(cassandraTemplate.getKeyspace(), tableName);
+		Select select = QueryBuilder.select().countAll().from(cassandraTemplate.getKeyspace(), getEffectiveTableName());
 		return select;
 	}
 
@@ -15,6 +15,7 @@
  */
 package org.springdata.cassandra.core;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -120,7 +121,54 @@ public class DefaultDeleteOperation<T> extends AbstractExecuteOperation<DeleteOp
 
 	@Override
 	public Statement createStatement() {
-		return createRegularStatement();
+
+		if (cassandraTemplate.isUsePreparedStatements()) {
+
+			switch (deleteBy) {
+
+			case ID:
+				return cassandraTemplate.getStatementPlan(entityClass, getTableName()).bindDeleteById(id, timestamp);
+
+			case ENTITY:
+				return cassandraTemplate.getStatementPlan(entityClass, getTableName()).bindDelete(entity, timestamp);
+
+			case ALL:
+				break;
+			}
+
+		}
+
+		switch (deleteBy) {
+
+		case ID:
+			return cassandraTemplate.routeById(createRegularStatement(), entityClass, id);
+
+		case ENTITY:
+			return cassandraTemplate.routeByEntity(createRegularStatement(), entity);
+
+		default:
+			return createRegularStatement();
+		}
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey() {
+
+		switch (deleteBy) {
+
+		case ID:
+			return cassandraTemplate.getConverter().getRoutingKey(cassandraTemplate.getPersistentEntity(entityClass), id);
+
+		case ENTITY:
+			return cassandraTemplate.getConverter().getRoutingKey(entity);
+
+		default:
+			return null;
+		}
+	}
+
+	@Override
+	public void onWriteSuccess() {
 	}
 
 	@SuppressWarnings("incomplete-switch")
@@ -15,7 +15,6 @@
  */
 package org.springdata.cassandra.core;
 
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -23,7 +22,6 @@ import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springframework.util.Assert;
 
 import com.datastax.driver.core.ResultSet;
-import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -65,14 +63,7 @@ public class DefaultExistsOperation<T> extends AbstractGetOperation<Boolean> {
 
 	@Override
 	public Boolean transform(ResultSet resultSet) {
-		Iterator<Row> i = resultSet.iterator();
-		if (i.hasNext()) {
-			Row row = i.next();
-			long count = row.getLong(0);
-			return count > 0;
-		} else {
-			return false;
-		}
+		return resultSet.one() != null;
 	}
 
 	@Override
@@ -83,7 +74,22 @@ public class DefaultExistsOperation<T> extends AbstractGetOperation<Boolean> {
 			tableName = cassandraTemplate.getTableName(entity != null ? entity.getClass() : entityClass);
 		}
 
-		Select select = QueryBuilder.select().countAll().from(cassandraTemplate.getKeyspace(), tableName);
+		EntityStatementPlan plan = cassandraTemplate.getStatementPlan(entity != null ? entity.getClass() : entityClass,
+				tableName);
+
+		if (cassandraTemplate.isUsePreparedStatements()) {
+			if (entity != null) {
+				return plan.bindExists(entity);
+			} else {
+				return plan.bindExistsById(id);
+			}
+		}
+
+		/*
+		 * Key-only select of one row, the server does not aggregate and does not read regular columns
+		 */
+		Select select = QueryBuilder.select(plan.getFirstKeyColumn().getName()).from(cassandraTemplate.getKeyspace(),
+				tableName);
 		Select.Where w = select.where();
 
 		CassandraPersistentEntity<?> persistentEntity = cassandraTemplate.getPersistentEntity(entity != null ? entity
@@ -102,6 +108,12 @@ public class DefaultExistsOperation<T> extends AbstractGetOperation<Boolean> {
 			w.and(c);
 		}
 
-		return select;
+		w.limit(1);
+
+		if (entity != null) {
+			return cassandraTemplate.routeByEntity(select, entity);
+		}
+
+		return cassandraTemplate.routeById(select, entityClass, id);
 	}
 }
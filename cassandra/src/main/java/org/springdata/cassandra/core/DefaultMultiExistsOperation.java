@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+
+/**
+ * Exists by Ids operation, selects only the primary key column of the ids
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class DefaultMultiExistsOperation extends AbstractMultiIdOperation<Set<Object>> {
+
+	public DefaultMultiExistsOperation(CassandraTemplate cassandraTemplate, Class<?> entityClass, Iterator<?> ids) {
+		super(cassandraTemplate, entityClass, ids);
+	}
+
+	@Override
+	protected Select createSelect(String tableName, boolean single) {
+
+		String keyColumn = cassandraTemplate.getStatementPlan(entityClass, tableName).getFirstKeyColumn().getName();
+		Select select = QueryBuilder.select(keyColumn).from(cassandraTemplate.getKeyspace(), tableName);
+
+		if (single) {
+			select.limit(1);
+		}
+
+		return select;
+	}
+
+	@Override
+	protected Statement bindById(EntityStatementPlan plan, Object id) {
+		return plan.bindExistsById(id);
+	}
+
+	@Override
+	protected Object readRow(Row row) {
+		return Boolean.TRUE;
+	}
+
+	@Override
+	protected Set<Object> complete(List<Object> ids, Object[] values) {
+
+		Set<Object> present = new LinkedHashSet<Object>();
+
+		for (int i = 0; i != values.length; ++i) {
+			if (values[i] != null) {
+				present.add(ids.get(i));
+			}
+		}
+
+		return present;
+	}
+
+}
@@ -16,21 +16,15 @@
 package org.springdata.cassandra.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
-import org.springdata.cassandra.mapping.CassandraPersistentEntity;
-import org.springdata.cql.core.StatementCreator;
 import org.springframework.data.convert.EntityReader;
 
-import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Statement;
-import com.datastax.driver.core.querybuilder.Clause;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
-import com.google.common.base.Function;
-import com.google.common.collect.Iterators;
 
 /**
  * Default Find by Ids operation
@@ -39,70 +33,66 @@ import com.google.common.collect.Iterators;
  * 
  */
 
-public class DefaultMultiFindOperation<T> extends AbstractMultiGetOperation<List<T>> {
+public class DefaultMultiFindOperation<T> extends AbstractMultiIdOperation<List<T>> implements MultiFindOperation<T> {
 
-	private final CassandraTemplate cassandraTemplate;
 	private final EntityReader<? super T, Object> entityReader;
-	private final Class<T> entityClass;
-	private final CassandraPersistentEntity<?> entity;
-	private final Iterator<?> ids;
+	private final Class<T> entityType;
+	private Collection<Object> missingIds;
 
 	public DefaultMultiFindOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Iterator<?> ids) {
-		super(cassandraTemplate.cqlTemplate());
-		this.cassandraTemplate = cassandraTemplate;
+		super(cassandraTemplate, entityClass, ids);
 		this.entityReader = cassandraTemplate.getConverter();
-		this.entityClass = entityClass;
-		this.entity = cassandraTemplate.getPersistentEntity(entityClass);
-		this.ids = ids;
+		this.entityType = entityClass;
 	}
 
 	@Override
-	public Iterator<Statement> getQueryIterator() {
-
-		final String tableName = getTableName() != null ? getTableName() : entity.getTableName();
-
-		return Iterators.transform(ids, new Function<Object, Statement>() {
-
-			@Override
-			public Statement apply(final Object id) {
-				return cassandraTemplate.getCqlOperations().createStatement(new StatementCreator() {
-
-					@Override
-					public Statement createStatement() {
-
-						Select select = QueryBuilder.select().all().from(cassandraTemplate.getKeyspace(), tableName);
-						Select.Where w = select.where();
-
-						List<Clause> list = cassandraTemplate.getConverter().getPrimaryKey(entity, id);
-
-						for (Clause c : list) {
-							w.and(c);
-						}
+	public MultiFindOperation<T> withMaxInFlight(int maxInFlight) {
+		setMaxInFlight(maxInFlight);
+		return this;
+	}
 
-						return select;
-					}
+	@Override
+	public MultiFindOperation<T> withMaxIdsPerQuery(int maxIdsPerQuery) {
+		setMaxIdsPerQuery(maxIdsPerQuery);
+		return this;
+	}
 
-				});
-			}
+	@Override
+	public MultiFindOperation<T> reportMissingIds(Collection<Object> missingIds) {
+		this.missingIds = missingIds;
+		return this;
+	}
 
-		});
+	@Override
+	protected Select createSelect(String tableName, boolean single) {
+		return cassandraTemplate.createDefaultSelect(entityClass, tableName);
+	}
 
+	@Override
+	protected Statement bindById(EntityStatementPlan plan, Object id) {
+		return plan.bindSelectById(id);
 	}
 
 	@Override
-	public List<T> transform(List<ResultSet> resultSets) {
+	protected Object readRow(Row row) {
+		return entityReader.read(entityType, row);
+	}
 
-		List<T> result = new ArrayList<T>(resultSets.size());
+	@Override
+	protected List<T> complete(List<Object> ids, Object[] values) {
 
-		for (ResultSet resultSet : resultSets) {
+		List<T> result = new ArrayList<T>(values.length);
 
-			Row row = resultSet.one();
-			if (row != null) {
-				T obj = entityReader.read(entityClass, row);
-				result.add(obj);
+		for (int i = 0; i != values.length; ++i) {
+			if (values[i] != null) {
+				result.add(entityType.cast(values[i]));
+			} else if (missingIds != null) {
+				missingIds.add(ids.get(i));
 			}
 		}
 
+		cassandraTemplate.attachLazyLoaders(entityType, getEffectiveTableName(), result);
+
 		return result;
 	}
 
@@ -35,7 +35,15 @@ public class DefaultSaveNewOperation<T> extends AbstractSaveOperation<T, SaveNew
 
 	@Override
 	public Statement createStatement() {
-		return createRegularStatement();
+
+		if (cassandraTemplate.isUsePreparedStatements()) {
+			Object[] values = cassandraTemplate.getConverter().getColumnValues(entity);
+			setWrittenValues(values, null, false);
+			return cassandraTemplate.getStatementPlan(entity.getClass(), getTableName()).bindInsertValues(values,
+					getTtl(), getTimestamp());
+		}
+
+		return cassandraTemplate.routeByEntity(createRegularStatement(), entity);
 	}
 
 	@Override
@@ -44,6 +52,7 @@ public class DefaultSaveNewOperation<T> extends AbstractSaveOperation<T, SaveNew
 		Insert query = QueryBuilder.insertInto(cassandraTemplate.getKeyspace(), getTableName());
 
 		cassandraTemplate.getConverter().write(entity, query);
+		setWrittenValues(cassandraTemplate.getConverter().getColumnValues(entity), null, false);
 
 		/*
 		 * Add Ttl and Timestamp to Insert query
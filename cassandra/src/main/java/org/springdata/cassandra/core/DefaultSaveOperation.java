@@ -15,6 +15,13 @@
  */
 package org.springdata.cassandra.core;
 
+import java.util.BitSet;
+
+import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cassandra.convert.EntityColumnLayout;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.convert.TrackedCollections;
+
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -29,10 +36,6 @@ import com.datastax.driver.core.querybuilder.Update;
 
 public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperation> implements SaveOperation {
 
-	/*
-	 * TODO: add support for selected / tagged fields
-	 */
-
 	private String[] selectedFields;
 	private int[] taggedFields;
 
@@ -42,15 +45,72 @@ public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperat
 
 	@Override
 	public Statement createStatement() {
-		return createRegularStatement();
+
+		CassandraConverter converter = cassandraTemplate.getConverter();
+		EntityStatementPlan plan = cassandraTemplate.getStatementPlan(entity.getClass(), getTableName());
+		Object[] values = converter.getColumnValues(entity);
+		BitSet selection = selectColumns(plan, values);
+
+		if (plan.isKeyOnly(selection)) {
+			return null;
+		}
+
+		if (cassandraTemplate.isUsePreparedStatements()) {
+			BitSet columns = plan.getUpdateColumns(values, selection);
+			if (columns != null) {
+				setWrittenValues(values, columns, true);
+				return plan.bindUpdateValues(values, columns, getTtl(), getTimestamp());
+			}
+		}
+
+		RegularStatement query = createUpdate(plan.getLayout(), values, selection);
+		return query != null ? cassandraTemplate.routeByEntity(query, entity) : null;
 	}
 
 	@Override
 	public RegularStatement createRegularStatement() {
 
+		CassandraConverter converter = cassandraTemplate.getConverter();
+		EntityStatementPlan plan = cassandraTemplate.getStatementPlan(entity.getClass(), getTableName());
+		Object[] values = converter.getColumnValues(entity);
+		BitSet selection = selectColumns(plan, values);
+
+		if (plan.isKeyOnly(selection)) {
+			return null;
+		}
+
+		return createUpdate(plan.getLayout(), values, selection);
+	}
+
+	/*
+	 * Selected columns narrowed to the changed ones if the converter tracks the entity changes
+	 */
+	private BitSet selectColumns(EntityStatementPlan plan, Object[] values) {
+
+		BitSet selection = getSelection(plan.getLayout());
+
+		if (cassandraTemplate.getConverter().isTrackEntityChanges()) {
+			selection = plan.selectChanged(entity, values, selection);
+		}
+
+		return selection;
+	}
+
+	private Update createUpdate(EntityColumnLayout layout, Object[] values, BitSet selection) {
+
 		Update query = QueryBuilder.update(cassandraTemplate.getKeyspace(), getTableName());
 
-		cassandraTemplate.getConverter().write(entity, query);
+		BitSet written = selection;
+		if (written == null) {
+			written = new BitSet(values.length);
+			written.set(0, values.length);
+		}
+
+		if (!writeSelected(query, layout, written, values)) {
+			return null;
+		}
+
+		setWrittenValues(values, written, true);
 
 		/*
 		 * Add Ttl and Timestamp to Update query
@@ -65,6 +125,41 @@ public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperat
 		return query;
 	}
 
+	private BitSet getSelection(EntityColumnLayout layout) {
+
+		if (selectedFields == null && taggedFields == null) {
+			return null;
+		}
+
+		return layout.selectColumns(selectedFields, taggedFields);
+	}
+
+	/*
+	 * Same rules as in the converter, null values are not written, tracked collections write only changes. Returns
+	 * false if there is nothing to assign.
+	 */
+	private boolean writeSelected(Update query, EntityColumnLayout layout, BitSet selection, Object[] values) {
+
+		boolean hasAssignments = false;
+
+		for (ColumnInfo column : layout.getColumns()) {
+
+			Object value = values[column.getIndex()];
+
+			if (value == null || !selection.get(column.getIndex())) {
+				continue;
+			}
+
+			if (column.isPrimaryKeyColumn()) {
+				query.where(QueryBuilder.eq(column.getName(), value));
+			} else if (TrackedCollections.writeAssignment(query, column.getName(), value)) {
+				hasAssignments = true;
+			}
+		}
+
+		return hasAssignments;
+	}
+
 	@Override
 	public SaveOperation selectedFields(String... fields) {
 		this.selectedFields = fields;
@@ -0,0 +1,665 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cassandra.convert.EntityColumnLayout;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.convert.TrackedCollection;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cql.core.CqlTemplate;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.querybuilder.Delete;
+import com.datastax.driver.core.querybuilder.Insert;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import com.datastax.driver.core.querybuilder.Update;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Statement plan of the persistent entity for the specific table. Creates prepared INSERT, UPDATE, DELETE, SELECT and
+ * EXISTS statements with bind markers once and binds converted entity or id values on each call. SELECT statements do
+ * not select lazy columns, EXISTS statements select only the primary key column with LIMIT 1.
+ *
+ * Null properties are not written, same as in QueryBuilder based statements, therefore statements are prepared per
+ * set of the non-null columns. Binding null instead would write tombstones. The number of the sets grows with the
+ * number of the nullable columns, so the plan keeps only the most recently used statements, see
+ * {@link #DEFAULT_MAX_PREPARED_STATEMENTS}.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class EntityStatementPlan {
+
+	public static final int DEFAULT_MAX_PREPARED_STATEMENTS = 64;
+
+	private static final int TTL_MARKER = -1;
+	private static final int TIMESTAMP_MARKER = -2;
+
+	enum StatementType {
+		INSERT, UPDATE, DELETE, SELECT, SELECT_COLUMN, EXISTS;
+	}
+
+	private final CqlTemplate cqlTemplate;
+	private final CassandraConverter converter;
+	private final CassandraPersistentEntity<?> entity;
+	private final EntityColumnLayout layout;
+	private final String keyspace;
+	private final String tableName;
+
+	private final BitSet keyMask;
+	private final BitSet idMask;
+	private final BitSet idPartitionMask;
+
+	private final Cache<StatementKey, PlannedStatement> statements;
+
+	public EntityStatementPlan(CqlTemplate cqlTemplate, CassandraConverter converter,
+			CassandraPersistentEntity<?> entity, String keyspace, String tableName) {
+		this(cqlTemplate, converter, entity, keyspace, tableName, DEFAULT_MAX_PREPARED_STATEMENTS);
+	}
+
+	/**
+	 * Creates the plan that keeps at most the given number of prepared statements, least recently used statements are
+	 * evicted
+	 *
+	 * @param cqlTemplate template that prepares the statements
+	 * @param converter entity converter
+	 * @param entity persistent entity
+	 * @param keyspace keyspace of the table or null
+	 * @param tableName table name
+	 * @param maxPreparedStatements maximum number of the prepared statements
+	 */
+	public EntityStatementPlan(CqlTemplate cqlTemplate, CassandraConverter converter,
+			CassandraPersistentEntity<?> entity, String keyspace, String tableName, int maxPreparedStatements) {
+		Assert.notNull(cqlTemplate);
+		Assert.notNull(converter);
+		Assert.notNull(entity);
+		Assert.notNull(tableName);
+		Assert.isTrue(maxPreparedStatements > 0, "maxPreparedStatements must be positive");
+
+		this.cqlTemplate = cqlTemplate;
+		this.converter = converter;
+		this.entity = entity;
+		this.layout = converter.getColumnLayout(entity);
+		this.keyspace = keyspace;
+		this.tableName = tableName;
+		this.statements = CacheBuilder.newBuilder().maximumSize(maxPreparedStatements).build();
+
+		this.keyMask = new BitSet(layout.size());
+		for (ColumnInfo column : layout.getColumns()) {
+			if (column.isPrimaryKeyColumn()) {
+				keyMask.set(column.getIndex());
+			}
+		}
+
+		this.idMask = toMask(layout.getIdColumns());
+		this.idPartitionMask = toMask(layout.getIdPartitionColumns());
+	}
+
+	public CassandraPersistentEntity<?> getEntity() {
+		return entity;
+	}
+
+	public EntityColumnLayout getLayout() {
+		return layout;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	/**
+	 * Returns number of prepared statements in the plan
+	 *
+	 * @return number of prepared statements
+	 */
+	public int getPreparedCount() {
+		return (int) statements.size();
+	}
+
+	/**
+	 * Binds INSERT statement for the non-null properties of the entity
+	 *
+	 * @param obj entity object
+	 * @param ttl time to live seconds or null
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindInsert(Object obj, Integer ttl, Long timestamp) {
+		return bindInsertValues(converter.getColumnValues(obj), ttl, timestamp);
+	}
+
+	/**
+	 * Binds INSERT statement for the non-null column values. Changes of the tracked collections are not reset, the
+	 * caller resets them after the statement is applied.
+	 *
+	 * @param values column values of the entity, see {@link CassandraConverter#getColumnValues(Object)}
+	 * @param ttl time to live seconds or null
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindInsertValues(Object[] values, Integer ttl, Long timestamp) {
+		BitSet mask = nonNullMask(values);
+		return bind(new StatementKey(StatementType.INSERT, mask, ttl != null, timestamp != null), values, ttl, timestamp);
+	}
+
+	/**
+	 * Binds UPDATE statement for the non-null properties of the entity
+	 *
+	 * @param obj entity object
+	 * @param ttl time to live seconds or null
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement or null if the entity does not have non-null regular columns
+	 */
+	public BoundStatement bindUpdate(Object obj, Integer ttl, Long timestamp) {
+		return bindUpdate(obj, null, ttl, timestamp);
+	}
+
+	/**
+	 * Binds UPDATE statement for the non-null selected properties of the entity, see
+	 * {@link #getUpdateColumns(Object[], BitSet)}. If the converter has the snapshot of the entity only the changed
+	 * columns are written, see {@link #selectChanged(Object, Object[], BitSet)}.
+	 *
+	 * @param obj entity object
+	 * @param selection columns to update, see {@link EntityColumnLayout#selectColumns(String[], int[])}, null for all
+	 * @param ttl time to live seconds or null
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement or null if the entity does not have non-null changed selected regular columns or has
+	 *         changed tracked collections
+	 */
+	public BoundStatement bindUpdate(Object obj, BitSet selection, Integer ttl, Long timestamp) {
+		Object[] values = converter.getColumnValues(obj);
+		BitSet columns = getUpdateColumns(values, selectChanged(obj, values, selection));
+		return columns != null ? bindUpdateValues(values, columns, ttl, timestamp) : null;
+	}
+
+	/**
+	 * Returns columns of the UPDATE statement, non-null selected values. Each set of the columns has its own prepared
+	 * statement.
+	 *
+	 * Not changed tracked collections are not written. Changes of the tracked collections that are not replaced can
+	 * not be bound to the prepared statement, for them null is returned and the caller writes the regular statement.
+	 *
+	 * @param values column values of the entity
+	 * @param selection columns to update or null for all
+	 * @return columns to bind or null if there are no non-null selected regular columns or changed tracked collections
+	 */
+	public BitSet getUpdateColumns(Object[] values, BitSet selection) {
+		BitSet mask = nonNullMask(values);
+
+		if (selection != null) {
+			mask.and(selection);
+		}
+
+		for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+			if (values[i] instanceof TrackedCollection) {
+				TrackedCollection tracked = (TrackedCollection) values[i];
+				if (!tracked.isChanged()) {
+					mask.clear(i);
+				} else if (!tracked.isReplaced()) {
+					return null;
+				}
+			}
+		}
+
+		return isKeyOnly(mask) ? null : mask;
+	}
+
+	/**
+	 * Binds UPDATE statement for the columns returned by {@link #getUpdateColumns(Object[], BitSet)}. Changes of the
+	 * tracked collections and the snapshot of the entity are not updated, the caller updates them after the statement
+	 * is applied.
+	 *
+	 * @param values column values of the entity
+	 * @param columns columns to bind
+	 * @param ttl time to live seconds or null
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindUpdateValues(Object[] values, BitSet columns, Integer ttl, Long timestamp) {
+		return bind(new StatementKey(StatementType.UPDATE, columns, ttl != null, timestamp != null), values, ttl,
+				timestamp);
+	}
+
+	/**
+	 * Narrows the selection to the columns changed since the entity was read or last saved, when the converter has the
+	 * snapshot of the entity. Primary key columns stay selected. If nothing is changed only the primary key columns are
+	 * selected and the entity does not need to be written, see {@link #isKeyOnly(BitSet)}.
+	 *
+	 * @param obj entity object
+	 * @param values column values of the entity
+	 * @param selection columns to update or null for all
+	 * @return narrowed selection or the given selection if the entity has no snapshot
+	 */
+	public BitSet selectChanged(Object obj, Object[] values, BitSet selection) {
+
+		BitSet changed = converter.getChangedColumns(obj, values);
+
+		if (changed == null) {
+			return selection;
+		}
+
+		BitSet candidates = nonNullMask(values);
+		if (selection != null) {
+			candidates.and(selection);
+		}
+
+		changed.or(keyMask);
+		changed.and(candidates);
+
+		return changed;
+	}
+
+	/**
+	 * Returns true if the selection does not have regular columns
+	 *
+	 * @param selection selected columns, null for all
+	 * @return true if only the primary key columns are selected
+	 */
+	public boolean isKeyOnly(BitSet selection) {
+
+		if (selection == null) {
+			return false;
+		}
+
+		BitSet regular = (BitSet) selection.clone();
+		regular.andNot(keyMask);
+		return regular.isEmpty();
+	}
+
+	/**
+	 * Binds DELETE statement for the primary key of the entity
+	 *
+	 * @param obj entity object
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindDelete(Object obj, Long timestamp) {
+		Object[] values = converter.getColumnValues(obj);
+		BitSet mask = nonNullMask(values);
+		mask.and(keyMask);
+		return bind(new StatementKey(StatementType.DELETE, mask, false, timestamp != null), values, null, timestamp);
+	}
+
+	/**
+	 * Binds DELETE statement for the id
+	 *
+	 * @param id entity id
+	 * @param timestamp timestamp or null
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindDeleteById(Object id, Long timestamp) {
+		Object[] values = idValues(id, false);
+		return bind(new StatementKey(StatementType.DELETE, idMask, false, timestamp != null), values, null, timestamp);
+	}
+
+	/**
+	 * Binds SELECT statement for the id
+	 *
+	 * @param id entity id
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindSelectById(Object id) {
+		Object[] values = idValues(id, false);
+		return bind(new StatementKey(StatementType.SELECT, idMask, false, false), values, null, null);
+	}
+
+	/**
+	 * Binds SELECT statement for the partition part of the id
+	 *
+	 * @param id entity id, clustering columns are ignored
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindSelectByPartitionKey(Object id) {
+		Object[] values = idValues(id, true);
+		return bind(new StatementKey(StatementType.SELECT, idPartitionMask, false, false), values, null, null);
+	}
+
+	/**
+	 * Binds SELECT statement of the single column for the primary key of the entity, used to load lazy columns
+	 *
+	 * @param obj entity object
+	 * @param column column to select
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindSelectColumn(Object obj, ColumnInfo column) {
+		Object[] values = converter.getColumnValues(obj);
+		BitSet mask = (BitSet) keyMask.clone();
+		mask.set(column.getIndex());
+		return bind(new StatementKey(StatementType.SELECT_COLUMN, mask, false, false), values, null, null);
+	}
+
+	/**
+	 * Binds EXISTS statement for the primary key of the entity, the row exists if the statement returns a row
+	 *
+	 * @param obj entity object
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindExists(Object obj) {
+		Object[] values = converter.getColumnValues(obj);
+		BitSet mask = nonNullMask(values);
+		mask.and(keyMask);
+		return bind(new StatementKey(StatementType.EXISTS, mask, false, false), values, null, null);
+	}
+
+	/**
+	 * Binds EXISTS statement for the id, the row exists if the statement returns a row
+	 *
+	 * @param id entity id
+	 * @return BoundStatement
+	 */
+	public BoundStatement bindExistsById(Object id) {
+		Object[] values = idValues(id, false);
+		return bind(new StatementKey(StatementType.EXISTS, idMask, false, false), values, null, null);
+	}
+
+	private BoundStatement bind(StatementKey key, Object[] values, Integer ttl, Long timestamp) {
+
+		PlannedStatement planned = getPlannedStatement(key);
+		int[] bindIndexes = planned.bindIndexes;
+
+		Object[] bindValues = new Object[bindIndexes.length];
+
+		for (int i = 0; i != bindIndexes.length; ++i) {
+			int index = bindIndexes[i];
+			if (index == TTL_MARKER) {
+				bindValues[i] = ttl;
+			} else if (index == TIMESTAMP_MARKER) {
+				bindValues[i] = timestamp;
+			} else {
+				bindValues[i] = values[index];
+			}
+		}
+
+		return planned.preparedStatement.bind(bindValues);
+	}
+
+	private PlannedStatement getPlannedStatement(final StatementKey key) {
+
+		try {
+			return statements.get(key, new Callable<PlannedStatement>() {
+
+				@Override
+				public PlannedStatement call() {
+					List<Integer> bindIndexes = new ArrayList<Integer>(layout.size() + 2);
+					RegularStatement statement = createStatement(key, bindIndexes);
+					PreparedStatement ps = cqlTemplate.prepareStatement(statement.getQueryString());
+					return new PlannedStatement(ps, bindIndexes);
+				}
+
+			});
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("unable to prepare " + key.type + " statement for table " + tableName,
+					e.getCause());
+		} catch (UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		} catch (ExecutionError e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/*
+	 * Bind indexes are added in the same order as bind markers are rendered in the query string
+	 */
+	private RegularStatement createStatement(StatementKey key, List<Integer> bindIndexes) {
+
+		switch (key.type) {
+
+		case INSERT:
+
+			Insert insert = QueryBuilder.insertInto(keyspace, tableName);
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex())) {
+					insert.value(column.getName(), QueryBuilder.bindMarker());
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			if (key.ttl) {
+				insert.using(QueryBuilder.ttl(QueryBuilder.bindMarker()));
+				bindIndexes.add(TTL_MARKER);
+			}
+			if (key.timestamp) {
+				insert.using(QueryBuilder.timestamp(QueryBuilder.bindMarker()));
+				bindIndexes.add(TIMESTAMP_MARKER);
+			}
+			return insert;
+
+		case UPDATE:
+
+			Update update = QueryBuilder.update(keyspace, tableName);
+			if (key.ttl) {
+				update.using(QueryBuilder.ttl(QueryBuilder.bindMarker()));
+				bindIndexes.add(TTL_MARKER);
+			}
+			if (key.timestamp) {
+				update.using(QueryBuilder.timestamp(QueryBuilder.bindMarker()));
+				bindIndexes.add(TIMESTAMP_MARKER);
+			}
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex()) && !column.isPrimaryKeyColumn()) {
+					update.with(QueryBuilder.set(column.getName(), QueryBuilder.bindMarker()));
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex()) && column.isPrimaryKeyColumn()) {
+					update.where(QueryBuilder.eq(column.getName(), QueryBuilder.bindMarker()));
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			return update;
+
+		case DELETE:
+
+			Delete delete = QueryBuilder.delete().from(keyspace, tableName);
+			if (key.timestamp) {
+				delete.using(QueryBuilder.timestamp(QueryBuilder.bindMarker()));
+				bindIndexes.add(TIMESTAMP_MARKER);
+			}
+			Delete.Where dw = delete.where();
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex())) {
+					dw.and(QueryBuilder.eq(column.getName(), QueryBuilder.bindMarker()));
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			return delete;
+
+		case SELECT:
+
+			Select select;
+			if (layout.getDefaultColumnNames() != null) {
+				select = QueryBuilder.select(layout.getDefaultColumnNames()).from(keyspace, tableName);
+			} else {
+				select = QueryBuilder.select().all().from(keyspace, tableName);
+			}
+			Select.Where sw = select.where();
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex())) {
+					sw.and(QueryBuilder.eq(column.getName(), QueryBuilder.bindMarker()));
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			return select;
+
+		case EXISTS:
+
+			Select existsSelect = QueryBuilder.select(getFirstKeyColumn().getName()).from(keyspace, tableName);
+			Select.Where ew = existsSelect.where();
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex())) {
+					ew.and(QueryBuilder.eq(column.getName(), QueryBuilder.bindMarker()));
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			ew.limit(1);
+			return existsSelect;
+
+		case SELECT_COLUMN:
+
+			Select.Selection selection = QueryBuilder.select();
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex()) && !column.isPrimaryKeyColumn()) {
+					selection.column(column.getName());
+				}
+			}
+			Select columnSelect = selection.from(keyspace, tableName);
+			Select.Where cw = columnSelect.where();
+			for (ColumnInfo column : layout.getColumns()) {
+				if (key.mask.get(column.getIndex()) && column.isPrimaryKeyColumn()) {
+					cw.and(QueryBuilder.eq(column.getName(), QueryBuilder.bindMarker()));
+					bindIndexes.add(column.getIndex());
+				}
+			}
+			return columnSelect;
+
+		}
+
+		throw new IllegalArgumentException("invalid statement type " + key.type);
+	}
+
+	private Object[] idValues(Object id, boolean partitionPartsOnly) {
+
+		List<ColumnInfo> columns = partitionPartsOnly ? layout.getIdPartitionColumns() : layout.getIdColumns();
+		Object[] idValues = converter.getIdValues(entity, id, partitionPartsOnly);
+
+		Object[] values = new Object[layout.size()];
+		for (int i = 0; i != idValues.length; ++i) {
+			values[columns.get(i).getIndex()] = idValues[i];
+		}
+
+		return values;
+	}
+
+	/**
+	 * Returns the first primary key column, selected by the key-only queries
+	 *
+	 * @return ColumnInfo
+	 */
+	public ColumnInfo getFirstKeyColumn() {
+		int index = keyMask.nextSetBit(0);
+		if (index < 0) {
+			throw new IllegalStateException("entity " + entity.getName() + " has no primary key columns");
+		}
+		return layout.getColumns().get(index);
+	}
+
+	private static BitSet nonNullMask(Object[] values) {
+		BitSet mask = new BitSet(values.length);
+		for (int i = 0; i != values.length; ++i) {
+			if (values[i] != null) {
+				mask.set(i);
+			}
+		}
+		return mask;
+	}
+
+	private static BitSet toMask(List<ColumnInfo> columns) {
+		BitSet mask = new BitSet();
+		for (ColumnInfo column : columns) {
+			mask.set(column.getIndex());
+		}
+		return mask;
+	}
+
+	/**
+	 * Prepared statement with the mapping from bind markers to the value indexes
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	static final class PlannedStatement {
+
+		private final PreparedStatement preparedStatement;
+		private final int[] bindIndexes;
+
+		PlannedStatement(PreparedStatement preparedStatement, List<Integer> bindIndexes) {
+			this.preparedStatement = preparedStatement;
+			this.bindIndexes = new int[bindIndexes.size()];
+			for (int i = 0; i != this.bindIndexes.length; ++i) {
+				this.bindIndexes[i] = bindIndexes.get(i);
+			}
+		}
+
+	}
+
+	/**
+	 * Key of the prepared statement in the plan, keeps own copy of the mask because the selection may be reused by the
+	 * caller
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	static final class StatementKey {
+
+		private final StatementType type;
+		private final BitSet mask;
+		private final boolean ttl;
+		private final boolean timestamp;
+
+		StatementKey(StatementType type, BitSet mask, boolean ttl, boolean timestamp) {
+			this.type = type;
+			this.mask = (BitSet) mask.clone();
+			this.ttl = ttl;
+			this.timestamp = timestamp;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = type.hashCode();
+			result = 31 * result + mask.hashCode();
+			result = 31 * result + (ttl ? 1 : 0);
+			result = 31 * result + (timestamp ? 1 : 0);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof StatementKey)) {
+				return false;
+			}
+			StatementKey other = (StatementKey) obj;
+			return type == other.type && ttl == other.ttl && timestamp == other.timestamp && mask.equals(other.mask);
+		}
+
+	}
+
+}
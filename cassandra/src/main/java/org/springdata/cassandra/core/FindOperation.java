@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.List;
+
+/**
+ * Find operation that selects only the required columns of the entity.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - entity Type
+ */
+public interface FindOperation<T> extends GetOperation<List<T>> {
+
+	/**
+	 * Selects only the fields of the entity, other properties of the returned entities are not set. Fields are property
+	 * names or column names, the primary key is always selected.
+	 * 
+	 * @param fields property or column names
+	 * @return this
+	 */
+	FindOperation<T> project(String... fields);
+
+	/**
+	 * Selects only the columns of the projection and maps rows to it. Projection is an interface with getters of the
+	 * entity properties or a DTO class mapped as an entity. Query options must be set on the returned operation.
+	 * 
+	 * @param projectionType interface or class of the projection
+	 * @return operation that returns projections
+	 */
+	<P> GetOperation<List<P>> project(Class<P> projectionType);
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.mapping.LazyValue;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Loader of one lazy column for the entities of one result. The first access to a holder loads the column of the
+ * chunk of entities that contains it, the queries by the primary key of the chunk are executed asynchronously at the
+ * same time with the limited number of queries in flight.
+ *
+ * Each holder references only its own entity, the loader keeps weak references to the holders, so a holder does not
+ * keep other entities of the result reachable. Queries are executed without the lock, the concurrent access to the
+ * chunk that is being loaded waits for it.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+final class LazyColumnLoader {
+
+	public static final int DEFAULT_CHUNK_SIZE = 64;
+	public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+	private final CassandraTemplate cassandraTemplate;
+	private final EntityStatementPlan plan;
+	private final ColumnInfo column;
+	private final int chunkSize;
+	private final int maxInFlight;
+
+	private final List<WeakReference<Slot>> slots = new ArrayList<WeakReference<Slot>>();
+	private final Map<Integer, SettableFuture<Void>> loadingChunks = new HashMap<Integer, SettableFuture<Void>>();
+
+	LazyColumnLoader(CassandraTemplate cassandraTemplate, EntityStatementPlan plan, ColumnInfo column, int chunkSize,
+			int maxInFlight) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be positive");
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.cassandraTemplate = cassandraTemplate;
+		this.plan = plan;
+		this.column = column;
+		this.chunkSize = chunkSize;
+		this.maxInFlight = maxInFlight;
+	}
+
+	@SuppressWarnings("unchecked")
+	void add(Object entity, LazyValue<?> value) {
+		Slot slot = new Slot(slots.size(), entity, (LazyValue<Object>) value);
+		slots.add(new WeakReference<Slot>(slot));
+		value.attach(slot);
+	}
+
+	int size() {
+		return slots.size();
+	}
+
+	private void load(Slot accessed) {
+
+		int chunk = accessed.index / chunkSize;
+
+		SettableFuture<Void> loading;
+		List<Slot> batch = null;
+
+		synchronized (this) {
+
+			if (accessed.value.isLoaded()) {
+				return;
+			}
+
+			loading = loadingChunks.get(chunk);
+
+			if (loading == null) {
+				loading = SettableFuture.create();
+				loadingChunks.put(chunk, loading);
+				batch = getNotLoaded(chunk);
+			}
+		}
+
+		if (batch == null) {
+
+			/*
+			 * Other thread loads the chunk
+			 */
+			try {
+				Uninterruptibles.getUninterruptibly(loading);
+			} catch (ExecutionException e) {
+				throw new DataRetrievalFailureException("failed to load lazy column " + column.getName() + " of the table "
+						+ plan.getTableName(), e.getCause());
+			}
+			return;
+		}
+
+		try {
+			loadBatch(batch);
+			loading.set(null);
+		} catch (RuntimeException e) {
+			loading.setException(e);
+			throw e;
+		} finally {
+			synchronized (this) {
+				loadingChunks.remove(chunk);
+			}
+		}
+	}
+
+	private List<Slot> getNotLoaded(int chunk) {
+
+		int from = chunk * chunkSize;
+		int to = Math.min(from + chunkSize, slots.size());
+
+		List<Slot> batch = new ArrayList<Slot>(to - from);
+
+		for (int i = from; i != to; ++i) {
+			Slot slot = slots.get(i).get();
+			if (slot != null && !slot.value.isLoaded()) {
+				batch.add(slot);
+			}
+		}
+
+		return batch;
+	}
+
+	private void loadBatch(final List<Slot> batch) {
+
+		final CassandraConverter converter = cassandraTemplate.getConverter();
+		final List<Slot> failed = new ArrayList<Slot>();
+
+		AbstractMultiGetOperation<Void> operation = new AbstractMultiGetOperation<Void>(cassandraTemplate.cqlTemplate()) {
+
+			@Override
+			public Iterator<Statement> getQueryIterator() {
+				return Iterators.transform(batch.iterator(), new Function<Slot, Statement>() {
+
+					@Override
+					public Statement apply(Slot slot) {
+						return plan.bindSelectColumn(slot.entity, column);
+					}
+
+				});
+			}
+
+			@Override
+			public Void transform(List<ResultSet> resultSets) {
+
+				for (int i = 0; i != batch.size(); ++i) {
+
+					ResultSet resultSet = i < resultSets.size() ? resultSets.get(i) : null;
+					Slot slot = batch.get(i);
+
+					if (resultSet == null) {
+						failed.add(slot);
+						continue;
+					}
+
+					Row row = resultSet.one();
+					slot.loaded(row != null ? converter.readColumnValue(row, 0, column.getProperty()) : null);
+				}
+
+				return null;
+			}
+
+		};
+
+		operation.setMaxInFlight(maxInFlight);
+		operation.execute();
+
+		if (!failed.isEmpty()) {
+			throw new DataRetrievalFailureException("failed to load lazy column " + column.getName() + " for "
+					+ failed.size() + " entities of the table " + plan.getTableName());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LazyColumnLoader [table=" + plan.getTableName() + ", column=" + column.getName() + "]";
+	}
+
+	/**
+	 * Loader attached to one holder, references the entity of the holder until the value is loaded
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	final class Slot implements LazyValue.Loader {
+
+		private final int index;
+		private final LazyValue<Object> value;
+		private volatile Object entity;
+
+		Slot(int index, Object entity, LazyValue<Object> value) {
+			this.index = index;
+			this.entity = entity;
+			this.value = value;
+		}
+
+		@Override
+		public void load() {
+			LazyColumnLoader.this.load(this);
+		}
+
+		void loaded(Object loadedValue) {
+			if (!value.isLoaded()) {
+				value.set(loadedValue);
+			}
+			entity = null;
+		}
+
+		@Override
+		public String toString() {
+			return LazyColumnLoader.this.toString();
+		}
+
+	}
+
+}
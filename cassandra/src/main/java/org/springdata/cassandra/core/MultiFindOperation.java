@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Find by ids operation. Ids of the entities with the single column primary key are grouped by the replicas of the
+ * partition and each group is read by IN queries, other ids are read by one query per id. Entities are returned in the
+ * order of the ids, not found ids are skipped.
+ *
+ * @author Alex Shvid
+ *
+ * @param <T> entity type
+ */
+public interface MultiFindOperation<T> extends GetOperation<List<T>> {
+
+	int DEFAULT_MAX_IN_FLIGHT = 64;
+
+	int DEFAULT_MAX_IDS_PER_QUERY = 20;
+
+	/**
+	 * Limits number of queries executed at the same time, by default {@link #DEFAULT_MAX_IN_FLIGHT}
+	 *
+	 * @param maxInFlight maximum number of queries in flight
+	 * @return this
+	 */
+	MultiFindOperation<T> withMaxInFlight(int maxInFlight);
+
+	/**
+	 * Limits number of ids in the IN query, by default {@link #DEFAULT_MAX_IDS_PER_QUERY}. Large IN queries load the
+	 * coordinator, 1 reads each id by the separate query.
+	 *
+	 * @param maxIdsPerQuery maximum number of ids per query
+	 * @return this
+	 */
+	MultiFindOperation<T> withMaxIdsPerQuery(int maxIdsPerQuery);
+
+	/**
+	 * Collects ids that are not found or whose queries failed
+	 *
+	 * @param missingIds collection to add the missing ids to
+	 * @return this
+	 */
+	MultiFindOperation<T> reportMissingIds(Collection<Object> missingIds);
+
+}
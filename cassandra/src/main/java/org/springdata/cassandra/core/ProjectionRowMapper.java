@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import org.springdata.cassandra.convert.EntityProjection;
+import org.springdata.cql.core.RowMapper;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Row;
+
+/**
+ * Row mapper that converts Row to the projection of the entity
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <P>
+ */
+public class ProjectionRowMapper<P> implements RowMapper<P> {
+
+	private final EntityProjection projection;
+	private final Class<P> projectionType;
+
+	public ProjectionRowMapper(EntityProjection projection, Class<P> projectionType) {
+		Assert.notNull(projection);
+		Assert.notNull(projectionType);
+		this.projection = projection;
+		this.projectionType = projectionType;
+	}
+
+	@Override
+	public P mapRow(Row row, int rowNum) {
+		return projectionType.cast(projection.read(row));
+	}
+
+}
@@ -22,6 +22,10 @@ import com.datastax.driver.core.ResultSet;
 /**
  * Base interface to save entity (actually update).
  * 
+ * If the converter tracks the entity changes and nothing is changed, the save is skipped and execute returns null
+ * ResultSet. The snapshot of the entity and changes of the tracked collections are updated only when the statement is
+ * applied.
+ * 
  * @author Alex Shvid
  * 
  */
@@ -36,7 +40,8 @@ public interface SaveOperation extends StatementOperation<ResultSet, SaveOperati
 	SaveOperation toTable(String tableName);
 
 	/**
-	 * Specifies fields that actually have to be saved. By default will save all fields in the entity.
+	 * Specifies fields that actually have to be saved. By default will save all fields in the entity. Fields are
+	 * property names or column names, the primary key is always included.
 	 * 
 	 * @param fields Array of selected fields
 	 * @return this
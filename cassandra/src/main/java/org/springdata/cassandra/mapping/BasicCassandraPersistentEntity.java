@@ -24,6 +24,9 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.expression.BeanFactoryAccessor;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PreferredConstructor.Parameter;
+import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.BasicPersistentEntity;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.expression.Expression;
@@ -45,6 +48,7 @@ public class BasicCassandraPersistentEntity<T> extends BasicPersistentEntity<T,
 	private final String table;
 	private final SpelExpressionParser parser;
 	private final StandardEvaluationContext context;
+	private volatile Boolean spelExpressions;
 
 	/**
 	 * Creates a new {@link BasicCassandraPersistentEntity} with the given {@link TypeInformation}. Will default the table
@@ -90,6 +94,50 @@ public class BasicCassandraPersistentEntity<T> extends BasicPersistentEntity<T,
 		return expression.getValue(context, String.class);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springdata.cassandra.mapping.CassandraPersistentEntity#hasSpelExpressions()
+	 */
+	public boolean hasSpelExpressions() {
+
+		Boolean result = spelExpressions;
+
+		if (result == null) {
+			result = detectSpelExpressions();
+			spelExpressions = result;
+		}
+
+		return result;
+	}
+
+	private boolean detectSpelExpressions() {
+
+		final boolean[] found = new boolean[1];
+
+		doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
+
+			@Override
+			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+				if (prop.getSpelExpression() != null) {
+					found[0] = true;
+				}
+			}
+
+		});
+
+		PreferredConstructor<T, CassandraPersistentProperty> constructor = getPersistenceConstructor();
+
+		if (!found[0] && constructor != null) {
+			for (Parameter<?, CassandraPersistentProperty> parameter : constructor.getParameters()) {
+				if (parameter.hasSpelExpression()) {
+					found[0] = true;
+				}
+			}
+		}
+
+		return found[0];
+	}
+
 	/**
 	 * {@link Comparator} implementation inspecting the {@link CassandraPersistentProperty}'s order.
 	 * 
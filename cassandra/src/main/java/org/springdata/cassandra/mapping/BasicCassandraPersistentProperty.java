@@ -119,7 +119,7 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 	 */
 	public DataType getDataType() {
 
-		Class<?> propertyType = getType();
+		Class<?> propertyType = getValueType();
 
 		Qualify annotation = findAnnotation(Qualify.class);
 		if (annotation != null && annotation.type() != null) {
@@ -130,7 +130,9 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 			return DataType.text();
 		}
 
-		if (isMap()) {
+		boolean holder = propertyType != getType();
+
+		if (!holder && isMap()) {
 			List<TypeInformation<?>> args = getTypeInformation().getTypeArguments();
 			ensureTypeArguments(args.size(), 2);
 
@@ -138,7 +140,7 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 					autodetectPrimitiveType(args.get(1).getType()));
 		}
 
-		if (isCollectionLike()) {
+		if (!holder && isCollectionLike()) {
 			List<TypeInformation<?>> args = getTypeInformation().getTypeArguments();
 			ensureTypeArguments(args.size(), 1);
 
@@ -234,6 +236,42 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 		return null;
 	}
 
+	/**
+	 * Returns tag if the property has Tag annotation.
+	 * 
+	 * @return
+	 */
+	public Integer getTag() {
+		Tag tag = findAnnotation(Tag.class);
+		return tag != null ? tag.value() : null;
+	}
+
+	/**
+	 * Returns true if the property has Lazy annotation.
+	 * 
+	 * @return
+	 */
+	public boolean isLazy() {
+		return isAnnotationPresent(Lazy.class);
+	}
+
+	/**
+	 * Returns the type argument of the LazyValue property, otherwise the property type.
+	 * 
+	 * @return
+	 */
+	public Class<?> getValueType() {
+
+		if (!LazyValue.class.isAssignableFrom(getType())) {
+			return getType();
+		}
+
+		List<TypeInformation<?>> args = getTypeInformation().getTypeArguments();
+		ensureTypeArguments(args.size(), 1);
+
+		return args.get(0).getType();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mapping.model.AbstractPersistentProperty#createAssociation()
@@ -273,7 +311,7 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 	@Override
 	public Converter<?, ?> getReadConverter() {
 
-		Class<?> propertyType = getType();
+		Class<?> propertyType = getValueType();
 
 		if (Enum.class.isAssignableFrom(propertyType)) {
 			return new StringToEnumConverter(propertyType);
@@ -291,7 +329,7 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 	@Override
 	public Converter<?, ?> getWriteConverter() {
 
-		Class<?> propertyType = getType();
+		Class<?> propertyType = getValueType();
 
 		if (Enum.class.isAssignableFrom(propertyType)) {
 			return EnumToStringConverter.INSTANCE;
@@ -41,6 +41,9 @@ public class CachingCassandraPersistentProperty extends BasicCassandraPersistent
 	private OptionalValue<String> indexName = new OptionalValue<String>();
 	private OptionalValue<KeyPart> keyPart = new OptionalValue<KeyPart>();
 	private OptionalValue<Integer> ordinal = new OptionalValue<Integer>();
+	private OptionalValue<Integer> tag = new OptionalValue<Integer>();
+	private Boolean isLazy;
+	private Class<?> valueType;
 	private OptionalValue<Converter<?, ?>> readConverter = new OptionalValue<Converter<?, ?>>();
 	private OptionalValue<Converter<?, ?>> writeConverter = new OptionalValue<Converter<?, ?>>();
 
@@ -184,6 +187,48 @@ public class CachingCassandraPersistentProperty extends BasicCassandraPersistent
 		return this.ordinal.get();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#getTag()
+	 */
+	@Override
+	public Integer getTag() {
+
+		if (this.tag.isEmpty()) {
+			this.tag.set(super.getTag());
+		}
+
+		return this.tag.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#isLazy()
+	 */
+	@Override
+	public boolean isLazy() {
+
+		if (this.isLazy == null) {
+			this.isLazy = super.isLazy();
+		}
+
+		return this.isLazy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#getValueType()
+	 */
+	@Override
+	public Class<?> getValueType() {
+
+		if (this.valueType == null) {
+			this.valueType = super.getValueType();
+		}
+
+		return this.valueType;
+	}
+
 	@Override
 	public Converter<?, ?> getReadConverter() {
 
@@ -31,4 +31,11 @@ public interface CassandraPersistentEntity<T> extends PersistentEntity<T, Cassan
 	 */
 	String getTableName();
 
+	/**
+	 * Returns true if any property or persistence constructor parameter has the SpEL expression.
+	 * 
+	 * @return
+	 */
+	boolean hasSpelExpressions();
+
 }
@@ -85,6 +85,28 @@ public interface CassandraPersistentProperty extends PersistentProperty<Cassandr
 	 */
 	Integer getOrdinal();
 
+	/**
+	 * Returns tag of the property if it has Tag annotation.
+	 * 
+	 * @return tag or null
+	 */
+	Integer getTag();
+
+	/**
+	 * Returns true if the property has Lazy annotation and is not selected by the default queries.
+	 * 
+	 * @return true for lazy columns
+	 */
+	boolean isLazy();
+
+	/**
+	 * Returns type of the column value, it is the type argument for {@link LazyValue} properties and the property type
+	 * for others.
+	 * 
+	 * @return value type
+	 */
+	Class<?> getValueType();
+
 	/**
 	 * Gets converter that converts value from Cassandra ResultSet to the Entity property type
 	 * 
@@ -72,6 +72,11 @@ public class CassandraSimpleTypeHolder extends SimpleTypeHolder {
 			nameToDataTypeMap.put(dataType.getName(), dataType);
 		}
 
+		/*
+		 * Holder of the lazy column is mapped by the type argument, not as the entity
+		 */
+		simpleTypes.add(LazyValue.class);
+
 		javaClassToDataTypeMap.put(String.class, DataType.text());
 		javaClassToDataTypeMap.put(Enum.class, DataType.ascii());
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the column that is not selected by the default queries of the CassandraTemplate. Usually it is a large blob or
+ * text column that most reads do not need.
+ *
+ * If the property type is {@link LazyValue} the column is loaded by the primary key on the first access, for the
+ * chunk of the entities of the same result at once. Properties of other types stay unset after the default read.
+ *
+ * Example:
+ *
+ * <code>
+ * class Document { @Id String id; String title; @Lazy LazyValue<ByteBuffer> content; }
+ * </code>
+ *
+ * Primary key columns are always selected.
+ *
+ * @author Alex Shvid
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.FIELD, ElementType.ANNOTATION_TYPE })
+public @interface Lazy {
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.mapping;
+
+import org.springframework.util.Assert;
+
+/**
+ * Holder of the {@link Lazy} column value. Entities read by the CassandraTemplate get holders that are not loaded yet,
+ * the value is fetched by the attached loader on the first call of {@link #get()}.
+ *
+ * Not loaded holders are not written by the save operations, so the column keeps the stored value.
+ *
+ * @author Alex Shvid
+ *
+ * @param <T> type of the column value
+ */
+public final class LazyValue<T> {
+
+	/**
+	 * Loader of the holder, usually loads the holders of the same column of several entities in the result at once
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+	public interface Loader {
+
+		/**
+		 * Loads value of the attached holder, may load other holders too
+		 */
+		void load();
+
+	}
+
+	private T value;
+	private volatile boolean loaded;
+	private volatile Loader loader;
+
+	/**
+	 * Creates the holder that is not loaded
+	 */
+	public LazyValue() {
+	}
+
+	/**
+	 * Creates the loaded holder
+	 *
+	 * @param value column value, can be null
+	 */
+	public LazyValue(T value) {
+		set(value);
+	}
+
+	public static <T> LazyValue<T> of(T value) {
+		return new LazyValue<T>(value);
+	}
+
+	/**
+	 * Returns the value, loads it if it is not loaded yet
+	 *
+	 * @return value or null
+	 */
+	public T get() {
+
+		if (!loaded) {
+
+			Loader current = loader;
+
+			if (current == null) {
+				throw new IllegalStateException("lazy value is not loaded and does not have the loader");
+			}
+
+			current.load();
+
+			if (!loaded) {
+				throw new IllegalStateException("lazy value was not loaded by " + current);
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Returns the value without loading
+	 *
+	 * @return value or null if it is not loaded
+	 */
+	public T getIfLoaded() {
+		return loaded ? value : null;
+	}
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Sets the value, the holder becomes loaded
+	 *
+	 * @param value column value, can be null
+	 */
+	public void set(T value) {
+		this.value = value;
+		this.loaded = true;
+		this.loader = null;
+	}
+
+	/**
+	 * Attaches the loader to the holder that is not loaded
+	 *
+	 * @param loader Loader
+	 */
+	public void attach(Loader loader) {
+		Assert.notNull(loader);
+		if (!loaded) {
+			this.loader = loader;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return loaded ? "LazyValue [" + value + "]" : "LazyValue [not loaded]";
+	}
+
+}
@@ -17,7 +17,10 @@ package org.springdata.cassandra.repository;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
 
+import org.springdata.cql.core.CountSummary;
+import org.springdata.cql.core.ResultPage;
 import org.springframework.data.repository.CrudRepository;
 
 /**
@@ -29,4 +32,47 @@ public interface CassandraRepository<T, ID extends Serializable> extends CrudRep
 
 	List<T> findByPartitionKey(ID id);
 
+	/**
+	 * Returns single page of entities. The next page is requested with the paging state of the returned page, earlier
+	 * pages are not read again.
+	 * 
+	 * @param size maximum number of entities in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @return ResultPage
+	 */
+	ResultPage<T> findAll(int size, String pagingState);
+
+	/**
+	 * Returns single page of entities in the partition.
+	 * 
+	 * @param id must contain values for all partition key columns
+	 * @param size maximum number of entities in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @return ResultPage
+	 */
+	ResultPage<T> findByPartitionKey(ID id, int size, String pagingState);
+
+	/**
+	 * Counts entities by token ranges counted in parallel. Unlike {@link #count()} does not time out on large tables.
+	 * 
+	 * @return exact count
+	 */
+	CountSummary countByTokenRanges();
+
+	/**
+	 * Checks which of the ids exist, only the primary key column is selected
+	 * 
+	 * @param ids must not be {@literal null}
+	 * @return set of the present ids
+	 */
+	Set<ID> existsAll(Iterable<ID> ids);
+
+	/**
+	 * Estimates number of entities by counting the sample of the token ranges
+	 * 
+	 * @param sampledRanges number of ranges to count
+	 * @return estimated count with the error bound
+	 */
+	CountSummary estimateCount(int sampledRanges);
+
 }
@@ -18,12 +18,17 @@ package org.springdata.cassandra.repository.query;
 import java.util.List;
 
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cql.core.QueryOperation;
+import org.springdata.cql.core.StatementCreator;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.util.Assert;
 
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
 /**
  * Base class for {@link RepositoryQuery} implementations for Cassandra.
  * 
@@ -63,7 +68,7 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 		CassandraEntityMetadata<?> metadata = method.getEntityInformation();
 
 		CassandraParameterAccessor accessor = new CassandraParametersParameterAccessor(method, parameters);
-		String query = createQuery(accessor, metadata.getTableName());
+		Statement query = createStatement(accessor, metadata.getTableName());
 
 		if (method.isCollectionQuery()) {
 			return new CollectionExecution().execute(query);
@@ -84,6 +89,18 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 		return CONVERSION_SERVICE.convert(result, expectedReturnType);
 	}
 
+	/**
+	 * Creates a statement to execute using the given {@link ParameterAccessor} and tableName. By default it is the
+	 * simple statement of the query string, derived queries bind the parameters to the prepared statement.
+	 * 
+	 * @param accessor must not be {@literal null}.
+	 * @param tableName
+	 * @return
+	 */
+	protected Statement createStatement(CassandraParameterAccessor accessor, String tableName) {
+		return new SimpleStatement(createQuery(accessor, tableName));
+	}
+
 	/**
 	 * Creates a Cql count query using the given {@link ParameterAccessor} and tableName
 	 * 
@@ -113,14 +130,36 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 
 	private abstract class Execution {
 
-		abstract Object execute(String query);
+		abstract Object execute(Statement query);
+
+		protected List<?> readCollection(Statement query) {
 
-		protected List<?> readCollection(String query) {
+			Class<?> projectionType = method.getProjectionType();
+
+			if (projectionType != null) {
+				return readProjections(query, projectionType);
+			}
 
 			CassandraEntityMetadata<?> metadata = method.getEntityInformation();
 
 			return cassandraOperations.buildFindOperation(metadata.getJavaType(), query).execute();
 		}
+
+		protected List<?> readProjections(Statement query, Class<?> projectionType) {
+			return buildQueryOperation(query).map(
+					cassandraOperations.getProjectionMapperFor(method.getManagedType(), projectionType)).execute();
+		}
+
+		protected QueryOperation buildQueryOperation(final Statement query) {
+			return cassandraOperations.getCqlOperations().buildQueryOperation(new StatementCreator() {
+
+				@Override
+				public Statement createStatement() {
+					return query;
+				}
+
+			});
+		}
 	}
 
 	/**
@@ -134,7 +173,7 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 		}
 
 		@Override
-		public Object execute(String query) {
+		public Object execute(Statement query) {
 			return readCollection(query);
 		}
 	}
@@ -153,11 +192,16 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 		}
 
 		@Override
-		Object execute(String query) {
+		Object execute(Statement query) {
 
 			CassandraEntityMetadata<?> metadata = method.getEntityInformation();
+			Class<?> projectionType = method.getProjectionType();
+
 			if (countProjection) {
-				return cassandraOperations.getCqlOperations().buildQueryOperation(query).singleResult().firstColumn(Long.class).execute();
+				return buildQueryOperation(query).singleResult().firstColumn(Long.class).execute();
+			} else if (projectionType != null) {
+				List<?> result = readProjections(query, projectionType);
+				return result.isEmpty() ? null : result.get(0);
 			} else {
 				return cassandraOperations.buildFindOneOperation(metadata.getJavaType(), query).execute();
 			}
@@ -16,68 +16,99 @@
 package org.springdata.cassandra.repository.query;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.convert.CassandraConverter;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.context.MappingContext;
-import org.springframework.data.mapping.context.PersistentPropertyPath;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 
 /**
- * Custom query creator to create Cassandra cql query.
- * 
+ * Custom query creator to create Cassandra cql query. Every parameter of the derived query is the bind marker, so the
+ * query is prepared once and executed by binding the parameters in the order of {@link #getBindings()}.
+ *
  * @author Alex Shvid
  */
 class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 
-	private static final Logger LOG = LoggerFactory.getLogger(CassandraQueryCreator.class);
-	private final CassandraParameterAccessor accessor;
 	private final MappingContext<?, CassandraPersistentProperty> context;
+	private final Class<?> domainClass;
 	private final String tableName;
 	private final boolean countQuery;
+	private final List<String> columns;
+	private final Integer limit;
+
+	private final List<ParameterBinding> bindings = new ArrayList<ParameterBinding>();
+	private int bindableIndex;
+
+	/**
+	 * Creates a new {@link CassandraQueryCreator} from the given {@link PartTree} and {@link MappingContext}.
+	 *
+	 * @param tree
+	 * @param context
+	 * @param domainClass
+	 * @param tableName
+	 * @param countQuery
+	 */
+	public CassandraQueryCreator(PartTree tree, MappingContext<?, CassandraPersistentProperty> context,
+			Class<?> domainClass, String tableName, boolean countQuery) {
+		this(tree, context, domainClass, tableName, countQuery, null, null);
+	}
 
 	/**
-	 * Creates a new {@link CassandraQueryCreator} from the given {@link PartTree}, {@link CassandraParameterAccessor} and
-	 * {@link MappingContext}.
-	 * 
+	 * Creates a new {@link CassandraQueryCreator} that selects only the given columns.
+	 *
 	 * @param tree
-	 * @param accessor
 	 * @param context
+	 * @param domainClass
+	 * @param tableName
+	 * @param countQuery
+	 * @param columns columns to select or null for all columns
+	 * @param limit maximum number of rows or null
 	 */
-	public CassandraQueryCreator(PartTree tree, CassandraParameterAccessor accessor,
-			MappingContext<?, CassandraPersistentProperty> context, String tableName, boolean countQuery) {
+	public CassandraQueryCreator(PartTree tree, MappingContext<?, CassandraPersistentProperty> context,
+			Class<?> domainClass, String tableName, boolean countQuery, List<String> columns, Integer limit) {
 
-		super(tree, accessor);
+		super(tree);
 
 		Assert.notNull(context);
+		Assert.notNull(domainClass);
+		Assert.notNull(tableName);
 
-		this.accessor = accessor;
 		this.context = context;
+		this.domainClass = domainClass;
 		this.tableName = tableName;
 		this.countQuery = countQuery;
+		this.columns = columns;
+		this.limit = limit;
 
 	}
 
+	/**
+	 * Returns bindings of the method parameters in the order of the bind markers, valid after the query is created
+	 *
+	 * @return list of bindings
+	 */
+	public List<ParameterBinding> getBindings() {
+		return Collections.unmodifiableList(bindings);
+	}
+
 	@Override
 	protected List<Clause> create(Part part, Iterator<Object> iterator) {
-
-		PersistentPropertyPath<CassandraPersistentProperty> path = context.getPersistentPropertyPath(part.getProperty());
-		CassandraPersistentProperty property = path.getLeafProperty();
-
-		List<Clause> criteria = new ArrayList<Clause>();
-
-		return criteria;
+		return and(part, new ArrayList<Clause>(), iterator);
 	}
 
 	@Override
@@ -87,10 +118,46 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 			return create(part, iterator);
 		}
 
-		PersistentPropertyPath<CassandraPersistentProperty> path = context.getPersistentPropertyPath(part.getProperty());
-		CassandraPersistentProperty property = path.getLeafProperty();
+		CassandraPersistentProperty property = context.getPersistentPropertyPath(part.getProperty()).getLeafProperty();
+		String columnName = property.getColumnName();
+
+		switch (part.getType()) {
+
+		case SIMPLE_PROPERTY:
+			base.add(QueryBuilder.eq(columnName, bind(property, false)));
+			break;
+
+		case IN:
+			base.add(QueryBuilder.in(columnName, bind(property, true)));
+			break;
+
+		case GREATER_THAN:
+		case AFTER:
+			base.add(QueryBuilder.gt(columnName, bind(property, false)));
+			break;
+
+		case GREATER_THAN_EQUAL:
+			base.add(QueryBuilder.gte(columnName, bind(property, false)));
+			break;
+
+		case LESS_THAN:
+		case BEFORE:
+			base.add(QueryBuilder.lt(columnName, bind(property, false)));
+			break;
 
-		String s = path.toDotPath(CassandraPersistentProperty.PropertyToColumnNameConverter.INSTANCE);
+		case LESS_THAN_EQUAL:
+			base.add(QueryBuilder.lte(columnName, bind(property, false)));
+			break;
+
+		case BETWEEN:
+			base.add(QueryBuilder.gte(columnName, bind(property, false)));
+			base.add(QueryBuilder.lte(columnName, bind(property, false)));
+			break;
+
+		default:
+			throw new IllegalArgumentException("unsupported keyword " + part.getType() + " for the property "
+					+ part.getProperty().toDotPath() + ", derived queries support only =, IN and ranges");
+		}
 
 		return base;
 	}
@@ -103,8 +170,15 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 	@Override
 	protected Select complete(List<Clause> criteria, Sort sort) {
 
-		Select select = countQuery ? QueryBuilder.select().countAll().from(tableName) : QueryBuilder.select().all()
-				.from(tableName);
+		Select select;
+
+		if (countQuery) {
+			select = QueryBuilder.select().countAll().from(tableName);
+		} else if (columns != null) {
+			select = QueryBuilder.select(columns.toArray(new String[columns.size()])).from(tableName);
+		} else {
+			select = QueryBuilder.select().all().from(tableName);
+		}
 
 		Select.Where w = select.where();
 
@@ -114,7 +188,77 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 			}
 		}
 
+		if (countQuery) {
+			return select;
+		}
+
+		if (sort != null) {
+			for (Sort.Order order : sort) {
+
+				String columnName = context
+						.getPersistentPropertyPath(PropertyPath.from(order.getProperty(), domainClass)).getLeafProperty()
+						.getColumnName();
+
+				select.orderBy(order.isAscending() ? QueryBuilder.asc(columnName) : QueryBuilder.desc(columnName));
+			}
+		}
+
+		if (limit != null) {
+			select.limit(limit);
+		}
+
 		return select;
 	}
 
+	private Object bind(CassandraPersistentProperty property, boolean collection) {
+		bindings.add(new ParameterBinding(bindableIndex++, property, collection));
+		return QueryBuilder.bindMarker();
+	}
+
+	/**
+	 * Binding of the method parameter to the bind marker of the derived query
+	 *
+	 * @author Alex Shvid
+	 */
+	static final class ParameterBinding {
+
+		private final int index;
+		private final CassandraPersistentProperty property;
+		private final boolean collection;
+
+		ParameterBinding(int index, CassandraPersistentProperty property, boolean collection) {
+			this.index = index;
+			this.property = property;
+			this.collection = collection;
+		}
+
+		/**
+		 * Returns the bindable parameter value converted to the column value, the list of converted elements for IN
+		 *
+		 * @param accessor parameters of the call
+		 * @param converter converter of the column values
+		 * @return value to bind
+		 */
+		Object getValue(CassandraParameterAccessor accessor, CassandraConverter converter) {
+
+			Object value = accessor.getBindableValue(index);
+
+			if (!collection || value == null) {
+				return converter.writeColumnValue(property, value);
+			}
+
+			Collection<?> elements = value.getClass().isArray() ? CollectionUtils.arrayToList(value)
+					: (Collection<?>) value;
+
+			List<Object> result = new ArrayList<Object>(elements.size());
+
+			for (Object element : elements) {
+				result.add(converter.writeColumnValue(property, element));
+			}
+
+			return result;
+		}
+
+	}
+
 }
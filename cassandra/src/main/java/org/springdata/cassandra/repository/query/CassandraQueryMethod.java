@@ -19,8 +19,11 @@ import java.lang.reflect.Method;
 
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.mapping.CassandraSimpleTypeHolder;
 import org.springdata.cassandra.repository.Query;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PreferredConstructor.Parameter;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
@@ -39,6 +42,7 @@ public class CassandraQueryMethod extends QueryMethod {
 
 	private final Method method;
 	private final MappingContext<? extends CassandraPersistentEntity<?>, CassandraPersistentProperty> mappingContext;
+	private final Class<?> projectionType;
 
 	private CassandraEntityMetadata<?> metadata;
 
@@ -56,6 +60,7 @@ public class CassandraQueryMethod extends QueryMethod {
 
 		this.method = method;
 		this.mappingContext = mappingContext;
+		this.projectionType = resolveProjectionType();
 	}
 
 	/*
@@ -114,6 +119,74 @@ public class CassandraQueryMethod extends QueryMethod {
 		return this.metadata;
 	}
 
+	/**
+	 * Returns the interface or the DTO class that the method returns instead of the domain class, rows are mapped to it
+	 * and only its columns are selected.
+	 * 
+	 * @return projection type or null
+	 */
+	public Class<?> getProjectionType() {
+		return projectionType;
+	}
+
+	/*
+	 * Projection is an interface of getters or a class with the persistence constructor that takes only properties of the
+	 * domain class, other return types are rejected when the repository is created
+	 */
+	private Class<?> resolveProjectionType() {
+
+		Class<?> returnedObjectType = getReturnedObjectType();
+
+		if (returnedObjectType.isPrimitive() || returnedObjectType == Object.class
+				|| getDomainClass().isAssignableFrom(returnedObjectType)
+				|| CassandraSimpleTypeHolder.getDataTypeByJavaClass(returnedObjectType) != null) {
+			return null;
+		}
+
+		if (returnedObjectType.isInterface()) {
+
+			for (Method getter : returnedObjectType.getMethods()) {
+				if (getter.getParameterTypes().length != 0 || getter.getReturnType() == void.class) {
+					throw new IllegalStateException(String.format(
+							"Projection %s of the method %s must have only getters, %s is not a getter!",
+							returnedObjectType.getName(), method, getter.getName()));
+				}
+			}
+
+			return returnedObjectType;
+		}
+
+		CassandraPersistentEntity<?> managedEntity = mappingContext.getPersistentEntity(getDomainClass());
+		CassandraPersistentEntity<?> dtoEntity = mappingContext.getPersistentEntity(returnedObjectType);
+		PreferredConstructor<?, CassandraPersistentProperty> constructor = dtoEntity != null ? dtoEntity
+				.getPersistenceConstructor() : null;
+
+		if (constructor == null) {
+			throw new IllegalStateException(String.format(
+					"Return type %s of the method %s is neither an interface nor a class with a persistence constructor!",
+					returnedObjectType.getName(), method));
+		}
+
+		for (Parameter<?, CassandraPersistentProperty> parameter : constructor.getParameters()) {
+			if (parameter.getName() == null || managedEntity.getPersistentProperty(parameter.getName()) == null) {
+				throw new IllegalStateException(String.format(
+						"Constructor parameter %s of the projection %s of the method %s is not a property of %s!",
+						parameter.getName(), returnedObjectType.getName(), method, managedEntity.getName()));
+			}
+		}
+
+		return returnedObjectType;
+	}
+
+	/**
+	 * Returns the domain class of the repository, projections are read from its table.
+	 * 
+	 * @return domain class
+	 */
+	Class<?> getManagedType() {
+		return getDomainClass();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.query.QueryMethod#getParameters()
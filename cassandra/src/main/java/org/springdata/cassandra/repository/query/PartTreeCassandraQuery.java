@@ -15,55 +15,110 @@
  */
 package org.springdata.cassandra.repository.query;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.convert.CassandraConverter;
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.repository.query.CassandraQueryCreator.ParameterBinding;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.parser.PartTree;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Statement;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
 /**
- * PartTree {@link RepositoryQuery} implementation for Cassandra.
- * 
+ * PartTree {@link RepositoryQuery} implementation for Cassandra. The derived query is prepared on the first call and
+ * every call only binds the parameters to the prepared statement. Queries are prepared once per table and dynamic
+ * sort, at most DEFAULT_MAX_PREPARED_QUERIES of them are kept. Only Top and First methods limit the number of rows.
+ *
  * @author Alex Shvid
  */
 public class PartTreeCassandraQuery extends AbstractCassandraQuery {
 
+	public static final int DEFAULT_MAX_PREPARED_QUERIES = 16;
+
+	private static final Logger LOG = LoggerFactory.getLogger(PartTreeCassandraQuery.class);
+
+	private static final Pattern PREFIX_TEMPLATE = Pattern.compile("^(find|read|get)(\\p{Lu}.*?)??By");
+
+	private static final Pattern LIMITING_SUBJECT = Pattern.compile("^(Distinct)?(First|Top)(\\d*)(\\p{Lu}.*)?$");
+
+	private final CassandraOperations cassandraOperations;
 	private final PartTree tree;
 	private final MappingContext<?, CassandraPersistentProperty> context;
+	private final CassandraConverter converter;
+	private final List<String> selectedColumns;
+	private final Integer limit;
+
+	private final Cache<QueryKey, DerivedQuery> derivedQueries = CacheBuilder.newBuilder()
+			.maximumSize(DEFAULT_MAX_PREPARED_QUERIES).build();
 
 	/**
 	 * Creates a new {@link PartTreeCassandraQuery} from the given {@link QueryMethod} and {@link CassandraTemplate}.
-	 * 
+	 *
 	 * @param method must not be {@literal null}.
 	 * @param template must not be {@literal null}.
 	 */
 	public PartTreeCassandraQuery(CassandraQueryMethod method, CassandraOperations cassandraOperations) {
 
 		super(method, cassandraOperations);
+		this.cassandraOperations = cassandraOperations;
 		this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
 		this.context = cassandraOperations.getConverter().getMappingContext();
+		this.converter = cassandraOperations.getConverter();
+
+		Class<?> projectionType = method.getProjectionType();
+		CassandraPersistentEntity<?> entity = converter.getMappingContext().getPersistentEntity(method.getManagedType());
+
+		if (projectionType != null) {
+			this.selectedColumns = converter.getProjection(entity, projectionType).getColumnNames();
+		} else {
+			String[] defaultColumns = converter.getColumnLayout(entity).getDefaultColumnNames();
+			this.selectedColumns = defaultColumns != null ? Arrays.asList(defaultColumns) : null;
+		}
+
+		this.limit = getMaxResults(method.getName());
 	}
 
 	/**
 	 * Return the {@link PartTree} backing the query.
-	 * 
+	 *
 	 * @return the tree
 	 */
 	public PartTree getTree() {
 		return tree;
 	}
 
+	@Override
+	protected Statement createStatement(CassandraParameterAccessor accessor, String tableName) {
+		return getDerivedQuery(accessor.getSort(), tableName).bind(accessor);
+	}
+
 	@Override
 	protected String createQuery(CassandraParameterAccessor accessor, String tableName) {
-		CassandraQueryCreator creator = new CassandraQueryCreator(tree, accessor, context, tableName, false);
-		return creator.createQuery().getQueryString();
+		return createCreator(tableName, isCountQuery()).createQuery(accessor.getSort()).getQueryString();
 	}
 
 	@Override
 	protected String createCountQuery(CassandraParameterAccessor accessor, String tableName) {
-		CassandraQueryCreator creator = new CassandraQueryCreator(tree, accessor, context, tableName, true);
-		return creator.createQuery().getQueryString();
+		return createCreator(tableName, true).createQuery().getQueryString();
 	}
 
 	@Override
@@ -71,4 +126,144 @@ public class PartTreeCassandraQuery extends AbstractCassandraQuery {
 		return tree.isCountProjection();
 	}
 
+	private CassandraQueryCreator createCreator(String tableName, boolean countQuery) {
+
+		Class<?> domainClass = getQueryMethod().getEntityInformation().getJavaType();
+
+		if (countQuery) {
+			return new CassandraQueryCreator(tree, context, domainClass, tableName, true);
+		}
+
+		return new CassandraQueryCreator(tree, context, domainClass, tableName, false, selectedColumns, limit);
+	}
+
+	private DerivedQuery getDerivedQuery(final Sort dynamicSort, final String tableName) {
+
+		try {
+			return derivedQueries.get(new QueryKey(tableName, dynamicSort), new Callable<DerivedQuery>() {
+
+				@Override
+				public DerivedQuery call() {
+					return prepare(dynamicSort, tableName);
+				}
+
+			});
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("unable to prepare derived query " + getQueryMethod().getName(), e.getCause());
+		} catch (UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		} catch (ExecutionError e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private DerivedQuery prepare(Sort dynamicSort, String tableName) {
+
+		CassandraQueryCreator creator = createCreator(tableName, isCountQuery());
+		String cql = creator.createQuery(dynamicSort).getQueryString();
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug(String.format("Prepare derived query %s", cql));
+		}
+
+		PreparedStatement ps = cassandraOperations.getCqlOperations().prepareStatement(cql);
+		return new DerivedQuery(ps, creator.getBindings());
+	}
+
+	/**
+	 * Parses the Top and First limits of the method name, not supported by the {@link PartTree} of the current Spring
+	 * Data Commons
+	 *
+	 * @param methodName name of the query method
+	 * @return maximum number of results or null if not limited
+	 */
+	static Integer getMaxResults(String methodName) {
+
+		Matcher prefix = PREFIX_TEMPLATE.matcher(methodName);
+
+		if (!prefix.find() || prefix.group(2) == null) {
+			return null;
+		}
+
+		Matcher subject = LIMITING_SUBJECT.matcher(prefix.group(2));
+
+		if (!subject.matches()) {
+			return null;
+		}
+
+		String number = subject.group(3);
+		return number.length() == 0 ? Integer.valueOf(1) : Integer.valueOf(number);
+	}
+
+	/**
+	 * Key of the prepared derived query
+	 *
+	 * @author Alex Shvid
+	 */
+	private static final class QueryKey {
+
+		private final String tableName;
+		private final Sort sort;
+
+		QueryKey(String tableName, Sort sort) {
+			this.tableName = tableName;
+			this.sort = sort;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * tableName.hashCode() + (sort != null ? sort.hashCode() : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof QueryKey)) {
+				return false;
+			}
+
+			QueryKey other = (QueryKey) obj;
+			return tableName.equals(other.tableName) && (sort == null ? other.sort == null : sort.equals(other.sort));
+		}
+
+	}
+
+	/**
+	 * Prepared statement of the derived query with the parameter bindings
+	 *
+	 * @author Alex Shvid
+	 */
+	private final class DerivedQuery {
+
+		private final PreparedStatement ps;
+		private final List<ParameterBinding> bindings;
+
+		DerivedQuery(PreparedStatement ps, List<ParameterBinding> bindings) {
+			this.ps = ps;
+			this.bindings = bindings;
+		}
+
+		BoundStatement bind(CassandraParameterAccessor accessor) {
+
+			Object[] values = new Object[bindings.size()];
+
+			for (int i = 0; i != values.length; ++i) {
+				values[i] = bindings.get(i).getValue(accessor, converter);
+			}
+
+			return ps.bind(values);
+		}
+
+	}
+
 }
@@ -17,13 +17,18 @@ package org.springdata.cassandra.repository.support;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Set;
 
 import org.springdata.cassandra.core.CassandraOperations;
 import org.springdata.cassandra.core.CassandraTemplate;
 import org.springdata.cassandra.repository.CassandraRepository;
 import org.springdata.cassandra.repository.query.CassandraEntityInformation;
+import org.springdata.cql.core.CountSummary;
+import org.springdata.cql.core.IngestSummary;
+import org.springdata.cql.core.ResultPage;
 import org.springframework.util.Assert;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 
 /**
@@ -70,7 +75,8 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 	public <S extends T> List<S> save(Iterable<S> entities) {
 
 		Assert.notNull(entities, "The given Iterable of entities must not be null!");
-		cassandraTemplate.buildSaveNewInBatchOperation(entities).execute();
+		checkSummary(cassandraTemplate.buildSaveNewInBatchOperation(entities).groupByPartition().discardResults()
+				.execute());
 
 		if (entities instanceof List) {
 			return (List<S>) entities;
@@ -91,18 +97,43 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 		return cassandraTemplate.buildFindByPartitionKeyOperation(entityInformation.getJavaType(), id).execute();
 	}
 
+	@Override
+	public ResultPage<T> findByPartitionKey(ID id, int size, String pagingState) {
+		Assert.notNull(id, "The given id must not be null!");
+		return cassandraTemplate.buildFindByPartitionKeyOperation(entityInformation.getJavaType(), id, size, pagingState)
+				.execute();
+	}
+
 	@Override
 	public boolean exists(ID id) {
 		Assert.notNull(id, "The given id must not be null!");
 		return cassandraTemplate.buildExistsOperation(entityInformation.getJavaType(), id).execute();
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public Set<ID> existsAll(Iterable<ID> ids) {
+		Assert.notNull(ids, "The given ids must not be null!");
+		Set<?> present = cassandraTemplate.existsAll(entityInformation.getJavaType(), ids);
+		return (Set<ID>) present;
+	}
+
 	@Override
 	public long count() {
 		Long result = cassandraTemplate.buildCountAllOperation(entityInformation.getJavaType()).execute();
 		return result != null ? result : 0;
 	}
 
+	@Override
+	public CountSummary countByTokenRanges() {
+		return cassandraTemplate.countAllByTokenRanges(entityInformation.getJavaType());
+	}
+
+	@Override
+	public CountSummary estimateCount(int sampledRanges) {
+		return cassandraTemplate.estimateCountAll(entityInformation.getJavaType(), sampledRanges);
+	}
+
 	@Override
 	public void delete(ID id) {
 		Assert.notNull(id, "The given id must not be null!");
@@ -118,7 +149,7 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 	@Override
 	public void delete(Iterable<? extends T> entities) {
 		Assert.notNull(entities, "The given Iterable of entities not be null!");
-		cassandraTemplate.buildDeleteInBatchOperation(entities).execute();
+		checkSummary(cassandraTemplate.buildDeleteInBatchOperation(entities).groupByPartition().discardResults().execute());
 	}
 
 	@Override
@@ -131,6 +162,11 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 		return cassandraTemplate.buildFindAllOperation(entityInformation.getJavaType()).execute();
 	}
 
+	@Override
+	public ResultPage<T> findAll(int size, String pagingState) {
+		return cassandraTemplate.buildFindAllOperation(entityInformation.getJavaType(), size, pagingState).execute();
+	}
+
 	@Override
 	public Iterable<T> findAll(Iterable<ID> ids) {
 		Assert.notNull(ids, "The given Iterable of ids not be null!");
@@ -153,4 +189,15 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 		return entityInformation;
 	}
 
+	/**
+	 * Rethrows the first failure of the grouped batches, statements of the other partitions are already applied
+	 * 
+	 * @param summary summary of the grouped batches
+	 */
+	private static void checkSummary(IngestSummary summary) {
+		if (summary.hasFailures()) {
+			throw Throwables.propagate(summary.getFirstFailure());
+		}
+	}
+
 }
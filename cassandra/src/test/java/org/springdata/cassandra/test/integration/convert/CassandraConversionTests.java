@@ -15,10 +15,12 @@
  */
 package org.springdata.cassandra.test.integration.convert;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
@@ -49,21 +51,34 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.test.integration.CassandraTestConstants;
 import org.springdata.cassandra.test.integration.config.JavaConfig;
 import org.springdata.cassandra.test.integration.table.BasicTypesEntity;
 import org.springdata.cassandra.test.integration.table.CollectionTypesEntity;
 import org.springdata.cassandra.test.integration.table.EmbeddedIdEntity;
+import org.springdata.cql.core.CassandraFuture;
 import org.springdata.cql.core.CqlOperations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
-
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Update;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 
 /**
  * Tests for data conversion related classes
@@ -130,6 +145,49 @@ public class CassandraConversionTests {
 		assertThat(nullProps.getPropvarint(), is(nullValue()));
 	}
 
+	@Test
+	public void alternatingColumnsReadTest() {
+
+		cqlOperations.buildExecuteOperation(
+				"insert into test.basic_types_table (id, propint, proptext) values ('shapes', 123, 'text test value')")
+				.execute();
+
+		String narrow = "select id, proptext from test.basic_types_table where id = 'shapes'";
+		String wide = "select id, propint, proptext from test.basic_types_table where id = 'shapes'";
+
+		for (int i = 0; i != 3; ++i) {
+
+			BasicTypesEntity entity = cassandraOperations.buildFindOneOperation(BasicTypesEntity.class, narrow).execute();
+			assertThat(entity.getProptext(), is("text test value"));
+			assertThat(entity.getPropint(), is(nullValue()));
+
+			entity = cassandraOperations.buildFindOneOperation(BasicTypesEntity.class, wide).execute();
+			assertThat(entity.getProptext(), is("text test value"));
+			assertThat(entity.getPropint(), is(123));
+		}
+
+		/*
+		 * Plans of both column shapes stay cached when the shapes alternate
+		 */
+		MappingCassandraConverter converter = (MappingCassandraConverter) cassandraOperations.getConverter();
+		CassandraPersistentEntity<?> entity = converter.getMappingContext().getPersistentEntity(BasicTypesEntity.class);
+
+		ColumnDefinitions narrowColumns = cqlOperations.buildExecuteOperation(narrow).execute().getColumnDefinitions();
+		ColumnDefinitions wideColumns = cqlOperations.buildExecuteOperation(wide).execute().getColumnDefinitions();
+
+		Object narrowPlan = ReflectionTestUtils.invokeMethod(converter, "getReadPlan", entity, narrowColumns);
+		Object widePlan = ReflectionTestUtils.invokeMethod(converter, "getReadPlan", entity, wideColumns);
+
+		assertThat(widePlan, is(not(sameInstance(narrowPlan))));
+
+		ColumnDefinitions narrowColumnsAgain = cqlOperations.buildExecuteOperation(narrow).execute()
+				.getColumnDefinitions();
+		assertThat(ReflectionTestUtils.invokeMethod(converter, "getReadPlan", entity, narrowColumnsAgain),
+				is(sameInstance(narrowPlan)));
+		assertThat(ReflectionTestUtils.invokeMethod(converter, "getReadPlan", entity, wideColumns),
+				is(sameInstance(widePlan)));
+	}
+
 	@Test
 	public void basicValuesReadTest() throws Exception {
 
@@ -327,6 +385,183 @@ public class CassandraConversionTests {
 		assertThat(uuidSet.contains(setUUID), is(true));
 	}
 
+	@Test
+	public void collectionsTrackedChangesTest() {
+		checkTrackedChanges("tracked");
+	}
+
+	@Test
+	public void collectionsTrackedChangesRegularStatementsTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraOperations;
+		template.setUsePreparedStatements(false);
+
+		try {
+			checkTrackedChanges("tracked_regular");
+		} finally {
+			template.setUsePreparedStatements(true);
+		}
+	}
+
+	@Test
+	public void unchangedTrackedCollectionsAreNotWrittenTest() {
+
+		CollectionTypesEntity newEntity = new CollectionTypesEntity();
+		newEntity.setId("unchanged");
+		newEntity.setTextlist(ImmutableList.of("text1"));
+		newEntity.setTextmap(ImmutableMap.of("key1", "value1"));
+		newEntity.setTextset(ImmutableSet.of("settext1"));
+
+		cassandraOperations.buildSaveNewOperation(newEntity).execute();
+
+		CollectionTypesEntity entity = cassandraOperations.buildFindByIdOperation(CollectionTypesEntity.class,
+				"unchanged").execute();
+
+		/*
+		 * Only the replaced set is written, by the prepared statement, the regular statement and the converter
+		 */
+		entity.setTextset(Sets.newHashSet("settext2"));
+
+		CassandraTemplate template = (CassandraTemplate) cassandraOperations;
+		String prepared = getQueryString(template.buildSaveOperation(entity).toStatement());
+
+		template.setUsePreparedStatements(false);
+		String regular;
+		try {
+			regular = getQueryString(template.buildSaveOperation(entity).toStatement());
+		} finally {
+			template.setUsePreparedStatements(true);
+		}
+
+		Update update = QueryBuilder.update(KEYSPACE_NAME, "collection_types_table");
+		template.getConverter().write(entity, update);
+
+		for (String cql : new String[] { prepared, regular, update.getQueryString() }) {
+			assertThat(cql, containsString("textset"));
+			assertThat(cql, not(containsString("textlist")));
+			assertThat(cql, not(containsString("textmap")));
+		}
+
+		/*
+		 * Nothing is changed, neither path writes the tracked collections as a whole
+		 */
+		CollectionTypesEntity unchanged = cassandraOperations.buildFindByIdOperation(CollectionTypesEntity.class,
+				"unchanged").execute();
+
+		assertThat(cassandraOperations.buildSaveOperation(unchanged).execute(), is(nullValue()));
+
+		template.setUsePreparedStatements(false);
+		try {
+			assertThat(cassandraOperations.buildSaveOperation(unchanged).execute(), is(nullValue()));
+		} finally {
+			template.setUsePreparedStatements(true);
+		}
+	}
+
+	@Test
+	public void collectionsChangedWhileSaveIsPendingTest() {
+
+		CollectionTypesEntity newEntity = new CollectionTypesEntity();
+		newEntity.setId("pending");
+		newEntity.setTextlist(ImmutableList.of("text1"));
+		newEntity.setTextmap(ImmutableMap.of("key1", "value1"));
+		newEntity.setTextset(ImmutableSet.of("settext1"));
+
+		cassandraOperations.buildSaveNewOperation(newEntity).execute();
+
+		CollectionTypesEntity entity = cassandraOperations.buildFindByIdOperation(CollectionTypesEntity.class, "pending")
+				.execute();
+
+		entity.getTextset().add("settext2");
+		entity.getTextmap().put("key2", "value2");
+		entity.getTextlist().add("text2");
+
+		CassandraFuture<ResultSet> future = cassandraOperations.buildSaveOperation(entity).executeAsync();
+
+		/*
+		 * Changes made while the save is pending are not reset by its success, including the undo of the written ones
+		 */
+		entity.getTextset().add("settext3");
+		entity.getTextset().remove("settext2");
+		entity.getTextmap().put("key3", "value3");
+		entity.getTextmap().remove("key2");
+		entity.getTextlist().add("text3");
+
+		future.getUninterruptibly();
+
+		cassandraOperations.buildSaveOperation(entity).execute();
+
+		CollectionTypesEntity saved = cassandraOperations.buildFindByIdOperation(CollectionTypesEntity.class, "pending")
+				.execute();
+
+		assertThat(saved.getTextset(), equalTo((Set<String>) ImmutableSet.of("settext1", "settext3")));
+		assertThat(saved.getTextmap(), equalTo((Map<String, String>) ImmutableMap.of("key1", "value1", "key3", "value3")));
+		assertThat(saved.getTextlist(), equalTo((List<String>) ImmutableList.of("text1", "text2", "text3")));
+
+		assertThat(cassandraOperations.buildSaveOperation(entity).execute(), is(nullValue()));
+	}
+
+	private static String getQueryString(Statement statement) {
+		if (statement instanceof BoundStatement) {
+			return ((BoundStatement) statement).preparedStatement().getQueryString();
+		}
+		return ((RegularStatement) statement).getQueryString();
+	}
+
+	private void checkTrackedChanges(final String id) {
+
+		CollectionTypesEntity newEntity = new CollectionTypesEntity();
+		newEntity.setId(id);
+		newEntity.setTextlist(ImmutableList.of("text1"));
+		newEntity.setTextmap(ImmutableMap.of("key1", "value1", "key2", "value2"));
+		newEntity.setTextset(ImmutableSet.of("settext1", "settext2"));
+
+		cassandraOperations.buildSaveNewOperation(newEntity).execute();
+
+		CollectionTypesEntity entity = cassandraOperations.buildFindByIdOperation(CollectionTypesEntity.class, id).execute();
+
+		/*
+		 * Set add and remove
+		 */
+		entity.getTextset().add("settext3");
+		cassandraOperations.buildSaveOperation(entity).execute();
+		assertThat(readTracked(id).getTextset(), equalTo((Set<String>) ImmutableSet.of("settext1", "settext2", "settext3")));
+
+		entity.getTextset().remove("settext1");
+		cassandraOperations.buildSaveOperation(entity).execute();
+		assertThat(readTracked(id).getTextset(), equalTo((Set<String>) ImmutableSet.of("settext2", "settext3")));
+
+		/*
+		 * Map put and remove
+		 */
+		entity.getTextmap().put("key3", "value3");
+		cassandraOperations.buildSaveOperation(entity).execute();
+		assertThat(readTracked(id).getTextmap(),
+				equalTo((Map<String, String>) ImmutableMap.of("key1", "value1", "key2", "value2", "key3", "value3")));
+
+		entity.getTextmap().remove("key1");
+		cassandraOperations.buildSaveOperation(entity).execute();
+		assertThat(readTracked(id).getTextmap(), equalTo((Map<String, String>) ImmutableMap.of("key2", "value2", "key3",
+				"value3")));
+
+		/*
+		 * List append
+		 */
+		entity.getTextlist().add("text2");
+		cassandraOperations.buildSaveOperation(entity).execute();
+		assertThat(readTracked(id).getTextlist(), equalTo((List<String>) ImmutableList.of("text1", "text2")));
+
+		/*
+		 * Changes are reset by the successful saves, nothing is left to write
+		 */
+		assertThat(cassandraOperations.buildSaveOperation(entity).execute(), is(nullValue()));
+		assertThat(readTracked(id).getTextlist(), equalTo((List<String>) ImmutableList.of("text1", "text2")));
+	}
+
+	private CollectionTypesEntity readTracked(String id) {
+		return cassandraOperations.buildFindByIdOperation(CollectionTypesEntity.class, id).execute();
+	}
+
 	@Test
 	public void embeddedIdReadTest() {
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.convert.EntityAccessor;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.test.integration.table.BasicTypesEntity;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.convert.ReflectionEntityInstantiator;
+import org.springframework.data.mapping.PreferredConstructor.Parameter;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.BeanWrapper;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+
+/**
+ * Compares the reflective BeanWrapper with the EntityAccessor on the read path (instantiate and set all properties)
+ * and the write path (get all properties) of the entity with 16 columns, needs no Cassandra.
+ *
+ * Both paths must produce the same entity, timings are logged. The default number of iterations keeps the test short,
+ * set the system property entityAccessor.iterations to measure, e.g. 1000000.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class EntityAccessorBenchmarkTest {
+
+	private static final Logger log = LoggerFactory.getLogger(EntityAccessorBenchmarkTest.class);
+
+	private static final int ITERATIONS = Integer.getInteger("entityAccessor.iterations", 10000);
+
+	private static final ParameterValueProvider<CassandraPersistentProperty> NO_PARAMETERS = new ParameterValueProvider<CassandraPersistentProperty>() {
+
+		@Override
+		public <T> T getParameterValue(Parameter<T, CassandraPersistentProperty> parameter) {
+			return null;
+		}
+
+	};
+
+	private final DefaultConversionService conversionService = new DefaultConversionService();
+	private final CassandraMappingContext mappingContext = new CassandraMappingContext();
+	private final CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(BasicTypesEntity.class);
+	private final List<CassandraPersistentProperty> properties = new ArrayList<CassandraPersistentProperty>();
+	private final List<Object> values = new ArrayList<Object>();
+
+	private long blackhole;
+
+	public EntityAccessorBenchmarkTest() {
+
+		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
+
+			@Override
+			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+				properties.add(prop);
+				values.add(sampleValue(prop.getType()));
+			}
+
+		});
+	}
+
+	@Test
+	public void testFieldAccess() {
+		compare(true);
+	}
+
+	@Test
+	public void testPropertyAccess() {
+		compare(false);
+	}
+
+	private void compare(boolean useFieldAccessOnly) {
+
+		MappingCassandraConverter converter = new MappingCassandraConverter(mappingContext);
+		converter.setUseFieldAccessOnly(useFieldAccessOnly);
+		EntityAccessor accessor = converter.getEntityAccessor(entity);
+
+		Assert.assertTrue(accessor.canInstantiate());
+
+		/*
+		 * Warm up both paths before measuring
+		 */
+		runReflection(ITERATIONS / 10, useFieldAccessOnly);
+		runAccessor(ITERATIONS / 10, accessor);
+
+		long reflection = runReflection(ITERATIONS, useFieldAccessOnly);
+		long generated = runAccessor(ITERATIONS, accessor);
+
+		log.info(String.format("useFieldAccessOnly=%s: BeanWrapper %d ns/entity, EntityAccessor %d ns/entity, "
+				+ "speedup %.1fx", useFieldAccessOnly, reflection / ITERATIONS, generated / ITERATIONS, (double) reflection
+				/ generated));
+		log.debug("blackhole " + blackhole);
+
+		/*
+		 * Both paths produce the same entity
+		 */
+		Object expected = readReflection(useFieldAccessOnly);
+		Object actual = readAccessor(accessor);
+
+		BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(expected, conversionService);
+
+		for (CassandraPersistentProperty prop : properties) {
+			Assert.assertEquals(prop.getName(), wrapper.getProperty(prop, prop.getType(), true),
+					accessor.getProperty(actual, prop));
+		}
+	}
+
+	private Object readReflection(boolean useFieldAccessOnly) {
+
+		Object bean = ReflectionEntityInstantiator.INSTANCE.createInstance(entity, NO_PARAMETERS);
+		BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(bean, conversionService);
+
+		for (int i = 0; i != values.size(); ++i) {
+			wrapper.setProperty(properties.get(i), values.get(i), useFieldAccessOnly);
+		}
+
+		return bean;
+	}
+
+	private Object readAccessor(EntityAccessor accessor) {
+
+		Object bean = accessor.newInstance(NO_PARAMETERS);
+
+		for (int i = 0; i != values.size(); ++i) {
+			accessor.setProperty(bean, properties.get(i), values.get(i));
+		}
+
+		return bean;
+	}
+
+	private long runReflection(int iterations, boolean useFieldAccessOnly) {
+
+		long start = System.nanoTime();
+
+		for (int n = 0; n != iterations; ++n) {
+
+			Object bean = readReflection(useFieldAccessOnly);
+			BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(bean, conversionService);
+
+			for (CassandraPersistentProperty prop : properties) {
+				blackhole += System.identityHashCode(wrapper.getProperty(prop, prop.getType(), useFieldAccessOnly));
+			}
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	private long runAccessor(int iterations, EntityAccessor accessor) {
+
+		long start = System.nanoTime();
+
+		for (int n = 0; n != iterations; ++n) {
+
+			Object bean = readAccessor(accessor);
+
+			for (CassandraPersistentProperty prop : properties) {
+				blackhole += System.identityHashCode(accessor.getProperty(bean, prop));
+			}
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	private static Object sampleValue(Class<?> type) {
+
+		if (type == String.class) {
+			return "value";
+		} else if (type == Long.class) {
+			return 1L;
+		} else if (type == Integer.class) {
+			return 1;
+		} else if (type == Boolean.class) {
+			return Boolean.TRUE;
+		} else if (type == Double.class) {
+			return 1.0;
+		} else if (type == Float.class) {
+			return 1.0f;
+		} else if (type == BigDecimal.class) {
+			return BigDecimal.ONE;
+		} else if (type == BigInteger.class) {
+			return BigInteger.ONE;
+		} else if (type == ByteBuffer.class) {
+			return ByteBuffer.wrap(new byte[] { 1 });
+		} else if (type == Date.class) {
+			return new Date(0);
+		} else if (type == UUID.class) {
+			return UUID.fromString("f7a04220-6dda-11e3-981f-0800200c9a66");
+		}
+
+		return null;
+	}
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.convert;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springdata.cassandra.convert.EntityAccessor;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.mapping.Id;
+import org.springframework.data.convert.EntityInstantiator;
+import org.springframework.data.convert.EntityInstantiators;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.PreferredConstructor.Parameter;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+
+/**
+ * EntityAccessor jUnit Test, needs no Cassandra
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class EntityAccessorTest {
+
+	private static final ParameterValueProvider<CassandraPersistentProperty> NO_PARAMETERS = new ParameterValueProvider<CassandraPersistentProperty>() {
+
+		@Override
+		public <T> T getParameterValue(Parameter<T, CassandraPersistentProperty> parameter) {
+			return null;
+		}
+
+	};
+
+	private final CassandraMappingContext mappingContext = new CassandraMappingContext();
+
+	@Test
+	public void testFieldAccess() {
+
+		EntityAccessor accessor = createAccessor(PropertyEntity.class, true);
+		CassandraPersistentProperty name = getProperty(PropertyEntity.class, "name");
+
+		PropertyEntity bean = (PropertyEntity) accessor.newInstance(NO_PARAMETERS);
+		accessor.setProperty(bean, name, "Value");
+
+		Assert.assertEquals("Value", bean.rawName());
+		Assert.assertEquals("Value", accessor.getProperty(bean, name));
+	}
+
+	@Test
+	public void testPropertyAccess() {
+
+		EntityAccessor accessor = createAccessor(PropertyEntity.class, false);
+		CassandraPersistentProperty name = getProperty(PropertyEntity.class, "name");
+
+		PropertyEntity bean = (PropertyEntity) accessor.newInstance(NO_PARAMETERS);
+		accessor.setProperty(bean, name, "Value");
+
+		Assert.assertEquals("VALUE", bean.rawName());
+		Assert.assertEquals("value", accessor.getProperty(bean, name));
+	}
+
+	@Test
+	public void testPrivateFieldWithoutAccessors() {
+
+		EntityAccessor accessor = createAccessor(PropertyEntity.class, false);
+		CassandraPersistentProperty id = getProperty(PropertyEntity.class, "id");
+
+		PropertyEntity bean = new PropertyEntity();
+		accessor.setProperty(bean, id, "id1");
+
+		Assert.assertEquals("id1", accessor.getProperty(bean, id));
+	}
+
+	@Test
+	public void testNonPublicClass() {
+
+		EntityAccessor accessor = createAccessor(NonPublicEntity.class, false);
+		CassandraPersistentProperty name = getProperty(NonPublicEntity.class, "name");
+
+		Assert.assertFalse(accessor.canInstantiate());
+
+		NonPublicEntity bean = new NonPublicEntity();
+		accessor.setProperty(bean, name, "Value");
+
+		Assert.assertEquals("VALUE", bean.name);
+		Assert.assertEquals("value", accessor.getProperty(bean, name));
+	}
+
+	@Test
+	public void testNonPublicConstructor() {
+
+		EntityAccessor accessor = createAccessor(HiddenConstructorEntity.class, true);
+
+		Assert.assertFalse(accessor.canInstantiate());
+
+		try {
+			accessor.newInstance(NO_PARAMETERS);
+			Assert.fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+		}
+	}
+
+	@Test
+	public void testConversionOnSet() {
+
+		EntityAccessor accessor = createAccessor(PropertyEntity.class, true);
+		CassandraPersistentProperty count = getProperty(PropertyEntity.class, "count");
+
+		PropertyEntity bean = new PropertyEntity();
+		accessor.setProperty(bean, count, "5");
+
+		Assert.assertEquals(Integer.valueOf(5), accessor.getProperty(bean, count));
+	}
+
+	@Test
+	public void testCustomInstantiator() {
+
+		final PropertyEntity instance = new PropertyEntity();
+		final AtomicInteger created = new AtomicInteger();
+
+		EntityInstantiator instantiator = new EntityInstantiator() {
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public <T, E extends PersistentEntity<? extends T, P>, P extends PersistentProperty<P>> T createInstance(
+					E entity, ParameterValueProvider<P> provider) {
+				created.incrementAndGet();
+				return (T) instance;
+			}
+
+		};
+
+		MappingCassandraConverter converter = new MappingCassandraConverter(mappingContext);
+		converter.setInstantiators(new EntityInstantiators(Collections.<Class<?>, EntityInstantiator> singletonMap(
+				PropertyEntity.class, instantiator)));
+
+		Row row = Mockito.mock(Row.class);
+		Mockito.when(row.getColumnDefinitions()).thenReturn(Mockito.mock(ColumnDefinitions.class));
+
+		Assert.assertSame(instance, converter.readRow(PropertyEntity.class, row));
+		Assert.assertSame(instance, converter.readRow(PropertyEntity.class, row));
+		Assert.assertEquals(2, created.get());
+	}
+
+	private EntityAccessor createAccessor(Class<?> type, boolean useFieldAccessOnly) {
+		MappingCassandraConverter converter = new MappingCassandraConverter(mappingContext);
+		converter.setUseFieldAccessOnly(useFieldAccessOnly);
+		return converter.getEntityAccessor(mappingContext.getPersistentEntity(type));
+	}
+
+	private CassandraPersistentProperty getProperty(Class<?> type, String name) {
+		CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+		return entity.getPersistentProperty(name);
+	}
+
+	public static class PropertyEntity {
+
+		@Id
+		private String id;
+
+		private String name;
+
+		private Integer count;
+
+		/*
+		 * Accessors change the value, so the test can see whether they are called
+		 */
+
+		public String getName() {
+			return name != null ? name.toLowerCase() : null;
+		}
+
+		public void setName(String name) {
+			this.name = name != null ? name.toUpperCase() : null;
+		}
+
+		public String rawName() {
+			return name;
+		}
+
+	}
+
+	static class NonPublicEntity {
+
+		@Id
+		String id;
+
+		String name;
+
+		public String getName() {
+			return name != null ? name.toLowerCase() : null;
+		}
+
+		public void setName(String name) {
+			this.name = name != null ? name.toUpperCase() : null;
+		}
+
+	}
+
+	public static class HiddenConstructorEntity {
+
+		@Id
+		private String id;
+
+		HiddenConstructorEntity() {
+		}
+
+	}
+
+}
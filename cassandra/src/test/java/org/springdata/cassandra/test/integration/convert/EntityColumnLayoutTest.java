@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.convert;
+
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cassandra.convert.EntityColumnLayout;
+import org.springdata.cassandra.convert.EntityColumnLayout.ColumnInfo;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.test.integration.table.User;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+/**
+ * EntityColumnLayout column selection jUnit Test, needs no Cassandra
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class EntityColumnLayoutTest {
+
+	private final CassandraMappingContext mappingContext = new CassandraMappingContext();
+	private final EntityColumnLayout layout = new MappingCassandraConverter(mappingContext)
+			.getColumnLayout(mappingContext.getPersistentEntity(User.class));
+
+	@Test
+	public void testSelectByTag() {
+
+		BitSet selected = layout.selectColumns(null, new int[] { 2 });
+
+		Assert.assertTrue(selected.get(getIndex("firstname")));
+		Assert.assertTrue(selected.get(getIndex("username")));
+		Assert.assertFalse(selected.get(getIndex("lastname")));
+	}
+
+	@Test
+	public void testSelectByField() {
+
+		BitSet selected = layout.selectColumns(new String[] { "lastName" }, null);
+
+		Assert.assertTrue(selected.get(getIndex("lastname")));
+		Assert.assertFalse(selected.get(getIndex("firstname")));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void testUnknownTagIsRejected() {
+		layout.selectColumns(null, new int[] { 2, 99 });
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void testUnknownFieldIsRejected() {
+		layout.selectColumns(new String[] { "unknown" }, null);
+	}
+
+	private int getIndex(String columnName) {
+
+		for (ColumnInfo column : layout.getColumns()) {
+			if (column.getName().equalsIgnoreCase(columnName)) {
+				return column.getIndex();
+			}
+		}
+
+		throw new IllegalArgumentException("column not found " + columnName);
+	}
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.DefaultBatchOperation;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.test.integration.table.Book;
+import org.springdata.cql.core.CassandraFuture;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Tests for the grouped execution of the batch operation, needs no Cassandra. Statements are sent to the mocked session
+ * and completed by the test.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class BatchGroupingTest {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final List<Statement> sent = new ArrayList<Statement>();
+	private final List<SettableFuture<ResultSet>> results = new ArrayList<SettableFuture<ResultSet>>();
+
+	private CassandraTemplate template;
+
+	@Before
+	public void setup() {
+
+		Session session = Mockito.mock(Session.class);
+
+		Mockito.when(session.executeAsync(Mockito.any(Statement.class))).thenAnswer(new Answer<ResultSetFuture>() {
+
+			@Override
+			public ResultSetFuture answer(InvocationOnMock invocation) {
+				SettableFuture<ResultSet> result = SettableFuture.create();
+				sent.add((Statement) invocation.getArguments()[0]);
+				results.add(result);
+				return Mockito.mock(ResultSetFuture.class, AdditionalAnswers.delegatesTo(result));
+			}
+
+		});
+
+		template = new CassandraTemplate(session, new MappingCassandraConverter(new CassandraMappingContext()), "test");
+	}
+
+	@Test
+	public void testSplitByMaxStatements() {
+
+		CassandraFuture<List<ResultSet>> future = template.buildSaveNewInBatchOperation(books("a", 5))
+				.groupByPartition(2, Integer.MAX_VALUE).executeAsync();
+
+		completeAll();
+
+		Assert.assertTrue(future.isDone());
+		Assert.assertEquals(3, sent.size());
+		Assert.assertEquals(2, statementCount(sent.get(0)));
+		Assert.assertEquals(2, statementCount(sent.get(1)));
+		Assert.assertEquals(1, statementCount(sent.get(2)));
+	}
+
+	@Test
+	public void testSplitByMaxBytes() {
+
+		List<Book> books = books("a", 5);
+		int size = estimateSize(template.buildSaveNewOperation(books.get(0)).createRegularStatement());
+
+		template.buildSaveNewInBatchOperation(books).groupByPartition(100, 2 * size).executeAsync();
+
+		completeAll();
+
+		Assert.assertEquals(3, sent.size());
+		Assert.assertEquals(2, statementCount(sent.get(0)));
+		Assert.assertEquals(2, statementCount(sent.get(1)));
+		Assert.assertEquals(1, statementCount(sent.get(2)));
+	}
+
+	@Test
+	public void testStatementOverMaxBytesIsSentAlone() {
+
+		template.buildSaveNewInBatchOperation(books("a", 3)).groupByPartition(100, 1).executeAsync();
+
+		completeAll();
+
+		Assert.assertEquals(3, sent.size());
+		for (Statement statement : sent) {
+			Assert.assertEquals(1, statementCount(statement));
+		}
+	}
+
+	@Test
+	public void testSamePartitionBatchesAreSequential() {
+
+		List<Book> books = books("a", 3);
+		books.addAll(books("b", 2));
+
+		CassandraFuture<List<ResultSet>> future = template.buildSaveNewInBatchOperation(books).groupByPartition(1,
+				Integer.MAX_VALUE).executeAsync();
+
+		/*
+		 * Partitions are executed in parallel, the next batch of the partition waits for the previous one
+		 */
+		Assert.assertEquals(2, sent.size());
+		Assert.assertTrue(describe(sent.get(0)).contains("a-0"));
+		Assert.assertTrue(describe(sent.get(1)).contains("b-0"));
+
+		results.get(0).set(null);
+		Assert.assertEquals(3, sent.size());
+		Assert.assertTrue(describe(sent.get(2)).contains("a-1"));
+
+		results.get(2).set(null);
+		Assert.assertEquals(4, sent.size());
+		Assert.assertTrue(describe(sent.get(3)).contains("a-2"));
+
+		results.get(1).set(null);
+		Assert.assertEquals(5, sent.size());
+		Assert.assertTrue(describe(sent.get(4)).contains("b-1"));
+
+		Assert.assertFalse(future.isDone());
+
+		completeAll();
+
+		Assert.assertTrue(future.isDone());
+		Assert.assertEquals(5, future.getUninterruptibly().size());
+	}
+
+	@Test
+	public void testGroupingWindow() {
+
+		final AtomicInteger pulled = new AtomicInteger();
+		final List<Book> books = books("a", 1500);
+
+		Iterable<Book> source = new Iterable<Book>() {
+
+			@Override
+			public Iterator<Book> iterator() {
+
+				final Iterator<Book> it = books.iterator();
+
+				return new Iterator<Book>() {
+
+					@Override
+					public boolean hasNext() {
+						return it.hasNext();
+					}
+
+					@Override
+					public Book next() {
+						pulled.incrementAndGet();
+						return it.next();
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+
+				};
+			}
+
+		};
+
+		template.buildSaveNewInBatchOperation(source).groupByPartition(600, Integer.MAX_VALUE).withMaxInFlight(1)
+				.executeAsync();
+
+		/*
+		 * Only the first window is pulled and groups do not span windows
+		 */
+		Assert.assertEquals(DefaultBatchOperation.DEFAULT_GROUPING_WINDOW, pulled.get());
+
+		completeAll();
+
+		Assert.assertEquals(1500, pulled.get());
+		Assert.assertEquals(3, sent.size());
+		Assert.assertEquals(600, statementCount(sent.get(0)));
+		Assert.assertEquals(400, statementCount(sent.get(1)));
+		Assert.assertEquals(500, statementCount(sent.get(2)));
+	}
+
+	/*
+	 * Completes sent statements in the order of sending, including the ones sent on completion of the others
+	 */
+	private void completeAll() {
+		for (int i = 0; i != results.size(); ++i) {
+			results.get(i).set(null);
+		}
+	}
+
+	private static List<Book> books(String isbn, int count) {
+
+		List<Book> books = new ArrayList<Book>();
+
+		for (int i = 0; i != count; ++i) {
+			Book book = new Book();
+			book.setIsbn(isbn);
+			book.setTitle(isbn + "-" + i);
+			book.setAuthor("Cassandra Guru");
+			book.setPages(100);
+			books.add(book);
+		}
+
+		return books;
+	}
+
+	private static int statementCount(Statement statement) {
+
+		if (statement instanceof BatchStatement) {
+			return ((Collection<?>) ReflectionTestUtils.getField(statement, "statements")).size();
+		}
+
+		return 1;
+	}
+
+	private static int estimateSize(RegularStatement statement) {
+
+		int size = statement.getQueryString().length();
+
+		ByteBuffer[] values = statement.getValues();
+		if (values != null) {
+			for (ByteBuffer value : values) {
+				if (value != null) {
+					size += value.remaining();
+				}
+			}
+		}
+
+		return size;
+	}
+
+	/*
+	 * Query string and the text values of the statement
+	 */
+	private static String describe(Statement statement) {
+
+		RegularStatement regular = (RegularStatement) statement;
+		StringBuilder str = new StringBuilder(regular.getQueryString());
+
+		ByteBuffer[] values = regular.getValues();
+		if (values != null) {
+			for (ByteBuffer value : values) {
+				if (value != null) {
+					str.append(' ').append(UTF8.decode(value.duplicate()));
+				}
+			}
+		}
+
+		return str.toString();
+	}
+
+}
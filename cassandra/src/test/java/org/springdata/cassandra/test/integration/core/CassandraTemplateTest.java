@@ -16,11 +16,23 @@
 package org.springdata.cassandra.test.integration.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.cassandra.exceptions.ConfigurationException;
 import org.apache.thrift.transport.TTransportException;
@@ -37,19 +49,31 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.DefaultMultiExistsOperation;
+import org.springdata.cassandra.core.EntityStatementPlan;
 import org.springdata.cassandra.core.EntryCallbackHandler;
+import org.springdata.cassandra.mapping.LazyValue;
 import org.springdata.cassandra.test.integration.CassandraTestConstants;
 import org.springdata.cassandra.test.integration.config.JavaConfig;
 import org.springdata.cassandra.test.integration.table.Book;
+import org.springdata.cassandra.test.integration.table.Document;
+import org.springdata.cql.core.BatchType;
 import org.springdata.cql.core.RetryPolicyInstance;
 import org.springdata.cql.core.StatementCreator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -940,6 +964,94 @@ public class CassandraTemplateTest {
 
 	}
 
+	@Test
+	public void existsAllTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+
+		for (int i = 1; i <= 5; ++i) {
+			Book book = new Book();
+			book.setIsbn("123456-" + i);
+			book.setTitle("Spring Data Cassandra Guide");
+			book.setAuthor("Cassandra Guru");
+			book.setPages(500 + i);
+			template.buildSaveNewOperation(book).execute();
+		}
+
+		/*
+		 * Existing ids are returned once in the order of the ids, duplicate ids are checked once
+		 */
+		List<Object> ids = Lists.newArrayList((Object) "123456-5", "123456-1", "123456-0", "123456-3", "123456-1");
+
+		Set<Object> present = template.existsAll(Book.class, ids);
+		assertEquals(Lists.newArrayList("123456-5", "123456-1", "123456-3"), new ArrayList<Object>(present));
+
+		/*
+		 * Single node is the replica of all ids, ids are grouped into IN queries of at most two distinct ids that select
+		 * only the key column
+		 */
+		DefaultMultiExistsOperation grouped = (DefaultMultiExistsOperation) template.buildExistsAllOperation(Book.class,
+				ids);
+		grouped.setMaxIdsPerQuery(2);
+
+		BatchStatement groupedBatch = (BatchStatement) grouped.toStatement();
+
+		assertEquals(2, groupedBatch.getStatements().size());
+		for (Statement statement : groupedBatch.getStatements()) {
+			assertTrue(statement instanceof RegularStatement);
+			String cql = ((RegularStatement) statement).getQueryString().toUpperCase();
+			assertTrue(cql, cql.startsWith("SELECT ISBN FROM "));
+			assertTrue(cql, cql.contains(" IN "));
+		}
+
+		assertEquals(present, grouped.execute());
+
+		/*
+		 * One id per query probes each id by the prepared select of the key column with LIMIT 1
+		 */
+		DefaultMultiExistsOperation single = (DefaultMultiExistsOperation) template.buildExistsAllOperation(Book.class,
+				ids);
+		single.setMaxIdsPerQuery(1);
+
+		BatchStatement singleBatch = (BatchStatement) single.toStatement();
+
+		assertEquals(5, singleBatch.getStatements().size());
+		for (Statement statement : singleBatch.getStatements()) {
+			assertTrue(statement instanceof BoundStatement);
+			String cql = ((BoundStatement) statement).preparedStatement().getQueryString().toUpperCase();
+			assertTrue(cql, cql.startsWith("SELECT ISBN FROM "));
+			assertTrue(cql, cql.contains(" LIMIT 1"));
+		}
+
+		assertEquals(present, single.execute());
+
+		/*
+		 * Regular statements probe each id with LIMIT 1 as well
+		 */
+		template.setUsePreparedStatements(false);
+
+		try {
+
+			DefaultMultiExistsOperation regular = (DefaultMultiExistsOperation) template.buildExistsAllOperation(
+					Book.class, ids);
+			regular.setMaxIdsPerQuery(1);
+
+			BatchStatement regularBatch = (BatchStatement) regular.toStatement();
+
+			assertEquals(5, regularBatch.getStatements().size());
+			for (Statement statement : regularBatch.getStatements()) {
+				assertTrue(statement instanceof RegularStatement);
+				String cql = ((RegularStatement) statement).getQueryString().toUpperCase();
+				assertTrue(cql, cql.contains(" LIMIT 1"));
+			}
+
+			assertEquals(present, regular.execute());
+
+		} finally {
+			template.setUsePreparedStatements(true);
+		}
+	}
+
 	@Test
 	public void rowMapperTest() {
 
@@ -1109,6 +1221,373 @@ public class CassandraTemplateTest {
 
 	}
 
+	@Test
+	public void preparedCrudTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+		assertTrue(template.isUsePreparedStatements());
+
+		Book b1 = new Book();
+		b1.setIsbn("123456-1");
+		b1.setTitle("Spring Data Cassandra Guide");
+		b1.setAuthor("Cassandra Guru");
+		b1.setPages(521);
+
+		/*
+		 * Prepared INSERT and SELECT by id
+		 */
+		template.buildSaveNewOperation(b1).execute();
+
+		Book b = template.buildFindByIdOperation(Book.class, "123456-1").execute();
+
+		assertEquals("Spring Data Cassandra Guide", b.getTitle());
+		assertEquals("Cassandra Guru", b.getAuthor());
+		assertEquals(521, b.getPages());
+
+		/*
+		 * Prepared UPDATE
+		 */
+		b1.setTitle("Spring Data Cassandra Guide, 2nd Edition");
+		b1.setPages(600);
+		template.buildSaveOperation(b1).execute();
+
+		b = template.buildFindByIdOperation(Book.class, "123456-1").execute();
+
+		assertEquals("Spring Data Cassandra Guide, 2nd Edition", b.getTitle());
+		assertEquals(600, b.getPages());
+
+		/*
+		 * Prepared EXISTS and DELETE
+		 */
+		assertEquals(Boolean.TRUE, template.buildExistsOperation(Book.class, "123456-1").execute());
+
+		template.buildDeleteOperation(b1).execute();
+
+		assertNull(template.buildFindByIdOperation(Book.class, "123456-1").execute());
+		assertEquals(Boolean.FALSE, template.buildExistsOperation(Book.class, "123456-1").execute());
+
+		/*
+		 * Prepared DELETE by id
+		 */
+		template.buildSaveNewOperation(b1).execute();
+		template.buildDeleteByIdOperation(Book.class, "123456-1").execute();
+
+		assertNull(template.buildFindByIdOperation(Book.class, "123456-1").execute());
+
+		assertTrue(template.getStatementPlan(Book.class, "book").getPreparedCount() > 0);
+	}
+
+	@Test
+	public void preparedStatementsAreBoundedTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+
+		EntityStatementPlan plan = new EntityStatementPlan(template.cqlTemplate(), template.getConverter(), template
+				.getConverter().getMappingContext().getPersistentEntity(Book.class), KEYSPACE_NAME, "book", 2);
+
+		/*
+		 * Each combination of the null properties has its own INSERT
+		 */
+		String[][] titlesAndAuthors = { { "Title", "Author" }, { null, "Author" }, { "Title", null }, { null, null } };
+
+		for (int i = 0; i != titlesAndAuthors.length; ++i) {
+
+			Book book = new Book();
+			book.setIsbn("123456-" + i);
+			book.setTitle(titlesAndAuthors[i][0]);
+			book.setAuthor(titlesAndAuthors[i][1]);
+			book.setPages(100 + i);
+
+			template.getCqlOperations().execute(plan.bindInsert(book, null, null));
+
+			assertTrue(plan.getPreparedCount() <= 2);
+		}
+
+		for (int i = 0; i != titlesAndAuthors.length; ++i) {
+
+			Book b = template.buildFindByIdOperation(Book.class, "123456-" + i).execute();
+
+			assertEquals(titlesAndAuthors[i][0], b.getTitle());
+			assertEquals(titlesAndAuthors[i][1], b.getAuthor());
+			assertEquals(100 + i, b.getPages());
+		}
+
+	}
+
+	@Test
+	public void batchTypeTest() {
+
+		List<Book> books = new ArrayList<Book>();
+
+		for (int i = 1; i <= 2; ++i) {
+			Book book = new Book();
+			book.setIsbn("123456-" + i);
+			book.setTitle("Spring Data Cassandra Guide");
+			book.setPages(500 + i);
+			books.add(book);
+		}
+
+		assertEquals(BatchStatement.Type.LOGGED, getBatchType(cassandraTemplate.buildSaveNewInBatchOperation(books)
+				.toStatement()));
+
+		for (BatchType batchType : BatchType.values()) {
+			Statement statement = cassandraTemplate.buildSaveNewInBatchOperation(books).withBatchType(batchType)
+					.toStatement();
+			assertEquals(batchType.type(), getBatchType(statement));
+			assertEquals(2, ((BatchStatement) statement).getStatements().size());
+		}
+	}
+
+	/*
+	 * Driver 2.0 does not expose the type of the batch
+	 */
+	private static BatchStatement.Type getBatchType(Statement statement) {
+		return (BatchStatement.Type) ReflectionTestUtils.getField(statement, "batchType");
+	}
+
+	@Test
+	public void multiFindTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+
+		for (int i = 1; i <= 5; ++i) {
+			Book book = new Book();
+			book.setIsbn("123456-" + i);
+			book.setTitle("Spring Data Cassandra Guide");
+			book.setAuthor("Cassandra Guru");
+			book.setPages(500 + i);
+			template.buildSaveNewOperation(book).execute();
+		}
+
+		/*
+		 * Books are returned in the order of the ids, duplicate ids are read once and returned for each position
+		 */
+		List<Object> missingIds = new ArrayList<Object>();
+		List<Book> books = template
+				.buildFindAllOperation(Book.class,
+						Lists.newArrayList("123456-5", "123456-1", "123456-0", "123456-3", "123456-1")).withMaxIdsPerQuery(2)
+				.reportMissingIds(missingIds).execute();
+
+		assertEquals(4, books.size());
+		assertEquals("123456-5", books.get(0).getIsbn());
+		assertEquals("123456-1", books.get(1).getIsbn());
+		assertEquals("123456-3", books.get(2).getIsbn());
+		assertEquals("123456-1", books.get(3).getIsbn());
+		assertEquals(505, books.get(0).getPages());
+		assertEquals(Lists.newArrayList((Object) "123456-0"), missingIds);
+
+		/*
+		 * Single node is the replica of all ids, ids are grouped into IN queries of at most two distinct ids
+		 */
+		BatchStatement grouped = (BatchStatement) template.buildFindAllOperation(Book.class,
+				Lists.newArrayList("123456-1", "123456-2", "123456-1", "123456-3", "123456-4", "123456-5"))
+				.withMaxIdsPerQuery(2).toStatement();
+
+		assertEquals(3, grouped.getStatements().size());
+		for (Statement statement : grouped.getStatements()) {
+			assertTrue(statement instanceof RegularStatement);
+			assertTrue(((RegularStatement) statement).getQueryString().toUpperCase().contains(" IN "));
+		}
+
+		/*
+		 * One id per query uses the prepared statements
+		 */
+		BatchStatement single = (BatchStatement) template.buildFindAllOperation(Book.class,
+				Lists.newArrayList("123456-1", "123456-2")).withMaxIdsPerQuery(1).toStatement();
+
+		assertEquals(2, single.getStatements().size());
+		for (Statement statement : single.getStatements()) {
+			assertTrue(statement instanceof BoundStatement);
+		}
+	}
+
+	@Test
+	public void failedSaveIsRetriedTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+		MappingCassandraConverter converter = (MappingCassandraConverter) template.getConverter();
+
+		converter.setTrackEntityChanges(true);
+
+		try {
+
+			Book b1 = new Book();
+			b1.setIsbn("123456-1");
+			b1.setTitle("Spring Data Cassandra Guide");
+			b1.setAuthor("Cassandra Guru");
+			b1.setPages(521);
+
+			template.buildSaveNewOperation(b1).execute();
+
+			Book book = template.buildFindByIdOperation(Book.class, "123456-1").execute();
+
+			/*
+			 * Nothing is changed since the read, save is skipped
+			 */
+			assertNull(template.buildSaveOperation(book).execute());
+
+			book.setTitle("Spring Data Cassandra Guide, Second Edition");
+
+			/*
+			 * Single node can not satisfy THREE, the save fails and the title stays changed
+			 */
+			try {
+				template.buildSaveOperation(book).withConsistencyLevel(ConsistencyLevel.THREE).execute();
+				fail("save must fail");
+			} catch (DataAccessException e) {
+			}
+
+			assertNotNull(template.buildSaveOperation(book).execute());
+
+			Book saved = template.buildFindByIdOperation(Book.class, "123456-1").execute();
+			assertEquals("Spring Data Cassandra Guide, Second Edition", saved.getTitle());
+
+			/*
+			 * The successful save refreshes the snapshot
+			 */
+			assertNull(template.buildSaveOperation(book).execute());
+
+		} finally {
+			converter.setTrackEntityChanges(false);
+		}
+	}
+
+	private List<Document> insertDocuments(int count) {
+
+		for (int i = 0; i != count; ++i) {
+			Document document = new Document();
+			document.setId("doc-" + i);
+			document.setTitle("Document " + i);
+			document.setContent(LazyValue.of("content-" + i));
+			cassandraTemplate.buildSaveNewOperation(document).execute();
+		}
+
+		List<Document> found = cassandraTemplate.buildFindAllOperation(Document.class).execute();
+		assertEquals(count, found.size());
+
+		for (Document document : found) {
+			assertFalse(document.getContent().isLoaded());
+		}
+
+		return found;
+	}
+
+	private static String expectedContent(Document document) {
+		return "content-" + document.getId().substring("doc-".length());
+	}
+
+	@Test
+	public void lazyColumnTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+		int chunkSize = template.getLazyLoadChunkSize();
+		template.setLazyLoadChunkSize(2);
+
+		try {
+
+			List<Document> found = insertDocuments(5);
+
+			/*
+			 * The first access loads the chunk of the accessed entity only
+			 */
+			assertEquals(expectedContent(found.get(0)), found.get(0).getContent().get());
+			assertTrue(found.get(1).getContent().isLoaded());
+			assertFalse(found.get(2).getContent().isLoaded());
+
+			assertEquals(expectedContent(found.get(3)), found.get(3).getContent().get());
+			assertTrue(found.get(2).getContent().isLoaded());
+			assertFalse(found.get(4).getContent().isLoaded());
+
+			assertEquals(expectedContent(found.get(4)), found.get(4).getContent().get());
+
+			for (Document document : found) {
+				assertEquals(expectedContent(document), document.getContent().getIfLoaded());
+			}
+
+			/*
+			 * Not loaded holder is not written, the column keeps the stored value
+			 */
+			Document document = cassandraTemplate.buildFindByIdOperation(Document.class, "doc-1").execute();
+			assertFalse(document.getContent().isLoaded());
+
+			document.setTitle("Document 1, Second Edition");
+			cassandraTemplate.buildSaveOperation(document).execute();
+
+			Document saved = cassandraTemplate.buildFindByIdOperation(Document.class, "doc-1").execute();
+			assertEquals("Document 1, Second Edition", saved.getTitle());
+			assertEquals("content-1", saved.getContent().get());
+
+		} finally {
+			template.setLazyLoadChunkSize(chunkSize);
+		}
+	}
+
+	@Test
+	public void lazyColumnConcurrentAccessTest() throws Exception {
+
+		final List<Document> found = insertDocuments(20);
+		final CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+
+			List<Future<String>> results = new ArrayList<Future<String>>();
+
+			for (int i = 0; i != 4; ++i) {
+				final Document document = found.get(i * 5);
+				results.add(executor.submit(new Callable<String>() {
+
+					@Override
+					public String call() throws Exception {
+						start.await();
+						return document.getContent().get();
+					}
+
+				}));
+			}
+
+			start.countDown();
+
+			for (int i = 0; i != 4; ++i) {
+				assertEquals(expectedContent(found.get(i * 5)), results.get(i).get());
+			}
+
+			for (Document document : found) {
+				assertEquals(expectedContent(document), document.getContent().getIfLoaded());
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void lazyHolderDoesNotKeepResultReachableTest() throws Exception {
+
+		List<Document> found = insertDocuments(3);
+
+		Document first = found.get(0);
+		String expected = expectedContent(first);
+		LazyValue<String> content = first.getContent();
+		WeakReference<Document> other = new WeakReference<Document>(found.get(2));
+
+		first = null;
+		found = null;
+
+		for (int i = 0; i != 10 && other.get() != null; ++i) {
+			System.gc();
+			Thread.sleep(100);
+		}
+
+		assertNull(other.get());
+
+		/*
+		 * The holder keeps only its own entity to load the value
+		 */
+		assertEquals(expected, content.get());
+	}
+
 	@After
 	public void clearCassandra() {
 		EmbeddedCassandraServerHelper.cleanEmbeddedCassandra();
@@ -35,6 +35,8 @@ import org.springdata.cassandra.mapping.BasicCassandraPersistentProperty;
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
 import org.springdata.cassandra.mapping.Column;
+import org.springdata.cassandra.mapping.Lazy;
+import org.springdata.cassandra.mapping.LazyValue;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.util.ClassTypeInformation;
@@ -80,6 +82,18 @@ public class BasicCassandraPersistentPropertyIntegrationTests {
 		assertThat(getPropertyFor(field).getColumnName(), is("time"));
 	}
 
+	@Test
+	public void checksLazyProperty() {
+
+		Field field = ReflectionUtils.findField(Timeline.class, "body");
+		CassandraPersistentProperty property = getPropertyFor(field);
+		assertThat(property.isLazy(), is(true));
+		assertThat(property.getValueType(), is((Object) String.class));
+
+		field = ReflectionUtils.findField(Timeline.class, "text");
+		assertThat(getPropertyFor(field).isLazy(), is(false));
+	}
+
 	@After
 	public void clearCassandra() {
 		EmbeddedCassandraServerHelper.cleanEmbeddedCassandra();
@@ -104,6 +118,9 @@ public class BasicCassandraPersistentPropertyIntegrationTests {
 		@Column("message")
 		String text;
 
+		@Lazy
+		LazyValue<String> body;
+
 	}
 
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.mapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.springdata.cassandra.mapping.LazyValue;
+
+/**
+ * Tests for {@link LazyValue}
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public class LazyValueTest {
+
+	@Test
+	public void testLoadedValue() {
+
+		LazyValue<String> value = LazyValue.of("text");
+		assertTrue(value.isLoaded());
+		assertEquals("text", value.get());
+		assertEquals("text", value.getIfLoaded());
+
+		LazyValue<String> nullValue = LazyValue.of(null);
+		assertTrue(nullValue.isLoaded());
+		assertNull(nullValue.get());
+	}
+
+	@Test
+	public void testLoaderIsCalledOnce() {
+
+		final LazyValue<String> value = new LazyValue<String>();
+		final int[] calls = new int[1];
+
+		value.attach(new LazyValue.Loader() {
+
+			@Override
+			public void load() {
+				calls[0]++;
+				value.set("loaded");
+			}
+
+		});
+
+		assertFalse(value.isLoaded());
+		assertNull(value.getIfLoaded());
+
+		assertEquals("loaded", value.get());
+		assertEquals("loaded", value.get());
+		assertEquals(1, calls[0]);
+	}
+
+	@Test
+	public void testLoaderIsNotAttachedToLoadedValue() {
+
+		LazyValue<String> value = LazyValue.of("text");
+
+		value.attach(new LazyValue.Loader() {
+
+			@Override
+			public void load() {
+				throw new AssertionError("loaded value must not be loaded again");
+			}
+
+		});
+
+		assertEquals("text", value.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testNotLoadedWithoutLoader() {
+		new LazyValue<String>().get();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLoaderDidNotLoad() {
+
+		LazyValue<String> value = new LazyValue<String>();
+
+		value.attach(new LazyValue.Loader() {
+
+			@Override
+			public void load() {
+			}
+
+		});
+
+		value.get();
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springdata.cassandra.repository.CassandraRepository;
+import org.springdata.cassandra.test.integration.table.Timeline;
+import org.springdata.cassandra.test.integration.table.TimelinePK;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sample repository managing {@link Timeline} entities, derived queries over the clustering column.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface TimelineRepository extends CassandraRepository<Timeline, TimelinePK> {
+
+	Timeline findByPkUsernameAndPkTime(String username, Date time);
+
+	List<Timeline> findByPkUsernameAndPkTimeBetween(String username, Date from, Date to);
+
+	List<Timeline> findByPkUsernameOrderByPkTimeDesc(String username);
+
+	List<Timeline> findByPkUsername(String username, Sort sort);
+
+	List<Timeline> findTop2ByPkUsernameOrderByPkTimeDesc(String username);
+
+	Timeline findFirstByPkUsernameOrderByPkTimeAsc(String username);
+
+}
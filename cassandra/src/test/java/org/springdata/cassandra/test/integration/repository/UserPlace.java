@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.repository;
+
+/**
+ * DTO projection of the {@link org.springdata.cassandra.test.integration.table.User}, created by the persistence
+ * constructor
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public class UserPlace {
+
+	private final String username;
+	private final String place;
+
+	public UserPlace(String username, String place) {
+		this.username = username;
+		this.place = place;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getPlace() {
+		return place;
+	}
+
+}
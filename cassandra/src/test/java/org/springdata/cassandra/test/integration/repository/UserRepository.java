@@ -15,6 +15,9 @@
  */
 package org.springdata.cassandra.test.integration.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springdata.cassandra.repository.CassandraRepository;
 import org.springdata.cassandra.repository.Nonstop;
 import org.springdata.cassandra.test.integration.table.User;
@@ -32,4 +35,10 @@ public interface UserRepository extends CassandraRepository<User, String> {
 	@Nonstop(timeoutMilliseconds = 100)
 	public <S extends User> S save(S user);
 
+	UserName findByUsername(String username);
+
+	List<UserPlace> findByPlace(String place);
+
+	List<User> findByUsernameIn(Collection<String> usernames);
+
 }
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
 import org.apache.cassandra.exceptions.ConfigurationException;
@@ -35,8 +36,16 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.repository.CassandraRepository;
+import org.springdata.cassandra.repository.query.CassandraQueryMethod;
+import org.springdata.cassandra.test.integration.table.Timeline;
+import org.springdata.cassandra.test.integration.table.TimelinePK;
 import org.springdata.cassandra.test.integration.table.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -55,6 +64,9 @@ public class UserRepositoryIntegrationTests {
 	@Autowired
 	protected UserRepository repository;
 
+	@Autowired
+	protected TimelineRepository timelineRepository;
+
 	@Autowired
 	protected CassandraOperations cassandraOperations;
 
@@ -62,6 +74,8 @@ public class UserRepositoryIntegrationTests {
 
 	List<User> all;
 
+	Date[] times;
+
 	@BeforeClass
 	public static void startCassandra() throws IOException, TTransportException, ConfigurationException,
 			InterruptedException {
@@ -104,6 +118,33 @@ public class UserRepositoryIntegrationTests {
 		all = Arrays.asList(tom, bob, alice, scott);
 
 		cassandraOperations.buildSaveNewInBatchOperation(all).execute();
+
+		/*
+		 * Timeline of tom has four posts one minute apart, bob has one
+		 */
+		cassandraOperations.buildDeleteAllOperation(Timeline.class).execute();
+
+		times = new Date[4];
+		for (int i = 0; i != times.length; ++i) {
+			times[i] = new Date(1388534400000L + i * 60000L);
+			saveTimeline(tom.getUsername(), times[i], "author" + i);
+		}
+
+		saveTimeline(bob.getUsername(), times[0], "author0");
+	}
+
+	private void saveTimeline(String username, Date time, String author) {
+
+		TimelinePK pk = new TimelinePK();
+		pk.setUsername(username);
+		pk.setTime(time);
+
+		Timeline timeline = new Timeline();
+		timeline.setPk(pk);
+		timeline.setAuthor(author);
+		timeline.setPostTime(time);
+
+		cassandraOperations.buildSaveNewOperation(timeline).execute();
 	}
 
 	@Test
@@ -191,6 +232,126 @@ public class UserRepositoryIntegrationTests {
 
 	}
 
+	@Test
+	public void findsInterfaceProjection() {
+
+		UserName name = repository.findByUsername(bob.getUsername());
+
+		Assert.assertNotNull(name);
+		Assert.assertEquals(bob.getFirstName(), name.getFirstName());
+		Assert.assertEquals(bob.getLastName(), name.getLastName());
+	}
+
+	@Test
+	public void findsDtoProjection() {
+
+		List<UserPlace> places = repository.findByPlace(alice.getPlace());
+
+		assertThat(places.size(), is(1));
+		Assert.assertEquals(alice.getUsername(), places.get(0).getUsername());
+		Assert.assertEquals(alice.getPlace(), places.get(0).getPlace());
+	}
+
+	@Test
+	public void bindsParametersOfEachCall() {
+
+		/*
+		 * The derived query is prepared once, every call binds its own parameters
+		 */
+		Timeline first = timelineRepository.findByPkUsernameAndPkTime(tom.getUsername(), times[1]);
+		Timeline second = timelineRepository.findByPkUsernameAndPkTime(tom.getUsername(), times[2]);
+
+		Assert.assertEquals("author1", first.getAuthor());
+		Assert.assertEquals("author2", second.getAuthor());
+		Assert.assertNull(timelineRepository.findByPkUsernameAndPkTime(bob.getUsername(), times[1]));
+	}
+
+	@Test
+	public void findsByIn() {
+
+		List<User> users = repository.findByUsernameIn(Arrays.asList(bob.getUsername(), alice.getUsername()));
+
+		assertThat(users.size(), is(2));
+		assertThat(users, hasItems(bob, alice));
+	}
+
+	@Test
+	public void findsByBetween() {
+
+		List<Timeline> result = timelineRepository.findByPkUsernameAndPkTimeBetween(tom.getUsername(), times[1],
+				times[2]);
+
+		assertThat(result.size(), is(2));
+		Assert.assertEquals(times[1], result.get(0).getPk().getTime());
+		Assert.assertEquals(times[2], result.get(1).getPk().getTime());
+	}
+
+	@Test
+	public void findsWithSort() {
+
+		List<Timeline> desc = timelineRepository.findByPkUsernameOrderByPkTimeDesc(tom.getUsername());
+
+		assertThat(desc.size(), is(times.length));
+		Assert.assertEquals(times[3], desc.get(0).getPk().getTime());
+		Assert.assertEquals(times[0], desc.get(3).getPk().getTime());
+
+		List<Timeline> dynamicDesc = timelineRepository.findByPkUsername(tom.getUsername(), new Sort(Direction.DESC,
+				"pkTime"));
+		List<Timeline> dynamicAsc = timelineRepository.findByPkUsername(tom.getUsername(), new Sort(Direction.ASC,
+				"pkTime"));
+
+		Assert.assertEquals(times[3], dynamicDesc.get(0).getPk().getTime());
+		Assert.assertEquals(times[0], dynamicAsc.get(0).getPk().getTime());
+	}
+
+	@Test
+	public void limitsOnlyTopAndFirst() {
+
+		List<Timeline> top = timelineRepository.findTop2ByPkUsernameOrderByPkTimeDesc(tom.getUsername());
+
+		assertThat(top.size(), is(2));
+		Assert.assertEquals(times[3], top.get(0).getPk().getTime());
+		Assert.assertEquals(times[2], top.get(1).getPk().getTime());
+
+		Timeline first = timelineRepository.findFirstByPkUsernameOrderByPkTimeAsc(tom.getUsername());
+		Assert.assertEquals(times[0], first.getPk().getTime());
+
+		/*
+		 * Methods without Top or First are not limited
+		 */
+		assertThat(timelineRepository.findByPkUsername(tom.getUsername(), null).size(), is(times.length));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsInterfaceProjectionWithoutGetters() throws Exception {
+		createQueryMethod("findByPlace", String.class);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsClassProjectionWithoutMatchingConstructor() throws Exception {
+		createQueryMethod("findByUsername", String.class);
+	}
+
+	private static CassandraQueryMethod createQueryMethod(String name, Class<?>... parameterTypes) throws Exception {
+		return new CassandraQueryMethod(InvalidProjectionRepository.class.getMethod(name, parameterTypes),
+				new DefaultRepositoryMetadata(InvalidProjectionRepository.class), new CassandraMappingContext());
+	}
+
+	interface InvalidProjectionRepository extends CassandraRepository<User, String> {
+
+		Runnable findByPlace(String place);
+
+		UnknownColumns findByUsername(String username);
+
+	}
+
+	static class UnknownColumns {
+
+		UnknownColumns(String nickname) {
+		}
+
+	}
+
 	@SuppressWarnings("deprecation")
 	@AfterClass
 	public static void stopCassandra() {
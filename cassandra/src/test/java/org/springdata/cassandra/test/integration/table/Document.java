@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.table;
+
+import org.springdata.cassandra.mapping.Id;
+import org.springdata.cassandra.mapping.Lazy;
+import org.springdata.cassandra.mapping.LazyValue;
+import org.springdata.cassandra.mapping.Table;
+
+/**
+ * Test POJO with the lazy column
+ * 
+ * @author Alex Shvid
+ * 
+ */
+@Table(name = "document")
+public class Document {
+
+	@Id
+	private String id;
+
+	private String title;
+
+	@Lazy
+	private LazyValue<String> content;
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public LazyValue<String> getContent() {
+		return content;
+	}
+
+	public void setContent(LazyValue<String> content) {
+		this.content = content;
+	}
+
+}
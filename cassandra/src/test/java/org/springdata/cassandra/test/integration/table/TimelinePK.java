@@ -15,6 +15,7 @@
  */
 package org.springdata.cassandra.test.integration.table;
 
+import java.io.Serializable;
 import java.util.Date;
 
 import org.springdata.cassandra.mapping.Embeddable;
@@ -32,7 +33,9 @@ import org.springdata.cql.core.KeyPart;
  */
 
 @Embeddable
-public class TimelinePK {
+public class TimelinePK implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/*
 	 * Row ID
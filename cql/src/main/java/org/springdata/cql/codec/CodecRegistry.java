@@ -0,0 +1,449 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.codec;
+
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springdata.cql.util.TimeUUIDUtil;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * Registry of the column codecs keyed by the CQL type and the Java type.
+ *
+ * Native types are decoded by the typed Row getters, primitive fields are set without boxing. TIMEUUID to Date and
+ * text to Enum codecs replace the deserialize-then-convert path. Types without the specialized codec are decoded by
+ * the DataType of the column. Codecs are created on the first request and cached.
+ *
+ * The shared {@link #DEFAULT} registry has only the built-in codecs and can not be modified, custom codecs are
+ * registered in own registry of the template or the converter.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class CodecRegistry {
+
+	/**
+	 * Shared unmodifiable registry with the built-in codecs
+	 */
+	public static final CodecRegistry DEFAULT = new CodecRegistry(false);
+
+	private final ConcurrentMap<CodecKey, ColumnCodec> codecs = new ConcurrentHashMap<CodecKey, ColumnCodec>();
+
+	private final boolean modifiable;
+
+	/**
+	 * Creates registry that starts from the built-in codecs
+	 */
+	public CodecRegistry() {
+		this(true);
+	}
+
+	private CodecRegistry(boolean modifiable) {
+		this.modifiable = modifiable;
+	}
+
+	/**
+	 * Registers the custom codec, it replaces the built-in codec for the same CQL type and Java type
+	 *
+	 * @param codec ColumnCodec
+	 * @throws UnsupportedOperationException for the {@link #DEFAULT} registry
+	 */
+	public void register(ColumnCodec codec) {
+		Assert.notNull(codec);
+		if (!modifiable) {
+			throw new UnsupportedOperationException("default registry is shared and can not be modified, register codec "
+					+ codec.getDataType() + " to " + codec.getJavaType().getName() + " in own CodecRegistry");
+		}
+		codecs.put(new CodecKey(codec.getDataType(), ClassUtils.resolvePrimitiveIfNecessary(codec.getJavaType())), codec);
+	}
+
+	/**
+	 * Returns codec of the column to the default Java type of the CQL type
+	 *
+	 * @param dataType CQL type of the column
+	 * @return ColumnCodec
+	 */
+	public ColumnCodec getCodec(DataType dataType) {
+		return getCodec(dataType, dataType.asJavaClass());
+	}
+
+	/**
+	 * Returns codec of the column to the Java type. If there is no specialized codec for the pair, the codec of the
+	 * default Java type of the CQL type is returned.
+	 *
+	 * @param dataType CQL type of the column
+	 * @param javaType Java type of the property, primitive types are accepted
+	 * @return ColumnCodec
+	 */
+	public ColumnCodec getCodec(DataType dataType, Class<?> javaType) {
+		Assert.notNull(dataType);
+		Assert.notNull(javaType);
+
+		CodecKey key = new CodecKey(dataType, ClassUtils.resolvePrimitiveIfNecessary(javaType));
+		ColumnCodec codec = codecs.get(key);
+
+		if (codec == null) {
+			codec = createCodec(dataType, key.javaType);
+			ColumnCodec existing = codecs.putIfAbsent(key, codec);
+			if (existing != null) {
+				codec = existing;
+			}
+		}
+
+		return codec;
+	}
+
+	private static ColumnCodec createCodec(DataType dataType, Class<?> javaType) {
+
+		if (Enum.class.isAssignableFrom(javaType) && javaType != Enum.class && isText(dataType)) {
+			return new EnumCodec(dataType, javaType);
+		}
+
+		if (javaType == Date.class && dataType.getName() == DataType.Name.TIMEUUID) {
+			return new TimeUUIDDateCodec(dataType);
+		}
+
+		if (dataType.isCollection()) {
+			return new CollectionCodec(dataType);
+		}
+
+		return createNativeCodec(dataType);
+	}
+
+	private static boolean isText(DataType dataType) {
+		switch (dataType.getName()) {
+		case ASCII:
+		case TEXT:
+		case VARCHAR:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private static ColumnCodec createNativeCodec(DataType dataType) {
+
+		switch (dataType.getName()) {
+
+		case ASCII:
+		case TEXT:
+		case VARCHAR:
+			return new ColumnCodec(dataType, String.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getString(index);
+				}
+
+			};
+
+		case BIGINT:
+		case COUNTER:
+			return new ColumnCodec(dataType, Long.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.isNull(index) ? null : row.getLong(index);
+				}
+
+				@Override
+				public void decodeInto(Row row, int index, Object bean, Field field) throws IllegalAccessException {
+					if (field.getType() != long.class) {
+						super.decodeInto(row, index, bean, field);
+					} else if (!row.isNull(index)) {
+						field.setLong(bean, row.getLong(index));
+					}
+				}
+
+			};
+
+		case INT:
+			return new ColumnCodec(dataType, Integer.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.isNull(index) ? null : row.getInt(index);
+				}
+
+				@Override
+				public void decodeInto(Row row, int index, Object bean, Field field) throws IllegalAccessException {
+					if (field.getType() != int.class) {
+						super.decodeInto(row, index, bean, field);
+					} else if (!row.isNull(index)) {
+						field.setInt(bean, row.getInt(index));
+					}
+				}
+
+			};
+
+		case BOOLEAN:
+			return new ColumnCodec(dataType, Boolean.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.isNull(index) ? null : row.getBool(index);
+				}
+
+				@Override
+				public void decodeInto(Row row, int index, Object bean, Field field) throws IllegalAccessException {
+					if (field.getType() != boolean.class) {
+						super.decodeInto(row, index, bean, field);
+					} else if (!row.isNull(index)) {
+						field.setBoolean(bean, row.getBool(index));
+					}
+				}
+
+			};
+
+		case DOUBLE:
+			return new ColumnCodec(dataType, Double.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.isNull(index) ? null : row.getDouble(index);
+				}
+
+				@Override
+				public void decodeInto(Row row, int index, Object bean, Field field) throws IllegalAccessException {
+					if (field.getType() != double.class) {
+						super.decodeInto(row, index, bean, field);
+					} else if (!row.isNull(index)) {
+						field.setDouble(bean, row.getDouble(index));
+					}
+				}
+
+			};
+
+		case FLOAT:
+			return new ColumnCodec(dataType, Float.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.isNull(index) ? null : row.getFloat(index);
+				}
+
+				@Override
+				public void decodeInto(Row row, int index, Object bean, Field field) throws IllegalAccessException {
+					if (field.getType() != float.class) {
+						super.decodeInto(row, index, bean, field);
+					} else if (!row.isNull(index)) {
+						field.setFloat(bean, row.getFloat(index));
+					}
+				}
+
+			};
+
+		case DECIMAL:
+			return new ColumnCodec(dataType, dataType.asJavaClass()) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getDecimal(index);
+				}
+
+			};
+
+		case VARINT:
+			return new ColumnCodec(dataType, dataType.asJavaClass()) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getVarint(index);
+				}
+
+			};
+
+		case UUID:
+		case TIMEUUID:
+			return new ColumnCodec(dataType, UUID.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getUUID(index);
+				}
+
+			};
+
+		case TIMESTAMP:
+			return new ColumnCodec(dataType, Date.class) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getDate(index);
+				}
+
+			};
+
+		case INET:
+			return new ColumnCodec(dataType, dataType.asJavaClass()) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getInet(index);
+				}
+
+			};
+
+		case BLOB:
+			return new ColumnCodec(dataType, dataType.asJavaClass()) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.getBytes(index);
+				}
+
+			};
+
+		default:
+			return new ColumnCodec(dataType, dataType.asJavaClass()) {
+
+				@Override
+				public Object decode(Row row, int index) {
+					return row.isNull(index) ? null : getDataType().deserialize(row.getBytesUnsafe(index));
+				}
+
+			};
+
+		}
+	}
+
+	/**
+	 * Enum stored by the name in the text column
+	 */
+	static final class EnumCodec extends ColumnCodec {
+
+		@SuppressWarnings("rawtypes")
+		private final Class<? extends Enum> enumClass;
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		EnumCodec(DataType dataType, Class<?> enumClass) {
+			super(dataType, enumClass);
+			this.enumClass = (Class<? extends Enum>) enumClass;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object decode(Row row, int index) {
+			String name = row.getString(index);
+			return name != null ? Enum.valueOf(enumClass, name) : null;
+		}
+
+		@Override
+		public Object toDriverValue(Object value) {
+			return ((Enum<?>) value).name();
+		}
+
+	}
+
+	/**
+	 * Date stored as the time UUID, the timestamp of the UUID is the date
+	 */
+	static final class TimeUUIDDateCodec extends ColumnCodec {
+
+		TimeUUIDDateCodec(DataType dataType) {
+			super(dataType, Date.class);
+		}
+
+		@Override
+		public Object decode(Row row, int index) {
+			UUID uuid = row.getUUID(index);
+			return uuid != null ? new Date(TimeUUIDUtil.getTimestampMillis(uuid)) : null;
+		}
+
+		@Override
+		public Object toDriverValue(Object value) {
+			return TimeUUIDUtil.createTimeUUID((Date) value);
+		}
+
+	}
+
+	/**
+	 * Set, List and Map with the element classes resolved once
+	 */
+	static final class CollectionCodec extends ColumnCodec {
+
+		private final Class<?> firstArgument;
+		private final Class<?> secondArgument;
+
+		CollectionCodec(DataType dataType) {
+			super(dataType, dataType.asJavaClass());
+
+			List<DataType> typeArguments = dataType.getTypeArguments();
+			this.firstArgument = typeArguments.size() > 0 ? typeArguments.get(0).asJavaClass() : null;
+			this.secondArgument = typeArguments.size() > 1 ? typeArguments.get(1).asJavaClass() : null;
+		}
+
+		@Override
+		public Object decode(Row row, int index) {
+
+			if (row.isNull(index)) {
+				return null;
+			}
+
+			switch (getDataType().getName()) {
+			case SET:
+				return row.getSet(index, firstArgument);
+			case MAP:
+				return row.getMap(index, firstArgument, secondArgument);
+			case LIST:
+				return row.getList(index, firstArgument);
+			default:
+				return getDataType().deserialize(row.getBytesUnsafe(index));
+			}
+		}
+
+	}
+
+	static final class CodecKey {
+
+		private final DataType dataType;
+		private final Class<?> javaType;
+
+		CodecKey(DataType dataType, Class<?> javaType) {
+			this.dataType = dataType;
+			this.javaType = javaType;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * dataType.hashCode() + javaType.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CodecKey)) {
+				return false;
+			}
+			CodecKey other = (CodecKey) obj;
+			return javaType == other.javaType && dataType.equals(other.dataType);
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.codec;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * Codec of the column with the specific CQL type and the Java type. Decodes the column value directly from the row by
+ * the index and converts the Java value to the value of the driver type on write.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public abstract class ColumnCodec {
+
+	private final DataType dataType;
+	private final Class<?> javaType;
+
+	protected ColumnCodec(DataType dataType, Class<?> javaType) {
+		Assert.notNull(dataType);
+		Assert.notNull(javaType);
+
+		this.dataType = dataType;
+		this.javaType = javaType;
+	}
+
+	public DataType getDataType() {
+		return dataType;
+	}
+
+	public Class<?> getJavaType() {
+		return javaType;
+	}
+
+	/**
+	 * Decodes the column of the row
+	 *
+	 * @param row row of the result set
+	 * @param index column index
+	 * @return value of the Java type or null if the column is null
+	 */
+	public abstract Object decode(Row row, int index);
+
+	/**
+	 * Decodes the column of the row directly into the field of the bean. Codecs of the primitive types override it to
+	 * set the primitive field without boxing. Null column leaves the primitive field untouched.
+	 *
+	 * @param row row of the result set
+	 * @param index column index
+	 * @param bean target object
+	 * @param field accessible field of the bean
+	 * @throws IllegalAccessException if the field is not accessible
+	 */
+	public void decodeInto(Row row, int index, Object bean, Field field) throws IllegalAccessException {
+		field.set(bean, decode(row, index));
+	}
+
+	/**
+	 * Converts the value of the Java type to the value of the driver type
+	 *
+	 * @param value not null value of the Java type
+	 * @return value that the driver can bind or put in the QueryBuilder statement
+	 */
+	public Object toDriverValue(Object value) {
+		return value;
+	}
+
+	/**
+	 * Serializes the value of the Java type to the protocol bytes of the column
+	 *
+	 * @param value value of the Java type or null
+	 * @return serialized value or null
+	 */
+	public ByteBuffer encode(Object value) {
+		if (value == null) {
+			return null;
+		}
+		return dataType.serialize(toDriverValue(value));
+	}
+
+	@Override
+	public String toString() {
+		return "ColumnCodec [" + dataType + " <-> " + javaType.getName() + "]";
+	}
+
+}
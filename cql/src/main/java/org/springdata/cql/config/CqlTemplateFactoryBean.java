@@ -17,6 +17,8 @@ package org.springdata.cql.config;
 
 import org.springdata.cql.core.CqlOperations;
 import org.springdata.cql.core.CqlTemplate;
+import org.springdata.cql.metrics.SlowQueryLog;
+import org.springdata.cql.metrics.StatementMetrics;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 
@@ -34,6 +36,10 @@ public class CqlTemplateFactoryBean implements FactoryBean<CqlTemplate>, Initial
 
 	private Session session;
 	private String keyspace;
+	private int preparedStatementCacheSize;
+	private boolean prepareCqlStrings;
+	private StatementMetrics statementMetrics;
+	private Long slowQueryThreshold;
 
 	@Override
 	public CqlTemplate getObject() {
@@ -59,6 +65,13 @@ public class CqlTemplateFactoryBean implements FactoryBean<CqlTemplate>, Initial
 
 		// initialize property
 		this.cqlTemplate = new CqlTemplate(session, keyspace);
+		this.cqlTemplate.setPreparedStatementCacheSize(preparedStatementCacheSize);
+		this.cqlTemplate.setPrepareCqlStrings(prepareCqlStrings);
+		this.cqlTemplate.setStatementMetrics(statementMetrics);
+
+		if (slowQueryThreshold != null) {
+			this.cqlTemplate.setSlowQueryLog(new SlowQueryLog(slowQueryThreshold));
+		}
 
 	}
 
@@ -70,4 +83,20 @@ public class CqlTemplateFactoryBean implements FactoryBean<CqlTemplate>, Initial
 		this.session = session;
 	}
 
+	public void setPreparedStatementCacheSize(int preparedStatementCacheSize) {
+		this.preparedStatementCacheSize = preparedStatementCacheSize;
+	}
+
+	public void setPrepareCqlStrings(boolean prepareCqlStrings) {
+		this.prepareCqlStrings = prepareCqlStrings;
+	}
+
+	public void setStatementMetrics(StatementMetrics statementMetrics) {
+		this.statementMetrics = statementMetrics;
+	}
+
+	public void setSlowQueryThreshold(long slowQueryThreshold) {
+		this.slowQueryThreshold = slowQueryThreshold;
+	}
+
 }
@@ -54,6 +54,26 @@ public class CqlTemplateParser extends AbstractSimpleBeanDefinitionParser {
 			builder.addPropertyValue("keyspace", keyspace);
 		}
 
+		String preparedStatementCacheSize = element.getAttribute("prepared-statement-cache-size");
+		if (StringUtils.hasText(preparedStatementCacheSize)) {
+			builder.addPropertyValue("preparedStatementCacheSize", preparedStatementCacheSize);
+		}
+
+		String prepareCqlStrings = element.getAttribute("prepare-cql-strings");
+		if (StringUtils.hasText(prepareCqlStrings)) {
+			builder.addPropertyValue("prepareCqlStrings", prepareCqlStrings);
+		}
+
+		String statementMetricsRef = element.getAttribute("statement-metrics-ref");
+		if (StringUtils.hasText(statementMetricsRef)) {
+			builder.addPropertyReference("statementMetrics", statementMetricsRef);
+		}
+
+		String slowQueryThreshold = element.getAttribute("slow-query-threshold");
+		if (StringUtils.hasText(slowQueryThreshold)) {
+			builder.addPropertyValue("slowQueryThreshold", slowQueryThreshold);
+		}
+
 		String sessionRef = element.getAttribute("session-ref");
 		if (!StringUtils.hasText(sessionRef)) {
 			sessionRef = CqlConstants.CASSANDRA_SESSION;
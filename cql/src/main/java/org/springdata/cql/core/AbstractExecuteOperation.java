@@ -19,8 +19,11 @@ import java.util.concurrent.TimeoutException;
 
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.Futures;
 
 /**
+ * Executes the statement of the operation. If the operation creates null statement there is nothing to execute and
+ * the result is null.
  * 
  * @author Alex Shvid
  * 
@@ -36,25 +39,33 @@ public abstract class AbstractExecuteOperation<O extends StatementOperation<Resu
 	@Override
 	public ResultSet execute() {
 		Statement query = doCreateQuery(this);
-		return doExecute(query);
+		return query != null ? doExecute(query) : null;
 	}
 
 	@Override
 	public CassandraFuture<ResultSet> executeAsync() {
 		Statement query = doCreateQuery(this);
+		if (query == null) {
+			return new CassandraFuture<ResultSet>(Futures.<ResultSet> immediateFuture(null),
+					cqlTemplate.getExceptionTranslator());
+		}
 		return doExecuteAsync(query);
 	}
 
 	@Override
 	public void executeAsync(final CallbackHandler<ResultSet> cb) {
 		Statement query = doCreateQuery(this);
+		if (query == null) {
+			cb.onComplete(null);
+			return;
+		}
 		doExecuteAsync(query, cb);
 	}
 
 	@Override
 	public ResultSet executeNonstop(int timeoutMls) throws TimeoutException {
 		Statement query = doCreateQuery(this);
-		return doExecuteNonstop(query, timeoutMls);
+		return query != null ? doExecuteNonstop(query, timeoutMls) : null;
 	}
 
 	@Override
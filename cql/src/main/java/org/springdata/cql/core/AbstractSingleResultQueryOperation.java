@@ -45,6 +45,11 @@ public abstract class AbstractSingleResultQueryOperation extends
 		this.expectedSingleResult = singleResult;
 	}
 
+	@Override
+	protected boolean isIdempotentByDefault() {
+		return true;
+	}
+
 	@Override
 	public Row execute() {
 		ResultSet resultSet = doExecute(query);
@@ -15,22 +15,24 @@
  */
 package org.springdata.cql.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.util.Assert;
 
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.ResultSet;
-import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.policies.RetryPolicy;
 import com.google.common.base.Function;
-import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -51,6 +53,11 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 	private ConsistencyLevel consistencyLevel;
 	private RetryPolicy retryPolicy;
 	private Boolean queryTracing;
+	private Integer fetchSize;
+	private String pagingState;
+	private int speculativeDelayMls;
+	private int speculativeMaxAttempts = 1;
+	private Boolean idempotent;
 
 	private FallbackHandler fh;
 	private Executor executor;
@@ -92,6 +99,31 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 		return (O) this;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withFetchSize(int fetchSize) {
+		Assert.isTrue(fetchSize > 0, "fetchSize must be positive");
+		this.fetchSize = fetchSize;
+		return (O) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withSpeculativeExecution(int delayMls, int maxAttempts) {
+		Assert.isTrue(delayMls >= 0, "delayMls must not be negative");
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be positive");
+		this.speculativeDelayMls = delayMls;
+		this.speculativeMaxAttempts = maxAttempts;
+		return (O) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withIdempotent(boolean idempotent) {
+		this.idempotent = idempotent;
+		return (O) this;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public O withFallbackHandler(FallbackHandler fh) {
@@ -129,6 +161,81 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 				query.disableTracing();
 			}
 		}
+
+		if (fetchSize != null) {
+			query.setFetchSize(fetchSize);
+		}
+
+		if (pagingState != null) {
+			query.setPagingState(PagingState.fromString(pagingState));
+		}
+	}
+
+	/**
+	 * Copies options of the other operation to this one, used by the operations derived from the other one
+	 * 
+	 * @param other operation to copy options from
+	 */
+	protected void copyOptions(AbstractStatementOperation<?, ?> other) {
+		this.consistencyLevel = other.consistencyLevel;
+		this.retryPolicy = other.retryPolicy;
+		this.queryTracing = other.queryTracing;
+		this.fetchSize = other.fetchSize;
+		this.pagingState = other.pagingState;
+		this.speculativeDelayMls = other.speculativeDelayMls;
+		this.speculativeMaxAttempts = other.speculativeMaxAttempts;
+		this.idempotent = other.idempotent;
+		this.fh = other.fh;
+		this.executor = other.executor;
+	}
+
+	/**
+	 * Defines paging state to resume the query from the page that follows the page where this state was taken
+	 * 
+	 * @param pagingState paging state or null to start from the first page
+	 */
+	protected void setPagingState(String pagingState) {
+		this.pagingState = pagingState;
+	}
+
+	/**
+	 * Returns fetch size of the operation or the default fetch size of the cluster if it is not defined
+	 * 
+	 * @return fetch size
+	 */
+	protected int getEffectiveFetchSize() {
+		return fetchSize != null ? fetchSize : cqlTemplate.getDefaultFetchSize();
+	}
+
+	/**
+	 * Defines if the operation is idempotent when it is not marked explicitly, read operations override it
+	 * 
+	 * @return false
+	 */
+	protected boolean isIdempotentByDefault() {
+		return false;
+	}
+
+	protected boolean isIdempotent() {
+		return idempotent != null ? idempotent.booleanValue() : isIdempotentByDefault();
+	}
+
+	protected boolean isSpeculative() {
+		return speculativeMaxAttempts > 1 && isIdempotent();
+	}
+
+	/**
+	 * Sends statement with already added query options, speculatively if it is enabled for the operation
+	 * 
+	 * @param query statement
+	 * @return future of the ResultSet
+	 */
+	protected ListenableFuture<ResultSet> doSendAsync(Statement query) {
+		if (isSpeculative()) {
+			return new SpeculativeResultSetFuture(cqlTemplate, query, speculativeDelayMls, speculativeMaxAttempts,
+					cqlTemplate.getSpeculativeExecutor()).start();
+		}
+		return cqlTemplate.doExecuteAsync(query);
 	}
 
 	protected Statement doCreateQuery(StatementCreator qc) {
@@ -136,13 +243,16 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 	}
 
 	protected ResultSet doExecute(Statement query) {
+		if (isSpeculative()) {
+			return doExecuteAsync(query).getUninterruptibly();
+		}
 		addQueryOptions(query);
 		return cqlTemplate.doExecute(query);
 	}
 
 	protected CassandraFuture<ResultSet> doExecuteAsync(Statement query) {
 		addQueryOptions(query);
-		ResultSetFuture resultSetFuture = cqlTemplate.doExecuteAsync(query);
+		ListenableFuture<ResultSet> resultSetFuture = doSendAsync(query);
 		CassandraFuture<ResultSet> wrappedFuture = new CassandraFuture<ResultSet>(resultSetFuture,
 				cqlTemplate.getExceptionTranslator());
 		return wrappedFuture;
@@ -150,7 +260,7 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 
 	protected void doExecuteAsync(Statement query, final CallbackHandler<ResultSet> cb) {
 		addQueryOptions(query);
-		ResultSetFuture resultSetFuture = cqlTemplate.doExecuteAsync(query);
+		ListenableFuture<ResultSet> resultSetFuture = doSendAsync(query);
 		doFutureCallback(resultSetFuture, cb);
 	}
 
@@ -176,14 +286,24 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 
 	protected ResultSet doExecuteNonstop(Statement query, int timeoutMls) throws TimeoutException {
 		addQueryOptions(query);
-		ResultSetFuture resultSetFuture = cqlTemplate.doExecuteAsync(query);
+		ListenableFuture<ResultSet> resultSetFuture = doSendAsync(query);
 		CassandraFuture<ResultSet> wrappedFuture = new CassandraFuture<ResultSet>(resultSetFuture,
 				cqlTemplate.getExceptionTranslator());
 		return wrappedFuture.getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
 	}
 
 	protected Executor getExecutor() {
-		return executor != null ? executor : MoreExecutors.sameThreadExecutor();
+		return executor != null ? executor : getDefaultExecutor();
+	}
+
+	/**
+	 * Returns executor of the callbacks if the executor is not specified by withExecutor, by default the driver thread
+	 * that completes the future
+	 * 
+	 * @return Executor
+	 */
+	protected Executor getDefaultExecutor() {
+		return MoreExecutors.sameThreadExecutor();
 	}
 
 	protected void fireOnFailure(Throwable t) {
@@ -201,6 +321,18 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 	}
 
 	protected CassandraFuture<List<ResultSet>> doExecuteAsync(Iterator<Statement> queryIterator) {
+		return doExecuteAsync(queryIterator, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Executes statements with at most maxInFlight statements at the same time. Returns ResultSets in the order of the
+	 * statements, failed statements have null ResultSets.
+	 * 
+	 * @param queryIterator statements, pulled lazily
+	 * @param maxInFlight maximum number of statements in flight
+	 * @return future of the ResultSets
+	 */
+	protected CassandraFuture<List<ResultSet>> doExecuteAsync(Iterator<Statement> queryIterator, int maxInFlight) {
 
 		if (!queryIterator.hasNext()) {
 			ListenableFuture<List<ResultSet>> emptyResultFuture = Futures
@@ -212,22 +344,36 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 			return wrappedFuture;
 		}
 
-		final Iterator<ListenableFuture<ResultSet>> resultSetFutures = Iterators.transform(queryIterator,
-				new Function<Statement, ListenableFuture<ResultSet>>() {
+		final List<ResultSet> resultSets = new ArrayList<ResultSet>();
 
-					@Override
-					public ListenableFuture<ResultSet> apply(Statement query) {
-						return doExecuteAsync(query);
-					}
+		WindowedExecution<Statement, ResultSet> execution = new WindowedExecution<Statement, ResultSet>(queryIterator,
+				maxInFlight) {
 
-				});
+			@Override
+			protected ListenableFuture<ResultSet> launch(Statement query) {
+				return doExecuteAsync(query);
+			}
+
+			@Override
+			protected void onSuccess(long index, ResultSet resultSet) {
+				setResultSet(resultSets, (int) index, resultSet);
+			}
+
+			@Override
+			protected void onFailure(long index, Throwable t) {
+				setResultSet(resultSets, (int) index, null);
+			}
+
+		};
 
-		ListenableFuture<List<ResultSet>> allResultSetFuture = Futures
-				.successfulAsList(new Iterable<ListenableFuture<ResultSet>>() {
+		ListenableFuture<List<ResultSet>> allResultSetFuture = Futures.transform(execution.start(),
+				new Function<Void, List<ResultSet>>() {
 
 					@Override
-					public Iterator<ListenableFuture<ResultSet>> iterator() {
-						return resultSetFutures;
+					public List<ResultSet> apply(Void input) {
+						synchronized (resultSets) {
+							return resultSets;
+						}
 					}
 
 				});
@@ -238,6 +384,68 @@ public abstract class AbstractStatementOperation<T, O extends StatementOperation
 		return wrappedFuture;
 	}
 
+	private static void setResultSet(List<ResultSet> resultSets, int index, ResultSet resultSet) {
+		synchronized (resultSets) {
+			while (resultSets.size() <= index) {
+				resultSets.add(null);
+			}
+			resultSets.set(index, resultSet);
+		}
+	}
+
+	/**
+	 * Executes statements with at most maxInFlight statements at the same time and counts successful and failed
+	 * statements. ResultSets are discarded as soon as they arrive.
+	 * 
+	 * @param queryIterator statements, pulled lazily
+	 * @param maxInFlight maximum number of statements in flight
+	 * @return future of the IngestSummary
+	 */
+	protected CassandraFuture<IngestSummary> doExecuteCountingAsync(Iterator<Statement> queryIterator, int maxInFlight) {
+
+		final AtomicLong successCount = new AtomicLong();
+		final AtomicLong failureCount = new AtomicLong();
+		final AtomicReference<Throwable> firstFailure = new AtomicReference<Throwable>();
+
+		WindowedExecution<Statement, ResultSet> execution = new WindowedExecution<Statement, ResultSet>(queryIterator,
+				maxInFlight) {
+
+			@Override
+			protected ListenableFuture<ResultSet> launch(Statement query) {
+				addQueryOptions(query);
+				return doSendAsync(query);
+			}
+
+			@Override
+			protected void onSuccess(long index, ResultSet resultSet) {
+				successCount.incrementAndGet();
+			}
+
+			@Override
+			protected void onFailure(long index, Throwable t) {
+				if (t instanceof RuntimeException) {
+					t = cqlTemplate.translateIfPossible((RuntimeException) t);
+				}
+				failureCount.incrementAndGet();
+				firstFailure.compareAndSet(null, t);
+				fireOnFailure(t);
+			}
+
+		};
+
+		ListenableFuture<IngestSummary> summaryFuture = Futures.transform(execution.start(),
+				new Function<Void, IngestSummary>() {
+
+					@Override
+					public IngestSummary apply(Void input) {
+						return new IngestSummary(successCount.get(), failureCount.get(), firstFailure.get());
+					}
+
+				});
+
+		return new CassandraFuture<IngestSummary>(summaryFuture, cqlTemplate.getExceptionTranslator());
+	}
+
 	protected void doExecuteAsync(Iterator<Statement> queryIterator, CallbackHandler<List<ResultSet>> cb) {
 		CassandraFuture<List<ResultSet>> allResultSetFuture = doExecuteAsync(queryIterator);
 		doFutureCallback(allResultSetFuture, cb);
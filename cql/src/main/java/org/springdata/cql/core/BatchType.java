@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import com.datastax.driver.core.BatchStatement;
+
+/**
+ * Enum for Cassandra batch types.
+ *
+ * @author Alex Shvid
+ */
+public enum BatchType {
+
+	/**
+	 * Atomic batch, written to the batchlog before the statements are applied.
+	 */
+	LOGGED(BatchStatement.Type.LOGGED),
+
+	/**
+	 * Batch without the batchlog, atomic only within one partition.
+	 */
+	UNLOGGED(BatchStatement.Type.UNLOGGED),
+
+	/**
+	 * Batch of counter updates, counters can not be mixed with other statements.
+	 */
+	COUNTER(BatchStatement.Type.COUNTER);
+
+	private final BatchStatement.Type type;
+
+	private BatchType(BatchStatement.Type type) {
+		this.type = type;
+	}
+
+	/**
+	 * Returns the driver type of this {@link BatchType}.
+	 */
+	public BatchStatement.Type type() {
+		return type;
+	}
+
+	/**
+	 * Creates empty batch statement of this {@link BatchType}.
+	 */
+	public BatchStatement newBatch() {
+		return new BatchStatement(type);
+	}
+}
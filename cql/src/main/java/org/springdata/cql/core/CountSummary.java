@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import org.springframework.util.Assert;
+
+/**
+ * Result of the token range count. If only a sample of the ranges is counted the count is extrapolated to the whole
+ * ring and the error bound is the 95% confidence interval of the estimate.
+ *
+ * @author Alex Shvid
+ *
+ */
+public final class CountSummary {
+
+	/*
+	 * Quantile of the normal distribution for the 95% confidence
+	 */
+	private static final double Z_95 = 1.96;
+
+	private final long count;
+	private final long errorBound;
+	private final int rangeCount;
+	private final int countedRangeCount;
+	private final long retryCount;
+
+	public CountSummary(long count, long errorBound, int rangeCount, int countedRangeCount, long retryCount) {
+		this.count = count;
+		this.errorBound = errorBound;
+		this.rangeCount = rangeCount;
+		this.countedRangeCount = countedRangeCount;
+		this.retryCount = retryCount;
+	}
+
+	/**
+	 * Creates summary from the counts of the sampled ranges. Sampled ranges are drawn without replacement, so the
+	 * finite population correction is applied to the standard error.
+	 *
+	 * @param rangeCounts row counts of the sampled ranges
+	 * @param rangeCount number of ranges on the whole ring
+	 * @param retryCount number of retried range requests
+	 * @return CountSummary
+	 */
+	public static CountSummary fromSample(long[] rangeCounts, int rangeCount, long retryCount) {
+		Assert.notNull(rangeCounts);
+		Assert.isTrue(rangeCounts.length <= rangeCount, "more sampled ranges than ranges");
+
+		int k = rangeCounts.length;
+
+		long sum = 0;
+		for (long rangeRows : rangeCounts) {
+			sum += rangeRows;
+		}
+
+		if (k == rangeCount) {
+			return new CountSummary(sum, 0, rangeCount, k, retryCount);
+		}
+
+		if (k == 0) {
+			throw new IllegalArgumentException("no sampled ranges");
+		}
+
+		double mean = (double) sum / k;
+		double estimate = mean * rangeCount;
+
+		if (k == 1) {
+			return new CountSummary(Math.round(estimate), Math.round(estimate), rangeCount, k, retryCount);
+		}
+
+		double squares = 0;
+		for (long rangeRows : rangeCounts) {
+			double d = rangeRows - mean;
+			squares += d * d;
+		}
+
+		double variance = squares / (k - 1);
+		double fpc = (double) (rangeCount - k) / (rangeCount - 1);
+		double standardError = rangeCount * Math.sqrt(variance / k * fpc);
+
+		return new CountSummary(Math.round(estimate), (long) Math.ceil(Z_95 * standardError), rangeCount, k, retryCount);
+	}
+
+	/**
+	 * Returns number of rows, exact or estimated
+	 *
+	 * @return number of rows
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns half width of the 95% confidence interval of the estimated count, 0 for the exact count
+	 *
+	 * @return error bound
+	 */
+	public long getErrorBound() {
+		return errorBound;
+	}
+
+	/**
+	 * Returns true if all ranges were counted
+	 *
+	 * @return true if the count is exact
+	 */
+	public boolean isExact() {
+		return countedRangeCount == rangeCount;
+	}
+
+	/**
+	 * Returns number of token ranges the ring was split to
+	 *
+	 * @return number of ranges
+	 */
+	public int getRangeCount() {
+		return rangeCount;
+	}
+
+	/**
+	 * Returns number of token ranges that were counted
+	 *
+	 * @return number of counted ranges
+	 */
+	public int getCountedRangeCount() {
+		return countedRangeCount;
+	}
+
+	/**
+	 * Returns number of retried range requests
+	 *
+	 * @return number of retries
+	 */
+	public long getRetryCount() {
+		return retryCount;
+	}
+
+	@Override
+	public String toString() {
+		return "CountSummary [count=" + count + ", errorBound=" + errorBound + ", rangeCount=" + rangeCount
+				+ ", countedRangeCount=" + countedRangeCount + ", retryCount=" + retryCount + "]";
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+/**
+ * Ingest operation that discards ResultSets and returns only the number of successful and failed statements.
+ * 
+ * Each failure is also passed to the FallbackHandler if it is defined.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface CountingIngestOperation extends StatementOperation<IngestSummary, CountingIngestOperation> {
+
+	/**
+	 * Limits number of statements executed at the same time.
+	 * 
+	 * @param maxInFlight maximum number of statements in flight
+	 * @return this
+	 */
+	CountingIngestOperation withMaxInFlight(int maxInFlight);
+
+}
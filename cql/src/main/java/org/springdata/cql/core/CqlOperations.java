@@ -15,6 +15,7 @@
  */
 package org.springdata.cql.core;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -139,6 +140,22 @@ public interface CqlOperations {
 	 */
 	ExecuteOperation buildExecuteInBatchOperation(String[] cqls);
 
+	/**
+	 * Executes the supplied CQL Query batch of the given type and returns ResultSet
+	 * 
+	 * @param sqls The CQL queries
+	 * @param batchType LOGGED, UNLOGGED or COUNTER
+	 */
+	ResultSet executeInBatch(String[] cqls, BatchType batchType);
+
+	/**
+	 * Builds ExecuteOperation for the supplied CQL Query batch of the given type
+	 * 
+	 * @param sqls The CQL queries
+	 * @param batchType LOGGED, UNLOGGED or COUNTER
+	 */
+	ExecuteOperation buildExecuteInBatchOperation(String[] cqls, BatchType batchType);
+
 	/**
 	 * Executes the supplied CQL Query batch and returns ResultSet
 	 * 
@@ -153,6 +170,22 @@ public interface CqlOperations {
 	 */
 	ExecuteOperation buildExecuteInBatchOperation(Iterable<RegularStatement> statements);
 
+	/**
+	 * Executes the supplied CQL Query batch of the given type and returns ResultSet
+	 * 
+	 * @param statements The Statements
+	 * @param batchType LOGGED, UNLOGGED or COUNTER
+	 */
+	ResultSet executeInBatch(Iterable<RegularStatement> statements, BatchType batchType);
+
+	/**
+	 * Builds ExecuteOperation for the supplied CQL Query batch of the given type
+	 * 
+	 * @param statements The Statements
+	 * @param batchType LOGGED, UNLOGGED or COUNTER
+	 */
+	ExecuteOperation buildExecuteInBatchOperation(Iterable<RegularStatement> statements, BatchType batchType);
+
 	/**
 	 * Builds SelectOperation for the provided CQL Query
 	 * 
@@ -211,6 +244,26 @@ public interface CqlOperations {
 	 */
 	<T> List<T> process(ResultSet resultSet, RowMapper<T> rowMapper);
 
+	/**
+	 * Processes the ResultSet lazily through the RowMapper. Rows are mapped on demand and the next page is requested
+	 * asynchronously when the half of the current page is consumed.
+	 * 
+	 * @param resultSet Results to process
+	 * @param rowMapper RowMapper with the processing implementation
+	 * @return Iterator of <T> generated by the RowMapper
+	 */
+	<T> Iterator<T> stream(ResultSet resultSet, RowMapper<T> rowMapper);
+
+	/**
+	 * Processes only the rows of the current page of the ResultSet through the RowMapper, the next page is not fetched.
+	 * Returns the mapped rows with the paging state of the next page.
+	 * 
+	 * @param resultSet Results to process
+	 * @param rowMapper RowMapper with the processing implementation
+	 * @return ResultPage of <T> generated by the RowMapper
+	 */
+	<T> ResultPage<T> processPage(ResultSet resultSet, RowMapper<T> rowMapper);
+
 	/**
 	 * Process a ResultSet through a RowMapper. This is used internal to the Template for core operations, but is made
 	 * available through Operations in the event you have a ResultSet to process. The ResultsSet could come from a
@@ -410,6 +463,44 @@ public interface CqlOperations {
 	 */
 	TransformOperation<Long> buildCountAllOperation(String tableName);
 
+	/**
+	 * Counts rows of the table by splitting the token ring into ranges that are counted in parallel, each range by its
+	 * own COUNT(*) query
+	 * 
+	 * @param tableName
+	 * @return summary of the count
+	 */
+	CountSummary countByRanges(String tableName);
+
+	/**
+	 * Counts rows of the table by splitting the token ring into ranges that are counted in parallel. Counts all ranges
+	 * or estimates the count by a sample of the ranges.
+	 * 
+	 * @param tableName
+	 * @return RangeCountOperation
+	 */
+	RangeCountOperation buildRangeCountOperation(String tableName);
+
+	/**
+	 * Scans the whole table by splitting the token ring into ranges that are queried in parallel. Rows of different
+	 * ranges are passed to the callback concurrently, so the callback must be thread safe.
+	 * 
+	 * @param tableName
+	 * @param rch row callback
+	 * @return summary of the scan
+	 */
+	ScanSummary scan(String tableName, RowCallbackHandler rch);
+
+	/**
+	 * Scans the whole table by splitting the token ring into ranges that are queried in parallel. Rows of different
+	 * ranges are passed to the callback concurrently, so the callback must be thread safe.
+	 * 
+	 * @param tableName
+	 * @param rch row callback
+	 * @return ScanOperation
+	 */
+	ScanOperation buildScanOperation(String tableName, RowCallbackHandler rch);
+
 	/**
 	 * Delete all rows in the table
 	 * 
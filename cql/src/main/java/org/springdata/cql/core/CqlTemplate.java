@@ -22,20 +22,30 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdata.cql.codec.CodecRegistry;
+import org.springdata.cql.metrics.SlowQueryLog;
+import org.springdata.cql.metrics.StatementMetrics;
 import org.springdata.cql.support.CassandraExceptionTranslator;
 import org.springdata.cql.support.exception.CassandraNotSingleResultException;
 import org.springdata.cql.support.exception.CassandraStatementAware;
 import org.springframework.util.Assert;
 
+import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ColumnDefinitions;
-import com.datastax.driver.core.ColumnDefinitions.Definition;
-import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Host;
 import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PagingState;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
@@ -44,12 +54,14 @@ import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
-import com.datastax.driver.core.querybuilder.Batch;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.google.common.base.Function;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 
 /**
  * <b>This is the Central class in the Cassandra core package.</b> It simplifies the use of Cassandra and helps to avoid
@@ -75,6 +87,22 @@ public class CqlTemplate implements CqlOperations {
 
 	private CassandraExceptionTranslator exceptionTranslator = new CassandraExceptionTranslator();
 
+	private PreparedStatementCache preparedStatementCache;
+
+	private boolean prepareCqlStrings;
+
+	private volatile TokenPartitioner tokenPartitioner;
+
+	private volatile ScheduledExecutorService speculativeExecutor;
+
+	private volatile Executor scanExecutor;
+
+	private volatile StatementMetrics statementMetrics;
+
+	private volatile SlowQueryLog slowQueryLog;
+
+	private CodecRegistry codecRegistry = new CodecRegistry();
+
 	private AdminCqlOperations adminOperations;
 	private SchemaCqlOperations schemaOperations;
 
@@ -149,6 +177,55 @@ public class CqlTemplate implements CqlOperations {
 		return this.exceptionTranslator;
 	}
 
+	/**
+	 * Enables caching of PreparedStatements that are prepared by the template itself, for example range queries of the
+	 * scan and count operations. CQL strings passed to execute(String) are cached only if
+	 * {@link #setPrepareCqlStrings(boolean)} is enabled.
+	 * 
+	 * @param cacheSize maximum number of cached statements, zero disables the cache
+	 */
+	public void setPreparedStatementCacheSize(int cacheSize) {
+		Assert.isTrue(cacheSize >= 0, "cacheSize must not be negative");
+		this.preparedStatementCache = cacheSize > 0 ? new PreparedStatementCache(cacheSize) : null;
+	}
+
+	/**
+	 * Return the prepared statement cache or null if caching is disabled.
+	 */
+	public PreparedStatementCache getPreparedStatementCache() {
+		return preparedStatementCache;
+	}
+
+	/**
+	 * Executes CQL strings passed to execute(String), buildExecuteOperation(String) and buildQueryOperation(String) as
+	 * cached PreparedStatements. Disabled by default, enable it only if the application repeats the same CQL strings,
+	 * otherwise DDL and statements with inline literals evict the reused statements from the cache. Requires the
+	 * prepared statement cache.
+	 * 
+	 * @param prepareCqlStrings true to prepare CQL strings
+	 */
+	public void setPrepareCqlStrings(boolean prepareCqlStrings) {
+		this.prepareCqlStrings = prepareCqlStrings;
+	}
+
+	public boolean isPrepareCqlStrings() {
+		return prepareCqlStrings;
+	}
+
+	/**
+	 * Sets the codecs that decode columns in queryForObject, queryForMap and their list variants
+	 * 
+	 * @param codecRegistry CodecRegistry
+	 */
+	public void setCodecRegistry(CodecRegistry codecRegistry) {
+		Assert.notNull(codecRegistry);
+		this.codecRegistry = codecRegistry;
+	}
+
+	public CodecRegistry getCodecRegistry() {
+		return codecRegistry;
+	}
+
 	@Override
 	public Statement createStatement(StatementCreator qc) {
 		Assert.notNull(qc);
@@ -170,13 +247,25 @@ public class CqlTemplate implements CqlOperations {
 	@Override
 	public ResultSet execute(String cql) {
 		Assert.notNull(cql);
-		return doExecute(new SimpleStatement(cql));
+		return doExecute(doCreateStatement(cql));
 	}
 
 	@Override
-	public ExecuteOperation buildExecuteOperation(String cql) {
+	public ExecuteOperation buildExecuteOperation(final String cql) {
 		Assert.notNull(cql);
-		return new DefaultExecuteOperation(this, cql);
+
+		if (!isPreparingCqlStrings()) {
+			return new DefaultExecuteOperation(this, cql);
+		}
+
+		return new DefaultExecuteOperation(this, new StatementCreator() {
+
+			@Override
+			public Statement createStatement() {
+				return doCreateStatement(cql);
+			}
+
+		});
 	}
 
 	@Override
@@ -231,7 +320,17 @@ public class CqlTemplate implements CqlOperations {
 	}
 
 	@Override
-	public ExecuteOperation buildExecuteInBatchOperation(final String[] cqls) {
+	public ExecuteOperation buildExecuteInBatchOperation(String[] cqls) {
+		return buildExecuteInBatchOperation(cqls, BatchType.LOGGED);
+	}
+
+	@Override
+	public ResultSet executeInBatch(String[] cqls, BatchType batchType) {
+		return buildExecuteInBatchOperation(cqls, batchType).execute();
+	}
+
+	@Override
+	public ExecuteOperation buildExecuteInBatchOperation(final String[] cqls, BatchType batchType) {
 		Assert.notNull(cqls);
 
 		final Iterator<RegularStatement> statements = Iterators.transform(new ArrayIterator<String>(cqls),
@@ -251,7 +350,7 @@ public class CqlTemplate implements CqlOperations {
 				return statements;
 			}
 
-		});
+		}, batchType);
 	}
 
 	@Override
@@ -260,8 +359,20 @@ public class CqlTemplate implements CqlOperations {
 	}
 
 	@Override
-	public ExecuteOperation buildExecuteInBatchOperation(final Iterable<RegularStatement> statements) {
+	public ExecuteOperation buildExecuteInBatchOperation(Iterable<RegularStatement> statements) {
+		return buildExecuteInBatchOperation(statements, BatchType.LOGGED);
+	}
+
+	@Override
+	public ResultSet executeInBatch(Iterable<RegularStatement> statements, BatchType batchType) {
+		return buildExecuteInBatchOperation(statements, batchType).execute();
+	}
+
+	@Override
+	public ExecuteOperation buildExecuteInBatchOperation(final Iterable<RegularStatement> statements,
+			final BatchType batchType) {
 		Assert.notNull(statements);
+		Assert.notNull(batchType);
 
 		return new DefaultExecuteOperation(this, new StatementCreator() {
 
@@ -271,7 +382,7 @@ public class CqlTemplate implements CqlOperations {
 				/*
 				 * Return variable is a Batch statement
 				 */
-				final Batch batch = QueryBuilder.batch();
+				final BatchStatement batch = batchType.newBatch();
 
 				boolean emptyBatch = true;
 				for (RegularStatement statement : statements) {
@@ -295,7 +406,7 @@ public class CqlTemplate implements CqlOperations {
 	@Override
 	public QueryOperation buildQueryOperation(String cql) {
 		Assert.notNull(cql);
-		Statement query = new SimpleStatement(cql);
+		Statement query = doCreateStatement(cql);
 		return new DefaultQueryOperation(this, query);
 	}
 
@@ -319,6 +430,47 @@ public class CqlTemplate implements CqlOperations {
 		return new DefaultQueryOperation(this, query);
 	}
 
+	/**
+	 * Creates statement for the CQL string. Uses cached PreparedStatement only if preparing of CQL strings is enabled.
+	 * 
+	 * @param cql
+	 * @return SimpleStatement or BoundStatement
+	 */
+	protected Statement doCreateStatement(String cql) {
+
+		if (!isPreparingCqlStrings()) {
+			return new SimpleStatement(cql);
+		}
+
+		return doGetCachedPreparedStatement(cql).bind();
+	}
+
+	private boolean isPreparingCqlStrings() {
+		return prepareCqlStrings && preparedStatementCache != null;
+	}
+
+	/**
+	 * Returns cached PreparedStatement or prepares the new one through doPrepareStatement.
+	 * 
+	 * @param cql
+	 * @return PreparedStatement
+	 */
+	protected PreparedStatement doGetCachedPreparedStatement(final String cql) {
+
+		if (preparedStatementCache == null) {
+			return doPrepareStatement(new SimplePreparedStatementCreator(cql));
+		}
+
+		return preparedStatementCache.getPreparedStatement(getKeyspace(), cql, new Callable<PreparedStatement>() {
+
+			@Override
+			public PreparedStatement call() {
+				return doPrepareStatement(new SimplePreparedStatementCreator(cql));
+			}
+
+		});
+	}
+
 	/**
 	 * Execute a query creator
 	 * 
@@ -365,15 +517,27 @@ public class CqlTemplate implements CqlOperations {
 			logger.debug(stmt.toString());
 		}
 
+		final boolean timed = isTimed();
+		final long startNanos = timed ? System.nanoTime() : 0L;
+
 		try {
 
-			return getSession().execute(stmt);
+			ResultSet resultSet = getSession().execute(stmt);
+
+			if (timed) {
+				recordSuccess(stmt, startNanos, resultSet);
+			}
+
+			return resultSet;
 
 		} catch (RuntimeException e) {
 			e = translateIfPossible(e);
 			if (e instanceof CassandraStatementAware) {
 				((CassandraStatementAware) e).setStatement(stmt);
 			}
+			if (timed) {
+				recordFailure(stmt, startNanos, e);
+			}
 			throw e;
 		}
 
@@ -391,20 +555,84 @@ public class CqlTemplate implements CqlOperations {
 			logger.debug(query.toString());
 		}
 
+		final boolean timed = isTimed();
+		final long startNanos = timed ? System.nanoTime() : 0L;
+
 		try {
 
-			return getSession().executeAsync(query);
+			ResultSetFuture resultSetFuture = getSession().executeAsync(query);
+
+			if (timed) {
+				Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+					@Override
+					public void onSuccess(ResultSet resultSet) {
+						recordSuccess(query, startNanos, resultSet);
+					}
+
+					@Override
+					public void onFailure(Throwable t) {
+						if (t instanceof CancellationException) {
+							return;
+						}
+						if (t instanceof RuntimeException) {
+							t = translateIfPossible((RuntimeException) t);
+						}
+						recordFailure(query, startNanos, t);
+					}
+
+				}, MoreExecutors.sameThreadExecutor());
+			}
+
+			return resultSetFuture;
 
 		} catch (RuntimeException e) {
 			e = translateIfPossible(e);
 			if (e instanceof CassandraStatementAware) {
 				((CassandraStatementAware) e).setStatement(query);
 			}
+			if (timed) {
+				recordFailure(query, startNanos, e);
+			}
 			throw e;
 		}
 
 	}
 
+	private boolean isTimed() {
+		return statementMetrics != null || slowQueryLog != null;
+	}
+
+	private void recordSuccess(Statement stmt, long startNanos, ResultSet resultSet) {
+
+		long elapsedNanos = System.nanoTime() - startNanos;
+
+		StatementMetrics metrics = statementMetrics;
+		if (metrics != null) {
+			metrics.recordSuccess(stmt, elapsedNanos, resultSet.getAvailableWithoutFetching());
+		}
+
+		SlowQueryLog log = slowQueryLog;
+		if (log != null) {
+			log.onSuccess(stmt, elapsedNanos, resultSet);
+		}
+	}
+
+	private void recordFailure(Statement stmt, long startNanos, Throwable t) {
+
+		long elapsedNanos = System.nanoTime() - startNanos;
+
+		StatementMetrics metrics = statementMetrics;
+		if (metrics != null) {
+			metrics.recordFailure(stmt, elapsedNanos, t);
+		}
+
+		SlowQueryLog log = slowQueryLog;
+		if (log != null) {
+			log.onFailure(stmt, elapsedNanos, t);
+		}
+	}
+
 	/**
 	 * Deserializes first column in the row.
 	 * 
@@ -420,7 +648,7 @@ public class CqlTemplate implements CqlOperations {
 		if (cols.size() == 0) {
 			return null;
 		}
-		return cols.getType(0).deserialize(row.getBytesUnsafe(0));
+		return codecRegistry.getCodec(cols.getType(0)).decode(row, 0);
 	}
 
 	/**
@@ -437,10 +665,8 @@ public class CqlTemplate implements CqlOperations {
 		ColumnDefinitions cols = row.getColumnDefinitions();
 		Map<String, Object> map = new HashMap<String, Object>(cols.size());
 
-		for (Definition def : cols.asList()) {
-			String name = def.getName();
-			DataType dataType = def.getType();
-			map.put(name, dataType.deserialize(row.getBytesUnsafe(name)));
+		for (int i = 0; i != cols.size(); ++i) {
+			map.put(cols.getName(i), codecRegistry.getCodec(cols.getType(i)).decode(row, i));
 		}
 
 		return map;
@@ -557,6 +783,60 @@ public class CqlTemplate implements CqlOperations {
 
 	}
 
+	@Override
+	public <T> Iterator<T> stream(ResultSet resultSet, RowMapper<T> rowMapper) {
+		return stream(resultSet, rowMapper, getDefaultFetchSize() / 2);
+	}
+
+	/**
+	 * Processes the ResultSet lazily through the RowMapper.
+	 * 
+	 * @param resultSet Results to process
+	 * @param rowMapper RowMapper with the processing implementation
+	 * @param prefetchThreshold number of rows left in the current page that triggers fetch of the next page
+	 * @return Iterator of <T> generated by the RowMapper
+	 */
+	public <T> Iterator<T> stream(ResultSet resultSet, RowMapper<T> rowMapper, int prefetchThreshold) {
+		Assert.notNull(resultSet);
+		Assert.notNull(rowMapper);
+
+		return new PrefetchingRowIterator<T>(this, resultSet, rowMapper, prefetchThreshold);
+	}
+
+	@Override
+	public <T> ResultPage<T> processPage(ResultSet resultSet, final RowMapper<T> rowMapper) {
+		Assert.notNull(resultSet);
+		Assert.notNull(rowMapper);
+
+		return doProcess(resultSet, new ResultSetExtractor<ResultPage<T>>() {
+
+			@Override
+			public ResultPage<T> extractData(ResultSet resultSet) {
+
+				int available = resultSet.getAvailableWithoutFetching();
+				List<T> result = new ArrayList<T>(available);
+
+				for (int rowNum = 0; rowNum != available; ++rowNum) {
+					result.add(rowMapper.mapRow(resultSet.one(), rowNum));
+				}
+
+				PagingState pagingState = resultSet.getExecutionInfo().getPagingState();
+
+				return new ResultPage<T>(result, pagingState != null ? pagingState.toString() : null);
+			}
+
+		});
+	}
+
+	/**
+	 * Returns default fetch size from the cluster configuration
+	 * 
+	 * @return fetch size
+	 */
+	public int getDefaultFetchSize() {
+		return getSession().getCluster().getConfiguration().getQueryOptions().getFetchSize();
+	}
+
 	@Override
 	public <T> T processOne(ResultSet resultSet, final RowMapper<T> rowMapper, final boolean singleResult) {
 		Assert.notNull(resultSet);
@@ -909,6 +1189,141 @@ public class CqlTemplate implements CqlOperations {
 		}).singleResult().firstColumn(Long.class);
 	}
 
+	@Override
+	public CountSummary countByRanges(String tableName) {
+		return buildRangeCountOperation(tableName).execute();
+	}
+
+	@Override
+	public RangeCountOperation buildRangeCountOperation(String tableName) {
+		return new DefaultRangeCountOperation(this, tableName);
+	}
+
+	@Override
+	public ScanSummary scan(String tableName, RowCallbackHandler rch) {
+		return buildScanOperation(tableName, rch).execute();
+	}
+
+	@Override
+	public ScanOperation buildScanOperation(String tableName, RowCallbackHandler rch) {
+		return new DefaultScanOperation(this, tableName, rch);
+	}
+
+	/**
+	 * Sets metrics that record latency, errors and first page rows of every executed statement, null disables metrics
+	 * 
+	 * @param statementMetrics StatementMetrics, for example DefaultStatementMetrics
+	 */
+	public void setStatementMetrics(StatementMetrics statementMetrics) {
+		this.statementMetrics = statementMetrics;
+	}
+
+	public StatementMetrics getStatementMetrics() {
+		return statementMetrics;
+	}
+
+	/**
+	 * Sets log of the statements that are slower than the threshold, null disables the log
+	 * 
+	 * @param slowQueryLog SlowQueryLog
+	 */
+	public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+		this.slowQueryLog = slowQueryLog;
+	}
+
+	public SlowQueryLog getSlowQueryLog() {
+		return slowQueryLog;
+	}
+
+	/**
+	 * Sets scheduler that launches delayed requests of the speculative execution. By default the single daemon thread is
+	 * created on the first use.
+	 * 
+	 * @param speculativeExecutor ScheduledExecutorService
+	 */
+	public void setSpeculativeExecutor(ScheduledExecutorService speculativeExecutor) {
+		Assert.notNull(speculativeExecutor);
+		this.speculativeExecutor = speculativeExecutor;
+	}
+
+	protected ScheduledExecutorService getSpeculativeExecutor() {
+		ScheduledExecutorService executor = speculativeExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = speculativeExecutor;
+				if (executor == null) {
+					executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread thread = new Thread(r, "cql-speculative-execution");
+							thread.setDaemon(true);
+							return thread;
+						}
+
+					});
+					speculativeExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Sets executor that processes rows of the scan operations. By default the pool of daemon threads is created on the
+	 * first use. The executor must not run tasks on the calling thread, it is the driver I/O thread.
+	 * 
+	 * @param scanExecutor Executor
+	 */
+	public void setScanExecutor(Executor scanExecutor) {
+		Assert.notNull(scanExecutor);
+		this.scanExecutor = scanExecutor;
+	}
+
+	protected Executor getScanExecutor() {
+		Executor executor = scanExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = scanExecutor;
+				if (executor == null) {
+					executor = Executors.newCachedThreadPool(new ThreadFactory() {
+
+						private final AtomicInteger threadNumber = new AtomicInteger();
+
+						@Override
+						public Thread newThread(Runnable r) {
+							Thread thread = new Thread(r, "cql-scan-" + threadNumber.incrementAndGet());
+							thread.setDaemon(true);
+							return thread;
+						}
+
+					});
+					scanExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * Returns partitioner of the cluster, the value is read from the system table once
+	 * 
+	 * @return TokenPartitioner
+	 * @throws IllegalStateException if the partitioner does not support token range split
+	 */
+	protected TokenPartitioner getTokenPartitioner() {
+		TokenPartitioner partitioner = tokenPartitioner;
+		if (partitioner == null) {
+			Row row = execute(QueryBuilder.select("partitioner").from("system", "local")).one();
+			if (row == null) {
+				throw new IllegalStateException("partitioner not found in system.local");
+			}
+			partitioner = TokenPartitioner.forClassName(row.getString(0));
+			tokenPartitioner = partitioner;
+		}
+		return partitioner;
+	}
+
 	@Override
 	public ResultSet truncate(String tableName) {
 		return buildTruncateOperation(tableName).execute();
@@ -17,11 +17,17 @@ package org.springdata.cql.core;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.policies.RetryPolicy;
 import com.datastax.driver.core.querybuilder.Batch;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 
@@ -36,30 +42,43 @@ public class DefaultIngestOperation extends AbstractStatementOperation<List<Resu
 		IngestOperation {
 
 	private final Iterator<Statement> queryIterator;
+	private int maxInFlight = Integer.MAX_VALUE;
 
 	public DefaultIngestOperation(CqlTemplate cqlTemplate, Iterator<Statement> iterator) {
 		super(cqlTemplate);
 		this.queryIterator = iterator;
 	}
 
+	@Override
+	public IngestOperation withMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.maxInFlight = maxInFlight;
+		return this;
+	}
+
+	@Override
+	public CountingIngestOperation discardResults() {
+		return new DefaultCountingIngestOperation();
+	}
+
 	@Override
 	public List<ResultSet> execute() {
-		return doExecute(queryIterator);
+		return doExecuteAsync(queryIterator, maxInFlight).getUninterruptibly();
 	}
 
 	@Override
 	public CassandraFuture<List<ResultSet>> executeAsync() {
-		return doExecuteAsync(queryIterator);
+		return doExecuteAsync(queryIterator, maxInFlight);
 	}
 
 	@Override
 	public void executeAsync(CallbackHandler<List<ResultSet>> cb) {
-		doExecuteAsync(queryIterator, cb);
+		doFutureCallback(doExecuteAsync(queryIterator, maxInFlight), cb);
 	}
 
 	@Override
 	public List<ResultSet> executeNonstop(int timeoutMls) throws TimeoutException {
-		return doExecuteNonstop(queryIterator, timeoutMls);
+		return doExecuteAsync(queryIterator, maxInFlight).getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
 	}
 
 	@Override
@@ -82,4 +101,100 @@ public class DefaultIngestOperation extends AbstractStatementOperation<List<Resu
 		return batch;
 	}
 
+	/**
+	 * Counting ingest operation that shares options and statements with the outer operation
+	 * 
+	 * @author Alex Shvid
+	 * 
+	 */
+
+	final class DefaultCountingIngestOperation implements CountingIngestOperation {
+
+		@Override
+		public CountingIngestOperation withMaxInFlight(int maxInFlight) {
+			DefaultIngestOperation.this.withMaxInFlight(maxInFlight);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+			DefaultIngestOperation.this.withConsistencyLevel(consistencyLevel);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withRetryPolicy(RetryPolicy retryPolicy) {
+			DefaultIngestOperation.this.withRetryPolicy(retryPolicy);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withRetryPolicy(RetryPolicyInstance retryPolicy) {
+			DefaultIngestOperation.this.withRetryPolicy(retryPolicy);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withQueryTracing(Boolean queryTracing) {
+			DefaultIngestOperation.this.withQueryTracing(queryTracing);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withFetchSize(int fetchSize) {
+			DefaultIngestOperation.this.withFetchSize(fetchSize);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withSpeculativeExecution(int delayMls, int maxAttempts) {
+			DefaultIngestOperation.this.withSpeculativeExecution(delayMls, maxAttempts);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withIdempotent(boolean idempotent) {
+			DefaultIngestOperation.this.withIdempotent(idempotent);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withFallbackHandler(FallbackHandler fh) {
+			DefaultIngestOperation.this.withFallbackHandler(fh);
+			return this;
+		}
+
+		@Override
+		public CountingIngestOperation withExecutor(Executor executor) {
+			DefaultIngestOperation.this.withExecutor(executor);
+			return this;
+		}
+
+		@Override
+		public IngestSummary execute() {
+			return executeAsync().getUninterruptibly();
+		}
+
+		@Override
+		public CassandraFuture<IngestSummary> executeAsync() {
+			return doExecuteCountingAsync(queryIterator, maxInFlight);
+		}
+
+		@Override
+		public void executeAsync(CallbackHandler<IngestSummary> cb) {
+			doFutureCallback(executeAsync(), cb);
+		}
+
+		@Override
+		public IngestSummary executeNonstop(int timeoutMls) throws TimeoutException {
+			return executeAsync().getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public Statement toStatement() {
+			return DefaultIngestOperation.this.toStatement();
+		}
+
+	}
+
 }
@@ -15,13 +15,18 @@
  */
 package org.springdata.cql.core;
 
+import java.nio.ByteBuffer;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.policies.RetryPolicy;
 import com.google.common.base.Function;
@@ -45,6 +50,11 @@ public class DefaultQueryOperation extends AbstractStatementOperation<ResultSet,
 		this.statement = statement;
 	}
 
+	@Override
+	protected boolean isIdempotentByDefault() {
+		return true;
+	}
+
 	@Override
 	public SingleResultQueryOperation firstRow() {
 		return new DefaultSingleResultQueryOperation(this, false);
@@ -68,6 +78,112 @@ public class DefaultQueryOperation extends AbstractStatementOperation<ResultSet,
 		});
 	}
 
+	@Override
+	public <R> TransformOperation<Iterator<R>> stream(final RowMapper<R> rowMapper) {
+
+		return new ProcessingQueryOperation<Iterator<R>>(this, new Processor<Iterator<R>>() {
+
+			@Override
+			public Iterator<R> process(ResultSet resultSet) {
+				return cqlTemplate.stream(resultSet, rowMapper, getEffectiveFetchSize() / 2);
+			}
+
+		});
+	}
+
+	@Override
+	public TransformOperation<ResultPage<Row>> page(int size, String pagingState) {
+
+		return page(size, pagingState, new RowMapper<Row>() {
+
+			@Override
+			public Row mapRow(Row row, int rowNum) {
+				return row;
+			}
+
+		});
+	}
+
+	@Override
+	public <R> TransformOperation<ResultPage<R>> page(int size, String pagingState, final RowMapper<R> rowMapper) {
+
+		/*
+		 * Page is queried by the copy of the statement and the options, so this operation stays unchanged
+		 */
+		DefaultQueryOperation paged = new DefaultQueryOperation(cqlTemplate, copyStatement(statement));
+		paged.copyOptions(this);
+		paged.withFetchSize(size);
+		paged.setPagingState(pagingState);
+
+		return paged.processPage(rowMapper);
+	}
+
+	private <R> TransformOperation<ResultPage<R>> processPage(final RowMapper<R> rowMapper) {
+
+		return new ProcessingQueryOperation<ResultPage<R>>(this, new Processor<ResultPage<R>>() {
+
+			@Override
+			public ResultPage<R> process(ResultSet resultSet) {
+				return cqlTemplate.processPage(resultSet, rowMapper);
+			}
+
+		});
+	}
+
+	/*
+	 * Copies the query, values, routing key and options of the regular or bound statement, other statements can not be
+	 * paged and are used as is
+	 */
+	private static Statement copyStatement(Statement statement) {
+
+		Statement copy;
+
+		if (statement instanceof BoundStatement) {
+
+			BoundStatement bs = (BoundStatement) statement;
+			BoundStatement bsCopy = new BoundStatement(bs.preparedStatement());
+
+			for (int i = 0; i != bs.preparedStatement().getVariables().size(); ++i) {
+				bsCopy.setBytesUnsafe(i, bs.getBytesUnsafe(i));
+			}
+
+			copy = bsCopy;
+
+		} else if (statement instanceof RegularStatement) {
+
+			RegularStatement regular = (RegularStatement) statement;
+			ByteBuffer[] values = regular.getValues();
+
+			RoutedStatement routed = values == null ? new RoutedStatement(regular.getQueryString(), regular.getKeyspace())
+					: new RoutedStatement(regular.getQueryString(), regular.getKeyspace(), (Object[]) values);
+
+			if (regular.getRoutingKey() != null) {
+				routed.setRoutingKey(regular.getRoutingKey());
+			}
+
+			copy = routed;
+
+		} else {
+			return statement;
+		}
+
+		if (statement.getConsistencyLevel() != null) {
+			copy.setConsistencyLevel(statement.getConsistencyLevel());
+		}
+		if (statement.getSerialConsistencyLevel() != null) {
+			copy.setSerialConsistencyLevel(statement.getSerialConsistencyLevel());
+		}
+		if (statement.getRetryPolicy() != null) {
+			copy.setRetryPolicy(statement.getRetryPolicy());
+		}
+		if (statement.isTracing()) {
+			copy.enableTracing();
+		}
+		copy.setFetchSize(statement.getFetchSize());
+
+		return copy;
+	}
+
 	@Override
 	public TransformOperation<Boolean> exists() {
 
@@ -201,6 +317,24 @@ public class DefaultQueryOperation extends AbstractStatementOperation<ResultSet,
 			return this;
 		}
 
+		@Override
+		public TransformOperation<T> withFetchSize(int fetchSize) {
+			delegate.withFetchSize(fetchSize);
+			return this;
+		}
+
+		@Override
+		public TransformOperation<T> withSpeculativeExecution(int delayMls, int maxAttempts) {
+			delegate.withSpeculativeExecution(delayMls, maxAttempts);
+			return this;
+		}
+
+		@Override
+		public TransformOperation<T> withIdempotent(boolean idempotent) {
+			delegate.withIdempotent(idempotent);
+			return this;
+		}
+
 		@Override
 		public TransformOperation<T> withFallbackHandler(FallbackHandler fh) {
 			delegate.withFallbackHandler(fh);
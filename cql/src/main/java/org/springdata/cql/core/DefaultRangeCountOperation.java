@@ -0,0 +1,288 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.QueryValidationException;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Default implementation of the RangeCountOperation
+ *
+ * @author Alex Shvid
+ *
+ */
+public class DefaultRangeCountOperation extends AbstractStatementOperation<CountSummary, RangeCountOperation>
+		implements RangeCountOperation {
+
+	public static final int DEFAULT_SPLITS_PER_HOST = 16;
+	public static final int DEFAULT_MAX_RETRIES = 3;
+
+	private final String tableName;
+
+	private int splitsPerHost = DEFAULT_SPLITS_PER_HOST;
+	private Integer splits;
+	private Integer maxInFlight;
+	private int maxRetries = DEFAULT_MAX_RETRIES;
+	private Integer sampledRanges;
+
+	public DefaultRangeCountOperation(CqlTemplate cqlTemplate, String tableName) {
+		super(cqlTemplate);
+		Assert.notNull(tableName);
+		this.tableName = tableName;
+	}
+
+	@Override
+	protected boolean isIdempotentByDefault() {
+		return true;
+	}
+
+	@Override
+	public RangeCountOperation withSplitsPerHost(int splitsPerHost) {
+		Assert.isTrue(splitsPerHost > 0, "splitsPerHost must be positive");
+		this.splitsPerHost = splitsPerHost;
+		return this;
+	}
+
+	@Override
+	public RangeCountOperation withSplits(int splits) {
+		Assert.isTrue(splits > 0, "splits must be positive");
+		this.splits = splits;
+		return this;
+	}
+
+	@Override
+	public RangeCountOperation withMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.maxInFlight = maxInFlight;
+		return this;
+	}
+
+	@Override
+	public RangeCountOperation withMaxRetries(int maxRetries) {
+		Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative");
+		this.maxRetries = maxRetries;
+		return this;
+	}
+
+	@Override
+	public RangeCountOperation sampled(int sampledRanges) {
+		Assert.isTrue(sampledRanges > 0, "sampledRanges must be positive");
+		this.sampledRanges = sampledRanges;
+		return this;
+	}
+
+	@Override
+	public CountSummary execute() {
+		return executeAsync().getUninterruptibly();
+	}
+
+	@Override
+	public CassandraFuture<CountSummary> executeAsync() {
+
+		final TokenPartitioner partitioner = cqlTemplate.getTokenPartitioner();
+		final PreparedStatement ps = cqlTemplate.doGetCachedPreparedStatement(getRangeQuery());
+
+		int hostCount = Math.max(cqlTemplate.getHosts().size(), 1);
+		final List<TokenRange> ranges = partitioner.split(splits != null ? splits : hostCount * splitsPerHost);
+
+		List<TokenRange> counted = ranges;
+
+		if (sampledRanges != null && sampledRanges < ranges.size()) {
+			List<TokenRange> shuffled = new ArrayList<TokenRange>(ranges);
+			Collections.shuffle(shuffled);
+			counted = shuffled.subList(0, sampledRanges);
+		}
+
+		final AtomicLongArray rangeCounts = new AtomicLongArray(counted.size());
+		final AtomicLong retryCount = new AtomicLong();
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		WindowedExecution<TokenRange, Long> execution = new WindowedExecution<TokenRange, Long>(counted.iterator(),
+				maxInFlight != null ? maxInFlight : hostCount) {
+
+			@Override
+			protected ListenableFuture<Long> launch(TokenRange range) {
+				return new RangeCount(partitioner, ps, range, retryCount).start();
+			}
+
+			@Override
+			protected void onSuccess(long index, Long rows) {
+				rangeCounts.set((int) index, rows);
+			}
+
+			@Override
+			protected void onFailure(long index, Throwable t) {
+				if (t instanceof RuntimeException) {
+					t = cqlTemplate.translateIfPossible((RuntimeException) t);
+				}
+				if (failure.compareAndSet(null, t)) {
+					fireOnFailure(t);
+				}
+				stop();
+			}
+
+		};
+
+		ListenableFuture<CountSummary> summaryFuture = Futures.transform(execution.start(),
+				new AsyncFunction<Void, CountSummary>() {
+
+					@Override
+					public ListenableFuture<CountSummary> apply(Void input) {
+
+						Throwable t = failure.get();
+						if (t != null) {
+							return Futures.immediateFailedFuture(t);
+						}
+
+						long[] counts = new long[rangeCounts.length()];
+						for (int i = 0; i != counts.length; ++i) {
+							counts[i] = rangeCounts.get(i);
+						}
+
+						return Futures.immediateFuture(CountSummary.fromSample(counts, ranges.size(), retryCount.get()));
+					}
+
+				});
+
+		return new CassandraFuture<CountSummary>(summaryFuture, cqlTemplate.getExceptionTranslator());
+	}
+
+	@Override
+	public void executeAsync(CallbackHandler<CountSummary> cb) {
+		doFutureCallback(executeAsync(), cb);
+	}
+
+	@Override
+	public CountSummary executeNonstop(int timeoutMls) throws TimeoutException {
+		return executeAsync().getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns count query for the whole ring
+	 */
+	@Override
+	public Statement toStatement() {
+		TokenPartitioner partitioner = cqlTemplate.getTokenPartitioner();
+		PreparedStatement ps = cqlTemplate.doGetCachedPreparedStatement(getRangeQuery());
+		TokenRange range = partitioner.getFullRange();
+		BoundStatement bs = ps.bind(partitioner.toTokenValue(range.getStart()), partitioner.toTokenValue(range.getEnd()));
+		addQueryOptions(bs);
+		return bs;
+	}
+
+	protected String getRangeQuery() {
+
+		TableMetadata table = DefaultScanOperation.getTableMetadata(cqlTemplate, tableName);
+		String token = DefaultScanOperation.getTokenExpression(table);
+
+		return "SELECT COUNT(*) FROM " + DefaultScanOperation.getTableReference(table) + " WHERE " + token + " > ? AND "
+				+ token + " <= ?";
+	}
+
+	/**
+	 * Count of the single range, failed request is retried
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	final class RangeCount {
+
+		private final TokenPartitioner partitioner;
+		private final PreparedStatement ps;
+		private final TokenRange range;
+		private final AtomicLong retryCount;
+		private final SettableFuture<Long> future = SettableFuture.create();
+
+		private int attempts;
+
+		RangeCount(TokenPartitioner partitioner, PreparedStatement ps, TokenRange range, AtomicLong retryCount) {
+			this.partitioner = partitioner;
+			this.ps = ps;
+			this.range = range;
+			this.retryCount = retryCount;
+		}
+
+		ListenableFuture<Long> start() {
+			fetch();
+			return future;
+		}
+
+		private void fetch() {
+
+			ListenableFuture<ResultSet> resultSetFuture;
+
+			try {
+				BoundStatement bs = ps
+						.bind(partitioner.toTokenValue(range.getStart()), partitioner.toTokenValue(range.getEnd()));
+				addQueryOptions(bs);
+				resultSetFuture = doSendAsync(bs);
+			} catch (RuntimeException e) {
+				retryOrFail(e);
+				return;
+			}
+
+			Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet resultSet) {
+					Row row = resultSet.one();
+					future.set(row != null ? row.getLong(0) : 0L);
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					retryOrFail(t);
+				}
+
+			}, getExecutor());
+		}
+
+		private void retryOrFail(Throwable t) {
+			if (attempts < maxRetries && t instanceof DriverException && !(t instanceof QueryValidationException)) {
+				attempts++;
+				retryCount.incrementAndGet();
+				fetch();
+			} else {
+				future.setException(t);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.QueryValidationException;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Default implementation of the ScanOperation
+ *
+ * @author Alex Shvid
+ *
+ */
+public class DefaultScanOperation extends AbstractStatementOperation<ScanSummary, ScanOperation> implements
+		ScanOperation {
+
+	public static final int DEFAULT_SPLITS_PER_HOST = 16;
+	public static final int DEFAULT_MAX_RETRIES = 3;
+
+	private final String tableName;
+	private final RowCallbackHandler rch;
+
+	private String[] columns;
+	private int splitsPerHost = DEFAULT_SPLITS_PER_HOST;
+	private Integer splits;
+	private Integer maxInFlight;
+	private int maxRetries = DEFAULT_MAX_RETRIES;
+
+	public DefaultScanOperation(CqlTemplate cqlTemplate, String tableName, RowCallbackHandler rch) {
+		super(cqlTemplate);
+		Assert.notNull(tableName);
+		Assert.notNull(rch);
+		this.tableName = tableName;
+		this.rch = rch;
+	}
+
+	@Override
+	protected boolean isIdempotentByDefault() {
+		return true;
+	}
+
+	/**
+	 * Rows are processed by the scan executor of the template, so a slow handler never blocks the driver I/O threads
+	 */
+	@Override
+	protected Executor getDefaultExecutor() {
+		return cqlTemplate.getScanExecutor();
+	}
+
+	@Override
+	public ScanOperation withColumns(String... columns) {
+		Assert.notEmpty(columns);
+		this.columns = columns;
+		return this;
+	}
+
+	@Override
+	public ScanOperation withSplitsPerHost(int splitsPerHost) {
+		Assert.isTrue(splitsPerHost > 0, "splitsPerHost must be positive");
+		this.splitsPerHost = splitsPerHost;
+		return this;
+	}
+
+	@Override
+	public ScanOperation withSplits(int splits) {
+		Assert.isTrue(splits > 0, "splits must be positive");
+		this.splits = splits;
+		return this;
+	}
+
+	@Override
+	public ScanOperation withMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.maxInFlight = maxInFlight;
+		return this;
+	}
+
+	@Override
+	public ScanOperation withMaxRetries(int maxRetries) {
+		Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative");
+		this.maxRetries = maxRetries;
+		return this;
+	}
+
+	@Override
+	public ScanSummary execute() {
+		return executeAsync().getUninterruptibly();
+	}
+
+	@Override
+	public CassandraFuture<ScanSummary> executeAsync() {
+
+		final TokenPartitioner partitioner = cqlTemplate.getTokenPartitioner();
+		final PreparedStatement ps = cqlTemplate.doGetCachedPreparedStatement(getRangeQuery());
+
+		int hostCount = Math.max(cqlTemplate.getHosts().size(), 1);
+		final List<TokenRange> ranges = partitioner.split(splits != null ? splits : hostCount * splitsPerHost);
+
+		final AtomicLong rowCount = new AtomicLong();
+		final AtomicLong retryCount = new AtomicLong();
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		WindowedExecution<TokenRange, Long> execution = new WindowedExecution<TokenRange, Long>(ranges.iterator(),
+				maxInFlight != null ? maxInFlight : hostCount) {
+
+			@Override
+			protected ListenableFuture<Long> launch(TokenRange range) {
+				return new RangeScan(partitioner, ps, range, retryCount).start();
+			}
+
+			@Override
+			protected void onSuccess(long index, Long rows) {
+				rowCount.addAndGet(rows);
+			}
+
+			@Override
+			protected void onFailure(long index, Throwable t) {
+				if (t instanceof RuntimeException) {
+					t = cqlTemplate.translateIfPossible((RuntimeException) t);
+				}
+				if (failure.compareAndSet(null, t)) {
+					fireOnFailure(t);
+				}
+				stop();
+			}
+
+		};
+
+		ListenableFuture<ScanSummary> summaryFuture = Futures.transform(execution.start(),
+				new AsyncFunction<Void, ScanSummary>() {
+
+					@Override
+					public ListenableFuture<ScanSummary> apply(Void input) {
+
+						Throwable t = failure.get();
+						if (t != null) {
+							return Futures.immediateFailedFuture(t);
+						}
+
+						return Futures.immediateFuture(new ScanSummary(rowCount.get(), ranges.size(), retryCount.get()));
+					}
+
+				});
+
+		return new CassandraFuture<ScanSummary>(summaryFuture, cqlTemplate.getExceptionTranslator());
+	}
+
+	@Override
+	public void executeAsync(CallbackHandler<ScanSummary> cb) {
+		doFutureCallback(executeAsync(), cb);
+	}
+
+	@Override
+	public ScanSummary executeNonstop(int timeoutMls) throws TimeoutException {
+		return executeAsync().getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns query for the whole ring
+	 */
+	@Override
+	public Statement toStatement() {
+		TokenPartitioner partitioner = cqlTemplate.getTokenPartitioner();
+		PreparedStatement ps = cqlTemplate.doGetCachedPreparedStatement(getRangeQuery());
+		TokenRange range = partitioner.getFullRange();
+		BoundStatement bs = ps.bind(partitioner.toTokenValue(range.getStart()), partitioner.toTokenValue(range.getEnd()));
+		addQueryOptions(bs);
+		return bs;
+	}
+
+	protected String getRangeQuery() {
+
+		TableMetadata table = getTableMetadata();
+		String token = getTokenExpression(table);
+
+		StringBuilder cql = new StringBuilder("SELECT ");
+
+		if (columns == null) {
+			cql.append("*");
+		} else {
+			for (int i = 0; i != columns.length; ++i) {
+				if (i != 0) {
+					cql.append(",");
+				}
+				cql.append(columns[i]);
+			}
+		}
+
+		cql.append(" FROM ").append(getTableReference(table));
+		cql.append(" WHERE ").append(token).append(" > ? AND ").append(token).append(" <= ?");
+
+		return cql.toString();
+	}
+
+	protected TableMetadata getTableMetadata() {
+		return getTableMetadata(cqlTemplate, tableName);
+	}
+
+	/**
+	 * Returns token() function of the partition key columns of the table
+	 */
+	static String getTokenExpression(TableMetadata table) {
+
+		StringBuilder token = new StringBuilder("token(");
+		boolean first = true;
+		for (ColumnMetadata column : table.getPartitionKey()) {
+			if (!first) {
+				token.append(",");
+			}
+			token.append(Metadata.quote(column.getName()));
+			first = false;
+		}
+		token.append(")");
+
+		return token.toString();
+	}
+
+	/**
+	 * Returns quoted keyspace.table name
+	 */
+	static String getTableReference(TableMetadata table) {
+		return Metadata.quote(table.getKeyspace().getName()) + "." + Metadata.quote(table.getName());
+	}
+
+	/**
+	 * Returns metadata of the table in the keyspace of the template
+	 *
+	 * @throws IllegalStateException if the keyspace or the table is not found
+	 */
+	static TableMetadata getTableMetadata(CqlTemplate cqlTemplate, String tableName) {
+
+		final String keyspace = cqlTemplate.getKeyspace();
+
+		KeyspaceMetadata keyspaceMetadata = cqlTemplate.execute(new SessionCallback<KeyspaceMetadata>() {
+
+			@Override
+			public KeyspaceMetadata doInSession(Session session) {
+				return session.getCluster().getMetadata().getKeyspace(keyspace);
+			}
+
+		});
+
+		if (keyspaceMetadata == null) {
+			throw new IllegalStateException("keyspace not found " + keyspace);
+		}
+
+		TableMetadata table = keyspaceMetadata.getTable(tableName);
+
+		if (table == null) {
+			throw new IllegalStateException("table not found " + keyspace + "." + tableName);
+		}
+
+		return table;
+	}
+
+	/**
+	 * Scan of the single range page by page. Failed page is requested again from the last paging state.
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	final class RangeScan {
+
+		private final TokenPartitioner partitioner;
+		private final PreparedStatement ps;
+		private final TokenRange range;
+		private final AtomicLong retryCount;
+		private final SettableFuture<Long> future = SettableFuture.create();
+
+		private long rows;
+		private int attempts;
+		private PagingState pagingState;
+
+		RangeScan(TokenPartitioner partitioner, PreparedStatement ps, TokenRange range, AtomicLong retryCount) {
+			this.partitioner = partitioner;
+			this.ps = ps;
+			this.range = range;
+			this.retryCount = retryCount;
+		}
+
+		ListenableFuture<Long> start() {
+			fetch();
+			return future;
+		}
+
+		private void fetch() {
+
+			ListenableFuture<ResultSet> resultSetFuture;
+
+			try {
+				BoundStatement bs = ps
+						.bind(partitioner.toTokenValue(range.getStart()), partitioner.toTokenValue(range.getEnd()));
+				addQueryOptions(bs);
+				if (pagingState != null) {
+					bs.setPagingState(pagingState);
+				}
+				resultSetFuture = doSendAsync(bs);
+			} catch (RuntimeException e) {
+				retryOrFail(e);
+				return;
+			}
+
+			Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet resultSet) {
+					try {
+						onPage(resultSet);
+					} catch (RuntimeException e) {
+						future.setException(e);
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					retryOrFail(t);
+				}
+
+			}, getExecutor());
+		}
+
+		private void onPage(ResultSet resultSet) {
+
+			int available = resultSet.getAvailableWithoutFetching();
+
+			for (int i = 0; i != available; ++i) {
+				rch.processRow(resultSet.one());
+			}
+
+			rows += available;
+			attempts = 0;
+
+			PagingState next = resultSet.getExecutionInfo().getPagingState();
+
+			if (next == null) {
+				future.set(rows);
+			} else {
+				pagingState = next;
+				fetch();
+			}
+		}
+
+		private void retryOrFail(Throwable t) {
+			if (attempts < maxRetries && t instanceof DriverException && !(t instanceof QueryValidationException)) {
+				attempts++;
+				retryCount.incrementAndGet();
+				fetch();
+			} else {
+				future.setException(t);
+			}
+		}
+
+	}
+
+}
@@ -27,4 +27,21 @@ import com.datastax.driver.core.ResultSet;
  */
 public interface IngestOperation extends StatementOperation<List<ResultSet>, IngestOperation> {
 
+	/**
+	 * Limits number of statements executed at the same time. Statements are pulled from the source lazily, the next one
+	 * is sent only when one of the running statements completes. By default all statements are sent at once.
+	 * 
+	 * @param maxInFlight maximum number of statements in flight
+	 * @return this
+	 */
+	IngestOperation withMaxInFlight(int maxInFlight);
+
+	/**
+	 * Switches to the operation that does not keep ResultSets and only counts successful and failed statements. Memory
+	 * usage does not depend on the number of statements.
+	 * 
+	 * @return CountingIngestOperation
+	 */
+	CountingIngestOperation discardResults();
+
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+/**
+ * Result of the ingest operation that discards ResultSets
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public final class IngestSummary {
+
+	private final long successCount;
+	private final long failureCount;
+	private final Throwable firstFailure;
+
+	public IngestSummary(long successCount, long failureCount, Throwable firstFailure) {
+		this.successCount = successCount;
+		this.failureCount = failureCount;
+		this.firstFailure = firstFailure;
+	}
+
+	public long getSuccessCount() {
+		return successCount;
+	}
+
+	public long getFailureCount() {
+		return failureCount;
+	}
+
+	/**
+	 * Returns the first failure, other failures are only counted
+	 * 
+	 * @return Throwable or null
+	 */
+	public Throwable getFirstFailure() {
+		return firstFailure;
+	}
+
+	public boolean hasFailures() {
+		return failureCount > 0;
+	}
+
+	@Override
+	public String toString() {
+		return "IngestSummary [successCount=" + successCount + ", failureCount=" + failureCount + "]";
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ * Lazy iterator over the ResultSet that maps each row by the RowMapper on demand. Keeps only the current page in
+ * memory.
+ *
+ * When the number of rows left in the current page drops to the prefetch threshold, the next page is requested
+ * asynchronously, so fetching of the next page overlaps with the mapping of the current one.
+ *
+ * @author Alex Shvid
+ *
+ * @param <T> mapped type
+ */
+
+public class PrefetchingRowIterator<T> implements Iterator<T> {
+
+	private final CqlTemplate cqlTemplate;
+	private final ResultSet resultSet;
+	private final RowMapper<T> rowMapper;
+	private final int prefetchThreshold;
+
+	private int rowNum;
+
+	/**
+	 * Creates iterator
+	 *
+	 * @param cqlTemplate used for exception translation
+	 * @param resultSet result set to iterate
+	 * @param rowMapper row mapper
+	 * @param prefetchThreshold number of rows left in the page that triggers fetch of the next page
+	 */
+	public PrefetchingRowIterator(CqlTemplate cqlTemplate, ResultSet resultSet, RowMapper<T> rowMapper,
+			int prefetchThreshold) {
+		Assert.notNull(cqlTemplate);
+		Assert.notNull(resultSet);
+		Assert.notNull(rowMapper);
+		this.cqlTemplate = cqlTemplate;
+		this.resultSet = resultSet;
+		this.rowMapper = rowMapper;
+		this.prefetchThreshold = Math.max(prefetchThreshold, 1);
+	}
+
+	@Override
+	public boolean hasNext() {
+		try {
+			prefetchIfNeeded();
+			return !resultSet.isExhausted();
+		} catch (RuntimeException e) {
+			throw cqlTemplate.translateIfPossible(e);
+		}
+	}
+
+	@Override
+	public T next() {
+
+		Row row;
+
+		try {
+			prefetchIfNeeded();
+			row = resultSet.one();
+		} catch (RuntimeException e) {
+			throw cqlTemplate.translateIfPossible(e);
+		}
+
+		if (row == null) {
+			throw new NoSuchElementException();
+		}
+
+		return rowMapper.mapRow(row, rowNum++);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * fetchMoreResults does not start the second fetch if the previous one is still running
+	 */
+	private void prefetchIfNeeded() {
+		if (!resultSet.isFullyFetched() && resultSet.getAvailableWithoutFetching() <= prefetchThreshold) {
+			resultSet.fetchMoreResults();
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Bounded cache of PreparedStatements keyed by keyspace and CQL text. Least recently used statements are evicted when
+ * the maximum size is reached.
+ *
+ * Concurrent requests for the same missing statement are collapsed, so the statement is prepared only once.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class PreparedStatementCache {
+
+	private final long maximumSize;
+	private final Cache<CacheKey, PreparedStatement> cache;
+
+	public PreparedStatementCache(long maximumSize) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be positive");
+		this.maximumSize = maximumSize;
+		this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+	}
+
+	/**
+	 * Returns cached PreparedStatement or prepares a new one by using the loader
+	 *
+	 * @param keyspace the keyspace the statement is prepared for, can be null
+	 * @param cql CQL text of the statement
+	 * @param loader prepares statement in case of cache miss
+	 * @return PreparedStatement
+	 */
+	public PreparedStatement getPreparedStatement(String keyspace, String cql, Callable<PreparedStatement> loader) {
+		Assert.notNull(cql);
+		Assert.notNull(loader);
+
+		try {
+			return cache.get(new CacheKey(keyspace, cql), loader);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("unable to prepare statement " + cql, e.getCause());
+		} catch (UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		} catch (ExecutionError e) {
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Removes all cached statements, statistics remain untouched
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getSize() {
+		return cache.size();
+	}
+
+	public long getHitCount() {
+		return cache.stats().hitCount();
+	}
+
+	public long getMissCount() {
+		return cache.stats().missCount();
+	}
+
+	public long getEvictionCount() {
+		return cache.stats().evictionCount();
+	}
+
+	@Override
+	public String toString() {
+		return "PreparedStatementCache [maximumSize=" + maximumSize + ", size=" + getSize() + ", hits=" + getHitCount()
+				+ ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+	}
+
+	/**
+	 * Cache key is the pair of keyspace and CQL text
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	private static final class CacheKey {
+
+		private final String keyspace;
+		private final String cql;
+		private final int hashCode;
+
+		CacheKey(String keyspace, String cql) {
+			this.keyspace = keyspace;
+			this.cql = cql;
+			this.hashCode = 31 * (keyspace != null ? keyspace.hashCode() : 0) + cql.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			if (keyspace == null ? other.keyspace != null : !keyspace.equals(other.keyspace)) {
+				return false;
+			}
+			return cql.equals(other.cql);
+		}
+
+	}
+
+}
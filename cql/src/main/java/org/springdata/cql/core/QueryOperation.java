@@ -15,10 +15,12 @@
  */
 package org.springdata.cql.core;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 
 /**
  * General class for select operations. Support transformation and mapping of the ResultSet
@@ -51,6 +53,34 @@ public interface QueryOperation extends StatementOperation<ResultSet, QueryOpera
 	 */
 	<R> TransformOperation<List<R>> map(RowMapper<R> rowMapper);
 
+	/**
+	 * Maps rows lazily by RowMapper. Only the current page is kept in memory, the next page is requested asynchronously
+	 * when the iterator is in the second half of the current page. Use withFetchSize to define the page size.
+	 * 
+	 * @param rowMapper
+	 * @return TransformOperation
+	 */
+	<R> TransformOperation<Iterator<R>> stream(RowMapper<R> rowMapper);
+
+	/**
+	 * Reads single page of rows. The next page is read by the same query with the paging state of this page.
+	 * 
+	 * @param size maximum number of rows in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @return TransformOperation
+	 */
+	TransformOperation<ResultPage<Row>> page(int size, String pagingState);
+
+	/**
+	 * Reads single page of rows and maps them by RowMapper.
+	 * 
+	 * @param size maximum number of rows in the page
+	 * @param pagingState paging state of the previous page or null for the first page
+	 * @param rowMapper
+	 * @return TransformOperation
+	 */
+	<R> TransformOperation<ResultPage<R>> page(int size, String pagingState, RowMapper<R> rowMapper);
+
 	/**
 	 * Returns true if ResultSet is not empty.
 	 * 
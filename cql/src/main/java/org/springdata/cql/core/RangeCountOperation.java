@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+/**
+ * Count of the table rows that splits the token ring into ranges and counts them in parallel by COUNT(*) queries. Each
+ * range is small enough to be counted within the timeout, a failed range is retried.
+ *
+ * By default all ranges are counted and the count is exact. With the sample only some random ranges are counted and
+ * the count is estimated with the error bound.
+ *
+ * @author Alex Shvid
+ *
+ */
+public interface RangeCountOperation extends StatementOperation<CountSummary, RangeCountOperation> {
+
+	/**
+	 * Defines number of ranges per host in the cluster. Ignored if the exact number of ranges is defined.
+	 *
+	 * @param splitsPerHost number of ranges per host
+	 * @return this
+	 */
+	RangeCountOperation withSplitsPerHost(int splitsPerHost);
+
+	/**
+	 * Defines exact number of ranges
+	 *
+	 * @param splits number of ranges
+	 * @return this
+	 */
+	RangeCountOperation withSplits(int splits);
+
+	/**
+	 * Limits number of ranges that are counted at the same time, by default the number of hosts in the cluster
+	 *
+	 * @param maxInFlight maximum number of ranges in flight
+	 * @return this
+	 */
+	RangeCountOperation withMaxInFlight(int maxInFlight);
+
+	/**
+	 * Defines number of retries for the failed range. Count fails if the range fails more times.
+	 *
+	 * @param maxRetries number of retries
+	 * @return this
+	 */
+	RangeCountOperation withMaxRetries(int maxRetries);
+
+	/**
+	 * Counts only the given number of random ranges and estimates the count of the whole ring
+	 *
+	 * @param sampledRanges number of ranges to count
+	 * @return this
+	 */
+	RangeCountOperation sampled(int sampledRanges);
+
+}
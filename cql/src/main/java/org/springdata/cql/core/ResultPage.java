@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Single page of the query result with the opaque paging state that is used to resume the query from the next page.
+ * 
+ * Paging state is a string that can be passed to the client and back, so the next page is requested without keeping
+ * any state on the server side and without reading earlier pages again.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> element type
+ */
+public class ResultPage<T> implements Iterable<T> {
+
+	private final List<T> content;
+	private final String pagingState;
+
+	public ResultPage(List<T> content, String pagingState) {
+		Assert.notNull(content);
+		this.content = Collections.unmodifiableList(content);
+		this.pagingState = pagingState;
+	}
+
+	/**
+	 * Returns elements of the page
+	 * 
+	 * @return list of elements
+	 */
+	public List<T> getContent() {
+		return content;
+	}
+
+	/**
+	 * Returns paging state of the next page
+	 * 
+	 * @return paging state or null if this is the last page
+	 */
+	public String getPagingState() {
+		return pagingState;
+	}
+
+	/**
+	 * Returns true if the next page may exist. The next page can be empty if the last page is exactly full.
+	 * 
+	 * @return true if paging state is defined
+	 */
+	public boolean hasNext() {
+		return pagingState != null;
+	}
+
+	public int size() {
+		return content.size();
+	}
+
+	public boolean isEmpty() {
+		return content.isEmpty();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return content.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "ResultPage [size=" + content.size() + ", hasNext=" + hasNext() + "]";
+	}
+
+}
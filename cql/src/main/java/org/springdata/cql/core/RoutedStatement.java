@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.SimpleStatement;
+
+/**
+ * Regular statement with the routing key and the keyspace, so the TokenAwarePolicy sends it directly to a replica.
+ *
+ * QueryBuilder statements compute the routing key only when they are built from the TableMetadata, this class carries
+ * the routing key computed by the caller for the statements built from the table names.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class RoutedStatement extends SimpleStatement {
+
+	private final String keyspace;
+
+	public RoutedStatement(String query, String keyspace) {
+		super(query);
+		this.keyspace = keyspace;
+	}
+
+	public RoutedStatement(String query, String keyspace, Object... values) {
+		super(query, values);
+		this.keyspace = keyspace;
+	}
+
+	@Override
+	public String getKeyspace() {
+		return keyspace;
+	}
+
+	/**
+	 * Creates statement with the same query, values and options that is routed by the routing key
+	 *
+	 * @param statement regular statement
+	 * @param keyspace keyspace of the statement
+	 * @param routingKey serialized partition key or null
+	 * @return routed statement or the same statement if the routing key is null or already defined
+	 */
+	public static RegularStatement route(RegularStatement statement, String keyspace, ByteBuffer routingKey) {
+
+		if (routingKey == null || statement.getRoutingKey() != null) {
+			return statement;
+		}
+
+		/*
+		 * Values are known only after the query string is built
+		 */
+
+		String query = statement.getQueryString();
+		ByteBuffer[] values = statement.getValues();
+
+		RoutedStatement routed = values == null ? new RoutedStatement(query, keyspace) : new RoutedStatement(query,
+				keyspace, (Object[]) values);
+
+		routed.setRoutingKey(routingKey);
+
+		if (statement.getConsistencyLevel() != null) {
+			routed.setConsistencyLevel(statement.getConsistencyLevel());
+		}
+		if (statement.getSerialConsistencyLevel() != null) {
+			routed.setSerialConsistencyLevel(statement.getSerialConsistencyLevel());
+		}
+		if (statement.getRetryPolicy() != null) {
+			routed.setRetryPolicy(statement.getRetryPolicy());
+		}
+		if (statement.isTracing()) {
+			routed.enableTracing();
+		}
+		routed.setFetchSize(statement.getFetchSize());
+
+		return routed;
+	}
+
+	/**
+	 * Composes routing key of the partition key components the same way as Cassandra CompositeType does
+	 *
+	 * @param components serialized partition key columns in the order of the partition key
+	 * @return routing key
+	 */
+	public static ByteBuffer composeRoutingKey(ByteBuffer... components) {
+
+		if (components.length == 1) {
+			return components[0];
+		}
+
+		int size = 0;
+		for (ByteBuffer component : components) {
+			size += 2 + component.remaining() + 1;
+		}
+
+		ByteBuffer routingKey = ByteBuffer.allocate(size);
+		for (ByteBuffer component : components) {
+			routingKey.putShort((short) component.remaining());
+			routingKey.put(component.duplicate());
+			routingKey.put((byte) 0);
+		}
+
+		routingKey.flip();
+		return routingKey;
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+/**
+ * Full table scan that splits the token ring into ranges and queries them in parallel. Each range is read page by page
+ * and a failed page is retried from the last paging state, so rows are never passed to the callback twice.
+ * 
+ * Rows are passed to the RowCallbackHandler concurrently from different ranges, the handler must be thread safe. The
+ * handler runs on the scan executor of the template, see {@link CqlTemplate#setScanExecutor(java.util.concurrent.Executor)}, or on the
+ * executor given by withExecutor. The executor must not run the handler on the calling thread, otherwise the handler
+ * blocks the driver I/O thread that completed the page.
+ * 
+ * The ring is split into ranges of equal size, the ranges are not aligned with the token ownership of the hosts.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface ScanOperation extends StatementOperation<ScanSummary, ScanOperation> {
+
+	/**
+	 * Selects only the given columns, by default all columns are selected
+	 * 
+	 * @param columns column names
+	 * @return this
+	 */
+	ScanOperation withColumns(String... columns);
+
+	/**
+	 * Defines number of ranges per host in the cluster. Ignored if the exact number of ranges is defined.
+	 * 
+	 * @param splitsPerHost number of ranges per host
+	 * @return this
+	 */
+	ScanOperation withSplitsPerHost(int splitsPerHost);
+
+	/**
+	 * Defines exact number of ranges
+	 * 
+	 * @param splits number of ranges
+	 * @return this
+	 */
+	ScanOperation withSplits(int splits);
+
+	/**
+	 * Limits number of ranges that are queried at the same time, by default the number of hosts in the cluster
+	 * 
+	 * @param maxInFlight maximum number of ranges in flight
+	 * @return this
+	 */
+	ScanOperation withMaxInFlight(int maxInFlight);
+
+	/**
+	 * Defines number of retries for the failed page of the range. Scan fails if the page fails more times.
+	 * 
+	 * @param maxRetries number of retries
+	 * @return this
+	 */
+	ScanOperation withMaxRetries(int maxRetries);
+
+}
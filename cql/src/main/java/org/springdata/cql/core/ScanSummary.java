@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+/**
+ * Result of the token range scan
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public final class ScanSummary {
+
+	private final long rowCount;
+	private final int rangeCount;
+	private final long retryCount;
+
+	public ScanSummary(long rowCount, int rangeCount, long retryCount) {
+		this.rowCount = rowCount;
+		this.rangeCount = rangeCount;
+		this.retryCount = retryCount;
+	}
+
+	/**
+	 * Returns number of rows passed to the callback
+	 * 
+	 * @return number of rows
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * Returns number of token ranges that were scanned
+	 * 
+	 * @return number of ranges
+	 */
+	public int getRangeCount() {
+		return rangeCount;
+	}
+
+	/**
+	 * Returns number of retried page requests
+	 * 
+	 * @return number of retries
+	 */
+	public long getRetryCount() {
+		return retryCount;
+	}
+
+	@Override
+	public String toString() {
+		return "ScanSummary [rowCount=" + rowCount + ", rangeCount=" + rangeCount + ", retryCount=" + retryCount + "]";
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.QueryValidationException;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Future of the speculative (hedged) execution of the idempotent statement. If the statement is not completed within
+ * the delay, the same statement is sent again, up to maxAttempts requests in total. The first successful ResultSet
+ * completes the future and all other requests are cancelled.
+ *
+ * The duplicate request goes through the load balancing policy of the cluster, so with the round-robin or token-aware
+ * policy it is coordinated by the next host of the query plan.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+final class SpeculativeResultSetFuture extends AbstractFuture<ResultSet> {
+
+	private final CqlTemplate cqlTemplate;
+	private final Statement query;
+	private final long delayMls;
+	private final int maxAttempts;
+	private final ScheduledExecutorService scheduler;
+
+	private final List<Future<?>> pending = new ArrayList<Future<?>>();
+
+	private int launched;
+	private int failed;
+	private boolean scheduled;
+
+	SpeculativeResultSetFuture(CqlTemplate cqlTemplate, Statement query, long delayMls, int maxAttempts,
+			ScheduledExecutorService scheduler) {
+		this.cqlTemplate = cqlTemplate;
+		this.query = query;
+		this.delayMls = delayMls;
+		this.maxAttempts = maxAttempts;
+		this.scheduler = scheduler;
+	}
+
+	SpeculativeResultSetFuture start() {
+
+		addListener(new Runnable() {
+
+			@Override
+			public void run() {
+				if (isCancelled()) {
+					cancelPending();
+				}
+			}
+
+		}, MoreExecutors.sameThreadExecutor());
+
+		launch();
+		return this;
+	}
+
+	/*
+	 * The next attempt is scheduled before the request is sent, so a request that fails synchronously still has the
+	 * attempt that follows it
+	 */
+	private void launch() {
+
+		synchronized (this) {
+			if (isDone()) {
+				return;
+			}
+			launched++;
+			scheduled = false;
+			if (launched < maxAttempts) {
+				scheduleNext();
+			}
+		}
+
+		ResultSetFuture resultSetFuture;
+		try {
+			resultSetFuture = cqlTemplate.doExecuteAsync(query);
+		} catch (RuntimeException e) {
+			onAttemptFailure(e);
+			return;
+		}
+
+		synchronized (this) {
+			pending.add(resultSetFuture);
+		}
+
+		Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+			@Override
+			public void onSuccess(ResultSet resultSet) {
+				if (set(resultSet)) {
+					cancelPending();
+				}
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				onAttemptFailure(t);
+			}
+
+		}, MoreExecutors.sameThreadExecutor());
+
+		if (isDone()) {
+			cancelPending();
+		}
+	}
+
+	/*
+	 * Called under the lock
+	 */
+	private void scheduleNext() {
+		try {
+			pending.add(scheduler.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					launch();
+				}
+
+			}, delayMls, TimeUnit.MILLISECONDS));
+			scheduled = true;
+		} catch (RejectedExecutionException e) {
+			/*
+			 * Scheduler is shut down, the attempts in flight are the last ones
+			 */
+		}
+	}
+
+	/*
+	 * The future fails when no attempt is in flight and no attempt is scheduled, or immediately for the invalid query
+	 */
+	private void onAttemptFailure(Throwable t) {
+
+		boolean last;
+
+		synchronized (this) {
+			failed++;
+			last = failed == launched && !scheduled;
+		}
+
+		if (last || t instanceof QueryValidationException) {
+			if (setException(t)) {
+				cancelPending();
+			}
+		}
+	}
+
+	private void cancelPending() {
+
+		List<Future<?>> toCancel;
+
+		synchronized (this) {
+			toCancel = new ArrayList<Future<?>>(pending);
+			pending.clear();
+		}
+
+		for (Future<?> future : toCancel) {
+			if (!future.isDone()) {
+				future.cancel(false);
+			}
+		}
+	}
+
+}
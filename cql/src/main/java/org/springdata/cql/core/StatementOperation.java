@@ -62,6 +62,33 @@ public interface StatementOperation<T, O extends StatementOperation<T, O>> {
 	 */
 	O withQueryTracing(Boolean queryTracing);
 
+	/**
+	 * Sets number of rows fetched per page for the query operation
+	 * 
+	 * @param fetchSize positive number of rows per page
+	 * @return this
+	 */
+	O withFetchSize(int fetchSize);
+
+	/**
+	 * Enables speculative execution for idempotent operations. If the request is not completed within the delay, the same
+	 * statement is sent again to the next host of the query plan, the first successful response wins and other requests
+	 * are cancelled. Reads are idempotent by default, writes are executed once unless marked by withIdempotent(true).
+	 * 
+	 * @param delayMls delay in milliseconds before each next request
+	 * @param maxAttempts maximum number of requests in total, 1 disables speculative execution
+	 * @return this
+	 */
+	O withSpeculativeExecution(int delayMls, int maxAttempts);
+
+	/**
+	 * Marks operation as idempotent or not, only idempotent operations are executed speculatively
+	 * 
+	 * @param idempotent true if the statement can be safely applied more than once
+	 * @return this
+	 */
+	O withIdempotent(boolean idempotent);
+
 	/**
 	 * Uses fallback handler to send errors in asynchronous execution.
 	 * 
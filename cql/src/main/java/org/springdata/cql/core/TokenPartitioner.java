@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Partitioners with numeric tokens that can be split into token ranges.
+ * 
+ * The minimum token is never assigned to a partition key, therefore the ranges (min, t1], (t1, t2] ... (tn, max] cover
+ * the whole ring.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public enum TokenPartitioner {
+
+	MURMUR3("org.apache.cassandra.dht.Murmur3Partitioner", BigInteger.valueOf(Long.MIN_VALUE), BigInteger
+			.valueOf(Long.MAX_VALUE)) {
+
+		@Override
+		public Object toTokenValue(BigInteger token) {
+			return token.longValue();
+		}
+
+	},
+
+	RANDOM("org.apache.cassandra.dht.RandomPartitioner", BigInteger.valueOf(-1), BigInteger.ONE.shiftLeft(127)) {
+
+		@Override
+		public Object toTokenValue(BigInteger token) {
+			return token;
+		}
+
+	};
+
+	private final String className;
+	private final BigInteger minToken;
+	private final BigInteger maxToken;
+
+	private TokenPartitioner(String className, BigInteger minToken, BigInteger maxToken) {
+		this.className = className;
+		this.minToken = minToken;
+		this.maxToken = maxToken;
+	}
+
+	/**
+	 * Converts token to the value that can be bound to the token() function
+	 * 
+	 * @param token
+	 * @return Long or BigInteger
+	 */
+	public abstract Object toTokenValue(BigInteger token);
+
+	public String getClassName() {
+		return className;
+	}
+
+	public BigInteger getMinToken() {
+		return minToken;
+	}
+
+	public BigInteger getMaxToken() {
+		return maxToken;
+	}
+
+	/**
+	 * Returns the range that covers the whole ring
+	 * 
+	 * @return TokenRange
+	 */
+	public TokenRange getFullRange() {
+		return new TokenRange(minToken, maxToken);
+	}
+
+	/**
+	 * Splits the ring into ranges of equal size. The ranges do not follow the token ownership of the hosts, a range can
+	 * span the boundary of two primary ranges, with virtual nodes most of the ranges do.
+	 * 
+	 * @param count number of ranges
+	 * @return list of adjacent ranges that cover the ring
+	 */
+	public List<TokenRange> split(int count) {
+		Assert.isTrue(count > 0, "count must be positive");
+
+		BigInteger step = maxToken.subtract(minToken).divide(BigInteger.valueOf(count));
+
+		List<TokenRange> ranges = new ArrayList<TokenRange>(count);
+
+		BigInteger start = minToken;
+		for (int i = 0; i != count; ++i) {
+			BigInteger end = i == count - 1 ? maxToken : start.add(step);
+			ranges.add(new TokenRange(start, end));
+			start = end;
+		}
+
+		return ranges;
+	}
+
+	/**
+	 * Finds partitioner by the class name
+	 * 
+	 * @param className full class name of the Cassandra partitioner
+	 * @return TokenPartitioner
+	 * @throws IllegalStateException if the partitioner does not support token range split
+	 */
+	public static TokenPartitioner forClassName(String className) {
+		Assert.notNull(className);
+
+		for (TokenPartitioner partitioner : values()) {
+			if (partitioner.className.equals(className)) {
+				return partitioner;
+			}
+		}
+
+		throw new IllegalStateException("unsupported partitioner " + className
+				+ ", only Murmur3Partitioner and RandomPartitioner can be split into token ranges");
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.math.BigInteger;
+
+import org.springframework.util.Assert;
+
+/**
+ * Range of tokens on the ring, start token is exclusive and end token is inclusive
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public final class TokenRange {
+
+	private final BigInteger start;
+	private final BigInteger end;
+
+	public TokenRange(BigInteger start, BigInteger end) {
+		Assert.notNull(start);
+		Assert.notNull(end);
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Returns start token, exclusive
+	 * 
+	 * @return start token
+	 */
+	public BigInteger getStart() {
+		return start;
+	}
+
+	/**
+	 * Returns end token, inclusive
+	 * 
+	 * @return end token
+	 */
+	public BigInteger getEnd() {
+		return end;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * start.hashCode() + end.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof TokenRange)) {
+			return false;
+		}
+		TokenRange other = (TokenRange) obj;
+		return start.equals(other.start) && end.equals(other.end);
+	}
+
+	@Override
+	public String toString() {
+		return "(" + start + ", " + end + "]";
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.core;
+
+import java.util.Iterator;
+
+import org.springframework.util.Assert;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Asynchronous execution of the elements from the iterator with bounded number of requests in flight. Elements are
+ * pulled from the iterator lazily, the next element is launched only after one of the running requests completes.
+ *
+ * Results are not kept by the execution itself, each of them is passed to onSuccess or onFailure with the index of the
+ * element in the iterator. Subclasses decide what to keep.
+ *
+ * @author Alex Shvid
+ *
+ * @param <S> source element type
+ * @param <R> result type
+ */
+
+public abstract class WindowedExecution<S, R> {
+
+	private final Iterator<? extends S> source;
+	private final int maxInFlight;
+
+	private final Object lock = new Object();
+	private final SettableFuture<Void> completion = SettableFuture.create();
+
+	private int inFlight;
+	private long nextIndex;
+	private boolean pumping;
+	private boolean exhausted;
+	private Throwable sourceError;
+
+	/**
+	 * Creates execution
+	 *
+	 * @param source iterator of the elements, accessed by one thread at a time
+	 * @param maxInFlight maximum number of requests in flight, must be positive
+	 */
+	public WindowedExecution(Iterator<? extends S> source, int maxInFlight) {
+		Assert.notNull(source);
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.source = source;
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Launches asynchronous request for the element
+	 *
+	 * @param element source element
+	 * @return future of the result
+	 */
+	protected abstract ListenableFuture<R> launch(S element);
+
+	/**
+	 * Called on successful completion of the request, may be called concurrently
+	 *
+	 * @param index index of the element in the source iterator
+	 * @param result result of the request
+	 */
+	protected abstract void onSuccess(long index, R result);
+
+	/**
+	 * Called on failure of the request, may be called concurrently
+	 *
+	 * @param index index of the element in the source iterator
+	 * @param t failure
+	 */
+	protected abstract void onFailure(long index, Throwable t);
+
+	/**
+	 * Starts the execution
+	 *
+	 * @return future that completes when all elements are processed or fails if the source iterator throws exception
+	 */
+	public ListenableFuture<Void> start() {
+		pump();
+		return completion;
+	}
+
+	/**
+	 * Stops pulling new elements from the iterator, requests in flight are completed as usual
+	 */
+	public void stop() {
+		synchronized (lock) {
+			exhausted = true;
+		}
+		pump();
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight;
+	}
+
+	private void pump() {
+
+		synchronized (lock) {
+			if (pumping) {
+				return;
+			}
+			pumping = true;
+		}
+
+		for (;;) {
+
+			S element;
+			final long index;
+
+			synchronized (lock) {
+
+				if (!exhausted) {
+					try {
+						if (!source.hasNext()) {
+							exhausted = true;
+						}
+					} catch (RuntimeException e) {
+						exhausted = true;
+						sourceError = e;
+					}
+				}
+
+				if (exhausted || inFlight >= maxInFlight) {
+					pumping = false;
+					if (exhausted && inFlight == 0) {
+						break;
+					}
+					return;
+				}
+
+				try {
+					element = source.next();
+				} catch (RuntimeException e) {
+					exhausted = true;
+					sourceError = e;
+					continue;
+				}
+
+				index = nextIndex++;
+				inFlight++;
+			}
+
+			ListenableFuture<R> future;
+			try {
+				future = launch(element);
+			} catch (RuntimeException e) {
+				future = Futures.immediateFailedFuture(e);
+			}
+
+			Futures.addCallback(future, new FutureCallback<R>() {
+
+				@Override
+				public void onSuccess(R result) {
+					try {
+						WindowedExecution.this.onSuccess(index, result);
+					} finally {
+						release();
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					try {
+						WindowedExecution.this.onFailure(index, t);
+					} finally {
+						release();
+					}
+				}
+
+			}, MoreExecutors.sameThreadExecutor());
+		}
+
+		if (sourceError != null) {
+			completion.setException(sourceError);
+		} else {
+			completion.set(null);
+		}
+	}
+
+	private void release() {
+		synchronized (lock) {
+			inFlight--;
+		}
+		pump();
+	}
+
+}
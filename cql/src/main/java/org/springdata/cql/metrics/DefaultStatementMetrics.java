@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Statement;
+
+/**
+ * In-memory statement metrics keyed by the query fingerprint and by the table. Number of tracked fingerprints is
+ * bounded, statements of new fingerprints over the limit are accounted under OTHER.
+ *
+ * Implements StatementMetricsMXBean, so it can be exported by the Spring MBeanExporter or registered in the platform
+ * MBeanServer directly.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class DefaultStatementMetrics implements StatementMetrics, StatementMetricsMXBean {
+
+	public static final int DEFAULT_MAX_FINGERPRINTS = 1000;
+	public static final String OTHER = "OTHER";
+
+	private static final Comparator<StatementStatsSnapshot> BY_COUNT = new Comparator<StatementStatsSnapshot>() {
+
+		@Override
+		public int compare(StatementStatsSnapshot o1, StatementStatsSnapshot o2) {
+			long c1 = o1.getCount();
+			long c2 = o2.getCount();
+			return c1 > c2 ? -1 : (c1 == c2 ? o1.getKey().compareTo(o2.getKey()) : 1);
+		}
+
+	};
+
+	private final int maxFingerprints;
+
+	private final ConcurrentMap<String, StatementStats> byFingerprint = new ConcurrentHashMap<String, StatementStats>();
+	private final ConcurrentMap<String, StatementStats> byTable = new ConcurrentHashMap<String, StatementStats>();
+
+	public DefaultStatementMetrics() {
+		this(DEFAULT_MAX_FINGERPRINTS);
+	}
+
+	public DefaultStatementMetrics(int maxFingerprints) {
+		Assert.isTrue(maxFingerprints > 0, "maxFingerprints must be positive");
+		this.maxFingerprints = maxFingerprints;
+	}
+
+	@Override
+	public void recordSuccess(Statement statement, long elapsedNanos, int firstPageRows) {
+		QueryFingerprint fingerprint = QueryFingerprint.of(statement);
+		getStats(byFingerprint, fingerprint.getFingerprint(), maxFingerprints).recordSuccess(elapsedNanos, firstPageRows);
+		getStats(byTable, fingerprint.getTable(), maxFingerprints).recordSuccess(elapsedNanos, firstPageRows);
+	}
+
+	@Override
+	public void recordFailure(Statement statement, long elapsedNanos, Throwable t) {
+		QueryFingerprint fingerprint = QueryFingerprint.of(statement);
+		getStats(byFingerprint, fingerprint.getFingerprint(), maxFingerprints).recordFailure(elapsedNanos, t);
+		getStats(byTable, fingerprint.getTable(), maxFingerprints).recordFailure(elapsedNanos, t);
+	}
+
+	@Override
+	public List<StatementStatsSnapshot> getFingerprintStats() {
+		return snapshot(byFingerprint);
+	}
+
+	@Override
+	public List<StatementStatsSnapshot> getTableStats() {
+		return snapshot(byTable);
+	}
+
+	/**
+	 * Returns statistics of the fingerprint
+	 *
+	 * @param fingerprint normalized query, see QueryFingerprint
+	 * @return snapshot or null if the fingerprint was not executed
+	 */
+	public StatementStatsSnapshot getFingerprintStats(String fingerprint) {
+		StatementStats stats = byFingerprint.get(fingerprint);
+		return stats != null ? stats.snapshot() : null;
+	}
+
+	/**
+	 * Returns statistics of the table
+	 *
+	 * @param table table as it is written in the queries
+	 * @return snapshot or null if the table was not queried
+	 */
+	public StatementStatsSnapshot getTableStats(String table) {
+		StatementStats stats = byTable.get(table);
+		return stats != null ? stats.snapshot() : null;
+	}
+
+	@Override
+	public void reset() {
+		byFingerprint.clear();
+		byTable.clear();
+	}
+
+	private static StatementStats getStats(ConcurrentMap<String, StatementStats> map, String key, int maxKeys) {
+
+		StatementStats stats = map.get(key);
+
+		if (stats == null) {
+
+			if (map.size() >= maxKeys) {
+				key = OTHER;
+				stats = map.get(key);
+				if (stats != null) {
+					return stats;
+				}
+			}
+
+			StatementStats newStats = new StatementStats(key);
+			stats = map.putIfAbsent(key, newStats);
+			if (stats == null) {
+				stats = newStats;
+			}
+		}
+
+		return stats;
+	}
+
+	private static List<StatementStatsSnapshot> snapshot(ConcurrentMap<String, StatementStats> map) {
+		List<StatementStatsSnapshot> list = new ArrayList<StatementStatsSnapshot>(map.size());
+		for (StatementStats stats : map.values()) {
+			list.add(stats.snapshot());
+		}
+		Collections.sort(list, BY_COUNT);
+		return list;
+	}
+
+}
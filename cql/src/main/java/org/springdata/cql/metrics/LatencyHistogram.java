@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free latency histogram with exponential buckets. Each power of two of microseconds is split into 4 sub-buckets,
+ * so the relative error of the percentile is at most 25%. Values above ~1 hour go to the last bucket.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKETS = 4;
+	private static final int POWERS = 32;
+	private static final int BUCKETS = POWERS * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sumMicros = new AtomicLong();
+	private final AtomicLong maxMicros = new AtomicLong();
+
+	public void record(long elapsedNanos) {
+
+		long micros = Math.max(elapsedNanos / 1000, 0);
+
+		buckets.incrementAndGet(bucketOf(micros));
+		count.incrementAndGet();
+		sumMicros.addAndGet(micros);
+
+		long max = maxMicros.get();
+		while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+			max = maxMicros.get();
+		}
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	public double getMeanMicros() {
+		long n = count.get();
+		return n == 0 ? 0.0 : (double) sumMicros.get() / n;
+	}
+
+	/**
+	 * Returns upper bound of the bucket that contains the percentile
+	 *
+	 * @param percentile value between 0 and 1
+	 * @return latency in microseconds
+	 */
+	public long getPercentileMicros(double percentile) {
+
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i != BUCKETS; ++i) {
+			snapshot[i] = buckets.get(i);
+			total += snapshot[i];
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(percentile * total);
+		long seen = 0;
+		for (int i = 0; i != BUCKETS; ++i) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), maxMicros.get());
+			}
+		}
+
+		return maxMicros.get();
+	}
+
+	static int bucketOf(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int power = 63 - Long.numberOfLeadingZeros(micros);
+		int sub = (int) ((micros >>> (power - 2)) & (SUB_BUCKETS - 1));
+		return Math.min((power - 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+	}
+
+	static long upperBoundOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int power = bucket / SUB_BUCKETS + 1;
+		int sub = bucket % SUB_BUCKETS;
+		return ((long) (SUB_BUCKETS + sub + 1) << (power - 2)) - 1;
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Normalized form of the CQL query. String, numeric, UUID, hex and boolean literals are replaced by '?', lists of
+ * markers are collapsed, whitespace is normalized, so the queries that differ only by values share one fingerprint.
+ *
+ * Fingerprints are cached by the query string, the cache is bounded because non-prepared queries may contain values.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class QueryFingerprint {
+
+	public static final String BATCH = "BATCH";
+	public static final String UNKNOWN = "UNKNOWN";
+
+	private static final int CACHE_SIZE = 1000;
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern UUID_LITERAL = Pattern
+			.compile("\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+	private static final Pattern HEX_LITERAL = Pattern.compile("\\b0[xX][0-9a-fA-F]*\\b");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.\"])-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?\\b");
+	private static final Pattern BOOLEAN_LITERAL = Pattern.compile("(?i)(?<=[=,(\\s])(?:true|false)\\b");
+	private static final Pattern NAMED_MARKER = Pattern.compile(":\\w+");
+	private static final Pattern MARKER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final Pattern TABLE = Pattern.compile(
+			"(?i)\\b(?:FROM|INTO|UPDATE|TABLE|TRUNCATE)\\s+((?:\"[^\"]+\"|\\w+)(?:\\s*\\.\\s*(?:\"[^\"]+\"|\\w+))?)");
+
+	private static final LoadingCache<String, QueryFingerprint> CACHE = CacheBuilder.newBuilder()
+			.maximumSize(CACHE_SIZE).build(new CacheLoader<String, QueryFingerprint>() {
+
+				@Override
+				public QueryFingerprint load(String cql) {
+					return new QueryFingerprint(normalize(cql), parseTable(cql));
+				}
+
+			});
+
+	private static final QueryFingerprint BATCH_FINGERPRINT = new QueryFingerprint(BATCH, UNKNOWN);
+	private static final QueryFingerprint UNKNOWN_FINGERPRINT = new QueryFingerprint(UNKNOWN, UNKNOWN);
+
+	private final String fingerprint;
+	private final String table;
+
+	private QueryFingerprint(String fingerprint, String table) {
+		this.fingerprint = fingerprint;
+		this.table = table;
+	}
+
+	/**
+	 * Returns normalized query
+	 *
+	 * @return fingerprint
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * Returns table of the query as it is written in the query, with keyspace if it is specified
+	 *
+	 * @return table or UNKNOWN
+	 */
+	public String getTable() {
+		return table;
+	}
+
+	@Override
+	public String toString() {
+		return fingerprint;
+	}
+
+	/**
+	 * Returns fingerprint of the statement
+	 *
+	 * @param statement Statement
+	 * @return QueryFingerprint
+	 */
+	public static QueryFingerprint of(Statement statement) {
+
+		if (statement instanceof BatchStatement) {
+			return BATCH_FINGERPRINT;
+		}
+
+		String cql = null;
+
+		if (statement instanceof BoundStatement) {
+			cql = ((BoundStatement) statement).preparedStatement().getQueryString();
+		} else if (statement instanceof RegularStatement) {
+			cql = ((RegularStatement) statement).getQueryString();
+		}
+
+		if (cql == null) {
+			return UNKNOWN_FINGERPRINT;
+		}
+
+		return of(cql);
+	}
+
+	/**
+	 * Returns fingerprint of the CQL string
+	 *
+	 * @param cql query
+	 * @return QueryFingerprint
+	 */
+	public static QueryFingerprint of(String cql) {
+		String trimmed = cql.trim();
+		if (trimmed.regionMatches(true, 0, "BEGIN", 0, 5)) {
+			return BATCH_FINGERPRINT;
+		}
+		return CACHE.getUnchecked(trimmed);
+	}
+
+	static String normalize(String cql) {
+		String s = STRING_LITERAL.matcher(cql).replaceAll("?");
+		s = UUID_LITERAL.matcher(s).replaceAll("?");
+		s = HEX_LITERAL.matcher(s).replaceAll("?");
+		s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+		s = BOOLEAN_LITERAL.matcher(s).replaceAll("?");
+		s = NAMED_MARKER.matcher(s).replaceAll("?");
+		s = MARKER_LIST.matcher(s).replaceAll("?");
+		s = WHITESPACE.matcher(s).replaceAll(" ").trim();
+		if (s.endsWith(";")) {
+			s = s.substring(0, s.length() - 1).trim();
+		}
+		return s;
+	}
+
+	static String parseTable(String cql) {
+		Matcher matcher = TABLE.matcher(cql);
+		if (matcher.find()) {
+			return WHITESPACE.matcher(matcher.group(1)).replaceAll("");
+		}
+		return UNKNOWN;
+	}
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Log of the statements that take longer than the threshold. Each slow statement is logged once at WARN level with its
+ * fingerprint, truncated bind values, consistency level, queried host, number of fetched pages and elapsed time.
+ *
+ * The number of log lines per second is limited, lines over the limit are dropped and counted in the next logged line.
+ * Statements under the threshold cost one comparison, nothing is formatted for them.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class SlowQueryLog {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+	public static final double DEFAULT_MAX_LOGS_PER_SECOND = 10.0;
+	public static final int DEFAULT_MAX_VALUE_LENGTH = 64;
+	public static final int DEFAULT_MAX_VALUES = 16;
+
+	private final long thresholdNanos;
+	private final RateLimiter rateLimiter;
+	private final AtomicLong suppressed = new AtomicLong();
+
+	private int maxValueLength = DEFAULT_MAX_VALUE_LENGTH;
+	private int maxValues = DEFAULT_MAX_VALUES;
+
+	/**
+	 * Creates log with the default rate limit
+	 *
+	 * @param thresholdMls statements that take longer are logged
+	 */
+	public SlowQueryLog(long thresholdMls) {
+		this(thresholdMls, DEFAULT_MAX_LOGS_PER_SECOND);
+	}
+
+	/**
+	 * Creates log
+	 *
+	 * @param thresholdMls statements that take longer are logged
+	 * @param maxLogsPerSecond maximum number of logged statements per second
+	 */
+	public SlowQueryLog(long thresholdMls, double maxLogsPerSecond) {
+		Assert.isTrue(thresholdMls >= 0, "thresholdMls must not be negative");
+		Assert.isTrue(maxLogsPerSecond > 0, "maxLogsPerSecond must be positive");
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMls);
+		this.rateLimiter = RateLimiter.create(maxLogsPerSecond);
+	}
+
+	/**
+	 * Sets maximum length of each logged bind value
+	 *
+	 * @param maxValueLength number of characters
+	 */
+	public void setMaxValueLength(int maxValueLength) {
+		Assert.isTrue(maxValueLength > 0, "maxValueLength must be positive");
+		this.maxValueLength = maxValueLength;
+	}
+
+	/**
+	 * Sets maximum number of logged bind values
+	 *
+	 * @param maxValues number of values
+	 */
+	public void setMaxValues(int maxValues) {
+		Assert.isTrue(maxValues >= 0, "maxValues must not be negative");
+		this.maxValues = maxValues;
+	}
+
+	public long getThresholdMls() {
+		return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+	}
+
+	/**
+	 * Returns number of slow statements that were not logged due to the rate limit
+	 *
+	 * @return count since the last logged statement
+	 */
+	public long getSuppressedCount() {
+		return suppressed.get();
+	}
+
+	public boolean isSlow(long elapsedNanos) {
+		return elapsedNanos > thresholdNanos;
+	}
+
+	public void onSuccess(Statement statement, long elapsedNanos, ResultSet resultSet) {
+		if (isSlow(elapsedNanos) && acquire()) {
+			ExecutionInfo executionInfo = resultSet.getExecutionInfo();
+			Host host = executionInfo != null ? executionInfo.getQueriedHost() : null;
+			int pages = resultSet.getAllExecutionInfo().size();
+			log(statement, elapsedNanos, host, pages, null);
+		}
+	}
+
+	public void onFailure(Statement statement, long elapsedNanos, Throwable t) {
+		if (isSlow(elapsedNanos) && acquire()) {
+			log(statement, elapsedNanos, null, 0, t);
+		}
+	}
+
+	private boolean acquire() {
+		if (!logger.isWarnEnabled()) {
+			return false;
+		}
+		if (rateLimiter.tryAcquire()) {
+			return true;
+		}
+		suppressed.incrementAndGet();
+		return false;
+	}
+
+	private void log(Statement statement, long elapsedNanos, Host host, int pages, Throwable t) {
+
+		StringBuilder str = new StringBuilder(256);
+
+		str.append("slow query ").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms: ");
+		str.append(QueryFingerprint.of(statement).getFingerprint());
+
+		if (statement instanceof BoundStatement) {
+			str.append(" values=");
+			appendValues(str, (BoundStatement) statement);
+		}
+
+		ConsistencyLevel consistencyLevel = statement.getConsistencyLevel();
+		str.append(" consistency=").append(consistencyLevel != null ? consistencyLevel : "default");
+		str.append(" host=").append(host != null ? host.getAddress() : "unknown");
+		str.append(" pages=").append(pages);
+
+		if (t != null) {
+			str.append(" error=").append(t.getClass().getName());
+		}
+
+		long dropped = suppressed.getAndSet(0);
+		if (dropped != 0) {
+			str.append(" suppressed=").append(dropped);
+		}
+
+		logger.warn(str.toString());
+	}
+
+	private void appendValues(StringBuilder str, BoundStatement bs) {
+
+		ColumnDefinitions variables = bs.preparedStatement().getVariables();
+		int size = variables.size();
+
+		str.append('[');
+
+		for (int i = 0; i != size; ++i) {
+
+			if (i != 0) {
+				str.append(", ");
+			}
+
+			if (i == maxValues) {
+				str.append("...");
+				break;
+			}
+
+			str.append(variables.getName(i)).append('=');
+
+			if (!bs.isSet(i)) {
+				str.append("<unset>");
+				continue;
+			}
+
+			ByteBuffer bytes = bs.getBytesUnsafe(i);
+			if (bytes == null) {
+				str.append("null");
+				continue;
+			}
+
+			String value;
+			try {
+				value = String.valueOf(variables.getType(i).deserialize(bytes.duplicate()));
+			} catch (RuntimeException e) {
+				value = "<" + bytes.remaining() + " bytes>";
+			}
+
+			if (value.length() > maxValueLength) {
+				str.append(value, 0, maxValueLength).append("...");
+			} else {
+				str.append(value);
+			}
+		}
+
+		str.append(']');
+	}
+
+}
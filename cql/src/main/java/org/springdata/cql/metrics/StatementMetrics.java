@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import com.datastax.driver.core.Statement;
+
+/**
+ * Client side metrics of the executed statements. Called by the CqlTemplate for every synchronous and asynchronous
+ * execution, implementations must be thread safe and cheap.
+ *
+ * @author Alex Shvid
+ *
+ */
+public interface StatementMetrics {
+
+	/**
+	 * Records successful execution
+	 *
+	 * @param statement executed statement
+	 * @param elapsedNanos time from the submit to the first page of the result
+	 * @param firstPageRows number of rows in the first page of the result, the rows of the next pages are not known
+	 *          at the time of the execution
+	 */
+	void recordSuccess(Statement statement, long elapsedNanos, int firstPageRows);
+
+	/**
+	 * Records failed execution
+	 *
+	 * @param statement executed statement
+	 * @param elapsedNanos time from the submit to the failure
+	 * @param t translated exception
+	 */
+	void recordFailure(Statement statement, long elapsedNanos, Throwable t);
+
+}
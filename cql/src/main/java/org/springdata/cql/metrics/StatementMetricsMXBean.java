@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of the statement metrics
+ *
+ * @author Alex Shvid
+ *
+ */
+public interface StatementMetricsMXBean {
+
+	/**
+	 * Returns statistics by the query fingerprint, sorted by the total number of executions
+	 *
+	 * @return list of snapshots
+	 */
+	List<StatementStatsSnapshot> getFingerprintStats();
+
+	/**
+	 * Returns statistics by the table, sorted by the total number of executions
+	 *
+	 * @return list of snapshots
+	 */
+	List<StatementStatsSnapshot> getTableStats();
+
+	/**
+	 * Clears all statistics
+	 */
+	void reset();
+
+}
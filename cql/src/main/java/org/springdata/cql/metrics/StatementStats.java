@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulated statistics of one fingerprint or one table
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class StatementStats {
+
+	private final String key;
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final AtomicLong firstPageRows = new AtomicLong();
+	private final AtomicLong errorCount = new AtomicLong();
+	private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<String, AtomicLong>();
+
+	public StatementStats(String key) {
+		this.key = key;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public void recordSuccess(long elapsedNanos, int firstPageRowCount) {
+		latency.record(elapsedNanos);
+		firstPageRows.addAndGet(firstPageRowCount);
+	}
+
+	public void recordFailure(long elapsedNanos, Throwable t) {
+		latency.record(elapsedNanos);
+		errorCount.incrementAndGet();
+
+		String type = t.getClass().getName();
+		AtomicLong counter = errors.get(type);
+		if (counter == null) {
+			AtomicLong newCounter = new AtomicLong();
+			counter = errors.putIfAbsent(type, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		counter.incrementAndGet();
+	}
+
+	public StatementStatsSnapshot snapshot() {
+
+		Map<String, Long> errorsByType = new TreeMap<String, Long>();
+		for (Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+			errorsByType.put(entry.getKey(), entry.getValue().get());
+		}
+
+		return new StatementStatsSnapshot(key, latency.getCount(), errorCount.get(), firstPageRows.get(),
+				latency.getMeanMicros(), latency.getPercentileMicros(0.5), latency.getPercentileMicros(0.95),
+				latency.getPercentileMicros(0.99), latency.getMaxMicros(), errorsByType);
+	}
+
+}
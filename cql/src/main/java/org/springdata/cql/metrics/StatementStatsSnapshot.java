@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the StatementStats, latencies are in microseconds. Exposed through JMX as CompositeData.
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public final class StatementStatsSnapshot {
+
+	private final String key;
+	private final long count;
+	private final long errorCount;
+	private final long firstPageRows;
+	private final double meanMicros;
+	private final long p50Micros;
+	private final long p95Micros;
+	private final long p99Micros;
+	private final long maxMicros;
+	private final Map<String, Long> errors;
+
+	@ConstructorProperties({ "key", "count", "errorCount", "firstPageRows", "meanMicros", "p50Micros", "p95Micros", "p99Micros",
+			"maxMicros", "errors" })
+	public StatementStatsSnapshot(String key, long count, long errorCount, long firstPageRows, double meanMicros, long p50Micros,
+			long p95Micros, long p99Micros, long maxMicros, Map<String, Long> errors) {
+		this.key = key;
+		this.count = count;
+		this.errorCount = errorCount;
+		this.firstPageRows = firstPageRows;
+		this.meanMicros = meanMicros;
+		this.p50Micros = p50Micros;
+		this.p95Micros = p95Micros;
+		this.p99Micros = p99Micros;
+		this.maxMicros = maxMicros;
+		this.errors = Collections.unmodifiableMap(errors);
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getErrorCount() {
+		return errorCount;
+	}
+
+	/**
+	 * Returns number of rows in the first page of the results, rows of the subsequent pages are fetched lazily while the
+	 * result is consumed and are not counted, so for the paged queries this is a lower bound of the returned rows
+	 *
+	 * @return sum of the first page rows
+	 */
+	public long getFirstPageRows() {
+		return firstPageRows;
+	}
+
+	public double getMeanMicros() {
+		return meanMicros;
+	}
+
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	public long getP95Micros() {
+		return p95Micros;
+	}
+
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	/**
+	 * Returns number of errors by the class name of the translated exception
+	 *
+	 * @return map of counts
+	 */
+	public Map<String, Long> getErrors() {
+		return errors;
+	}
+
+	@Override
+	public String toString() {
+		return "StatementStatsSnapshot [key=" + key + ", count=" + count + ", errorCount=" + errorCount + ", firstPageRows=" + firstPageRows
+				+ ", meanMicros=" + meanMicros + ", p50Micros=" + p50Micros + ", p95Micros=" + p95Micros + ", p99Micros="
+				+ p99Micros + ", maxMicros=" + maxMicros + ", errors=" + errors + "]";
+	}
+
+}
@@ -16,16 +16,22 @@
 package org.springdata.cql.test.integration.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.Test;
 import org.springdata.cql.core.HostMapper;
+import org.springdata.cql.core.QueryOperation;
+import org.springdata.cql.core.ResultPage;
 import org.springdata.cql.core.StatementCreator;
 import org.springdata.cql.core.ResultSetExtractor;
 import org.springdata.cql.core.RingMember;
@@ -475,6 +481,62 @@ public class CqlTemplateTest extends AbstractCassandraOperations {
 
 	}
 
+	@Test
+	public void pageTest() {
+
+		cqlTemplate.buildTruncateOperation("book").execute();
+
+		// Insert our 3 test books and 2 more to have 3 pages of 2 books.
+		insertBooks();
+
+		Object[][] values = new Object[2][];
+		values[0] = new Object[] { "4567", "Hamlet", "William Shakespeare", new Integer(342) };
+		values[1] = new Object[] { "5678", "Ulysses", "James Joyce", new Integer(730) };
+
+		cqlTemplate.buildIngestOperation(
+				cqlTemplate.prepareStatement("insert into book (isbn, title, author, pages) values (?, ?, ?, ?)"), values)
+				.execute();
+
+		QueryOperation query = cqlTemplate.buildQueryOperation("select * from book");
+
+		RowMapper<String> isbnMapper = new RowMapper<String>() {
+
+			@Override
+			public String mapRow(Row row, int rowNum) {
+				return row.getString("isbn");
+			}
+		};
+
+		Set<String> isbns = new HashSet<String>();
+
+		ResultPage<String> first = query.page(2, null, isbnMapper).execute();
+		assertEquals(2, first.size());
+		assertTrue(first.hasNext());
+		assertNotNull(first.getPagingState());
+		isbns.addAll(first.getContent());
+
+		// The same page again, paging does not change the operation it was taken from
+		ResultPage<String> again = query.page(2, null, isbnMapper).execute();
+		assertEquals(first.getContent(), again.getContent());
+
+		ResultPage<String> second = query.page(2, first.getPagingState(), isbnMapper).execute();
+		assertEquals(2, second.size());
+		assertTrue(second.hasNext());
+		isbns.addAll(second.getContent());
+
+		ResultPage<String> last = query.page(2, second.getPagingState(), isbnMapper).execute();
+		assertEquals(1, last.size());
+		assertFalse(last.hasNext());
+		assertNull(last.getPagingState());
+		isbns.addAll(last.getContent());
+
+		assertEquals(5, isbns.size());
+
+		// The operation keeps its own fetch size and paging state after the pages were taken
+		assertEquals(5, query.map(isbnMapper).execute().size());
+
+	}
+
 	@Test
 	public void processListOfMapTestResultSet() {
 
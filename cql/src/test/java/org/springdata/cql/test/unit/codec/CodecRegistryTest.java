@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.codec;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cql.codec.CodecRegistry;
+import org.springdata.cql.codec.ColumnCodec;
+import org.springdata.cql.util.TimeUUIDUtil;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * CodecRegistry jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class CodecRegistryTest {
+
+	enum Color {
+		RED, GREEN;
+	}
+
+	private final CodecRegistry registry = new CodecRegistry();
+
+	@Test
+	public void testPrimitiveAndWrapperShareCodec() {
+		Assert.assertSame(registry.getCodec(DataType.cint(), int.class), registry.getCodec(DataType.cint(), Integer.class));
+		Assert.assertSame(registry.getCodec(DataType.bigint()), registry.getCodec(DataType.bigint(), long.class));
+	}
+
+	@Test
+	public void testEnumCodec() {
+
+		ColumnCodec codec = registry.getCodec(DataType.text(), Color.class);
+
+		Assert.assertEquals(Color.class, codec.getJavaType());
+		Assert.assertEquals("GREEN", codec.toDriverValue(Color.GREEN));
+		Assert.assertEquals(DataType.text().serialize("RED"), codec.encode(Color.RED));
+	}
+
+	@Test
+	public void testTimeUUIDDateCodec() {
+
+		ColumnCodec codec = registry.getCodec(DataType.timeuuid(), Date.class);
+		Date date = new Date(1400000000000L);
+
+		UUID uuid = (UUID) codec.toDriverValue(date);
+
+		Assert.assertEquals(1, uuid.version());
+		Assert.assertEquals(date.getTime(), TimeUUIDUtil.getTimestampMillis(uuid));
+		Assert.assertEquals(UUID.class, registry.getCodec(DataType.timeuuid()).getJavaType());
+	}
+
+	@Test
+	public void testUnknownJavaTypeFallsBackToNativeCodec() {
+		Assert.assertEquals(String.class, registry.getCodec(DataType.varchar(), Object.class).getJavaType());
+		Assert.assertNull(registry.getCodec(DataType.cint()).encode(null));
+	}
+
+	@Test
+	public void testRegisteredCodecWins() {
+
+		ColumnCodec custom = new ColumnCodec(DataType.bigint(), Date.class) {
+
+			@Override
+			public Object decode(Row row, int index) {
+				return row.isNull(index) ? null : new Date(row.getLong(index));
+			}
+
+			@Override
+			public Object toDriverValue(Object value) {
+				return ((Date) value).getTime();
+			}
+
+		};
+
+		registry.register(custom);
+
+		Assert.assertSame(custom, registry.getCodec(DataType.bigint(), Date.class));
+		Assert.assertEquals(5L, registry.getCodec(DataType.bigint(), Date.class).toDriverValue(new Date(5L)));
+
+		/*
+		 * Other registries keep the built-in codecs
+		 */
+		Assert.assertNotSame(custom, new CodecRegistry().getCodec(DataType.bigint(), Date.class));
+		Assert.assertNotSame(custom, CodecRegistry.DEFAULT.getCodec(DataType.bigint(), Date.class));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testDefaultRegistryIsUnmodifiable() {
+		CodecRegistry.DEFAULT.register(registry.getCodec(DataType.text(), Color.class));
+	}
+
+}
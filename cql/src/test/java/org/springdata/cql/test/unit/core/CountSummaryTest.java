@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cql.core.CountSummary;
+
+/**
+ * CountSummary jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class CountSummaryTest {
+
+	@Test
+	public void testAllRangesAreExact() {
+
+		CountSummary summary = CountSummary.fromSample(new long[] { 10, 20, 30 }, 3, 1);
+
+		Assert.assertTrue(summary.isExact());
+		Assert.assertEquals(60, summary.getCount());
+		Assert.assertEquals(0, summary.getErrorBound());
+		Assert.assertEquals(1, summary.getRetryCount());
+	}
+
+	@Test
+	public void testUniformSampleHasNoError() {
+
+		CountSummary summary = CountSummary.fromSample(new long[] { 100, 100, 100, 100 }, 64, 0);
+
+		Assert.assertFalse(summary.isExact());
+		Assert.assertEquals(6400, summary.getCount());
+		Assert.assertEquals(0, summary.getErrorBound());
+		Assert.assertEquals(4, summary.getCountedRangeCount());
+	}
+
+	@Test
+	public void testSampleErrorBound() {
+
+		CountSummary summary = CountSummary.fromSample(new long[] { 90, 110, 90, 110 }, 5, 0);
+
+		Assert.assertEquals(500, summary.getCount());
+
+		/*
+		 * s^2 = 400 / 3, se = 5 * sqrt(s^2 / 4 * 1 / 4) = 14.43, bound = 1.96 * se
+		 */
+		Assert.assertEquals(29, summary.getErrorBound());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEmptySample() {
+		CountSummary.fromSample(new long[0], 4, 0);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springdata.cql.core.CqlTemplate;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+/**
+ * CqlTemplate CQL string statements jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class CqlTemplateStatementTest {
+
+	private static final String CQL = "SELECT * FROM t";
+
+	@Test
+	public void testCqlStringsAreNotPreparedByDefault() {
+
+		Session session = Mockito.mock(Session.class);
+
+		TestCqlTemplate template = new TestCqlTemplate(session);
+		template.setPreparedStatementCacheSize(10);
+
+		Statement statement = template.createCqlStatement("CREATE TABLE t (id int PRIMARY KEY)");
+
+		Assert.assertTrue(statement instanceof SimpleStatement);
+		Assert.assertEquals(0, template.getPreparedStatementCache().getSize());
+		Mockito.verify(session, Mockito.never()).prepare(Mockito.anyString());
+	}
+
+	@Test
+	public void testCqlStringsArePreparedOnceIfEnabled() {
+
+		Session session = Mockito.mock(Session.class);
+		PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+		BoundStatement bs = Mockito.mock(BoundStatement.class);
+
+		Mockito.when(session.prepare(CQL)).thenReturn(ps);
+		Mockito.when(ps.bind()).thenReturn(bs);
+
+		TestCqlTemplate template = new TestCqlTemplate(session);
+		template.setPreparedStatementCacheSize(10);
+		template.setPrepareCqlStrings(true);
+
+		Assert.assertSame(bs, template.createCqlStatement(CQL));
+		Assert.assertSame(bs, template.createCqlStatement(CQL));
+
+		Mockito.verify(session, Mockito.times(1)).prepare(CQL);
+	}
+
+	@Test
+	public void testPrepareCqlStringsRequiresCache() {
+
+		Session session = Mockito.mock(Session.class);
+
+		TestCqlTemplate template = new TestCqlTemplate(session);
+		template.setPrepareCqlStrings(true);
+
+		Assert.assertTrue(template.createCqlStatement(CQL) instanceof SimpleStatement);
+		Mockito.verify(session, Mockito.never()).prepare(Mockito.anyString());
+	}
+
+	static class TestCqlTemplate extends CqlTemplate {
+
+		TestCqlTemplate(Session session) {
+			super(session, "ks");
+		}
+
+		Statement createCqlStatement(String cql) {
+			return doCreateStatement(cql);
+		}
+
+	}
+
+}
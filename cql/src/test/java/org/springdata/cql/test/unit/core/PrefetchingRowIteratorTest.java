@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springdata.cql.core.CqlTemplate;
+import org.springdata.cql.core.RowMapper;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * QueryOperation stream and PrefetchingRowIterator jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class PrefetchingRowIteratorTest {
+
+	private final List<Integer> rowNums = new ArrayList<Integer>();
+
+	private final RowMapper<Row> rowMapper = new RowMapper<Row>() {
+
+		@Override
+		public Row mapRow(Row row, int rowNum) {
+			rowNums.add(rowNum);
+			return row;
+		}
+
+	};
+
+	@Test
+	public void testNextPageIsPrefetchedAtThreshold() {
+
+		PagedResults results = new PagedResults(rows(4), rows(4), rows(2));
+
+		// fetch size 4 prefetches the next page when 2 rows are left in the current one
+		Iterator<Row> iterator = stream(results, 4);
+
+		Assert.assertEquals(0, results.consumed);
+		Assert.assertTrue(results.prefetchedAt.isEmpty());
+
+		Assert.assertTrue(iterator.hasNext());
+		iterator.next();
+		Assert.assertTrue(results.prefetchedAt.isEmpty());
+
+		Assert.assertTrue(iterator.hasNext());
+		Assert.assertEquals(Arrays.asList(2), results.prefetchedAt);
+
+		List<Row> rows = drain(iterator);
+
+		Assert.assertEquals(9, rows.size());
+		Assert.assertEquals(Arrays.asList(2, 6), results.prefetchedAt);
+		Assert.assertEquals(0, results.blockingFetches);
+	}
+
+	@Test
+	public void testIterationContinuesPastPageBoundary() {
+
+		PagedResults results = new PagedResults(rows(3), rows(3), rows(3));
+
+		// fetch size 2 prefetches the next page when the last row of the current one is left
+		Iterator<Row> iterator = stream(results, 2);
+
+		List<Row> rows = drain(iterator);
+
+		Assert.assertEquals(results.all, rows);
+		Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8), rowNums);
+		Assert.assertEquals(Arrays.asList(2, 5), results.prefetchedAt);
+		Assert.assertEquals(0, results.blockingFetches);
+
+		Assert.assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void testEmptyResult() {
+
+		PagedResults results = new PagedResults(rows(0));
+
+		Iterator<Row> iterator = stream(results, 4);
+
+		Assert.assertFalse(iterator.hasNext());
+
+		try {
+			iterator.next();
+			Assert.fail("NoSuchElementException expected");
+		} catch (NoSuchElementException e) {
+		}
+
+		Assert.assertTrue(rowNums.isEmpty());
+		Assert.assertTrue(results.prefetchedAt.isEmpty());
+	}
+
+	private Iterator<Row> stream(PagedResults results, int fetchSize) {
+
+		SettableFuture<ResultSet> future = SettableFuture.create();
+		future.set(Mockito.mock(ResultSet.class, results));
+
+		Session session = Mockito.mock(Session.class);
+		Mockito.when(session.executeAsync(Mockito.any(Statement.class))).thenReturn(
+				Mockito.mock(ResultSetFuture.class, AdditionalAnswers.delegatesTo(future)));
+
+		CqlTemplate template = new CqlTemplate(session, "ks");
+
+		return template.buildQueryOperation("SELECT * FROM t").withFetchSize(fetchSize).stream(rowMapper).execute();
+	}
+
+	private static List<Row> drain(Iterator<Row> iterator) {
+		List<Row> rows = new ArrayList<Row>();
+		while (iterator.hasNext()) {
+			rows.add(iterator.next());
+		}
+		return rows;
+	}
+
+	private static List<Row> rows(int count) {
+		List<Row> rows = new ArrayList<Row>(count);
+		for (int i = 0; i != count; ++i) {
+			rows.add(Mockito.mock(Row.class));
+		}
+		return rows;
+	}
+
+	/**
+	 * Answers of the mocked ResultSet that holds the fetched rows and fetches the next page on demand. Prefetched pages
+	 * complete immediately, the page fetched by isExhausted or one() is counted as the blocking fetch.
+	 *
+	 * @author Alex Shvid
+	 *
+	 */
+
+	private static class PagedResults implements Answer<Object> {
+
+		private final List<List<Row>> pages;
+		private final List<Row> all = new ArrayList<Row>();
+		private final LinkedList<Row> current = new LinkedList<Row>();
+		private final List<Integer> prefetchedAt = new ArrayList<Integer>();
+
+		private int fetched;
+		private int consumed;
+		private int blockingFetches;
+
+		PagedResults(List<Row>... pages) {
+			this.pages = Arrays.asList(pages);
+			for (List<Row> page : pages) {
+				all.addAll(page);
+			}
+			fetchNext();
+		}
+
+		@Override
+		public Object answer(InvocationOnMock invocation) {
+
+			String method = invocation.getMethod().getName();
+
+			if ("getAvailableWithoutFetching".equals(method)) {
+				return current.size();
+			} else if ("isFullyFetched".equals(method)) {
+				return isFullyFetched();
+			} else if ("fetchMoreResults".equals(method)) {
+				if (!isFullyFetched()) {
+					prefetchedAt.add(consumed);
+					fetchNext();
+				}
+				return null;
+			} else if ("isExhausted".equals(method)) {
+				fetchIfEmpty();
+				return current.isEmpty();
+			} else if ("one".equals(method)) {
+				fetchIfEmpty();
+				Row row = current.poll();
+				if (row != null) {
+					consumed++;
+				}
+				return row;
+			}
+
+			throw new UnsupportedOperationException(method);
+		}
+
+		private boolean isFullyFetched() {
+			return fetched == pages.size();
+		}
+
+		private void fetchIfEmpty() {
+			while (current.isEmpty() && !isFullyFetched()) {
+				blockingFetches++;
+				fetchNext();
+			}
+		}
+
+		private void fetchNext() {
+			current.addAll(pages.get(fetched++));
+		}
+
+	}
+
+}
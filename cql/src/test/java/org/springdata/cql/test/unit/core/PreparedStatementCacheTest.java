@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springdata.cql.core.PreparedStatementCache;
+
+import com.datastax.driver.core.PreparedStatement;
+
+/**
+ * PreparedStatementCache jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class PreparedStatementCacheTest {
+
+	@Test
+	public void testHitAndMiss() {
+
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		CountingLoader loader = new CountingLoader();
+
+		PreparedStatement first = cache.getPreparedStatement("ks", "SELECT * FROM t", loader);
+		PreparedStatement second = cache.getPreparedStatement("ks", "SELECT * FROM t", loader);
+
+		Assert.assertSame(first, second);
+		Assert.assertEquals(1, loader.count.get());
+		Assert.assertEquals(1, cache.getMissCount());
+		Assert.assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testKeyspaceIsPartOfKey() {
+
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+		CountingLoader loader = new CountingLoader();
+
+		cache.getPreparedStatement("ks1", "SELECT * FROM t", loader);
+		cache.getPreparedStatement("ks2", "SELECT * FROM t", loader);
+		cache.getPreparedStatement(null, "SELECT * FROM t", loader);
+
+		Assert.assertEquals(3, loader.count.get());
+		Assert.assertEquals(3, cache.getSize());
+	}
+
+	@Test
+	public void testEviction() {
+
+		PreparedStatementCache cache = new PreparedStatementCache(2);
+		CountingLoader loader = new CountingLoader();
+
+		for (int i = 0; i != 5; ++i) {
+			cache.getPreparedStatement("ks", "SELECT * FROM t" + i, loader);
+		}
+
+		Assert.assertEquals(2, cache.getSize());
+		Assert.assertEquals(3, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testConcurrentFirstUse() throws Exception {
+
+		final PreparedStatementCache cache = new PreparedStatementCache(10);
+		final CountingLoader loader = new CountingLoader();
+		final CountDownLatch start = new CountDownLatch(1);
+		final int threads = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		for (int i = 0; i != threads; ++i) {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					cache.getPreparedStatement("ks", "SELECT * FROM t", loader);
+				}
+
+			});
+		}
+
+		start.countDown();
+		executor.shutdown();
+		Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		Assert.assertEquals(1, loader.count.get());
+		Assert.assertEquals(threads, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLoaderExceptionIsPropagated() {
+
+		PreparedStatementCache cache = new PreparedStatementCache(10);
+
+		cache.getPreparedStatement("ks", "SELECT * FROM t", new Callable<PreparedStatement>() {
+
+			@Override
+			public PreparedStatement call() {
+				throw new IllegalArgumentException("invalid query");
+			}
+
+		});
+	}
+
+	static class CountingLoader implements Callable<PreparedStatement> {
+
+		final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public PreparedStatement call() throws Exception {
+			count.incrementAndGet();
+			Thread.sleep(10);
+			return Mockito.mock(PreparedStatement.class);
+		}
+
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cql.core.RoutedStatement;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.SimpleStatement;
+
+/**
+ * RoutedStatement jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class RoutedStatementTest {
+
+	@Test
+	public void testSingleComponentIsNotComposed() {
+		ByteBuffer key = ByteBuffer.wrap(new byte[] { 1, 2, 3 });
+		Assert.assertSame(key, RoutedStatement.composeRoutingKey(key));
+	}
+
+	@Test
+	public void testCompositeRoutingKey() {
+
+		ByteBuffer routingKey = RoutedStatement.composeRoutingKey(ByteBuffer.wrap(new byte[] { 7 }),
+				ByteBuffer.wrap(new byte[] { 8, 9 }));
+
+		Assert.assertArrayEquals(new byte[] { 0, 1, 7, 0, 0, 2, 8, 9, 0 }, toArray(routingKey));
+	}
+
+	@Test
+	public void testRouteKeepsQueryAndOptions() {
+
+		SimpleStatement statement = new SimpleStatement("SELECT * FROM ks.users WHERE id = 'a'");
+		statement.setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
+
+		ByteBuffer key = ByteBuffer.wrap(new byte[] { 'a' });
+		RegularStatement routed = RoutedStatement.route(statement, "ks", key);
+
+		Assert.assertEquals(statement.getQueryString(), routed.getQueryString());
+		Assert.assertEquals(ConsistencyLevel.LOCAL_QUORUM, routed.getConsistencyLevel());
+		Assert.assertEquals("ks", routed.getKeyspace());
+		Assert.assertEquals(key, routed.getRoutingKey());
+
+		Assert.assertSame(statement, RoutedStatement.route(statement, "ks", null));
+	}
+
+	private static byte[] toArray(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springdata.cql.core.CassandraFuture;
+import org.springdata.cql.core.CqlTemplate;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Speculative execution jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class SpeculativeExecutionTest {
+
+	@Test
+	public void testSynchronousFailuresCompleteFuture() throws TimeoutException {
+
+		Session session = Mockito.mock(Session.class);
+		Mockito.when(session.executeAsync(Mockito.any(Statement.class))).thenThrow(
+				new IllegalStateException("no connection"));
+
+		CqlTemplate template = new CqlTemplate(session, "ks");
+
+		CassandraFuture<ResultSet> future = template.buildQueryOperation("SELECT * FROM t")
+				.withSpeculativeExecution(10, 3).executeAsync();
+
+		try {
+			future.getUninterruptibly(5, TimeUnit.SECONDS);
+			Assert.fail("exception expected");
+		} catch (RuntimeException e) {
+			Assert.assertTrue(future.isDone());
+		}
+
+		Mockito.verify(session, Mockito.times(3)).executeAsync(Mockito.any(Statement.class));
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cql.core.TokenPartitioner;
+import org.springdata.cql.core.TokenRange;
+
+/**
+ * TokenPartitioner jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class TokenPartitionerTest {
+
+	@Test
+	public void testSplitCoversRing() {
+
+		for (TokenPartitioner partitioner : TokenPartitioner.values()) {
+
+			List<TokenRange> ranges = partitioner.split(7);
+
+			Assert.assertEquals(7, ranges.size());
+			Assert.assertEquals(partitioner.getMinToken(), ranges.get(0).getStart());
+			Assert.assertEquals(partitioner.getMaxToken(), ranges.get(6).getEnd());
+
+			for (int i = 1; i != ranges.size(); ++i) {
+				Assert.assertEquals(ranges.get(i - 1).getEnd(), ranges.get(i).getStart());
+			}
+		}
+	}
+
+	@Test
+	public void testMurmur3TokenIsLong() {
+		Object value = TokenPartitioner.MURMUR3.toTokenValue(TokenPartitioner.MURMUR3.getMinToken());
+		Assert.assertEquals(Long.MIN_VALUE, value);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnsupportedPartitioner() {
+		TokenPartitioner.forClassName("org.apache.cassandra.dht.ByteOrderedPartitioner");
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cql.core.WindowedExecution;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * WindowedExecution jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class WindowedExecutionTest {
+
+	@Test
+	public void testWindowIsBounded() {
+
+		final List<SettableFuture<Integer>> launched = new ArrayList<SettableFuture<Integer>>();
+		final AtomicInteger pulled = new AtomicInteger();
+		final AtomicInteger succeeded = new AtomicInteger();
+
+		Iterator<Integer> source = new Iterator<Integer>() {
+
+			@Override
+			public boolean hasNext() {
+				return pulled.get() < 10;
+			}
+
+			@Override
+			public Integer next() {
+				return pulled.incrementAndGet();
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+
+		};
+
+		WindowedExecution<Integer, Integer> execution = new WindowedExecution<Integer, Integer>(source, 3) {
+
+			@Override
+			protected ListenableFuture<Integer> launch(Integer element) {
+				SettableFuture<Integer> future = SettableFuture.create();
+				launched.add(future);
+				return future;
+			}
+
+			@Override
+			protected void onSuccess(long index, Integer result) {
+				succeeded.incrementAndGet();
+			}
+
+			@Override
+			protected void onFailure(long index, Throwable t) {
+			}
+
+		};
+
+		ListenableFuture<Void> completion = execution.start();
+
+		Assert.assertEquals(3, pulled.get());
+		Assert.assertEquals(3, launched.size());
+
+		launched.get(0).set(1);
+
+		Assert.assertEquals(4, pulled.get());
+		Assert.assertFalse(completion.isDone());
+
+		for (int i = 1; i != 10; ++i) {
+			launched.get(i).set(i);
+		}
+
+		Assert.assertEquals(10, launched.size());
+		Assert.assertEquals(10, succeeded.get());
+		Assert.assertTrue(completion.isDone());
+	}
+
+	@Test
+	public void testImmediateFuturesDoNotRecurse() throws Exception {
+
+		final AtomicInteger failed = new AtomicInteger();
+		List<Integer> source = new ArrayList<Integer>();
+		for (int i = 0; i != 100000; ++i) {
+			source.add(i);
+		}
+
+		WindowedExecution<Integer, Integer> execution = new WindowedExecution<Integer, Integer>(source.iterator(), 1) {
+
+			@Override
+			protected ListenableFuture<Integer> launch(Integer element) {
+				if (element % 2 == 0) {
+					return Futures.immediateFuture(element);
+				}
+				throw new IllegalStateException("failed " + element);
+			}
+
+			@Override
+			protected void onSuccess(long index, Integer result) {
+			}
+
+			@Override
+			protected void onFailure(long index, Throwable t) {
+				failed.incrementAndGet();
+			}
+
+		};
+
+		execution.start().get();
+
+		Assert.assertEquals(50000, failed.get());
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springdata.cql.metrics.DefaultStatementMetrics;
+import org.springdata.cql.metrics.QueryFingerprint;
+import org.springdata.cql.metrics.StatementStatsSnapshot;
+
+import com.datastax.driver.core.SimpleStatement;
+
+/**
+ * QueryFingerprint jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class QueryFingerprintTest {
+
+	@Test
+	public void testLiteralsAreStripped() {
+
+		QueryFingerprint fingerprint = QueryFingerprint
+				.of("SELECT * FROM ks.users2  WHERE id = 'it''s' AND n IN (1, 2.5, -3) AND u = 62c36092-82a1-3a00-93d1-46196ee77204;");
+
+		Assert.assertEquals("SELECT * FROM ks.users2 WHERE id = ? AND n IN (?) AND u = ?", fingerprint.getFingerprint());
+		Assert.assertEquals("ks.users2", fingerprint.getTable());
+	}
+
+	@Test
+	public void testSameFingerprintForDifferentValues() {
+
+		QueryFingerprint first = QueryFingerprint.of("INSERT INTO users (id, flag) VALUES ('a', true) USING TTL 10");
+		QueryFingerprint second = QueryFingerprint.of("INSERT INTO users (id, flag) VALUES ('b', false) USING TTL 20");
+
+		Assert.assertEquals(first.getFingerprint(), second.getFingerprint());
+		Assert.assertEquals("users", first.getTable());
+		Assert.assertEquals("users", QueryFingerprint.of("UPDATE users SET a = 0x0a WHERE id = 'a'").getTable());
+	}
+
+	@Test
+	public void testMetricsAreKeyedByFingerprintAndTable() {
+
+		DefaultStatementMetrics metrics = new DefaultStatementMetrics();
+
+		metrics.recordSuccess(new SimpleStatement("SELECT * FROM users WHERE id = 'a'"), 2000000L, 1);
+		metrics.recordSuccess(new SimpleStatement("SELECT * FROM users WHERE id = 'b'"), 4000000L, 0);
+		metrics.recordFailure(new SimpleStatement("DELETE FROM users WHERE id = 'c'"), 1000000L,
+				new IllegalStateException());
+
+		StatementStatsSnapshot select = metrics.getFingerprintStats("SELECT * FROM users WHERE id = ?");
+		Assert.assertEquals(2, select.getCount());
+		Assert.assertEquals(1, select.getFirstPageRows());
+		Assert.assertEquals(0, select.getErrorCount());
+		Assert.assertEquals(4000, select.getMaxMicros());
+
+		StatementStatsSnapshot table = metrics.getTableStats("users");
+		Assert.assertEquals(3, table.getCount());
+		Assert.assertEquals(1, table.getErrorCount());
+		Assert.assertEquals(Long.valueOf(1), table.getErrors().get(IllegalStateException.class.getName()));
+
+		Assert.assertEquals(2, metrics.getFingerprintStats().size());
+	}
+
+}
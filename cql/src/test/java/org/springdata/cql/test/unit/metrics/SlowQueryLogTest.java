@@ -0,0 +1,187 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cql.test.unit.metrics;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+import org.springdata.cql.metrics.SlowQueryLog;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+/**
+ * SlowQueryLog jUnit Test
+ *
+ * @author Alex Shvid
+ *
+ */
+
+public class SlowQueryLogTest {
+
+	private static final Statement SELECT = new SimpleStatement("SELECT * FROM users WHERE id = 'a'");
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(SlowQueryLog.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<ILoggingEvent>();
+
+	@Before
+	public void setup() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@After
+	public void cleanup() {
+		logger.detachAppender(appender);
+		appender.stop();
+	}
+
+	@Test
+	public void testStatementsOverThresholdAreLogged() {
+
+		SlowQueryLog log = new SlowQueryLog(10, 1000.0);
+
+		Assert.assertFalse(log.isSlow(TimeUnit.MILLISECONDS.toNanos(10)));
+		Assert.assertTrue(log.isSlow(TimeUnit.MILLISECONDS.toNanos(10) + 1));
+
+		log.onFailure(SELECT, TimeUnit.MILLISECONDS.toNanos(5), new IllegalStateException());
+		Assert.assertTrue(messages().isEmpty());
+
+		log.onFailure(SELECT, TimeUnit.MILLISECONDS.toNanos(20), new IllegalStateException());
+
+		Assert.assertEquals(1, messages().size());
+		Assert.assertEquals("slow query 20 ms: SELECT * FROM users WHERE id = ? consistency=default host=unknown pages=0"
+				+ " error=java.lang.IllegalStateException", messages().get(0));
+
+		ResultSet resultSet = Mockito.mock(ResultSet.class);
+		Mockito.when(resultSet.getAllExecutionInfo()).thenReturn(
+				Arrays.asList(Mockito.mock(ExecutionInfo.class), Mockito.mock(ExecutionInfo.class)));
+
+		log.onSuccess(SELECT, TimeUnit.MILLISECONDS.toNanos(2), resultSet);
+		log.onSuccess(SELECT, TimeUnit.MILLISECONDS.toNanos(30), resultSet);
+
+		Assert.assertEquals(2, messages().size());
+		Assert.assertEquals("slow query 30 ms: SELECT * FROM users WHERE id = ? consistency=default host=unknown pages=2",
+				messages().get(1));
+	}
+
+	@Test
+	public void testLinesOverRateLimitAreSuppressedAndCounted() throws InterruptedException {
+
+		SlowQueryLog log = new SlowQueryLog(0, 5.0);
+
+		long elapsed = TimeUnit.MILLISECONDS.toNanos(1);
+
+		log.onFailure(SELECT, elapsed, new IllegalStateException());
+		log.onFailure(SELECT, elapsed, new IllegalStateException());
+		log.onFailure(SELECT, elapsed, new IllegalStateException());
+
+		Assert.assertEquals(1, messages().size());
+		Assert.assertFalse(messages().get(0).contains("suppressed="));
+		Assert.assertEquals(2, log.getSuppressedCount());
+
+		Thread.sleep(400);
+
+		log.onFailure(SELECT, elapsed, new IllegalStateException());
+
+		Assert.assertEquals(2, messages().size());
+		Assert.assertTrue(messages().get(1), messages().get(1).endsWith(" suppressed=2"));
+		Assert.assertEquals(0, log.getSuppressedCount());
+	}
+
+	@Test
+	public void testValuesAreTruncated() {
+
+		SlowQueryLog log = new SlowQueryLog(0, 1000.0);
+		log.setMaxValues(2);
+		log.setMaxValueLength(5);
+
+		BoundStatement bs = bind("INSERT INTO users (a, b, c, d) VALUES (?, ?, ?, ?)", "abcdefgh", "xyz", "c", "d");
+
+		log.onFailure(bs, TimeUnit.MILLISECONDS.toNanos(1), new IllegalStateException());
+
+		Assert.assertEquals(1, messages().size());
+		Assert.assertTrue(messages().get(0), messages().get(0).contains(" values=[a=abcde..., b=xyz, ...] "));
+	}
+
+	@Test
+	public void testUnsetAndNullValues() {
+
+		SlowQueryLog log = new SlowQueryLog(0, 1000.0);
+
+		BoundStatement bs = bind("INSERT INTO users (a, b, c) VALUES (?, ?, ?)", null, null, "value");
+		Mockito.when(bs.isSet(0)).thenReturn(false);
+
+		log.onFailure(bs, TimeUnit.MILLISECONDS.toNanos(1), new IllegalStateException());
+
+		Assert.assertEquals(1, messages().size());
+		Assert.assertTrue(messages().get(0), messages().get(0).contains(" values=[a=<unset>, b=null, c=value] "));
+	}
+
+	private List<String> messages() {
+		List<String> messages = new ArrayList<String>();
+		for (ILoggingEvent event : appender.list) {
+			messages.add(event.getFormattedMessage());
+		}
+		return messages;
+	}
+
+	/*
+	 * Mocked bound statement with the text variables named by letters, all variables are set
+	 */
+	private static BoundStatement bind(String cql, String... values) {
+
+		ColumnDefinitions variables = Mockito.mock(ColumnDefinitions.class);
+		Mockito.when(variables.size()).thenReturn(values.length);
+
+		PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+		Mockito.when(ps.getQueryString()).thenReturn(cql);
+		Mockito.when(ps.getVariables()).thenReturn(variables);
+
+		BoundStatement bs = Mockito.mock(BoundStatement.class);
+		Mockito.when(bs.preparedStatement()).thenReturn(ps);
+
+		for (int i = 0; i != values.length; ++i) {
+			Mockito.when(variables.getName(i)).thenReturn(String.valueOf((char) ('a' + i)));
+			Mockito.when(variables.getType(i)).thenReturn(DataType.text());
+			Mockito.when(bs.isSet(i)).thenReturn(true);
+			ByteBuffer bytes = values[i] != null ? DataType.text().serialize(values[i]) : null;
+			Mockito.when(bs.getBytesUnsafe(i)).thenReturn(bytes);
+		}
+
+		return bs;
+	}
+
+}